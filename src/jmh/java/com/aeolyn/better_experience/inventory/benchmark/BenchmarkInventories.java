@@ -0,0 +1,111 @@
+package com.aeolyn.better_experience.inventory.benchmark;
+
+import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
+import com.aeolyn.better_experience.inventory.core.SortKeyTable;
+import com.aeolyn.better_experience.inventory.model.InventoryModel;
+import com.aeolyn.better_experience.inventory.model.SlotLayout;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 基准测试用的随机库存
+ * 物品ID、名称名次、分类等排序键由ID推导，同一种子生成的库存完全相同
+ */
+final class BenchmarkInventories {
+
+    /** 玩家背包（主背包 + 快捷栏）槽位数 */
+    static final int PLAYER_SLOTS = 36;
+
+    /** 物品种类数 */
+    private static final int ITEM_TYPES = 64;
+
+    private BenchmarkInventories() {
+    }
+
+    /**
+     * 容器形状
+     */
+    enum Shape {
+        /** 单箱子，混杂物品 */
+        CHEST_27(27, 0.7, 0.5),
+        /** 大箱子，混杂物品 */
+        DOUBLE_CHEST_54(54, 0.7, 0.5),
+        /** 潜影盒，种类少、多为满组 */
+        SHULKER_27(27, 0.9, 0.85),
+        /** 模组背包，槽位多 */
+        BACKPACK_200(200, 0.6, 0.5);
+
+        final int containerSize;
+        final double fillRatio;
+        final double fullStackRatio;
+
+        Shape(int containerSize, double fillRatio, double fullStackRatio) {
+            this.containerSize = containerSize;
+            this.fillRatio = fillRatio;
+            this.fullStackRatio = fullStackRatio;
+        }
+    }
+
+    /**
+     * 生成容器界面的库存：容器槽位在前，玩家背包在后
+     */
+    static InventoryModel randomModel(Shape shape, long seed) {
+        Random random = new Random(seed);
+        InventoryModel model = new InventoryModel(shape.containerSize + PLAYER_SLOTS, SlotLayout.genericContainer(shape.containerSize));
+        int itemTypes = shape == Shape.SHULKER_27 ? 6 : ITEM_TYPES;
+
+        for (int slot = 0; slot < model.size(); slot++) {
+            // 玩家背包留出一半空位，方便转移
+            double fill = slot < shape.containerSize ? shape.fillRatio : shape.fillRatio / 2;
+            if (random.nextDouble() >= fill) continue;
+
+            int itemId = 1 + random.nextInt(itemTypes);
+            int maxStack = maxStackOf(itemId);
+            // 少量带组件的变体（附魔、自定义名称），与同ID的普通物品不可堆叠
+            int hash = maxStack > 1 && random.nextInt(10) == 0 ? 1 + random.nextInt(3) : 0;
+            int count = random.nextDouble() < shape.fullStackRatio ? maxStack : 1 + random.nextInt(maxStack);
+            model.setStack(slot, itemId, hash, count, maxStack);
+        }
+        return model;
+    }
+
+    /**
+     * 为模型的一段槽位生成排序键表，第i行对应slotIds[i]
+     */
+    static SortKeyTable keysFor(InventoryModel model, int[] slotIds) {
+        SortKeyTable keys = new SortKeyTable(slotIds.length, List.of(
+                InventorySortConfig.SecondaryKey.DURABILITY,
+                InventorySortConfig.SecondaryKey.ENCHANTMENT_LEVEL));
+        for (int row = 0; row < slotIds.length; row++) {
+            int slot = slotIds[row];
+            if (model.isEmpty(slot)) {
+                keys.setEmpty(row);
+                continue;
+            }
+            int itemId = model.getItemId(slot);
+            int hash = model.getComponentHash(slot);
+            keys.setPrimary(row, model.getCount(slot), (itemId * 37) % ITEM_TYPES, itemId, itemId % 12, itemId % 4);
+            keys.setRanks(row, (itemId * 17) % ITEM_TYPES, itemId % 7);
+            keys.setSecondary(row, maxStackOf(itemId) == 1 ? 1000 - hash * 100 : 1000, hash, -1, false);
+        }
+        return keys;
+    }
+
+    /**
+     * 连续槽位ID
+     */
+    static int[] range(int start, int end) {
+        int[] slots = new int[end - start];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = start + i;
+        }
+        return slots;
+    }
+
+    private static int maxStackOf(int itemId) {
+        if (itemId % 8 == 0) return 1;
+        if (itemId % 8 == 1) return 16;
+        return 64;
+    }
+}
@@ -0,0 +1,93 @@
+package com.aeolyn.better_experience.inventory.benchmark;
+
+import com.aeolyn.better_experience.inventory.click.ClickProgram;
+import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
+import com.aeolyn.better_experience.inventory.core.SortKeyTable;
+import com.aeolyn.better_experience.inventory.core.SortPlanner;
+import com.aeolyn.better_experience.inventory.model.InventoryModel;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 整理规划器基准测试
+ * 对每种容器形状、每种排序模式，分别测量合并与不合并时的规划耗时和生成的点击数
+ * 耗时为 ns/op，内存分配由GC profiler给出（gc.alloc.rate.norm），点击数见 clicks 计数器
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class SortPlannerBenchmark {
+
+    /** 预生成的库存数量，轮流使用，避免分支预测记住单个库存 */
+    private static final int POOL_SIZE = 64;
+
+    @Param({"CHEST_27", "DOUBLE_CHEST_54", "SHULKER_27", "BACKPACK_200"})
+    public BenchmarkInventories.Shape shape;
+
+    @Param({"NAME", "QUANTITY", "TYPE", "CREATIVE_ORDER", "REGISTRY_ID", "CATEGORY"})
+    public InventorySortConfig.SortMode sortMode;
+
+    @Param({"false", "true"})
+    public boolean mergeFirst;
+
+    private InventoryModel[] models;
+    private SortKeyTable[] keyTables;
+    private int[] slotIds;
+    private int next;
+
+    // 每次调用使用的副本（规划会修改模型和键表）
+    private InventoryModel model;
+    private SortKeyTable keys;
+
+    @Setup(Level.Trial)
+    public void createInventories() {
+        slotIds = BenchmarkInventories.range(0, shape.containerSize);
+        models = new InventoryModel[POOL_SIZE];
+        keyTables = new SortKeyTable[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            models[i] = BenchmarkInventories.randomModel(shape, i);
+            keyTables[i] = BenchmarkInventories.keysFor(models[i], slotIds);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void nextInventory() {
+        model = models[next].copy();
+        keys = keyTables[next].copy();
+        next = (next + 1) % POOL_SIZE;
+    }
+
+    @Benchmark
+    public ClickProgram plan(ClickCounters counters) {
+        ClickProgram program = SortPlanner.plan("benchmark", 1, model, slotIds, keys, sortMode, mergeFirst);
+        counters.clicks += program.size();
+        counters.plans++;
+        return program;
+    }
+
+    /**
+     * 点击数计数器，按迭代累计，clicks / plans 即每次规划的平均点击数
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ClickCounters {
+        public long clicks;
+        public long plans;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            clicks = 0;
+            plans = 0;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.aeolyn.better_experience.inventory.benchmark;
+
+import com.aeolyn.better_experience.inventory.click.ClickProgram;
+import com.aeolyn.better_experience.inventory.core.TransferPlanner;
+import com.aeolyn.better_experience.inventory.model.InventoryModel;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 转移规划器基准测试
+ * 分别测量把容器全部取出（withdraw）和把玩家背包全部放入（deposit）的规划耗时和点击数
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TransferPlannerBenchmark {
+
+    private static final int POOL_SIZE = 64;
+
+    @Param({"CHEST_27", "DOUBLE_CHEST_54", "SHULKER_27", "BACKPACK_200"})
+    public BenchmarkInventories.Shape shape;
+
+    private InventoryModel[] models;
+    private int[] containerSlots;
+    private int[] playerSlots;
+    private int next;
+
+    private InventoryModel model;
+
+    @Setup(Level.Trial)
+    public void createInventories() {
+        containerSlots = BenchmarkInventories.range(0, shape.containerSize);
+        playerSlots = BenchmarkInventories.range(shape.containerSize, shape.containerSize + BenchmarkInventories.PLAYER_SLOTS);
+        models = new InventoryModel[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            models[i] = BenchmarkInventories.randomModel(shape, i);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void nextInventory() {
+        model = models[next].copy();
+        next = (next + 1) % POOL_SIZE;
+    }
+
+    @Benchmark
+    public ClickProgram withdraw(ClickCounters counters) {
+        ClickProgram program = TransferPlanner.planQuickMoveAll("benchmark", 1, model, containerSlots);
+        counters.clicks += program.size();
+        counters.plans++;
+        return program;
+    }
+
+    @Benchmark
+    public ClickProgram deposit(ClickCounters counters) {
+        ClickProgram program = TransferPlanner.planQuickMoveAll("benchmark", 1, model, playerSlots);
+        counters.clicks += program.size();
+        counters.plans++;
+        return program;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ClickCounters {
+        public long clicks;
+        public long plans;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            clicks = 0;
+            plans = 0;
+        }
+    }
+}
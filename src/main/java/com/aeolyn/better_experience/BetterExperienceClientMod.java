@@ -3,11 +3,27 @@ package com.aeolyn.better_experience;
 import com.aeolyn.better_experience.client.KeyBindings;
 import com.aeolyn.better_experience.client.command.ConfigCommand;
 import com.aeolyn.better_experience.client.command.InventorySortCommand;
+import com.aeolyn.better_experience.client.command.PerfCommand;
+import com.aeolyn.better_experience.client.command.StorageCommand;
+import com.aeolyn.better_experience.client.gui.MetricsHud;
+import com.aeolyn.better_experience.client.search.RegistrySearchIndex;
 import com.aeolyn.better_experience.common.util.LogUtil;
+import com.aeolyn.better_experience.inventory.click.ClickExecutor;
+import com.aeolyn.better_experience.inventory.click.PlanningExecutor;
+import com.aeolyn.better_experience.inventory.core.HotbarRestocker;
+import com.aeolyn.better_experience.inventory.network.ClientFindHandler;
+import com.aeolyn.better_experience.inventory.storage.StorageIndex;
+import com.aeolyn.better_experience.inventory.util.InventorySnapshotTracker;
+import com.aeolyn.better_experience.inventory.util.ScreenSlotIndex;
+import com.aeolyn.better_experience.inventory.core.ItemOrderTables;
+import com.aeolyn.better_experience.inventory.core.SortedLayoutTracker;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.fabric.api.client.command.v2.ClientCommandManager;
 import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.minecraft.client.MinecraftClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,6 +45,32 @@ public class BetterExperienceClientMod implements ClientModInitializer {
         ClientCommandRegistrationCallback.EVENT.register((dispatcher, registryAccess) -> {
             ConfigCommand.register(dispatcher, registryAccess);
             InventorySortCommand.register(dispatcher);
+            StorageCommand.register(dispatcher, registryAccess);
+            PerfCommand.register(dispatcher);
+        });
+        ClientFindHandler.register();
+        
+        // 资源重新加载后在后台重建物品/方块/实体搜索索引
+        RegistrySearchIndex.getInstance().register();
+        
+        // 性能指标调试HUD（默认隐藏，按键或 /betterexperience perf hud 切换）
+        MetricsHud.register();
+        
+        // 注册表同步或标签重新加载后重建物品排序表
+        CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> {
+            if (client) {
+                ItemOrderTables.markDirty();
+            }
+        });
+        ClientPlayConnectionEvents.JOIN.register((handler, sender, client) -> ItemOrderTables.markDirty());
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
+            ClickExecutor.getInstance().onDisconnect();
+            PlanningExecutor.getInstance().clear();
+            SortedLayoutTracker.getInstance().clear();
+            HotbarRestocker.getInstance().clear();
+            InventorySnapshotTracker.getInstance().clear();
+            StorageIndex.getInstance().clear();
+            ScreenSlotIndex.clear();
         });
         
         // 注册客户端tick事件
@@ -36,8 +78,24 @@ public class BetterExperienceClientMod implements ClientModInitializer {
         LogUtil.info("Client", "注册客户端tick事件");
         ClientTickEvents.END_CLIENT_TICK.register(client -> {
             KeyBindings.tick();
+            rebuildItemOrderTablesIfNeeded(client);
+            ClickExecutor.getInstance().tick(client);
+            HotbarRestocker.getInstance().tick(client);
+            SortedLayoutTracker.getInstance().tick(client);
+            StorageIndex.getInstance().tick(client);
         });
         LOGGER.info("客户端tick事件注册完成");
         LogUtil.info("Client", "客户端tick事件注册完成");
     }
+    
+    /**
+     * 排序表失效且世界已加载时，在客户端线程上重建一次
+     */
+    private static void rebuildItemOrderTablesIfNeeded(MinecraftClient client) {
+        if (!ItemOrderTables.isDirty() || client.world == null || client.player == null) {
+            return;
+        }
+        boolean operatorEnabled = client.player.isCreativeLevelTwoOp() && client.options.getOperatorItemsTab().getValue();
+        ItemOrderTables.rebuild(client.world.getEnabledFeatures(), operatorEnabled, client.world.getRegistryManager());
+    }
 }
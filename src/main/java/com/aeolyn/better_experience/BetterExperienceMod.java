@@ -2,6 +2,7 @@ package com.aeolyn.better_experience;
 
 import com.aeolyn.better_experience.common.config.DebugConfig;
 import com.aeolyn.better_experience.common.config.manager.ConfigManager;
+import com.aeolyn.better_experience.common.metrics.Metrics;
 import com.aeolyn.better_experience.common.util.LogUtil;
 import com.aeolyn.better_experience.common.util.VersionCompatibilityUtil;
 import net.fabricmc.api.ModInitializer;
@@ -31,9 +32,15 @@ public class BetterExperienceMod implements ModInitializer {
         }
         
         ConfigManager.initialize();
+        Metrics.registerGauges();
         
         DebugConfig.getInstance();
         
+        com.aeolyn.better_experience.inventory.network.SortRequestPayload.register();
+        com.aeolyn.better_experience.inventory.network.FindRequestPayload.register();
+        com.aeolyn.better_experience.inventory.network.FindResultPayload.register();
+        com.aeolyn.better_experience.inventory.network.QuickStackPayload.register();
+        
         try {
             ConfigManager configManager = ConfigManager.getInstance();
             
@@ -54,6 +61,9 @@ public class BetterExperienceMod implements ModInitializer {
             if (configManager.isInventorySortEnabled()) {
                 com.aeolyn.better_experience.inventory.core.InventorySortController.initialize();
                 com.aeolyn.better_experience.inventory.core.InventoryTransferController.initialize();
+                com.aeolyn.better_experience.inventory.network.ServerSortHandler.register();
+                com.aeolyn.better_experience.inventory.finder.ServerItemFinder.register();
+                com.aeolyn.better_experience.inventory.network.ServerQuickStackHandler.register();
                 LogUtil.info("General", "背包整理和智能转移模块已启用并初始化完成");
             } else {
                 LogUtil.info("General", "背包整理模块已禁用，跳过初始化");
@@ -1,9 +1,11 @@
 package com.aeolyn.better_experience.client;
 
+import com.aeolyn.better_experience.client.gui.MetricsHud;
 import com.aeolyn.better_experience.client.gui.ModConfigScreen;
 import com.aeolyn.better_experience.common.config.manager.ConfigManager;
 import com.aeolyn.better_experience.common.util.LogUtil;
 import com.aeolyn.better_experience.inventory.core.InventorySortController;
+import com.aeolyn.better_experience.inventory.core.InventoryTransferController;
 import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
 import net.minecraft.client.MinecraftClient;
@@ -21,6 +23,10 @@ public class KeyBindings {
     private static KeyBinding depositToContainerKey;
     private static KeyBinding withdrawFromContainerKey;
     private static KeyBinding sortContainerKey;
+    private static KeyBinding saveLayoutTemplateKey;
+    private static KeyBinding restoreLayoutTemplateKey;
+    private static KeyBinding quickStackNearbyKey;
+    private static KeyBinding toggleMetricsHudKey;
     
     public static void register() {
         LOGGER.info("开始注册按键绑定");
@@ -75,6 +81,37 @@ public class KeyBindings {
             "category.better_experience.inventory" // 分类
         ));
         
+        // 布局模板的保存和还原在容器界面中生效，由 mixin 处理
+        saveLayoutTemplateKey = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+            "key.better_experience.save_layout_template", // 翻译键
+            InputUtil.Type.KEYSYM, // 按键类型
+            GLFW.GLFW_KEY_UNKNOWN, // 默认不设置
+            "category.better_experience.inventory" // 分类
+        ));
+        
+        restoreLayoutTemplateKey = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+            "key.better_experience.restore_layout_template", // 翻译键
+            InputUtil.Type.KEYSYM, // 按键类型
+            GLFW.GLFW_KEY_UNKNOWN, // 默认不设置
+            "category.better_experience.inventory" // 分类
+        ));
+        
+        // 快速存入附近容器在世界中（不打开界面时）生效
+        quickStackNearbyKey = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+            "key.better_experience.quick_stack_nearby", // 翻译键
+            InputUtil.Type.KEYSYM, // 按键类型
+            GLFW.GLFW_KEY_UNKNOWN, // 默认不设置
+            "category.better_experience.inventory" // 分类
+        ));
+        
+        // 性能指标调试HUD
+        toggleMetricsHudKey = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+            "key.better_experience.toggle_metrics_hud", // 翻译键
+            InputUtil.Type.KEYSYM, // 按键类型
+            GLFW.GLFW_KEY_UNKNOWN, // 默认不设置
+            "category.better_experience.general" // 分类
+        ));
+        
         LOGGER.info("所有按键绑定注册完成");
         LogUtil.info("KeyBindings", "所有按键绑定注册完成");
     }
@@ -107,6 +144,15 @@ public class KeyBindings {
         if (sortContainerKey.wasPressed()) {
             LogUtil.info("KeyBindings", "检测到整理容器按键按下");
         }
+        
+        if (quickStackNearbyKey.wasPressed()) {
+            LogUtil.info("KeyBindings", "检测到快速存入附近容器按键按下");
+            InventoryTransferController.getInstance().quickStackToNearby();
+        }
+        
+        if (toggleMetricsHudKey.wasPressed()) {
+            MetricsHud.toggle();
+        }
     }
     
     public static KeyBinding getSortInventoryKey() {
@@ -116,4 +162,12 @@ public class KeyBindings {
     public static KeyBinding getSmartTransferKey() {
         return smartTransferKey;
     }
+    
+    public static KeyBinding getSaveLayoutTemplateKey() {
+        return saveLayoutTemplateKey;
+    }
+    
+    public static KeyBinding getRestoreLayoutTemplateKey() {
+        return restoreLayoutTemplateKey;
+    }
 }
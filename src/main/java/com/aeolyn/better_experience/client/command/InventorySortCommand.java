@@ -60,17 +60,14 @@ public class InventorySortCommand {
         try {
             InventorySortController controller = InventorySortController.getInstance();
             
-            // 测试自定义比较器：按数量升序排序
-            var quantityComparator = com.aeolyn.better_experience.inventory.core.SortComparatorFactory
-                .createQuantityComparator(true);
+            // 按数量排序模式整理，顺序由排序键表决定
+            controller.sortInventory(InventorySortConfig.SortMode.QUANTITY, true);
             
-            controller.sortInventory(InventorySortConfig.SortMode.QUANTITY, true, quantityComparator);
-            
-            context.getSource().sendFeedback(Text.literal("§a自定义比较器测试完成！"));
-            context.getSource().sendFeedback(Text.literal("§e使用了按数量升序的自定义比较器"));
+            context.getSource().sendFeedback(Text.literal("§a数量排序测试完成！"));
+            context.getSource().sendFeedback(Text.literal("§e使用了按数量排序模式"));
             return 1;
         } catch (Exception e) {
-            context.getSource().sendError(Text.literal("§c自定义比较器测试失败: " + e.getMessage()));
+            context.getSource().sendError(Text.literal("§c数量排序测试失败: " + e.getMessage()));
             return 0;
         }
     }
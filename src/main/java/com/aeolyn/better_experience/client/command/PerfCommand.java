@@ -0,0 +1,71 @@
+package com.aeolyn.better_experience.client.command;
+
+import com.aeolyn.better_experience.client.gui.MetricsHud;
+import com.aeolyn.better_experience.common.metrics.Counter;
+import com.aeolyn.better_experience.common.metrics.Gauge;
+import com.aeolyn.better_experience.common.metrics.Histogram;
+import com.aeolyn.better_experience.common.metrics.MetricsRegistry;
+import com.aeolyn.better_experience.common.util.LogUtil;
+import com.mojang.brigadier.CommandDispatcher;
+import net.fabricmc.fabric.api.client.command.v2.ClientCommandManager;
+import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
+import net.minecraft.text.Text;
+
+/**
+ * 性能指标命令
+ * /betterexperience perf 输出各指标的次数、平均值和百分位数（同时写入日志）
+ * /betterexperience perf reset 清零计数器和直方图
+ * /betterexperience perf hud 切换调试HUD
+ */
+public class PerfCommand {
+    
+    public static void register(CommandDispatcher<FabricClientCommandSource> dispatcher) {
+        dispatcher.register(ClientCommandManager.literal("betterexperience")
+            .then(ClientCommandManager.literal("perf")
+                .executes(context -> dump(context.getSource()))
+                .then(ClientCommandManager.literal("reset")
+                    .executes(context -> {
+                        MetricsRegistry.getInstance().reset();
+                        context.getSource().sendFeedback(Text.literal("§a性能指标已清零"));
+                        return 1;
+                    })
+                )
+                .then(ClientCommandManager.literal("hud")
+                    .executes(context -> {
+                        boolean shown = MetricsHud.toggle();
+                        context.getSource().sendFeedback(Text.literal(shown ? "§a已显示性能HUD" : "§7已隐藏性能HUD"));
+                        return 1;
+                    })
+                )
+            )
+        );
+    }
+    
+    private static int dump(FabricClientCommandSource source) {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        source.sendFeedback(Text.literal("§e=== Better Experience 性能指标 ==="));
+        for (Histogram histogram : registry.getHistograms()) {
+            Histogram.Snapshot snapshot = histogram.snapshot();
+            if (snapshot.count() == 0) continue;
+            String line = histogram.getName() + ": n=" + snapshot.count()
+                + " avg=" + MetricsRegistry.formatNanos(snapshot.meanNanos())
+                + " p50=" + MetricsRegistry.formatNanos(snapshot.p50Nanos())
+                + " p90=" + MetricsRegistry.formatNanos(snapshot.p90Nanos())
+                + " p99=" + MetricsRegistry.formatNanos(snapshot.p99Nanos())
+                + " max=" + MetricsRegistry.formatNanos(snapshot.maxNanos());
+            source.sendFeedback(Text.literal(line));
+            LogUtil.info("Performance", line);
+        }
+        for (Counter counter : registry.getCounters()) {
+            String line = counter.getName() + ": " + counter.get();
+            source.sendFeedback(Text.literal(line));
+            LogUtil.info("Performance", line);
+        }
+        for (Gauge gauge : registry.getGauges()) {
+            String line = gauge.getName() + ": " + String.format("%.2f", gauge.get());
+            source.sendFeedback(Text.literal(line));
+            LogUtil.info("Performance", line);
+        }
+        return 1;
+    }
+}
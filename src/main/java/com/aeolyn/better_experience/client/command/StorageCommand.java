@@ -0,0 +1,85 @@
+package com.aeolyn.better_experience.client.command;
+
+import com.aeolyn.better_experience.inventory.gui.StorageSearchScreen;
+import com.aeolyn.better_experience.inventory.network.ClientFindHandler;
+import com.aeolyn.better_experience.inventory.network.FindRequestPayload;
+import com.aeolyn.better_experience.inventory.storage.StorageIndex;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import net.fabricmc.fabric.api.client.command.v2.ClientCommandManager;
+import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.command.CommandRegistryAccess;
+import net.minecraft.command.argument.ItemStackArgumentType;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.text.Text;
+
+import java.util.List;
+
+/**
+ * 存储索引命令
+ * /betterexperience find &lt;物品&gt; 列出记住的存放该物品的容器
+ * /betterexperience find &lt;物品&gt; &lt;半径&gt; 由服务端查找附近已加载区块中的容器（服务端需要安装本mod）
+ * /betterexperience search 打开搜索界面
+ */
+public class StorageCommand {
+    
+    private static final int MAX_LINES = 10;
+    
+    public static void register(CommandDispatcher<FabricClientCommandSource> dispatcher, CommandRegistryAccess access) {
+        dispatcher.register(ClientCommandManager.literal("betterexperience")
+            .then(ClientCommandManager.literal("find")
+                .then(ClientCommandManager.argument("item", ItemStackArgumentType.itemStack(access))
+                    .executes(context -> executeFind(context, ItemStackArgumentType.getItemStackArgument(context, "item").getItem()))
+                    .then(ClientCommandManager.argument("radius", IntegerArgumentType.integer(1, FindRequestPayload.MAX_RADIUS))
+                        .executes(context -> executeServerFind(context,
+                            ItemStackArgumentType.getItemStackArgument(context, "item").getItem(),
+                            IntegerArgumentType.getInteger(context, "radius")))
+                    )
+                )
+            )
+            .then(ClientCommandManager.literal("search")
+                .executes(context -> {
+                    MinecraftClient client = MinecraftClient.getInstance();
+                    client.execute(() -> client.setScreen(new StorageSearchScreen(null)));
+                    return 1;
+                })
+            )
+        );
+    }
+    
+    private static int executeServerFind(CommandContext<FabricClientCommandSource> context, Item item, int radius) {
+        if (!ClientFindHandler.isAvailable()) {
+            context.getSource().sendFeedback(Text.literal("§e服务端没有安装Better Experience，改为查找记住的容器"));
+            return executeFind(context, item);
+        }
+        ClientFindHandler.request(item, radius);
+        context.getSource().sendFeedback(Text.literal("§7正在查找半径 " + radius + " 格内的容器……"));
+        return 1;
+    }
+    
+    private static int executeFind(CommandContext<FabricClientCommandSource> context, Item item) {
+        FabricClientCommandSource source = context.getSource();
+        String itemId = Registries.ITEM.getId(item).toString();
+        List<StorageIndex.Match> matches = StorageIndex.getInstance().find(itemId,
+            source.getWorld().getRegistryKey().getValue().toString(), source.getPlayer().getBlockPos());
+        
+        if (matches.isEmpty()) {
+            source.sendFeedback(Text.literal("§e记住的 " + StorageIndex.getInstance().getContainerCount() + " 个容器中没有 " + item.getName().getString()));
+            return 0;
+        }
+        
+        int total = matches.stream().mapToInt(StorageIndex.Match::count).sum();
+        source.sendFeedback(Text.literal("§a" + item.getName().getString() + "：共 " + total + " 个，分布在 " + matches.size() + " 个容器"));
+        for (int i = 0; i < Math.min(MAX_LINES, matches.size()); i++) {
+            StorageIndex.Match match = matches.get(i);
+            source.sendFeedback(Text.literal("  " + match.location() + " × " + match.count()));
+        }
+        if (matches.size() > MAX_LINES) {
+            source.sendFeedback(Text.literal("  ……还有 " + (matches.size() - MAX_LINES) + " 个容器"));
+        }
+        return matches.size();
+    }
+}
@@ -0,0 +1,77 @@
+package com.aeolyn.better_experience.client.gui;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.registry.Registries;
+import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 物品显示数据缓存
+ * 配置列表中的物品ID只在第一次出现时解析一次注册表，之后直接复用图标和显示名称
+ * 只在渲染线程使用
+ */
+public class ItemDisplayCache {
+
+    private static volatile ItemDisplayCache instance;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private ItemDisplayCache() {
+    }
+
+    /**
+     * 获取单例实例
+     */
+    public static ItemDisplayCache getInstance() {
+        if (instance == null) {
+            synchronized (ItemDisplayCache.class) {
+                if (instance == null) {
+                    instance = new ItemDisplayCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 获取物品的显示数据，物品ID无效或物品不存在时图标为空、名称为原始ID
+     */
+    public Entry get(String itemId) {
+        return entries.computeIfAbsent(itemId, ItemDisplayCache::resolve);
+    }
+
+    /**
+     * 清空缓存（注册表变化时调用）
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private static Entry resolve(String itemId) {
+        Identifier id = Identifier.tryParse(itemId);
+        if (id == null || !Registries.ITEM.containsId(id)) {
+            return new Entry(itemId, ItemStack.EMPTY, Text.literal(itemId));
+        }
+        Item item = Registries.ITEM.get(id);
+        if (item == Items.AIR) {
+            return new Entry(itemId, ItemStack.EMPTY, Text.literal(itemId));
+        }
+        // 可翻译文本，切换语言后仍显示正确名称
+        return new Entry(itemId, new ItemStack(item), item.getName());
+    }
+
+    /**
+     * 一个物品ID解析后的显示数据，图标只用于渲染，不要修改
+     */
+    public record Entry(String itemId, ItemStack icon, Text name) {
+
+        public boolean isResolved() {
+            return !icon.isEmpty();
+        }
+    }
+}
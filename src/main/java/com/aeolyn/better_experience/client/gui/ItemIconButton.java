@@ -0,0 +1,61 @@
+package com.aeolyn.better_experience.client.gui;
+
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.gui.widget.ButtonWidget;
+import net.minecraft.item.ItemStack;
+import net.minecraft.text.Text;
+
+/**
+ * 物品图标按钮（正方形）
+ * 绘制物品图标和启用状态指示器，图标由 {@link ItemDisplayCache} 解析后设置，渲染时不再查询注册表
+ */
+public class ItemIconButton extends ButtonWidget {
+
+    private ItemStack icon = ItemStack.EMPTY;
+    private boolean enabled;
+
+    public ItemIconButton(int x, int y, int width, int height, PressAction onPress) {
+        super(x, y, width, height, Text.literal(""), onPress, DEFAULT_NARRATION_SUPPLIER);
+    }
+
+    /**
+     * 设置显示的物品
+     */
+    public void setItem(ItemDisplayCache.Entry entry) {
+        this.icon = entry.icon();
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void renderWidget(DrawContext context, int mouseX, int mouseY, float delta) {
+        // 绘制按钮背景
+        context.fill(this.getX(), this.getY(), this.getX() + this.width, this.getY() + this.height, 0x44000000);
+
+        // 绘制物品图标
+        if (!icon.isEmpty()) {
+            // 根据启用状态设置不同的渲染参数
+            if (enabled) {
+                // 正常显示
+                context.drawItem(icon, this.getX() + 2, this.getY() + 2);
+            } else {
+                // 变暗显示
+                context.drawItem(icon, this.getX() + 2, this.getY() + 2, 0x88888888);
+            }
+        }
+
+        // 绘制边框
+        if (this.isHovered()) {
+            context.fill(this.getX(), this.getY(), this.getX() + this.width, this.getY() + this.height, 0x44FFFFFF);
+        }
+
+        // 绘制状态指示器（小圆点）
+        if (enabled) {
+            context.fill(this.getX() + this.width - 4, this.getY() + 2, this.getX() + this.width - 2, this.getY() + 4, 0xFF00FF00); // 绿色
+        } else {
+            context.fill(this.getX() + this.width - 4, this.getY() + 2, this.getX() + this.width - 2, this.getY() + 4, 0xFFFF0000); // 红色
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.aeolyn.better_experience.client.gui;
+
+import com.aeolyn.better_experience.common.metrics.Counter;
+import com.aeolyn.better_experience.common.metrics.Gauge;
+import com.aeolyn.better_experience.common.metrics.Histogram;
+import com.aeolyn.better_experience.common.metrics.MetricsRegistry;
+import net.fabricmc.fabric.api.client.rendering.v1.hud.HudElementRegistry;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.render.RenderTickCounter;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 性能指标调试HUD
+ * 在屏幕左上角列出有数据的直方图（次数、p50、p99、最大值）、计数器和瞬时值；
+ * 文本每半秒重新生成一次，其余帧只绘制缓存的行
+ */
+public class MetricsHud {
+
+    private static final Identifier HUD_ID = Identifier.of("better_experience", "metrics_hud");
+    private static final long REFRESH_INTERVAL_MS = 500;
+    private static final int LINE_HEIGHT = 10;
+
+    private static boolean visible = false;
+    private static long lastRefresh = 0;
+    private static List<String> lines = List.of();
+
+    /**
+     * 注册HUD元素（客户端初始化时调用一次）
+     */
+    public static void register() {
+        HudElementRegistry.addLast(HUD_ID, MetricsHud::render);
+    }
+
+    /**
+     * 切换显示
+     * @return 切换后是否显示
+     */
+    public static boolean toggle() {
+        visible = !visible;
+        lastRefresh = 0;
+        return visible;
+    }
+
+    private static void render(DrawContext context, RenderTickCounter tickCounter) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (!visible || client.getDebugHud().shouldShowDebugHud()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastRefresh >= REFRESH_INTERVAL_MS) {
+            lines = buildLines();
+            lastRefresh = now;
+        }
+
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, client.textRenderer.getWidth(line));
+        }
+        context.fill(2, 2, 6 + width, 4 + lines.size() * LINE_HEIGHT, 0x90000000);
+        for (int i = 0; i < lines.size(); i++) {
+            context.drawTextWithShadow(client.textRenderer, lines.get(i), 4, 4 + i * LINE_HEIGHT, 0xFFFFFFFF);
+        }
+    }
+
+    private static List<String> buildLines() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        List<String> result = new ArrayList<>();
+        result.add("§eBetter Experience 性能指标");
+        for (Histogram histogram : registry.getHistograms()) {
+            Histogram.Snapshot snapshot = histogram.snapshot();
+            if (snapshot.count() == 0) continue;
+            result.add(histogram.getName() + " §7n=" + snapshot.count()
+                + " p50=" + MetricsRegistry.formatNanos(snapshot.p50Nanos())
+                + " p99=" + MetricsRegistry.formatNanos(snapshot.p99Nanos())
+                + " max=" + MetricsRegistry.formatNanos(snapshot.maxNanos()));
+        }
+        for (Counter counter : registry.getCounters()) {
+            if (counter.get() == 0) continue;
+            result.add(counter.getName() + " §7" + counter.get());
+        }
+        for (Gauge gauge : registry.getGauges()) {
+            result.add(gauge.getName() + " §7" + String.format("%.2f", gauge.get()));
+        }
+        return result;
+    }
+}
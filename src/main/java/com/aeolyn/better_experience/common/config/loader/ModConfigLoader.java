@@ -1,5 +1,7 @@
 package com.aeolyn.better_experience.common.config.loader;
 
+import com.aeolyn.better_experience.common.metrics.Metrics;
+import com.aeolyn.better_experience.common.metrics.jfr.ConfigIoEvent;
 import com.aeolyn.better_experience.common.config.ModConfig;
 import com.aeolyn.better_experience.common.config.LogConfig;
 import com.aeolyn.better_experience.common.config.exception.ConfigLoadException;
@@ -39,11 +41,12 @@ public class ModConfigLoader {
      * @throws ConfigLoadException 如果加载失败
      */
     public ModConfig loadModConfig() throws ConfigLoadException {
+        long startNanos = System.nanoTime();
+        ConfigIoEvent event = ConfigIoEvent.start(ConfigIoEvent.LOAD);
+        Path configPath = getConfigPath();
         try {
             LogUtil.logInitialization(LogUtil.MODULE_CONFIG, "模组配置");
             
-            Path configPath = getConfigPath();
-            
             // 如果配置文件不存在，创建默认配置
             if (!Files.exists(configPath)) {
                 LogUtil.info(LogUtil.MODULE_CONFIG, "配置文件不存在，创建默认配置: {}", configPath);
@@ -69,6 +72,9 @@ public class ModConfigLoader {
         } catch (Exception e) {
             LogUtil.error(LogUtil.MODULE_CONFIG, "加载模组配置失败: {}", e.getMessage(), e);
             throw new ConfigLoadException("加载模组配置失败", e);
+        } finally {
+            Metrics.CONFIG_LOAD.recordSince(startNanos);
+            event.finish(configPath);
         }
     }
     
@@ -125,6 +131,7 @@ public class ModConfigLoader {
         ModConfig.PerformanceConfig perfConfig = config.getPerformanceConfig();
         perfConfig.setEnableCache(true);
         perfConfig.setCacheSize(1000);
+        perfConfig.setBoundedItemCache(false);
         perfConfig.setEnableAsyncLoading(true);
         perfConfig.setMaxConcurrentOperations(4);
         
@@ -18,6 +18,7 @@ import com.aeolyn.better_experience.inventory.loader.InventoryConfigLoader;
 import com.aeolyn.better_experience.inventory.saver.InventoryConfigSaver;
 import com.aeolyn.better_experience.common.config.validator.ValidationResult;
 import com.aeolyn.better_experience.common.config.validator.impl.ItemConfigValidator;
+import com.aeolyn.better_experience.common.metrics.jfr.ConfigIoEvent;
 import com.aeolyn.better_experience.common.util.LogUtil;
 import com.aeolyn.better_experience.common.util.ConfigValidationUtil;
 import com.aeolyn.better_experience.common.config.ModConfig;
@@ -25,6 +26,9 @@ import com.aeolyn.better_experience.common.config.loader.ModConfigLoader;
 import com.aeolyn.better_experience.common.config.saver.ModConfigSaver;
 
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * 配置管理器实现
@@ -50,6 +54,16 @@ public class ConfigManagerImpl {
     
     private volatile boolean initialized = false;
     
+    // 被淘汰的物品配置在后台线程上重新加载，同一物品只加载一次
+    private final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "BetterExperience-ConfigReload");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<String> reloading = ConcurrentHashMap.newKeySet();
+    // 每次重建缓存加一，重建之前开始的重新加载结果作废
+    private volatile int cacheGeneration = 0;
+    
     public ConfigManagerImpl() {
         this.factory = new DefaultConfigFactory();
         this.render3DLoader = new Render3DConfigLoader(factory);
@@ -130,13 +144,26 @@ public class ConfigManagerImpl {
      */
     private void initializeCache(ItemsConfig itemsConfig) {
         cache.invalidate();
+        cacheGeneration++;
+        
+        // 物品配置数量上限（需要在性能配置中开启），配置很多时按最近使用淘汰
+        int maxSize = 0;
+        if (modConfig != null && modConfig.getPerformanceConfig() != null && modConfig.getPerformanceConfig().isBoundedItemCache()) {
+            maxSize = modConfig.getPerformanceConfig().getCacheSize();
+        }
+        ((MemoryConfigCache) cache).setMaxSize(maxSize);
         
         if (itemsConfig.getEnabledItems() != null) {
             // 批量添加启用的物品到缓存
             ((MemoryConfigCache) cache).addAllEnabledItems(new java.util.HashSet<>(itemsConfig.getEnabledItems()));
             
-            // 加载所有启用的物品配置
+            // 加载启用的物品配置，有上限时只加载上限以内的，其余在第一次查询时后台加载
+            int loaded = 0;
             for (String itemId : itemsConfig.getEnabledItems()) {
+                if (maxSize > 0 && loaded >= maxSize) {
+                    break;
+                }
+                loaded++;
                 try {
                     ItemConfig itemConfig = render3DLoader.loadItemConfig(itemId);
                     
@@ -144,6 +171,7 @@ public class ConfigManagerImpl {
                     ValidationResult itemValidation = ConfigValidationUtil.validate(itemConfig);
                     ConfigValidationUtil.logValidationResult(itemId, itemValidation);
                     if (!itemValidation.isValid()) {
+                        cache.putNegative(itemId);
                         continue;
                     }
                     
@@ -151,6 +179,7 @@ public class ConfigManagerImpl {
                     
                                  } catch (Exception e) {
                      LogUtil.error(LogUtil.MODULE_CONFIG, "加载物品配置失败 {}: {}", itemId, e.getMessage());
+                     cache.putNegative(itemId);
                  }
             }
         }
@@ -172,7 +201,49 @@ public class ConfigManagerImpl {
      */
     public ItemConfig getItemConfig(String itemId) {
         ensureInitialized();
-        return cache.getItemConfig(itemId);
+        ItemConfig config = cache.getItemConfig(itemId);
+        if (config == null && cache.isValid() && cache.getEnabledItems().contains(itemId) && !cache.isNegative(itemId)) {
+            // 已启用物品的配置因缓存达到上限被淘汰（或还没加载），在后台重新加载，本次返回null按原版渲染
+            reloadEvictedItemConfig(itemId);
+        }
+        return config;
+    }
+    
+    /**
+     * 在后台线程上重新加载被淘汰的物品配置（调用方可能是渲染线程，不能读磁盘）
+     * 文件不存在或验证失败时记为否定条目
+     */
+    private void reloadEvictedItemConfig(String itemId) {
+        if (!reloading.add(itemId)) {
+            return;
+        }
+        int generation = cacheGeneration;
+        reloadExecutor.execute(() -> {
+            try {
+                ItemConfig itemConfig = null;
+                if (render3DLoader.configExists(itemId)) {
+                    itemConfig = render3DLoader.loadItemConfig(itemId);
+                    if (!ConfigValidationUtil.validate(itemConfig).isValid()) {
+                        itemConfig = null;
+                    }
+                }
+                if (generation != cacheGeneration) {
+                    return;
+                }
+                if (itemConfig != null) {
+                    cache.put(itemId, itemConfig);
+                } else {
+                    cache.putNegative(itemId);
+                }
+            } catch (Exception e) {
+                LogUtil.error(LogUtil.MODULE_CONFIG, "重新加载物品配置失败 {}: {}", itemId, e.getMessage());
+                if (generation == cacheGeneration) {
+                    cache.putNegative(itemId);
+                }
+            } finally {
+                reloading.remove(itemId);
+            }
+        });
     }
     
     /**
@@ -350,6 +421,7 @@ public class ConfigManagerImpl {
      * 重新加载配置
      */
     public void reload() {
+        ConfigIoEvent event = ConfigIoEvent.start(ConfigIoEvent.RELOAD);
                  try {
              LogUtil.logInitialization(LogUtil.MODULE_CONFIG, "配置重新加载");
              
@@ -364,6 +436,8 @@ public class ConfigManagerImpl {
          } catch (Exception e) {
              LogUtil.logFailure(LogUtil.MODULE_CONFIG, "重新加载配置", e);
              throw new RuntimeException("Failed to reload config", e);
+         } finally {
+             event.finish(null);
          }
     }
     
@@ -1,5 +1,7 @@
 package com.aeolyn.better_experience.common.config.saver;
 
+import com.aeolyn.better_experience.common.metrics.Metrics;
+import com.aeolyn.better_experience.common.metrics.jfr.ConfigIoEvent;
 import com.aeolyn.better_experience.common.config.ModConfig;
 import com.aeolyn.better_experience.common.config.exception.ConfigSaveException;
 import com.aeolyn.better_experience.common.util.LogUtil;
@@ -35,10 +37,12 @@ public class ModConfigSaver {
      * @throws ConfigSaveException 如果保存失败
      */
     public void saveModConfig(ModConfig config) throws ConfigSaveException {
+        long startNanos = System.nanoTime();
+        ConfigIoEvent event = ConfigIoEvent.start(ConfigIoEvent.SAVE);
+        Path configPath = getConfigPath();
         try {
             LogUtil.logInitialization(LogUtil.MODULE_CONFIG, "保存模组配置");
             
-            Path configPath = getConfigPath();
             Path configDir = configPath.getParent();
             
             // 确保配置目录存在
@@ -62,6 +66,9 @@ public class ModConfigSaver {
         } catch (Exception e) {
             LogUtil.error(LogUtil.MODULE_CONFIG, "保存模组配置失败: {}", e.getMessage(), e);
             throw new ConfigSaveException("保存模组配置失败", e);
+        } finally {
+            Metrics.CONFIG_SAVE.recordSince(startNanos);
+            event.finish(configPath);
         }
     }
     
@@ -0,0 +1,36 @@
+package com.aeolyn.better_experience.common.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 计数器，多线程递增时没有竞争
+ */
+public final class Counter {
+
+    private final String name;
+    private final LongAdder value = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    void reset() {
+        value.reset();
+    }
+}
@@ -0,0 +1,32 @@
+package com.aeolyn.better_experience.common.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * 瞬时值，读取时才计算
+ */
+public final class Gauge {
+
+    private final String name;
+    private final DoubleSupplier supplier;
+
+    Gauge(String name, DoubleSupplier supplier) {
+        this.name = name;
+        this.supplier = supplier;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 当前值，计算失败时为NaN
+     */
+    public double get() {
+        try {
+            return supplier.getAsDouble();
+        } catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.aeolyn.better_experience.common.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 纳秒耗时直方图
+ * 固定的按2的幂划分的桶（1微秒以下为第一个桶，最后一个桶约34秒以上），
+ * 每个桶是一个 {@link LongAdder}，记录只是一次位运算和一次无竞争的加法；
+ * 百分位数在桶内线性插值，误差不超过所在桶的宽度
+ */
+public final class Histogram {
+
+    /** 第一个桶的上界为 2^MIN_BITS 纳秒 */
+    private static final int MIN_BITS = 10;
+    private static final int BUCKETS = 26;
+
+    private final String name;
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    Histogram(String name) {
+        this.name = name;
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 记录一次耗时
+     * @param nanos 纳秒，负数按0计
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        buckets[bucketOf(value)].increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * 记录从 startNanos（System.nanoTime）到现在的耗时
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 读取当前的统计（各字段分别读取，并发记录时可能有微小偏差）
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        return new Snapshot(total, sum.sum(), max.get(),
+            percentile(counts, total, 0.50), percentile(counts, total, 0.90), percentile(counts, total, 0.99));
+    }
+
+    void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        sum.reset();
+        max.reset();
+    }
+
+    private static int bucketOf(long nanos) {
+        int bits = 64 - Long.numberOfLeadingZeros(nanos);
+        return Math.max(0, Math.min(BUCKETS - 1, bits - MIN_BITS));
+    }
+
+    private static long lowerBound(int bucket) {
+        return bucket == 0 ? 0L : 1L << (bucket + MIN_BITS - 1);
+    }
+
+    private static long upperBound(int bucket) {
+        return 1L << (bucket + MIN_BITS);
+    }
+
+    private static long percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0L;
+        }
+        double rank = quantile * total;
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) continue;
+            if (seen + counts[i] >= rank) {
+                double fraction = (rank - seen) / counts[i];
+                long low = lowerBound(i);
+                return low + (long) ((upperBound(i) - low) * fraction);
+            }
+            seen += counts[i];
+        }
+        return upperBound(counts.length - 1);
+    }
+
+    /**
+     * 直方图统计
+     * @param count 记录次数
+     * @param sumNanos 总耗时
+     * @param maxNanos 最大耗时
+     */
+    public record Snapshot(long count, long sumNanos, long maxNanos, long p50Nanos, long p90Nanos, long p99Nanos) {
+
+        public long meanNanos() {
+            return count == 0 ? 0L : sumNanos / count;
+        }
+    }
+}
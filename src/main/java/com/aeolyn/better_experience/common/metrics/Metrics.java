@@ -0,0 +1,49 @@
+package com.aeolyn.better_experience.common.metrics;
+
+import com.aeolyn.better_experience.common.config.manager.ConfigManager;
+
+/**
+ * 模组内置的指标
+ * 名称按"模块.指标"组织，耗时类指标都是纳秒直方图
+ */
+public final class Metrics {
+
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.getInstance();
+
+    // ==================== 3D渲染 ====================
+
+    /** 手持物品是否走3D渲染的判断耗时 */
+    public static final Histogram RENDER3D_DECISION = REGISTRY.histogram("render3d.decision");
+    /** 一次3D渲染的耗时 */
+    public static final Histogram RENDER3D_RENDER = REGISTRY.histogram("render3d.render");
+    public static final Counter RENDER3D_RENDERED = REGISTRY.counter("render3d.rendered");
+    public static final Counter RENDER3D_VANILLA = REGISTRY.counter("render3d.vanilla");
+
+    // ==================== 配置 ====================
+
+    public static final Histogram CONFIG_LOAD = REGISTRY.histogram("config.load");
+    public static final Histogram CONFIG_SAVE = REGISTRY.histogram("config.save");
+
+    // ==================== 副手限制 ====================
+
+    public static final Histogram OFFHAND_CHECK = REGISTRY.histogram("offhand.check");
+    public static final Counter OFFHAND_BLOCKED = REGISTRY.counter("offhand.blocked");
+
+    // ==================== 背包整理 ====================
+
+    /** 排序和转移的规划耗时（纯规划，不含等待） */
+    public static final Histogram INVENTORY_PLANNING = REGISTRY.histogram("inventory.planning");
+    /** 实际发出的点击 */
+    public static final Counter INVENTORY_CLICKS = REGISTRY.counter("inventory.clicks");
+
+    private Metrics() {
+    }
+
+    /**
+     * 登记需要读取其他模块状态的瞬时值（配置管理器初始化之后调用）
+     */
+    public static void registerGauges() {
+        REGISTRY.gauge("config.cache_hit_rate", () -> ConfigManager.getInstance().getCacheStats().getHitRate() * 100);
+        REGISTRY.gauge("config.cache_evictions", () -> ConfigManager.getInstance().getCacheStats().getEvictions());
+    }
+}
@@ -0,0 +1,103 @@
+package com.aeolyn.better_experience.common.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/**
+ * 指标注册表
+ * 按名称登记计数器、瞬时值和耗时直方图，同名指标只创建一次；
+ * 指标对象应在类加载时取得并保存在静态字段中，热路径上不查表
+ */
+public class MetricsRegistry {
+
+    private static volatile MetricsRegistry instance;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    /**
+     * 获取单例实例
+     */
+    public static MetricsRegistry getInstance() {
+        if (instance == null) {
+            synchronized (MetricsRegistry.class) {
+                if (instance == null) {
+                    instance = new MetricsRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, Histogram::new);
+    }
+
+    /**
+     * 登记瞬时值，同名时替换之前的计算方法
+     */
+    public Gauge gauge(String name, DoubleSupplier supplier) {
+        Gauge gauge = new Gauge(name, supplier);
+        gauges.put(name, gauge);
+        return gauge;
+    }
+
+    /**
+     * 按名称排序的全部计数器
+     */
+    public List<Counter> getCounters() {
+        return sorted(counters.values(), Counter::getName);
+    }
+
+    public List<Gauge> getGauges() {
+        return sorted(gauges.values(), Gauge::getName);
+    }
+
+    public List<Histogram> getHistograms() {
+        return sorted(histograms.values(), Histogram::getName);
+    }
+
+    /**
+     * 清零全部计数器和直方图（瞬时值不受影响）
+     */
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        histograms.values().forEach(Histogram::reset);
+    }
+
+    /**
+     * 把纳秒格式化为便于阅读的单位
+     */
+    public static String formatNanos(long nanos) {
+        if (nanos < 1_000L) {
+            return nanos + "ns";
+        }
+        if (nanos < 1_000_000L) {
+            return String.format("%.1fµs", nanos / 1_000.0);
+        }
+        if (nanos < 1_000_000_000L) {
+            return String.format("%.2fms", nanos / 1_000_000.0);
+        }
+        return String.format("%.2fs", nanos / 1_000_000_000.0);
+    }
+
+    private static <T> List<T> sorted(Collection<T> values, Function<T, String> name) {
+        List<T> list = new ArrayList<>(values);
+        list.sort(Comparator.comparing(name));
+        return list;
+    }
+}
@@ -0,0 +1,73 @@
+package com.aeolyn.better_experience.common.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 一次配置文件读写或重新加载（JFR事件）
+ * 文件大小只在事件需要提交时才读取，未录制时不产生额外的文件系统访问
+ */
+@Name("better_experience.ConfigIo")
+@Label("Config I/O")
+@Category({"Better Experience", "Config"})
+@Description("Load, save or reload of a mod config file")
+public class ConfigIoEvent extends Event {
+
+    public static final String LOAD = "load";
+    public static final String SAVE = "save";
+    public static final String RELOAD = "reload";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("File")
+    String file;
+
+    @Label("Size")
+    @Description("File size after the operation, 0 for reloads or missing files")
+    @DataAmount
+    long bytes;
+
+    /**
+     * 创建并开始计时
+     * @param operation {@link #LOAD}、{@link #SAVE} 或 {@link #RELOAD}
+     */
+    public static ConfigIoEvent start(String operation) {
+        ConfigIoEvent event = new ConfigIoEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 结束计时，录制中时填写文件信息并提交
+     * @param file 读写的文件，重新加载时为null
+     */
+    public void finish(Path file) {
+        end();
+        if (shouldCommit()) {
+            this.file = file != null ? file.toString() : "";
+            this.bytes = sizeOf(file);
+            commit();
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        if (file == null) {
+            return 0;
+        }
+        try {
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
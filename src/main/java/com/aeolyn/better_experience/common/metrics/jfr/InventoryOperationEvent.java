@@ -0,0 +1,84 @@
+package com.aeolyn.better_experience.common.metrics.jfr;
+
+import com.aeolyn.better_experience.inventory.click.SortReport;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * 一次整理或转移（JFR事件）
+ * 持续时间从提交规划开始到点击程序执行结束，包括后台规划和按tick分批发送点击的等待；
+ * 纯规划耗时单独记录在 planning 字段
+ */
+@Name("better_experience.InventoryOperation")
+@Label("Inventory Operation")
+@Category({"Better Experience", "Inventory"})
+@Description("Sort or transfer from planning until the last click was sent")
+public class InventoryOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Mode")
+    String mode;
+
+    @Label("Slots")
+    int slots;
+
+    @Label("Planned Clicks")
+    int plannedClicks;
+
+    @Label("Sent Clicks")
+    int sentClicks;
+
+    @Label("Planning")
+    @Timespan(Timespan.NANOSECONDS)
+    long planning;
+
+    @Label("Status")
+    String status;
+
+    /**
+     * 创建并开始计时
+     * @param operation 操作名称（与点击程序的标签一致）
+     * @param mode 排序模式或存入模式
+     * @param slots 参与的槽位数
+     */
+    public static InventoryOperationEvent start(String operation, String mode, int slots) {
+        InventoryOperationEvent event = new InventoryOperationEvent();
+        event.operation = operation;
+        event.mode = mode;
+        event.slots = slots;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 操作结束时调用，录制中时按报告填写点击统计并提交
+     */
+    public void finish(SortReport report) {
+        end();
+        if (shouldCommit()) {
+            this.plannedClicks = report.getPlannedClicks();
+            this.sentClicks = report.getSentClicks();
+            this.planning = report.getPlanningNanos();
+            this.status = report.getStatus().name();
+            commit();
+        }
+    }
+
+    /**
+     * 规划没有交给点击执行器时调用，只记录状态
+     * @param status STALE（规划已过期）、EMPTY（无需操作）、FAILED（规划失败）或 ABORTED（断开连接）
+     */
+    public void abort(String status) {
+        end();
+        if (shouldCommit()) {
+            this.status = status;
+            commit();
+        }
+    }
+}
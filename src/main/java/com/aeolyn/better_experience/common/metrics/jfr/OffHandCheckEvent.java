@@ -0,0 +1,47 @@
+package com.aeolyn.better_experience.common.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+
+/**
+ * 一次副手限制检查（JFR事件）
+ */
+@Name("better_experience.OffHandCheck")
+@Label("Offhand Check")
+@Category({"Better Experience", "Offhand"})
+@Description("Whitelist check before using or placing the offhand item")
+@StackTrace(false)
+public class OffHandCheckEvent extends Event {
+
+    public static final String USE = "use";
+    public static final String PLACE = "place";
+
+    @Label("Item")
+    String itemId;
+
+    @Label("Action")
+    @Description("use or place")
+    String action;
+
+    @Label("Allowed")
+    boolean allowed;
+
+    /**
+     * 结束计时，录制中时填写字段并提交（物品ID只在提交时才查询）
+     */
+    public void finish(Item item, String action, boolean allowed) {
+        end();
+        if (shouldCommit()) {
+            this.itemId = Registries.ITEM.getId(item).toString();
+            this.action = action;
+            this.allowed = allowed;
+            commit();
+        }
+    }
+}
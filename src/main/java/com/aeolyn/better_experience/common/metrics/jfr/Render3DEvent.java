@@ -0,0 +1,51 @@
+package com.aeolyn.better_experience.common.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemDisplayContext;
+import net.minecraft.registry.Registries;
+
+/**
+ * 一次手持物品的3D渲染（JFR事件）
+ * 每帧都可能触发，不记录调用栈；字段只在事件需要提交时才填写，未录制时只剩 begin/end 两次空调用
+ */
+@Name("better_experience.Render3D")
+@Label("3D Item Render")
+@Category({"Better Experience", "Render"})
+@Description("Render of a handheld item as an entity or block model")
+@StackTrace(false)
+public class Render3DEvent extends Event {
+
+    public static final String PATH_ENTITY = "entity";
+    public static final String PATH_BLOCK = "block";
+    /** 配置无效或找不到模型，交回原版渲染 */
+    public static final String PATH_FALLBACK = "fallback";
+
+    @Label("Item")
+    String itemId;
+
+    @Label("Path")
+    @Description("entity, block or fallback")
+    String path;
+
+    @Label("Display Context")
+    String displayContext;
+
+    /**
+     * 结束计时，录制中时填写字段并提交（物品ID只在提交时才查询）
+     */
+    public void finish(Item item, String path, ItemDisplayContext displayContext) {
+        end();
+        if (shouldCommit()) {
+            this.itemId = Registries.ITEM.getId(item).toString();
+            this.path = path;
+            this.displayContext = displayContext.name();
+            commit();
+        }
+    }
+}
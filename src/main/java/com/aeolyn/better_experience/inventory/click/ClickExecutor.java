@@ -0,0 +1,494 @@
+package com.aeolyn.better_experience.inventory.click;
+
+import com.aeolyn.better_experience.common.config.manager.ConfigManager;
+import com.aeolyn.better_experience.common.metrics.Metrics;
+import com.aeolyn.better_experience.common.util.LogUtil;
+import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
+import com.aeolyn.better_experience.inventory.model.ClickSimulator;
+import com.aeolyn.better_experience.inventory.model.InventoryModel;
+import com.aeolyn.better_experience.inventory.model.InventoryModelAdapter;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.screen.ingame.HandledScreen;
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.client.network.PlayerListEntry;
+import net.minecraft.item.ItemStack;
+import net.minecraft.screen.ScreenHandler;
+import net.minecraft.screen.slot.Slot;
+import net.minecraft.screen.slot.SlotActionType;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 点击执行器
+ * 按tick分批发送点击程序，每tick的点击数由 {@link ClickFlowController} 决定
+ * 界面关闭或切换时中止剩余点击；所有方法都在客户端线程上调用
+ */
+public class ClickExecutor {
+
+    // 不同步后等待回包平静的tick数（另加一个往返时间）
+    private static final int RESYNC_QUIET_TICKS = 2;
+    // 每个程序最多重新规划的次数
+    private static final int MAX_REPLANS = 3;
+    // 放回光标物品时最多点击的次数
+    private static final int MAX_CURSOR_RESTORE_CLICKS = 8;
+
+    private static volatile ClickExecutor instance;
+
+    private final Deque<Job> queue = new ArrayDeque<>();
+    private final ClickFlowController flowController = new ClickFlowController();
+    private Job active;
+
+    private ClickExecutor() {
+    }
+
+    /**
+     * 获取单例实例
+     */
+    public static ClickExecutor getInstance() {
+        if (instance == null) {
+            synchronized (ClickExecutor.class) {
+                if (instance == null) {
+                    instance = new ClickExecutor();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 提交点击程序，程序按提交顺序依次执行
+     * @return 执行结束（完成或中止）时给出整理报告
+     */
+    public CompletableFuture<SortReport> submit(ClickProgram program) {
+        Job job = new Job(program);
+        if (program.isEmpty()) {
+            job.report.setMessage("无需点击");
+            job.future.complete(job.report);
+            return job.future;
+        }
+        queue.add(job);
+        LogUtil.info("Inventory", "提交点击程序: " + program);
+        return job.future;
+    }
+
+    /**
+     * 是否有正在执行或等待执行的点击程序
+     */
+    public boolean isBusy() {
+        return active != null || !queue.isEmpty();
+    }
+
+    /**
+     * 中止所有点击程序
+     */
+    public void cancelAll(String reason) {
+        if (active != null) {
+            finish(active, SortReport.Status.ABORTED, reason);
+            active = null;
+        }
+        while (!queue.isEmpty()) {
+            Job job = queue.poll();
+            finish(job, SortReport.Status.ABORTED, reason);
+        }
+    }
+
+    /**
+     * 每个客户端tick结束时调用
+     */
+    public void tick(MinecraftClient client) {
+        if (active == null) {
+            active = queue.poll();
+            if (active == null) {
+                return;
+            }
+        }
+
+        ClientPlayerEntity player = client.player;
+        if (player == null || client.interactionManager == null) {
+            cancelAll("玩家已离开世界");
+            return;
+        }
+        int syncId = active.program.getSyncId();
+        // 玩家背包界面的程序（如快捷栏补货）在没有打开界面时也可以执行
+        boolean screenOpen = client.currentScreen instanceof HandledScreen
+            || (client.currentScreen == null && syncId == player.playerScreenHandler.syncId);
+        if (!screenOpen || player.currentScreenHandler.syncId != syncId) {
+            abortSyncId(syncId, "界面已关闭");
+            return;
+        }
+        if (!active.started && !start(active, client, player)) {
+            active = null;
+            return;
+        }
+        
+        updateLatency(client, player);
+        active.report.setTicks(active.report.getTicks() + 1);
+        
+        // 不同步：等待回包平静后重新同步
+        if (active.paused) {
+            if (--active.pauseTicks > 0) {
+                return;
+            }
+            if (!resync(active, client, player)) {
+                active = null;
+                return;
+            }
+        }
+        
+        int budget = flowController.getBudget();
+        int sent = 0;
+        try {
+            while (sent < budget && active.hasNext()) {
+                ClickOp op = active.next();
+                client.interactionManager.clickSlot(syncId, op.getSlotId(), op.getButton(), toSlotActionType(op.getType()), player);
+                predict(active, op);
+                active.sent++;
+                sent++;
+            }
+        } catch (Exception e) {
+            LogUtil.error("Inventory", "发送点击失败", e);
+            finish(active, SortReport.Status.FAILED, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            active = null;
+            return;
+        }
+        
+        active.report.setSentClicks(active.sent);
+        flowController.onTickEnd(sent);
+        
+        if (!active.hasNext()) {
+            // 全部发送后再等一个往返时间，最后几次点击被纠正时仍能重新同步
+            if (active.settleTicks < 0) {
+                active.settleTicks = RESYNC_QUIET_TICKS + flowController.getRttTicks();
+            } else if (--active.settleTicks <= 0) {
+                if (!restoreCursor(active, client, player)) {
+                    finish(active, SortReport.Status.FAILED, "光标上的物品无处放置");
+                } else {
+                    finish(active, SortReport.Status.COMPLETED, "");
+                }
+                active = null;
+            }
+        }
+    }
+    
+    // ==================== 服务端回包 ====================
+
+    /**
+     * 收到槽位更新包：客户端预测与服务端不一致时服务端才会发送，视为一次纠正
+     * 内容与执行器的预测也不一致时暂停发送并重新同步
+     * @param syncId 界面同步ID
+     * @param slotId 槽位ID
+     * @param stack 服务端的槽位内容
+     */
+    public void onSlotUpdate(int syncId, int slotId, ItemStack stack) {
+        if (!isActiveFor(syncId)) {
+            return;
+        }
+        active.report.setCorrections(active.report.getCorrections() + 1);
+        flowController.onCorrection();
+        if (active.predicted != null && !InventoryModelAdapter.matches(active.predicted, slotId, stack)) {
+            pause(active, "槽位 " + slotId + " 与预测不一致");
+        }
+    }
+    
+    /**
+     * 收到整界面同步包：服务端检测到版本号不一致时重发全部槽位，视为一次纠正
+     * 同步后的界面与预测不一致时暂停发送并重新同步
+     */
+    public void onInventorySync(int syncId) {
+        if (!isActiveFor(syncId)) {
+            return;
+        }
+        active.report.setCorrections(active.report.getCorrections() + 1);
+        flowController.onCorrection();
+        ClientPlayerEntity player = MinecraftClient.getInstance().player;
+        if (active.predicted != null && player != null
+            && !InventoryModelAdapter.fromHandler(player.currentScreenHandler).equals(active.predicted)) {
+            pause(active, "服务端重发了整个界面");
+        }
+    }
+    
+    /**
+     * 收到服务端时间同步包，用于估算TPS
+     */
+    public void onWorldTimeUpdate() {
+        flowController.onTimeUpdate(System.currentTimeMillis());
+    }
+
+    /**
+     * 断开连接时清空队列
+     */
+    public void onDisconnect() {
+        cancelAll("已断开连接");
+        flowController.resetServerTps();
+    }
+
+    public ClickFlowController getFlowController() {
+        return flowController;
+    }
+
+    // ==================== 内部实现 ====================
+
+    /**
+     * 开始执行：按界面当前状态优化点击程序并重置流量控制
+     * 程序规划时的界面内容与当前不一致时先重新规划
+     * @return 是否继续执行，false表示已经结束
+     */
+    private boolean start(Job job, MinecraftClient client, ClientPlayerEntity player) {
+        InventorySortConfig.ClickSettings settings = getClickSettings();
+        flowController.reset(settings.getInitialClicksPerTick(), settings.getMaxClicksPerTick(), settings.isAdaptiveFlowControl());
+        job.started = true;
+        job.startNanos = System.nanoTime();
+        
+        InventoryModel current = InventoryModelAdapter.fromHandler(player.currentScreenHandler);
+        InventoryModel planned = job.program.getInitialState();
+        if (planned != null && !planned.equals(current)) {
+            // 排队期间界面内容已变化（通常是前一个程序的点击），按最新内容重新规划
+            if (job.program.getReplanner() == null) {
+                finish(job, SortReport.Status.ABORTED, "排队期间界面内容已变化");
+                return false;
+            }
+            LogUtil.info("Inventory", job.program.getLabel() + "排队期间界面内容已变化，重新规划");
+            return resync(job, client, player);
+        }
+        load(job, job.program, current, settings);
+        return true;
+    }
+    
+    /**
+     * 装载待发送的点击，并以界面当前状态作为预测起点
+     */
+    private void load(Job job, ClickProgram program, InventoryModel model, InventorySortConfig.ClickSettings settings) {
+        job.ops = program.getOps();
+        job.position = 0;
+        job.settleTicks = -1;
+        job.predicted = model.copy();
+        if (settings.isOptimizeClicks()) {
+            long optimizeStart = System.nanoTime();
+            try {
+                ClickProgram optimized = ClickProgramOptimizer.optimize(program, model);
+                job.ops = optimized.getOps();
+                job.report.setOptimizedClicks(job.report.getOptimizedClicks() + program.size() - optimized.size());
+            } catch (Exception e) {
+                LogUtil.warn("Inventory", "点击程序优化失败，按原程序执行: " + e.getMessage());
+            }
+            job.report.setPlanningNanos(job.report.getPlanningNanos() + System.nanoTime() - optimizeStart);
+        }
+    }
+    
+    /**
+     * 在预测模型上模拟已发送的点击；无法模拟时停止预测，之后只统计纠正次数
+     */
+    private void predict(Job job, ClickOp op) {
+        if (job.predicted == null) {
+            return;
+        }
+        if (ClickSimulator.supports(job.predicted, op)) {
+            ClickSimulator.apply(job.predicted, op);
+        } else {
+            job.predicted = null;
+        }
+    }
+    
+    /**
+     * 暂停发送；暂停期间继续收到不一致的回包会重新计时
+     */
+    private void pause(Job job, String reason) {
+        if (!job.paused) {
+            LogUtil.warn("Inventory", job.program.getLabel() + "与服务端不同步（" + reason + "），暂停发送");
+        }
+        job.paused = true;
+        job.pauseTicks = RESYNC_QUIET_TICKS + flowController.getRttTicks();
+    }
+    
+    /**
+     * 重新同步：放回光标物品，按界面最新内容重新规划剩余工作
+     * @return 是否继续执行；返回false时程序已结束
+     */
+    private boolean resync(Job job, MinecraftClient client, ClientPlayerEntity player) {
+        job.paused = false;
+        if (!restoreCursor(job, client, player)) {
+            finish(job, SortReport.Status.FAILED, "光标上的物品无处放置");
+            return false;
+        }
+        Supplier<ClickProgram> replanner = job.program.getReplanner();
+        if (replanner == null) {
+            finish(job, SortReport.Status.ABORTED, "与服务端不同步，已停止");
+            return false;
+        }
+        if (job.replans >= MAX_REPLANS) {
+            finish(job, SortReport.Status.ABORTED, "多次与服务端不同步，已停止");
+            return false;
+        }
+        
+        job.replans++;
+        job.report.setResyncs(job.replans);
+        ClickProgram fresh;
+        try {
+            fresh = replanner.get();
+        } catch (Exception e) {
+            LogUtil.error("Inventory", "重新规划失败", e);
+            finish(job, SortReport.Status.FAILED, "重新规划失败");
+            return false;
+        }
+        if (fresh == null || fresh.isEmpty()) {
+            finish(job, SortReport.Status.COMPLETED, "重新同步后无需继续");
+            return false;
+        }
+        
+        job.report.setPlannedClicks(job.report.getPlannedClicks() + fresh.size());
+        job.report.setPlanningNanos(job.report.getPlanningNanos() + fresh.getPlanningNanos());
+        load(job, fresh, InventoryModelAdapter.fromHandler(player.currentScreenHandler), getClickSettings());
+        LogUtil.info("Inventory", job.program.getLabel() + "已重新同步（第 " + job.replans + " 次），剩余 " + job.ops.size() + " 次点击");
+        return true;
+    }
+    
+    /**
+     * 把光标上的物品放回界面：先补满同类物品，再放入空槽位
+     * @return 光标是否已清空
+     */
+    private boolean restoreCursor(Job job, MinecraftClient client, ClientPlayerEntity player) {
+        ScreenHandler handler = player.currentScreenHandler;
+        for (int attempt = 0; attempt < MAX_CURSOR_RESTORE_CLICKS && !handler.getCursorStack().isEmpty(); attempt++) {
+            Slot target = findCursorTarget(handler, player);
+            if (target == null) {
+                return false;
+            }
+            client.interactionManager.clickSlot(handler.syncId, target.id, 0, SlotActionType.PICKUP, player);
+            job.sent++;
+            LogUtil.info("Inventory", "放回光标物品到槽位 " + target.id);
+        }
+        job.predicted = null;
+        return handler.getCursorStack().isEmpty();
+    }
+    
+    private static Slot findCursorTarget(ScreenHandler handler, ClientPlayerEntity player) {
+        ItemStack cursor = handler.getCursorStack();
+        for (Slot slot : handler.slots) {
+            ItemStack stack = slot.getStack();
+            if (!stack.isEmpty() && ItemStack.areItemsAndComponentsEqual(stack, cursor)
+                && stack.getCount() < slot.getMaxItemCount(stack) && slot.canInsert(cursor)) {
+                return slot;
+            }
+        }
+        for (Slot slot : handler.slots) {
+            if (!slot.hasStack() && slot.canInsert(cursor)) {
+                return slot;
+            }
+        }
+        return null;
+    }
+    
+    private boolean isActiveFor(int syncId) {
+        return active != null && active.started && active.program.getSyncId() == syncId;
+    }
+    
+    /**
+     * 中止当前以及队列中所有针对该界面的程序
+     */
+    private void abortSyncId(int syncId, String reason) {
+        if (active != null && active.program.getSyncId() == syncId) {
+            finish(active, SortReport.Status.ABORTED, reason);
+            active = null;
+        }
+        Iterator<Job> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Job job = iterator.next();
+            if (job.program.getSyncId() == syncId) {
+                iterator.remove();
+                finish(job, SortReport.Status.ABORTED, reason);
+            }
+        }
+    }
+
+    private void finish(Job job, SortReport.Status status, String message) {
+        SortReport report = job.report;
+        report.setStatus(status);
+        report.setMessage(message);
+        report.setSentClicks(job.sent);
+        if (job.started) {
+            report.setExecutionMillis((System.nanoTime() - job.startNanos) / 1_000_000);
+        }
+        Metrics.INVENTORY_PLANNING.record(report.getPlanningNanos());
+        Metrics.INVENTORY_CLICKS.add(job.sent);
+        if (status == SortReport.Status.COMPLETED) {
+            LogUtil.info("Inventory", "点击程序完成: " + report);
+        } else {
+            LogUtil.warn("Inventory", "点击程序" + status.getDisplayName() + ": " + report);
+        }
+        job.future.complete(report);
+    }
+
+    private void updateLatency(MinecraftClient client, ClientPlayerEntity player) {
+        if (client.getNetworkHandler() == null) {
+            return;
+        }
+        PlayerListEntry entry = client.getNetworkHandler().getPlayerListEntry(player.getUuid());
+        if (entry != null) {
+            flowController.updateLatency(entry.getLatency());
+        }
+    }
+
+    private InventorySortConfig.ClickSettings getClickSettings() {
+        try {
+            InventorySortConfig config = ConfigManager.getInstance().getConfig(InventorySortConfig.class);
+            if (config != null) {
+                return config.getClickSettings();
+            }
+        } catch (Exception e) {
+            LogUtil.warn("Inventory", "读取点击设置失败，使用默认值: " + e.getMessage());
+        }
+        return new InventorySortConfig.ClickSettings();
+    }
+
+    private static SlotActionType toSlotActionType(ClickType type) {
+        return switch (type) {
+            case PICKUP -> SlotActionType.PICKUP;
+            case QUICK_MOVE -> SlotActionType.QUICK_MOVE;
+            case SWAP -> SlotActionType.SWAP;
+            case PICKUP_ALL -> SlotActionType.PICKUP_ALL;
+        };
+    }
+
+    /**
+     * 执行中的点击程序
+     */
+    private static final class Job {
+        final ClickProgram program;
+        final SortReport report;
+        final CompletableFuture<SortReport> future = new CompletableFuture<>();
+        List<ClickOp> ops;
+        int position;
+        int sent;
+        boolean started;
+        long startNanos;
+        
+        // 预测的界面状态，为null表示无法预测
+        InventoryModel predicted;
+        boolean paused;
+        int pauseTicks;
+        // 全部发送后等待纠正的剩余tick数，-1表示尚未发送完
+        int settleTicks = -1;
+        int replans;
+        
+        Job(ClickProgram program) {
+            this.program = program;
+            this.ops = program.getOps();
+            this.report = new SortReport(program.getLabel());
+            this.report.setPlannedClicks(program.size());
+            this.report.setPlanningNanos(program.getPlanningNanos());
+        }
+        
+        boolean hasNext() {
+            return position < ops.size();
+        }
+        
+        ClickOp next() {
+            return ops.get(position++);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.aeolyn.better_experience.inventory.click;
+
+/**
+ * 点击流量控制
+ * 采用加性增、乘性减（AIMD）调整每tick发送的点击数：
+ * 一个往返时间内没有收到服务端纠正就加一，收到纠正（槽位回滚）就减半，
+ * 再按服务端TPS等比缩小，服务端卡顿时自动放慢
+ */
+public class ClickFlowController {
+    
+    private static final double TICK_MILLIS = 50.0;
+    private static final double FULL_TPS = 20.0;
+    /** 服务端每20tick发送一次时间同步包 */
+    private static final int TICKS_PER_TIME_UPDATE = 20;
+    private static final double TPS_SMOOTHING = 0.3;
+    
+    private int minWindow = 1;
+    private int maxWindow = 16;
+    private boolean adaptive = true;
+    private double window = 4;
+    
+    private int rttTicks = 1;
+    private int holdTicks;
+    private int pendingCorrections;
+    
+    private double serverTps = FULL_TPS;
+    private long lastTimeUpdateMillis = -1;
+    
+    /**
+     * 开始新的点击程序时重置窗口
+     * @param initialWindow 初始每tick点击数
+     * @param maxWindow 每tick点击数上限
+     * @param adaptive 是否启用自适应，关闭时固定使用初始值
+     */
+    public void reset(int initialWindow, int maxWindow, boolean adaptive) {
+        this.maxWindow = Math.max(minWindow, maxWindow);
+        this.window = Math.max(minWindow, Math.min(initialWindow, this.maxWindow));
+        this.adaptive = adaptive;
+        this.holdTicks = 0;
+        this.pendingCorrections = 0;
+    }
+    
+    /**
+     * 本tick允许发送的点击数
+     */
+    public int getBudget() {
+        if (!adaptive) {
+            return (int) window;
+        }
+        double scaled = window * Math.min(1.0, serverTps / FULL_TPS);
+        return Math.max(minWindow, (int) scaled);
+    }
+    
+    /**
+     * 收到一次服务端纠正
+     */
+    public void onCorrection() {
+        pendingCorrections++;
+    }
+    
+    /**
+     * tick结束时根据本tick的发送情况调整窗口
+     * @param sentClicks 本tick发送的点击数
+     */
+    public void onTickEnd(int sentClicks) {
+        if (!adaptive) {
+            pendingCorrections = 0;
+            return;
+        }
+        if (pendingCorrections > 0) {
+            window = Math.max(minWindow, window / 2);
+            pendingCorrections = 0;
+            // 纠正包对应的点击可能还在路上，等一个往返再恢复增长
+            holdTicks = rttTicks;
+            return;
+        }
+        if (holdTicks > 0) {
+            holdTicks--;
+            return;
+        }
+        if (sentClicks > 0) {
+            // 每个往返时间加一
+            window = Math.min(maxWindow, window + 1.0 / rttTicks);
+        }
+    }
+    
+    /**
+     * 更新往返延迟
+     * @param latencyMillis 玩家列表中的延迟（毫秒）
+     */
+    public void updateLatency(int latencyMillis) {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        rttTicks = Math.max(1, (int) Math.ceil(latencyMillis / TICK_MILLIS));
+    }
+    
+    /**
+     * 收到服务端时间同步包时估算TPS
+     * @param nowMillis 当前时间（毫秒）
+     */
+    public void onTimeUpdate(long nowMillis) {
+        if (lastTimeUpdateMillis > 0) {
+            long interval = nowMillis - lastTimeUpdateMillis;
+            if (interval > 0) {
+                double tps = Math.min(FULL_TPS, TICKS_PER_TIME_UPDATE * 1000.0 / interval);
+                serverTps = serverTps + TPS_SMOOTHING * (tps - serverTps);
+            }
+        }
+        lastTimeUpdateMillis = nowMillis;
+    }
+    
+    /**
+     * 断开连接后清除TPS估算
+     */
+    public void resetServerTps() {
+        serverTps = FULL_TPS;
+        lastTimeUpdateMillis = -1;
+    }
+    
+    public double getWindow() {
+        return window;
+    }
+    
+    public int getRttTicks() {
+        return rttTicks;
+    }
+    
+    public double getServerTps() {
+        return serverTps;
+    }
+}
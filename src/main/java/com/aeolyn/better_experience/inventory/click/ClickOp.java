@@ -0,0 +1,75 @@
+package com.aeolyn.better_experience.inventory.click;
+
+/**
+ * 单次点击操作（槽位、按键、点击类型）
+ */
+public final class ClickOp {
+    
+    private final int slotId;
+    private final int button;
+    private final ClickType type;
+    
+    public ClickOp(int slotId, int button, ClickType type) {
+        this.slotId = slotId;
+        this.button = button;
+        this.type = type;
+    }
+    
+    /**
+     * 左键普通点击
+     */
+    public static ClickOp pickup(int slotId) {
+        return new ClickOp(slotId, 0, ClickType.PICKUP);
+    }
+    
+    /**
+     * Shift+左键快速移动
+     */
+    public static ClickOp quickMove(int slotId) {
+        return new ClickOp(slotId, 0, ClickType.QUICK_MOVE);
+    }
+    
+    /**
+     * 数字键交换：槽位与快捷栏第button格（40为副手）互换
+     */
+    public static ClickOp swap(int slotId, int hotbarButton) {
+        return new ClickOp(slotId, hotbarButton, ClickType.SWAP);
+    }
+    
+    /**
+     * 双击收集：把同类物品收集到光标上（点击的槽位必须为空）
+     */
+    public static ClickOp pickupAll(int slotId) {
+        return new ClickOp(slotId, 0, ClickType.PICKUP_ALL);
+    }
+    
+    public int getSlotId() {
+        return slotId;
+    }
+    
+    public int getButton() {
+        return button;
+    }
+    
+    public ClickType getType() {
+        return type;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ClickOp)) return false;
+        ClickOp other = (ClickOp) o;
+        return slotId == other.slotId && button == other.button && type == other.type;
+    }
+    
+    @Override
+    public int hashCode() {
+        return (slotId * 31 + button) * 31 + type.ordinal();
+    }
+    
+    @Override
+    public String toString() {
+        return type + "(" + slotId + (button != 0 ? ", " + button : "") + ")";
+    }
+}
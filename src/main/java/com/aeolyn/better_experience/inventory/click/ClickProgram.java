@@ -0,0 +1,130 @@
+package com.aeolyn.better_experience.inventory.click;
+
+import com.aeolyn.better_experience.inventory.model.InventoryModel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 点击程序
+ * 规划器输出的有序点击序列，由 {@link ClickExecutor} 按tick节流发送
+ */
+public class ClickProgram {
+    
+    private final String label;
+    private final int syncId;
+    private final List<ClickOp> ops = new ArrayList<>();
+    private long planningNanos;
+    private Supplier<ClickProgram> replanner;
+    private InventoryModel initialState;
+    
+    /**
+     * @param label 操作名称（用于日志和报告）
+     * @param syncId 目标界面的同步ID
+     */
+    public ClickProgram(String label, int syncId) {
+        this.label = label;
+        this.syncId = syncId;
+    }
+    
+    // ==================== 构建 ====================
+    
+    public ClickProgram add(ClickOp op) {
+        ops.add(op);
+        return this;
+    }
+    
+    public ClickProgram addAll(List<ClickOp> more) {
+        ops.addAll(more);
+        return this;
+    }
+    
+    /**
+     * 左键点击一个槽位
+     */
+    public ClickProgram pickup(int slotId) {
+        return add(ClickOp.pickup(slotId));
+    }
+    
+    /**
+     * Shift+左键快速移动一个槽位
+     */
+    public ClickProgram quickMove(int slotId) {
+        return add(ClickOp.quickMove(slotId));
+    }
+    
+    /**
+     * 把源槽位的整组物品移动到空槽位（两次PICKUP）
+     */
+    public ClickProgram move(int sourceSlotId, int targetSlotId) {
+        return pickup(sourceSlotId).pickup(targetSlotId);
+    }
+    
+    /**
+     * 交换两个非空槽位（三次PICKUP）
+     */
+    public ClickProgram swap(int slotA, int slotB) {
+        return pickup(slotA).pickup(slotB).pickup(slotA);
+    }
+    
+    // ==================== 查询 ====================
+    
+    public String getLabel() {
+        return label;
+    }
+    
+    public int getSyncId() {
+        return syncId;
+    }
+    
+    public List<ClickOp> getOps() {
+        return Collections.unmodifiableList(ops);
+    }
+    
+    public int size() {
+        return ops.size();
+    }
+    
+    public boolean isEmpty() {
+        return ops.isEmpty();
+    }
+    
+    public long getPlanningNanos() {
+        return planningNanos;
+    }
+    
+    public void setPlanningNanos(long planningNanos) {
+        this.planningNanos = planningNanos;
+    }
+    
+    public Supplier<ClickProgram> getReplanner() {
+        return replanner;
+    }
+    
+    /**
+     * 设置重新规划函数：执行中发现界面与预测不一致时，在客户端线程上按界面当前内容规划剩余工作
+     * 返回null表示无需继续；未设置时不一致会中止程序
+     */
+    public void setReplanner(Supplier<ClickProgram> replanner) {
+        this.replanner = replanner;
+    }
+    
+    public InventoryModel getInitialState() {
+        return initialState;
+    }
+    
+    /**
+     * 设置规划时的界面内容（不能再修改）：执行器开始执行前与界面当前内容核对，不一致时按最新内容重新规划
+     * 未设置时不核对
+     */
+    public void setInitialState(InventoryModel initialState) {
+        this.initialState = initialState;
+    }
+    
+    @Override
+    public String toString() {
+        return "ClickProgram{" + label + ", syncId=" + syncId + ", clicks=" + ops.size() + "}";
+    }
+}
@@ -0,0 +1,170 @@
+package com.aeolyn.better_experience.inventory.click;
+
+import com.aeolyn.better_experience.inventory.model.ClickSimulator;
+import com.aeolyn.better_experience.inventory.model.InventoryModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 点击程序窥孔优化器
+ * 以光标为空的时刻把程序切成若干事务，对末尾相邻的事务做局部改写：
+ * <ul>
+ *   <li>删除执行前后状态不变的事务（如拿起后原样放回）</li>
+ *   <li>删除互逆的相邻事务（如 A↔B 交换后紧接 B↔A 交换）</li>
+ *   <li>把经过光标的连续移动 A→B、B→C 合并为 A→C</li>
+ *   <li>删除事务内对同一槽位的重复点击</li>
+ * </ul>
+ * 每次改写都在模型上模拟验证，改写前后的槽位和光标状态必须完全一致
+ * 遇到无法模拟的点击后，剩余部分原样保留
+ */
+public final class ClickProgramOptimizer {
+
+    private ClickProgramOptimizer() {
+    }
+
+    /**
+     * 优化点击程序
+     * @param program 原程序
+     * @param initial 程序执行前的库存状态
+     * @return 优化后的程序，等价于原程序
+     */
+    public static ClickProgram optimize(ClickProgram program, InventoryModel initial) {
+        List<ClickOp> ops = program.getOps();
+        List<Segment> output = new ArrayList<>();
+        InventoryModel state = initial.copy();
+
+        int index = 0;
+        boolean blocked = false;
+        while (index < ops.size() && !blocked) {
+            InventoryModel before = state.copy();
+            List<ClickOp> transaction = new ArrayList<>();
+            do {
+                ClickOp op = ops.get(index);
+                if (!ClickSimulator.supports(state, op)) {
+                    blocked = true;
+                    break;
+                }
+                ClickSimulator.apply(state, op);
+                transaction.add(op);
+                index++;
+            } while (index < ops.size() && !state.isCursorEmpty());
+
+            if (!transaction.isEmpty()) {
+                InventoryModel after = state.copy();
+                push(output, new Segment(removeRepeatedClicks(transaction, before, after), before, after));
+            }
+        }
+
+        ClickProgram result = new ClickProgram(program.getLabel(), program.getSyncId());
+        for (Segment segment : output) {
+            result.addAll(segment.ops);
+        }
+        result.addAll(ops.subList(index, ops.size()));
+        result.setPlanningNanos(program.getPlanningNanos());
+        return result;
+    }
+
+    /**
+     * 追加一个事务，并反复尝试改写末尾
+     */
+    private static void push(List<Segment> output, Segment segment) {
+        output.add(segment);
+        boolean changed = true;
+        while (changed && !output.isEmpty()) {
+            changed = false;
+            Segment last = output.get(output.size() - 1);
+
+            // 无效事务
+            if (last.after.equals(last.before)) {
+                output.remove(output.size() - 1);
+                changed = true;
+                continue;
+            }
+            if (output.size() < 2) {
+                break;
+            }
+            Segment previous = output.get(output.size() - 2);
+
+            // 互逆事务
+            if (last.after.equals(previous.before)) {
+                output.remove(output.size() - 1);
+                output.remove(output.size() - 1);
+                changed = true;
+                continue;
+            }
+
+            // 连续移动合并
+            List<ClickOp> fused = fuseMoves(previous.ops, last.ops);
+            if (fused != null && producesState(previous.before, fused, last.after)) {
+                output.remove(output.size() - 1);
+                output.set(output.size() - 1, new Segment(fused, previous.before, last.after));
+                changed = true;
+            }
+        }
+    }
+
+    /**
+     * A→B 后紧接 B→C，改写为 A→C
+     */
+    private static List<ClickOp> fuseMoves(List<ClickOp> first, List<ClickOp> second) {
+        if (first.size() != 2 || second.size() != 2) {
+            return null;
+        }
+        if (first.get(1).getSlotId() != second.get(0).getSlotId()) {
+            return null;
+        }
+        List<ClickOp> fused = new ArrayList<>(2);
+        fused.add(first.get(0));
+        fused.add(second.get(1));
+        return fused;
+    }
+
+    /**
+     * 删除事务内相邻的重复点击（同一槽位拿起又放下）
+     */
+    private static List<ClickOp> removeRepeatedClicks(List<ClickOp> transaction, InventoryModel before, InventoryModel after) {
+        List<ClickOp> ops = transaction;
+        int i = 0;
+        while (i + 1 < ops.size()) {
+            if (ops.get(i).equals(ops.get(i + 1))) {
+                List<ClickOp> candidate = new ArrayList<>(ops.size() - 2);
+                candidate.addAll(ops.subList(0, i));
+                candidate.addAll(ops.subList(i + 2, ops.size()));
+                if (producesState(before, candidate, after)) {
+                    ops = candidate;
+                    i = Math.max(0, i - 1);
+                    continue;
+                }
+            }
+            i++;
+        }
+        return ops;
+    }
+
+    private static boolean producesState(InventoryModel before, List<ClickOp> ops, InventoryModel expected) {
+        InventoryModel simulated = before.copy();
+        for (ClickOp op : ops) {
+            if (!ClickSimulator.supports(simulated, op)) {
+                return false;
+            }
+            ClickSimulator.apply(simulated, op);
+        }
+        return simulated.equals(expected);
+    }
+
+    /**
+     * 一段事务及其执行前后的状态
+     */
+    private static final class Segment {
+        final List<ClickOp> ops;
+        final InventoryModel before;
+        final InventoryModel after;
+
+        Segment(List<ClickOp> ops, InventoryModel before, InventoryModel after) {
+            this.ops = ops;
+            this.before = before;
+            this.after = after;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.aeolyn.better_experience.inventory.click;
+
+/**
+ * 点击类型
+ * 与原版 SlotActionType 一一对应，但不依赖游戏类，便于离线规划与模拟
+ */
+public enum ClickType {
+    /** 普通点击：拿起、放下或交换光标物品 */
+    PICKUP,
+    /** Shift+点击：快速移动到另一侧库存 */
+    QUICK_MOVE,
+    /** 数字键：与快捷栏（button 0-8）或副手（button 40）交换 */
+    SWAP,
+    /** 双击：把同类物品收集到光标上 */
+    PICKUP_ALL
+}
@@ -0,0 +1,177 @@
+package com.aeolyn.better_experience.inventory.click;
+
+import com.aeolyn.better_experience.common.config.ModConfig;
+import com.aeolyn.better_experience.common.config.manager.ConfigManager;
+import com.aeolyn.better_experience.common.util.LogUtil;
+import com.aeolyn.better_experience.inventory.model.InventoryModel;
+import com.aeolyn.better_experience.inventory.model.InventoryModelAdapter;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.screen.ScreenHandler;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 后台规划执行器
+ * 客户端线程上取得库存模型快照，规划器在后台线程上运行（线程数由 PerformanceConfig.maxConcurrentOperations 限制），
+ * 结果按提交顺序交回客户端线程；交回时界面内容已经和快照不同的规划直接丢弃，
+ * 点击执行器忙时界面内容还会被排在前面的程序改变，改为由执行器在开始执行前按快照核对（见 {@link ClickProgram#setInitialState}）
+ * 规划器必须是纯函数，只能读写传入的模型，不能访问游戏对象
+ */
+public class PlanningExecutor {
+
+    private static volatile PlanningExecutor instance;
+
+    private final ThreadPoolExecutor workers;
+    // 只在客户端线程上访问
+    private final Deque<Pending> pending = new ArrayDeque<>();
+
+    private PlanningExecutor() {
+        int threads = getMaxConcurrentOperations();
+        AtomicInteger counter = new AtomicInteger();
+        workers = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "BetterExperience-Planner-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        workers.allowCoreThreadTimeOut(true);
+        LogUtil.info("Inventory", "后台规划执行器已创建，线程数: " + threads);
+    }
+
+    /**
+     * 获取单例实例
+     */
+    public static PlanningExecutor getInstance() {
+        if (instance == null) {
+            synchronized (PlanningExecutor.class) {
+                if (instance == null) {
+                    instance = new PlanningExecutor();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 在后台规划（在客户端线程上调用）
+     * @param label 操作名称
+     * @param handler 规划针对的界面
+     * @param snapshot 规划开始时的界面内容，调用后不能再修改
+     * @param planner 规划器，传入快照的副本，可以返回null表示无需操作
+     * @param onReady 在客户端线程上接收仍然有效的规划结果
+     * @param onDropped 在客户端线程上接收没有交给onReady的原因：STALE（已过期）、EMPTY（无需操作）、FAILED（规划失败）或 ABORTED（被清空）
+     */
+    public void submit(String label, ScreenHandler handler, InventoryModel snapshot,
+                       Function<InventoryModel, ClickProgram> planner, Consumer<ClickProgram> onReady, Consumer<String> onDropped) {
+        Pending entry = new Pending(label, handler, snapshot, onReady, onDropped);
+        pending.add(entry);
+        MinecraftClient client = MinecraftClient.getInstance();
+        CompletableFuture.supplyAsync(() -> planner.apply(snapshot.copy()), workers)
+            .whenComplete((program, error) -> client.execute(() -> {
+                entry.program = program;
+                entry.error = error;
+                entry.done = true;
+                drain(client.player);
+            }));
+    }
+
+    /**
+     * 是否有还没交回的规划
+     */
+    public boolean isBusy() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * 丢弃所有还没交回的规划（断开连接时调用），正在运行的规划结束后被忽略
+     */
+    public void clear() {
+        while (!pending.isEmpty()) {
+            pending.poll().onDropped.accept("ABORTED");
+        }
+    }
+
+    /**
+     * 按提交顺序交回已经完成的规划，前面的规划没完成时后面的等待
+     */
+    private void drain(ClientPlayerEntity player) {
+        while (!pending.isEmpty() && pending.peek().done) {
+            Pending entry = pending.poll();
+            if (entry.error != null) {
+                LogUtil.error("Inventory", entry.label + "规划失败", entry.error);
+                entry.onDropped.accept("FAILED");
+                continue;
+            }
+            if (entry.program == null) {
+                entry.onDropped.accept("EMPTY");
+                continue;
+            }
+            String stale = checkStale(player, entry);
+            if (stale != null) {
+                LogUtil.info("Inventory", entry.label + "规划已过期（" + stale + "），丢弃 " + entry.program.size() + " 次点击");
+                entry.onDropped.accept("STALE");
+                continue;
+            }
+            entry.program.setInitialState(entry.snapshot);
+            entry.onReady.accept(entry.program);
+        }
+    }
+
+    /**
+     * @return 过期原因，仍然有效时返回null
+     */
+    private static String checkStale(ClientPlayerEntity player, Pending entry) {
+        if (player == null || player.currentScreenHandler != entry.handler) {
+            return "界面已切换";
+        }
+        // 执行器忙时界面内容还会变化，此时的比较没有意义，留给执行器开始执行前核对
+        if (!ClickExecutor.getInstance().isBusy()
+            && !InventoryModelAdapter.fromHandler(entry.handler).equals(entry.snapshot)) {
+            return "界面内容已变化";
+        }
+        return null;
+    }
+
+    private static int getMaxConcurrentOperations() {
+        try {
+            ModConfig modConfig = ConfigManager.getInstance().getModConfig();
+            if (modConfig != null && modConfig.getPerformanceConfig() != null
+                && modConfig.getPerformanceConfig().getMaxConcurrentOperations() > 0) {
+                return modConfig.getPerformanceConfig().getMaxConcurrentOperations();
+            }
+        } catch (Exception e) {
+            LogUtil.warn("Inventory", "读取最大并发操作数失败，使用默认值: " + e.getMessage());
+        }
+        return new ModConfig.PerformanceConfig().getMaxConcurrentOperations();
+    }
+
+    /**
+     * 一个等待交回的规划
+     */
+    private static final class Pending {
+        final String label;
+        final ScreenHandler handler;
+        final InventoryModel snapshot;
+        final Consumer<ClickProgram> onReady;
+        final Consumer<String> onDropped;
+        ClickProgram program;
+        Throwable error;
+        boolean done;
+
+        Pending(String label, ScreenHandler handler, InventoryModel snapshot, Consumer<ClickProgram> onReady, Consumer<String> onDropped) {
+            this.label = label;
+            this.handler = handler;
+            this.snapshot = snapshot;
+            this.onReady = onReady;
+            this.onDropped = onDropped;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.aeolyn.better_experience.inventory.click;
+
+/**
+ * 整理报告
+ * 记录一次点击程序从规划到执行完成的统计信息
+ * 创造模式整理不经过点击，记录批量同步的槽位差异
+ */
+public class SortReport {
+    
+    /**
+     * 执行结果
+     */
+    public enum Status {
+        COMPLETED("已完成"),
+        ABORTED("已中止"),
+        FAILED("失败");
+        
+        private final String displayName;
+        
+        Status(String displayName) {
+            this.displayName = displayName;
+        }
+        
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+    
+    private final String label;
+    private Status status = Status.COMPLETED;
+    private String message = "";
+    private int plannedClicks;
+    private int sentClicks;
+    private int optimizedClicks;
+    private int ticks;
+    private int corrections;
+    private int resyncs;
+    private long planningNanos;
+    private long executionMillis;
+    private int deferredWrites;
+    private int touchedSlots;
+    private int syncedSlots;
+    
+    public SortReport(String label) {
+        this.label = label;
+    }
+    
+    // ==================== Getters and Setters ====================
+    
+    public String getLabel() {
+        return label;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public int getPlannedClicks() {
+        return plannedClicks;
+    }
+    
+    public void setPlannedClicks(int plannedClicks) {
+        this.plannedClicks = plannedClicks;
+    }
+    
+    public int getSentClicks() {
+        return sentClicks;
+    }
+    
+    public void setSentClicks(int sentClicks) {
+        this.sentClicks = sentClicks;
+    }
+    
+    public int getOptimizedClicks() {
+        return optimizedClicks;
+    }
+    
+    public void setOptimizedClicks(int optimizedClicks) {
+        this.optimizedClicks = optimizedClicks;
+    }
+    
+    public int getTicks() {
+        return ticks;
+    }
+    
+    public void setTicks(int ticks) {
+        this.ticks = ticks;
+    }
+    
+    public int getCorrections() {
+        return corrections;
+    }
+    
+    public void setCorrections(int corrections) {
+        this.corrections = corrections;
+    }
+    
+    public int getResyncs() {
+        return resyncs;
+    }
+    
+    public void setResyncs(int resyncs) {
+        this.resyncs = resyncs;
+    }
+    
+    public long getPlanningNanos() {
+        return planningNanos;
+    }
+    
+    public void setPlanningNanos(long planningNanos) {
+        this.planningNanos = planningNanos;
+    }
+    
+    public long getExecutionMillis() {
+        return executionMillis;
+    }
+    
+    public void setExecutionMillis(long executionMillis) {
+        this.executionMillis = executionMillis;
+    }
+    
+    public int getDeferredWrites() {
+        return deferredWrites;
+    }
+    
+    public void setDeferredWrites(int deferredWrites) {
+        this.deferredWrites = deferredWrites;
+    }
+    
+    public int getTouchedSlots() {
+        return touchedSlots;
+    }
+    
+    public void setTouchedSlots(int touchedSlots) {
+        this.touchedSlots = touchedSlots;
+    }
+    
+    public int getSyncedSlots() {
+        return syncedSlots;
+    }
+    
+    public void setSyncedSlots(int syncedSlots) {
+        this.syncedSlots = syncedSlots;
+    }
+    
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+    
+    @Override
+    public String toString() {
+        if (deferredWrites > 0) {
+            return label + " " + status.getDisplayName()
+                + (message.isEmpty() ? "" : "(" + message + ")")
+                + "，修改 " + deferredWrites + " 次，涉及 " + touchedSlots + " 个槽位"
+                + "，同步 " + syncedSlots + " 个槽位（" + (touchedSlots - syncedSlots) + " 个最终未变）"
+                + "，规划 " + (planningNanos / 1000) + "μs";
+        }
+        return label + " " + status.getDisplayName()
+            + (message.isEmpty() ? "" : "(" + message + ")")
+            + "，点击 " + sentClicks + "/" + plannedClicks
+            + (optimizedClicks > 0 ? "（优化掉 " + optimizedClicks + " 次）" : "")
+            + "，用时 " + ticks + " tick / " + executionMillis + "ms"
+            + "，规划 " + (planningNanos / 1000) + "μs"
+            + "，服务端纠正 " + corrections + " 次"
+            + (resyncs > 0 ? "，重新同步 " + resyncs + " 次" : "");
+    }
+}
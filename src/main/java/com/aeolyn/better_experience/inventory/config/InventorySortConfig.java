@@ -2,6 +2,9 @@ package com.aeolyn.better_experience.inventory.config;
 
 import com.google.gson.annotations.SerializedName;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 背包整理配置
  */
@@ -25,6 +28,18 @@ public class InventorySortConfig {
     @SerializedName("sort_settings")
     private SortSettings sortSettings = new SortSettings();
     
+    @SerializedName("click_settings")
+    private ClickSettings clickSettings = new ClickSettings();
+    
+    @SerializedName("auto_restock_hotbar")
+    private boolean autoRestockHotbar = false;
+    
+    @SerializedName("deposit_mode")
+    private DepositMode depositMode = DepositMode.ALL;
+    
+    @SerializedName("quick_stack_radius")
+    private int quickStackRadius = 8;
+    
     public InventorySortConfig() {}
     
     // ==================== Getters and Setters ====================
@@ -77,6 +92,38 @@ public class InventorySortConfig {
         this.sortSettings = sortSettings;
     }
     
+    public ClickSettings getClickSettings() {
+        return clickSettings != null ? clickSettings : new ClickSettings();
+    }
+    
+    public void setClickSettings(ClickSettings clickSettings) {
+        this.clickSettings = clickSettings;
+    }
+    
+    public boolean isAutoRestockHotbar() {
+        return autoRestockHotbar;
+    }
+    
+    public void setAutoRestockHotbar(boolean autoRestockHotbar) {
+        this.autoRestockHotbar = autoRestockHotbar;
+    }
+    
+    public DepositMode getDepositMode() {
+        return depositMode;
+    }
+    
+    public void setDepositMode(DepositMode depositMode) {
+        this.depositMode = depositMode;
+    }
+    
+    public int getQuickStackRadius() {
+        return quickStackRadius;
+    }
+    
+    public void setQuickStackRadius(int quickStackRadius) {
+        this.quickStackRadius = quickStackRadius;
+    }
+    
     // ==================== 内部类 ====================
     
     /**
@@ -90,7 +137,16 @@ public class InventorySortConfig {
         QUANTITY("按数量"),
         
         @SerializedName("type")
-        TYPE("按类型");
+        TYPE("按类型"),
+        
+        @SerializedName("creative_order")
+        CREATIVE_ORDER("按创造模式顺序"),
+        
+        @SerializedName("registry_id")
+        REGISTRY_ID("按注册ID"),
+        
+        @SerializedName("category")
+        CATEGORY("按物品分类");
         
         private final String displayName;
         
@@ -127,6 +183,58 @@ public class InventorySortConfig {
         }
     }
     
+    /**
+     * 存入模式枚举
+     */
+    public enum DepositMode {
+        @SerializedName("all")
+        ALL("全部存入"),
+        
+        @SerializedName("matching")
+        MATCHING("只存入容器中已有的物品"),
+        
+        @SerializedName("top_up")
+        TOP_UP("补满容器中未满的堆叠");
+        
+        private final String displayName;
+        
+        DepositMode(String displayName) {
+            this.displayName = displayName;
+        }
+        
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+    
+    /**
+     * 次要排序键枚举
+     * 主排序结果相同时依次比较
+     */
+    public enum SecondaryKey {
+        @SerializedName("durability")
+        DURABILITY("耐久度"),
+        
+        @SerializedName("enchantment_level")
+        ENCHANTMENT_LEVEL("附魔等级"),
+        
+        @SerializedName("potion")
+        POTION("药水类型"),
+        
+        @SerializedName("custom_name")
+        CUSTOM_NAME("自定义名称");
+        
+        private final String displayName;
+        
+        SecondaryKey(String displayName) {
+            this.displayName = displayName;
+        }
+        
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+    
     /**
      * 排序设置
      */
@@ -137,6 +245,17 @@ public class InventorySortConfig {
         @SerializedName("quantity_descending")
         private boolean quantityDescending = true;
         
+        @SerializedName("secondary_keys")
+        private List<SecondaryKey> secondaryKeys = new ArrayList<>(List.of(
+            SecondaryKey.DURABILITY,
+            SecondaryKey.ENCHANTMENT_LEVEL,
+            SecondaryKey.POTION,
+            SecondaryKey.CUSTOM_NAME
+        ));
+        
+        @SerializedName("incremental_insert")
+        private boolean incrementalInsert = false;
+        
         public boolean isNameAscending() {
             return nameAscending;
         }
@@ -152,5 +271,82 @@ public class InventorySortConfig {
         public void setQuantityDescending(boolean quantityDescending) {
             this.quantityDescending = quantityDescending;
         }
+        
+        public List<SecondaryKey> getSecondaryKeys() {
+            return secondaryKeys != null ? secondaryKeys : new ArrayList<>();
+        }
+        
+        public void setSecondaryKeys(List<SecondaryKey> secondaryKeys) {
+            this.secondaryKeys = secondaryKeys;
+        }
+        
+        public boolean isIncrementalInsert() {
+            return incrementalInsert;
+        }
+        
+        public void setIncrementalInsert(boolean incrementalInsert) {
+            this.incrementalInsert = incrementalInsert;
+        }
+    }
+    
+    /**
+     * 点击发送设置
+     * 整理和转移的点击按tick分批发送，避免一帧内发出大量点击包
+     */
+    public static class ClickSettings {
+        @SerializedName("initial_clicks_per_tick")
+        private int initialClicksPerTick = 4;
+        
+        @SerializedName("max_clicks_per_tick")
+        private int maxClicksPerTick = 16;
+        
+        @SerializedName("adaptive_flow_control")
+        private boolean adaptiveFlowControl = true;
+        
+        @SerializedName("optimize_clicks")
+        private boolean optimizeClicks = true;
+        
+        @SerializedName("server_side_sort")
+        private boolean serverSideSort = true;
+        
+        public int getInitialClicksPerTick() {
+            return initialClicksPerTick;
+        }
+        
+        public void setInitialClicksPerTick(int initialClicksPerTick) {
+            this.initialClicksPerTick = initialClicksPerTick;
+        }
+        
+        public int getMaxClicksPerTick() {
+            return maxClicksPerTick;
+        }
+        
+        public void setMaxClicksPerTick(int maxClicksPerTick) {
+            this.maxClicksPerTick = maxClicksPerTick;
+        }
+        
+        public boolean isAdaptiveFlowControl() {
+            return adaptiveFlowControl;
+        }
+        
+        public void setAdaptiveFlowControl(boolean adaptiveFlowControl) {
+            this.adaptiveFlowControl = adaptiveFlowControl;
+        }
+        
+        public boolean isOptimizeClicks() {
+            return optimizeClicks;
+        }
+        
+        public void setOptimizeClicks(boolean optimizeClicks) {
+            this.optimizeClicks = optimizeClicks;
+        }
+        
+        public boolean isServerSideSort() {
+            return serverSideSort;
+        }
+        
+        public void setServerSideSort(boolean serverSideSort) {
+            this.serverSideSort = serverSideSort;
+        }
     }
 }
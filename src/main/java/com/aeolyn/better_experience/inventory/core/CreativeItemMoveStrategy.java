@@ -1,6 +1,7 @@
 package com.aeolyn.better_experience.inventory.core;
 
 import com.aeolyn.better_experience.common.util.LogUtil;
+import com.aeolyn.better_experience.inventory.click.SortReport;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.network.ClientPlayerEntity;
 import net.minecraft.item.ItemStack;
@@ -8,12 +9,56 @@ import net.minecraft.network.packet.c2s.play.CreativeInventoryActionC2SPacket;
 import net.minecraft.screen.slot.Slot;
 import net.minecraft.screen.slot.SlotActionType;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * 创造模式物品移动策略
  * 使用直接操作库存 + 网络数据包同步服务端
+ * 批量模式下只修改本地库存，结束时对最终内容与初始内容不同的槽位各发送一个数据包
  */
 public class CreativeItemMoveStrategy implements ItemMoveStrategy {
     
+    // 批量模式：背包索引 -> 该槽位第一次被修改前的内容
+    private Map<Integer, ItemStack> batchOriginals;
+    private int deferredWrites;
+    
+    /**
+     * 开始批量模式，之后的修改只写入本地库存
+     */
+    public void beginBatch() {
+        batchOriginals = new LinkedHashMap<>();
+        deferredWrites = 0;
+    }
+    
+    /**
+     * 结束批量模式，同步最终内容发生变化的槽位
+     * @param report 写入同步统计的整理报告
+     */
+    public void flushBatch(ClientPlayerEntity player, SortReport report) {
+        if (batchOriginals == null) {
+            return;
+        }
+        Map<Integer, ItemStack> originals = batchOriginals;
+        batchOriginals = null;
+        
+        MinecraftClient client = MinecraftClient.getInstance();
+        int changed = 0;
+        for (Map.Entry<Integer, ItemStack> entry : originals.entrySet()) {
+            ItemStack current = player.getInventory().getStack(entry.getKey());
+            if (!ItemStack.areEqual(current, entry.getValue())) {
+                if (client.getNetworkHandler() != null) {
+                    sendCreativeInventoryAction(client, entry.getKey(), current.copy());
+                }
+                changed++;
+            }
+        }
+        report.setSyncedSlots(changed);
+        report.setTouchedSlots(originals.size());
+        report.setDeferredWrites(deferredWrites);
+        LogUtil.info("Inventory", "创造模式批量同步: 修改 " + deferredWrites + " 次，涉及 " + originals.size() + " 个槽位，发送 " + changed + " 个数据包");
+    }
+    
     @Override
     public void swapSlots(ClientPlayerEntity player, Slot slotA, Slot slotB) {
         MinecraftClient client = MinecraftClient.getInstance();
@@ -28,14 +73,10 @@ public class CreativeItemMoveStrategy implements ItemMoveStrategy {
         
         // 在创造模式下，直接操作库存
         if (slotA.inventory == player.getInventory()) {
-            player.getInventory().setStack(slotA.getIndex(), stackB);
-            // 发送数据包同步服务端
-            sendCreativeInventoryAction(client, slotA.getIndex(), stackB);
+            writeSlot(client, player, slotA.getIndex(), stackB);
         }
         if (slotB.inventory == player.getInventory()) {
-            player.getInventory().setStack(slotB.getIndex(), stackA);
-            // 发送数据包同步服务端
-            sendCreativeInventoryAction(client, slotB.getIndex(), stackA);
+            writeSlot(client, player, slotB.getIndex(), stackA);
         }
         
         LogUtil.info("Inventory", "创造模式交换槽位: " + slotA.id + " <-> " + slotB.id);
@@ -54,14 +95,10 @@ public class CreativeItemMoveStrategy implements ItemMoveStrategy {
         
         // 在创造模式下，直接操作库存
         if (targetSlot.inventory == player.getInventory()) {
-            player.getInventory().setStack(targetSlot.getIndex(), sourceStack);
-            // 发送数据包同步服务端
-            sendCreativeInventoryAction(client, targetSlot.getIndex(), sourceStack);
+            writeSlot(client, player, targetSlot.getIndex(), sourceStack);
         }
         if (sourceSlot.inventory == player.getInventory()) {
-            player.getInventory().setStack(sourceSlot.getIndex(), ItemStack.EMPTY);
-            // 发送数据包同步服务端
-            sendCreativeInventoryAction(client, sourceSlot.getIndex(), ItemStack.EMPTY);
+            writeSlot(client, player, sourceSlot.getIndex(), ItemStack.EMPTY);
         }
         
         LogUtil.info("Inventory", "创造模式移动物品: " + sourceSlot.id + " -> " + targetSlot.id);
@@ -102,9 +139,7 @@ public class CreativeItemMoveStrategy implements ItemMoveStrategy {
         
         // 设置目标槽位
         if (targetSlot.inventory == player.getInventory()) {
-            player.getInventory().setStack(targetSlot.getIndex(), newStack);
-            // 发送数据包同步服务端
-            sendCreativeInventoryAction(client, targetSlot.getIndex(), newStack);
+            writeSlot(client, player, targetSlot.getIndex(), newStack);
         }
         
         // 处理源槽位剩余物品
@@ -112,16 +147,12 @@ public class CreativeItemMoveStrategy implements ItemMoveStrategy {
             ItemStack remainingStack = sourceStack.copy();
             remainingStack.setCount(remainingCount);
             if (sourceSlot.inventory == player.getInventory()) {
-                player.getInventory().setStack(sourceSlot.getIndex(), remainingStack);
-                // 发送数据包同步服务端
-                sendCreativeInventoryAction(client, sourceSlot.getIndex(), remainingStack);
+                writeSlot(client, player, sourceSlot.getIndex(), remainingStack);
             }
         } else {
             // 清空源槽位
             if (sourceSlot.inventory == player.getInventory()) {
-                player.getInventory().setStack(sourceSlot.getIndex(), ItemStack.EMPTY);
-                // 发送数据包同步服务端
-                sendCreativeInventoryAction(client, sourceSlot.getIndex(), ItemStack.EMPTY);
+                writeSlot(client, player, sourceSlot.getIndex(), ItemStack.EMPTY);
             }
         }
         
@@ -139,9 +170,7 @@ public class CreativeItemMoveStrategy implements ItemMoveStrategy {
         
         // 直接清空槽位
         if (slot.inventory == player.getInventory()) {
-            player.getInventory().setStack(slot.getIndex(), ItemStack.EMPTY);
-            // 发送数据包同步服务端
-            sendCreativeInventoryAction(client, slot.getIndex(), ItemStack.EMPTY);
+            writeSlot(client, player, slot.getIndex(), ItemStack.EMPTY);
         }
         
         LogUtil.info("Inventory", "创造模式清空槽位: " + slot.id);
@@ -157,14 +186,27 @@ public class CreativeItemMoveStrategy implements ItemMoveStrategy {
         
         // 直接设置槽位物品
         if (slot.inventory == player.getInventory()) {
-            player.getInventory().setStack(slot.getIndex(), stack);
-            // 发送数据包同步服务端
-            sendCreativeInventoryAction(client, slot.getIndex(), stack);
+            writeSlot(client, player, slot.getIndex(), stack);
         }
         
         LogUtil.info("Inventory", "创造模式设置槽位物品: " + slot.id + " -> " + (stack.isEmpty() ? "空" : stack.getName().getString() + " x" + stack.getCount()));
     }
     
+    /**
+     * 写入本地库存；非批量模式下立即同步服务端
+     */
+    private void writeSlot(MinecraftClient client, ClientPlayerEntity player, int index, ItemStack stack) {
+        if (batchOriginals != null) {
+            batchOriginals.putIfAbsent(index, player.getInventory().getStack(index).copy());
+            deferredWrites++;
+            player.getInventory().setStack(index, stack);
+            return;
+        }
+        player.getInventory().setStack(index, stack);
+        // 发送数据包同步服务端
+        sendCreativeInventoryAction(client, index, stack);
+    }
+    
     /**
      * 发送创造模式库存操作数据包到服务端
      */
@@ -0,0 +1,239 @@
+package com.aeolyn.better_experience.inventory.core;
+
+import com.aeolyn.better_experience.common.config.manager.ConfigManager;
+import com.aeolyn.better_experience.common.util.LogUtil;
+import com.aeolyn.better_experience.inventory.click.ClickExecutor;
+import com.aeolyn.better_experience.inventory.click.ClickOp;
+import com.aeolyn.better_experience.inventory.click.ClickProgram;
+import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
+import com.aeolyn.better_experience.inventory.model.InventoryModelAdapter;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.screen.ScreenHandler;
+import net.minecraft.screen.slot.Slot;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 快捷栏自动补货
+ * 根据服务端的槽位更新包维护"物品 -> 主背包槽位"索引，不逐tick扫描背包
+ * 快捷栏某格被用完（服务端确认为空）时，用一次数字键交换从主背包补上同种物品
+ * 只在没有打开界面的生存模式下补货，避免干扰玩家手动整理
+ * 只有用掉的才补：变空前的数量很少、最近按过使用或攻击键，且最近没有按过丢弃或切换副手键；
+ * 丢弃整组、与副手交换和其他模组移走物品都不会触发补货
+ */
+public class HotbarRestocker {
+
+    /** 槽位更新包中直接指向玩家背包索引的syncId */
+    private static final int PLAYER_INVENTORY_SYNC_ID = -2;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    /** 变空前最多剩几个才算用完（同一tick内可能用掉不止一个） */
+    private static final int USED_UP_MAX_COUNT = 2;
+
+    /** 按键对槽位更新有效的tick数，覆盖服务端往返的延迟 */
+    private static final int INPUT_WINDOW_TICKS = 20;
+
+    private static volatile HotbarRestocker instance;
+
+    // 物品键 -> 持有该物品的主背包索引
+    private final Map<Long, BitSet> mainSlotsByItem = new HashMap<>();
+    // 背包索引 -> 物品键（快捷栏和主背包）
+    private final long[] keys = new long[PlayerInventory.MAIN_SIZE];
+    // 快捷栏索引 -> 上次看到的数量
+    private final int[] hotbarCounts = new int[PlayerInventory.HOTBAR_SIZE];
+    private boolean built;
+
+    private long ticks;
+    private long lastUseTick = Long.MIN_VALUE / 2;
+    private long lastDropOrSwapTick = Long.MIN_VALUE / 2;
+
+    private HotbarRestocker() {
+    }
+
+    /**
+     * 获取单例实例
+     */
+    public static HotbarRestocker getInstance() {
+        if (instance == null) {
+            synchronized (HotbarRestocker.class) {
+                if (instance == null) {
+                    instance = new HotbarRestocker();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 清空索引（断开连接或切换世界时调用）
+     */
+    public void clear() {
+        mainSlotsByItem.clear();
+        built = false;
+    }
+
+    /**
+     * 每个客户端tick调用，记录最近的使用、攻击、丢弃和切换副手按键
+     */
+    public void tick(MinecraftClient client) {
+        ticks++;
+        if (client.options.useKey.isPressed() || client.options.attackKey.isPressed()) {
+            lastUseTick = ticks;
+        }
+        if (client.options.dropKey.isPressed() || client.options.swapHandsKey.isPressed()) {
+            lastDropOrSwapTick = ticks;
+        }
+    }
+
+    /**
+     * 收到槽位更新包（已写入界面之后调用）
+     */
+    public void onSlotUpdate(int syncId, int slotId) {
+        ClientPlayerEntity player = MinecraftClient.getInstance().player;
+        if (player == null) {
+            return;
+        }
+        PlayerInventory inventory = player.getInventory();
+        int index;
+        if (syncId == PLAYER_INVENTORY_SYNC_ID) {
+            index = slotId;
+        } else {
+            ScreenHandler handler = syncId == player.playerScreenHandler.syncId ? player.playerScreenHandler : player.currentScreenHandler;
+            if (handler.syncId != syncId || slotId < 0 || slotId >= handler.slots.size()) {
+                return;
+            }
+            Slot slot = handler.getSlot(slotId);
+            if (slot.inventory != inventory) {
+                return;
+            }
+            index = slot.getIndex();
+        }
+        if (index < 0 || index >= PlayerInventory.MAIN_SIZE) {
+            return;
+        }
+        if (!built) {
+            rebuild(inventory);
+            return;
+        }
+
+        long previous = keys[index];
+        int previousCount = index < PlayerInventory.HOTBAR_SIZE ? hotbarCounts[index] : 0;
+        long current = update(inventory, index);
+        if (index < PlayerInventory.HOTBAR_SIZE && current == EMPTY && previous != EMPTY && isUsedUp(previousCount)) {
+            restock(player, index, previous);
+        }
+    }
+
+    /**
+     * 收到整界面同步包：玩家背包界面的同步会重建索引
+     */
+    public void onInventorySync(int syncId) {
+        ClientPlayerEntity player = MinecraftClient.getInstance().player;
+        if (player != null && syncId == player.playerScreenHandler.syncId) {
+            rebuild(player.getInventory());
+        }
+    }
+
+    // ==================== 内部实现 ====================
+
+    /**
+     * 快捷栏某格变空是否是被用完的
+     */
+    private boolean isUsedUp(int previousCount) {
+        return previousCount <= USED_UP_MAX_COUNT
+            && ticks - lastUseTick <= INPUT_WINDOW_TICKS
+            && ticks - lastDropOrSwapTick > INPUT_WINDOW_TICKS;
+    }
+
+    private void rebuild(PlayerInventory inventory) {
+        mainSlotsByItem.clear();
+        for (int index = 0; index < PlayerInventory.MAIN_SIZE; index++) {
+            keys[index] = EMPTY;
+            update(inventory, index);
+        }
+        built = true;
+    }
+
+    /**
+     * 按背包当前内容更新一个索引位置
+     * @return 新的物品键
+     */
+    private long update(PlayerInventory inventory, int index) {
+        ItemStack stack = inventory.getStack(index);
+        long key = keyOf(stack);
+        long previous = keys[index];
+        if (index < PlayerInventory.HOTBAR_SIZE) {
+            hotbarCounts[index] = stack.getCount();
+        }
+        if (previous == key) {
+            return key;
+        }
+        keys[index] = key;
+        if (index < PlayerInventory.HOTBAR_SIZE) {
+            return key;
+        }
+        if (previous != EMPTY) {
+            BitSet slots = mainSlotsByItem.get(previous);
+            if (slots != null) {
+                slots.clear(index);
+                if (slots.isEmpty()) {
+                    mainSlotsByItem.remove(previous);
+                }
+            }
+        }
+        if (key != EMPTY) {
+            mainSlotsByItem.computeIfAbsent(key, k -> new BitSet(PlayerInventory.MAIN_SIZE)).set(index);
+        }
+        return key;
+    }
+
+    private void restock(ClientPlayerEntity player, int hotbarIndex, long key) {
+        if (!isEnabled() || MinecraftClient.getInstance().currentScreen != null
+            || player.getAbilities().creativeMode || player.isSpectator()) {
+            return;
+        }
+        BitSet slots = mainSlotsByItem.get(key);
+        if (slots == null) {
+            return;
+        }
+        PlayerInventory inventory = player.getInventory();
+        for (int index = slots.nextSetBit(0); index >= 0; index = slots.nextSetBit(index + 1)) {
+            // 索引可能落后于本地点击，使用前核对
+            if (keyOf(inventory.getStack(index)) != key) {
+                update(inventory, index);
+                continue;
+            }
+            // 玩家背包界面中主背包槽位ID与背包索引相同
+            ClickProgram program = new ClickProgram("快捷栏补货", player.playerScreenHandler.syncId);
+            program.add(ClickOp.swap(index, hotbarIndex));
+            ClickExecutor.getInstance().submit(program);
+            LogUtil.info("Inventory", "快捷栏第 " + (hotbarIndex + 1) + " 格已用完，从主背包索引 " + index + " 补货");
+            return;
+        }
+    }
+
+    private static long keyOf(ItemStack stack) {
+        if (stack.isEmpty()) {
+            return EMPTY;
+        }
+        return InventoryModelAdapter.getItemKey(stack);
+    }
+
+    private static boolean isEnabled() {
+        try {
+            InventorySortConfig config = ConfigManager.getInstance().getConfig(InventorySortConfig.class);
+            if (config != null) {
+                return config.isAutoRestockHotbar();
+            }
+        } catch (Exception e) {
+            LogUtil.warn("Inventory", "读取自动补货设置失败，使用默认值: " + e.getMessage());
+        }
+        return false;
+    }
+}
@@ -0,0 +1,103 @@
+package com.aeolyn.better_experience.inventory.core;
+
+import com.aeolyn.better_experience.inventory.click.ClickOp;
+import com.aeolyn.better_experience.inventory.click.ClickProgram;
+import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
+import com.aeolyn.better_experience.inventory.model.InventoryModel;
+
+/**
+ * 增量插入规划器
+ * 已整理好的布局中新出现一组物品时，二分查找它在有序序列中的位置，
+ * 用一条经过光标的链式点击把插入点之后的物品整体后移一格，不依赖游戏类
+ * 排序键相同的一组物品只需把第一个移到组后，整组不动；点击数为 2 + 插入点之后的组数
+ */
+public class IncrementalInsertPlanner {
+
+    private IncrementalInsertPlanner() {
+    }
+
+    /**
+     * 规划一次插入
+     * @param label 操作名称
+     * @param syncId 目标界面的同步ID
+     * @param model 执行前的库存状态，规划结束后更新为预测的执行结果
+     * @param slotIds 整理范围内的槽位ID（按整理顺序排列）
+     * @param keys 排序键表，第i行对应slotIds[i]中的物品
+     * @param sortMode 排序模式
+     * @param newRow 新物品所在的行
+     * @return 点击程序；布局不是"有序前缀 + 空位"或链中会发生合并时返回null，由调用方完整整理
+     */
+    public static ClickProgram plan(String label, int syncId, InventoryModel model, int[] slotIds,
+                                    SortKeyTable keys, InventorySortConfig.SortMode sortMode, int newRow) {
+        long startNanos = System.nanoTime();
+        int sortedCount = countSortedPrefix(keys, newRow);
+        if (sortedCount < 0 || newRow < sortedCount) {
+            return null;
+        }
+
+        int position = upperBound(keys, sortMode, sortedCount, newRow);
+        ClickProgram program = new ClickProgram(label, syncId);
+        if (position == sortedCount && newRow == sortedCount) {
+            // 新物品恰好落在有序序列末尾
+            program.setPlanningNanos(System.nanoTime() - startNanos);
+            return program;
+        }
+
+        // 拿起新物品，依次与插入点之后每组的第一个物品交换，最后放进序列末尾的空位
+        SortPlanner.emit(program, model, ClickOp.pickup(slotIds[newRow]));
+        int row = position;
+        while (row <= sortedCount && !model.isCursorEmpty()) {
+            int slot = slotIds[row];
+            if (model.cursorMatches(slot) || model.absorbsCursor(slot)) {
+                // 同类物品会合并、收纳袋会吸收光标，链式后移无法完成
+                return null;
+            }
+            SortPlanner.emit(program, model, ClickOp.pickup(slot));
+            // 拿起的是一组相同排序键的第一个：组内其余物品原地不动，直接放到组后面（结果相同，也不会与组内物品合并）
+            int next = row + 1;
+            while (next < sortedCount && keys.compare(sortMode, next, row) == 0) {
+                next++;
+            }
+            row = next;
+        }
+        if (!model.isCursorEmpty()) {
+            return null;
+        }
+        program.setPlanningNanos(System.nanoTime() - startNanos);
+        return program;
+    }
+
+    /**
+     * 有序前缀的长度：除新物品外，非空行必须连续排在最前面
+     * @return 前缀长度，不满足时返回-1
+     */
+    private static int countSortedPrefix(SortKeyTable keys, int newRow) {
+        int count = 0;
+        while (count < keys.size() && count != newRow && !keys.isEmpty(count)) {
+            count++;
+        }
+        for (int row = count; row < keys.size(); row++) {
+            if (row != newRow && !keys.isEmpty(row)) {
+                return -1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 在前 sortedCount 行中查找第一个排在新物品之后的位置（相等的排在新物品前面）
+     */
+    private static int upperBound(SortKeyTable keys, InventorySortConfig.SortMode sortMode, int sortedCount, int newRow) {
+        int low = 0;
+        int high = sortedCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys.compare(sortMode, mid, newRow) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
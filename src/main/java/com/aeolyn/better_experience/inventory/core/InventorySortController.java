@@ -6,15 +6,12 @@ import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
 import com.aeolyn.better_experience.inventory.service.InventorySortService;
 import com.aeolyn.better_experience.inventory.service.InventorySortServiceImpl;
 import net.minecraft.inventory.Inventory;
-import net.minecraft.item.ItemStack;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Comparator;
-
 /**
  * 背包排序控制器
- * 简化架构，直接使用服务层，支持自定义比较器
+ * 简化架构，直接使用服务层
  */
 public class InventorySortController {
     
@@ -50,45 +47,31 @@ public class InventorySortController {
     }
     
     /**
-     * 整理背包（使用默认比较器）
+     * 整理背包
      */
     public void sortInventory(InventorySortConfig.SortMode sortMode) {
         sortInventory(sortMode, false);
     }
     
     /**
-     * 整理背包（使用默认比较器，支持合并模式）
+     * 整理背包（支持合并模式）
      */
     public void sortInventory(InventorySortConfig.SortMode sortMode, boolean mergeFirst) {
-        sortInventory(sortMode, mergeFirst, SortComparatorFactory.createComparator(sortMode));
+        sortService.sortInventory(sortMode, mergeFirst);
     }
     
     /**
-     * 整理背包（支持自定义比较器）
-     */
-    public void sortInventory(InventorySortConfig.SortMode sortMode, boolean mergeFirst, Comparator<ItemStack> comparator) {
-        sortService.sortInventory(sortMode, mergeFirst, comparator);
-    }
-    
-    /**
-     * 整理容器（使用默认比较器）
+     * 整理容器
      */
     public void sortContainer(Inventory container) {
         sortContainer(container, InventorySortConfig.SortMode.NAME, false);
     }
     
     /**
-     * 整理容器（使用默认比较器，支持合并模式）
+     * 整理容器（支持合并模式）
      */
     public void sortContainer(Inventory container, InventorySortConfig.SortMode sortMode, boolean mergeFirst) {
-        sortContainer(container, sortMode, mergeFirst, SortComparatorFactory.createComparator(sortMode));
-    }
-    
-    /**
-     * 整理容器（支持自定义比较器）
-     */
-    public void sortContainer(Inventory container, InventorySortConfig.SortMode sortMode, boolean mergeFirst, Comparator<ItemStack> comparator) {
-        sortService.sortContainer(container, sortMode, mergeFirst, comparator);
+        sortService.sortContainer(container, sortMode, mergeFirst);
     }
     
     /**
@@ -119,17 +102,10 @@ public class InventorySortController {
     }
     
     /**
-     * 简单的选择排序算法（使用默认比较器）
+     * 简单的选择排序算法（支持合并模式）
      */
     public void simpleSelectionSort(InventorySortConfig.SortMode sortMode, boolean mergeFirst) {
-        simpleSelectionSort(sortMode, mergeFirst, SortComparatorFactory.createComparator(sortMode));
-    }
-    
-    /**
-     * 简单的选择排序算法（支持自定义比较器）
-     */
-    public void simpleSelectionSort(InventorySortConfig.SortMode sortMode, boolean mergeFirst, Comparator<ItemStack> comparator) {
-        sortService.simpleSelectionSort(sortMode, mergeFirst, comparator);
+        sortService.simpleSelectionSort(sortMode, mergeFirst);
     }
     
 }
\ No newline at end of file
@@ -67,4 +67,11 @@ public class InventoryTransferController {
     public void withdrawFromContainer(Inventory container) {
         transferService.withdrawFromContainer(container);
     }
+    
+    /**
+     * 快速存入附近容器
+     */
+    public void quickStackToNearby() {
+        transferService.quickStackToNearby();
+    }
 }
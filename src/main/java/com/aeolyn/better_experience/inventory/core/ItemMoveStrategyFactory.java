@@ -42,7 +42,7 @@ public class ItemMoveStrategyFactory {
      * 强制使用创造模式策略
      * @return 创造模式物品移动策略
      */
-    public static ItemMoveStrategy createCreativeStrategy() {
+    public static CreativeItemMoveStrategy createCreativeStrategy() {
         return new CreativeItemMoveStrategy();
     }
 }
@@ -0,0 +1,177 @@
+package com.aeolyn.better_experience.inventory.core;
+
+import com.aeolyn.better_experience.common.util.LogUtil;
+import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
+import net.minecraft.component.DataComponentTypes;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemGroup;
+import net.minecraft.item.ItemGroups;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.resource.featuretoggle.FeatureSet;
+import net.minecraft.util.Rarity;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 物品排序表
+ * 在注册表与标签加载完成后一次性构建，按物品原始ID（raw id）索引的int数组
+ * 排序时只做数组读取，避免逐次比较字符串
+ */
+public class ItemOrderTables {
+
+    /** 不属于任何创造模式物品栏的物品使用的分类编号 */
+    public static final int UNCATEGORIZED = Integer.MAX_VALUE;
+
+    private static volatile Tables tables;
+    private static volatile boolean dirty = true;
+
+    private ItemOrderTables() {
+    }
+
+    /**
+     * 标记排序表需要重建（注册表同步或标签重新加载后调用）
+     */
+    public static void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * 排序表是否需要重建
+     */
+    public static boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * 排序表是否已经构建过（之后标记失效时仍使用旧表，直到重建）
+     */
+    public static boolean isBuilt() {
+        return tables != null;
+    }
+
+    /**
+     * 排序模式是否依赖排序表；排序表未构建时这些模式退化为注册表顺序
+     */
+    public static boolean isRequiredBy(InventorySortConfig.SortMode sortMode) {
+        return sortMode == InventorySortConfig.SortMode.CREATIVE_ORDER || sortMode == InventorySortConfig.SortMode.CATEGORY;
+    }
+
+    /**
+     * 根据当前注册表和创造模式物品栏构建排序表
+     * @param enabledFeatures 当前世界启用的特性
+     * @param operatorEnabled 是否显示管理员物品栏
+     * @param registries 动态注册表
+     */
+    public static synchronized void rebuild(FeatureSet enabledFeatures, boolean operatorEnabled, RegistryWrapper.WrapperLookup registries) {
+        long startTime = System.currentTimeMillis();
+        int size = Registries.ITEM.size();
+
+        int[] creativeOrder = new int[size];
+        int[] category = new int[size];
+        int[] rarity = new int[size];
+        Arrays.fill(creativeOrder, -1);
+        Arrays.fill(category, UNCATEGORIZED);
+
+        // 按创造模式物品栏的显示顺序编号
+        int position = 0;
+        try {
+            ItemGroups.updateDisplayContext(enabledFeatures, operatorEnabled, registries);
+            List<ItemGroup> groups = ItemGroups.getGroupsToDisplay();
+            int groupIndex = 0;
+            for (ItemGroup group : groups) {
+                if (group.getType() != ItemGroup.Type.CATEGORY) {
+                    continue;
+                }
+                for (ItemStack stack : group.getDisplayStacks()) {
+                    int rawId = Registries.ITEM.getRawId(stack.getItem());
+                    if (rawId < 0 || rawId >= size || creativeOrder[rawId] >= 0) {
+                        continue;
+                    }
+                    creativeOrder[rawId] = position++;
+                    category[rawId] = groupIndex;
+                }
+                groupIndex++;
+            }
+        } catch (Exception e) {
+            LogUtil.warn("Inventory", "构建创造模式物品栏顺序失败，回退到注册表顺序: " + e.getMessage());
+        }
+
+        // 不在任何物品栏中的物品排在最后，保持注册表顺序
+        for (int rawId = 0; rawId < size; rawId++) {
+            if (creativeOrder[rawId] < 0) {
+                creativeOrder[rawId] = position + rawId;
+            }
+            Item item = Registries.ITEM.get(rawId);
+            Rarity itemRarity = item != null
+                ? item.getComponents().getOrDefault(DataComponentTypes.RARITY, Rarity.COMMON)
+                : Rarity.COMMON;
+            rarity[rawId] = itemRarity.ordinal();
+        }
+
+        tables = new Tables(creativeOrder, category, rarity);
+        dirty = false;
+        LogUtil.logPerformance("Inventory", "构建物品排序表(" + size + "个物品)", startTime);
+    }
+
+    /**
+     * 获取物品的原始注册ID
+     */
+    public static int getRegistryId(Item item) {
+        return Registries.ITEM.getRawId(item);
+    }
+
+    /**
+     * 获取物品在创造模式物品栏中的顺序
+     * 排序表尚未构建时回退为原始注册ID
+     */
+    public static int getCreativeOrder(Item item) {
+        int rawId = Registries.ITEM.getRawId(item);
+        Tables current = tables;
+        if (current == null || rawId < 0 || rawId >= current.creativeOrder.length) {
+            return rawId;
+        }
+        return current.creativeOrder[rawId];
+    }
+
+    /**
+     * 获取物品所属的创造模式物品栏分类编号
+     */
+    public static int getCategory(Item item) {
+        int rawId = Registries.ITEM.getRawId(item);
+        Tables current = tables;
+        if (current == null || rawId < 0 || rawId >= current.category.length) {
+            return UNCATEGORIZED;
+        }
+        return current.category[rawId];
+    }
+
+    /**
+     * 获取物品默认稀有度（Rarity序数，越大越稀有）
+     */
+    public static int getRarity(Item item) {
+        int rawId = Registries.ITEM.getRawId(item);
+        Tables current = tables;
+        if (current == null || rawId < 0 || rawId >= current.rarity.length) {
+            return Rarity.COMMON.ordinal();
+        }
+        return current.rarity[rawId];
+    }
+
+    /**
+     * 不可变的排序表快照，重建时整体替换
+     */
+    private static final class Tables {
+        final int[] creativeOrder;
+        final int[] category;
+        final int[] rarity;
+
+        Tables(int[] creativeOrder, int[] category, int[] rarity) {
+            this.creativeOrder = creativeOrder;
+            this.category = category;
+            this.rarity = rarity;
+        }
+    }
+}
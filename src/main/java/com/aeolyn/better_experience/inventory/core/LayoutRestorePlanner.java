@@ -0,0 +1,223 @@
+package com.aeolyn.better_experience.inventory.core;
+
+import com.aeolyn.better_experience.inventory.click.ClickOp;
+import com.aeolyn.better_experience.inventory.click.ClickProgram;
+import com.aeolyn.better_experience.inventory.model.ClickSimulator;
+import com.aeolyn.better_experience.inventory.model.InventoryModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 布局还原规划器
+ * 把当前物品分配到模板要求的位置，输出PICKUP点击程序，不依赖游戏类
+ * <ul>
+ *   <li>已经在模板位置上的物品不动</li>
+ *   <li>其余物品按物品键贪心分配到空缺的模板位置，优先选择能互换的位置（形成二元环）</li>
+ *   <li>模板没有要求的物品尽量原地不动，被占位时移到模板不关心的空位</li>
+ * </ul>
+ * 分配结果分解成以光标串联的链和环，每条链/环的点击数为移动的物品数加一
+ * 物品键由调用方给出，相等的键应当可以堆叠（物品和组件都相同），否则链中的点击会合并而不是交换
+ */
+public class LayoutRestorePlanner {
+
+    /** 模板中不关心内容的位置 */
+    public static final int ANY = -1;
+
+    private LayoutRestorePlanner() {
+    }
+
+    /**
+     * 规划一次布局还原，以物品ID作为物品键（容器中同种物品的组件都相同时使用）
+     * @param label 操作名称
+     * @param syncId 目标界面的同步ID
+     * @param model 执行前的库存状态，规划结束后更新为预测的执行结果
+     * @param slotIds 容器槽位ID，第i个对应模板第i格
+     * @param template 每格要求的物品ID，{@link #ANY} 表示不关心
+     * @return 点击程序
+     */
+    public static ClickProgram plan(String label, int syncId, InventoryModel model, int[] slotIds, int[] template) {
+        int[] current = new int[slotIds.length];
+        for (int p = 0; p < slotIds.length; p++) {
+            current[p] = model.isEmpty(slotIds[p]) ? ANY : model.getItemId(slotIds[p]);
+        }
+        return plan(label, syncId, model, slotIds, current, template);
+    }
+
+    /**
+     * 规划一次布局还原
+     * @param label 操作名称
+     * @param syncId 目标界面的同步ID
+     * @param model 执行前的库存状态，规划结束后更新为预测的执行结果
+     * @param slotIds 容器槽位ID，第i个对应模板第i格
+     * @param current 每格当前物品的物品键，空格为 {@link #ANY}
+     * @param template 每格要求的物品键，{@link #ANY} 表示不关心
+     * @return 点击程序
+     */
+    public static ClickProgram plan(String label, int syncId, InventoryModel model, int[] slotIds, int[] current, int[] template) {
+        long startNanos = System.nanoTime();
+        ClickProgram program = new ClickProgram(label, syncId);
+        int size = Math.min(slotIds.length, Math.min(current.length, template.length));
+
+        current = Arrays.copyOf(current, size);
+        int[] dest = assign(current, Arrays.copyOf(template, size));
+        emitChains(program, model, slotIds, current, dest);
+
+        program.setPlanningNanos(System.nanoTime() - startNanos);
+        return program;
+    }
+
+    /**
+     * 计算每个位置上的物品要去的位置（空位为-1）
+     */
+    static int[] assign(int[] current, int[] template) {
+        int size = current.length;
+        int[] dest = new int[size];
+        Arrays.fill(dest, -1);
+        boolean[] taken = new boolean[size];
+
+        // 已经就位
+        for (int p = 0; p < size; p++) {
+            if (current[p] != ANY && current[p] == template[p]) {
+                dest[p] = p;
+                taken[p] = true;
+            }
+        }
+
+        // 物品键 -> 空缺的模板位置
+        Map<Integer, List<Integer>> openTargets = new HashMap<>();
+        for (int p = 0; p < size; p++) {
+            if (template[p] != ANY && !taken[p]) {
+                openTargets.computeIfAbsent(template[p], id -> new ArrayList<>()).add(p);
+            }
+        }
+        for (int p = 0; p < size; p++) {
+            if (current[p] == ANY || dest[p] >= 0) continue;
+            List<Integer> targets = openTargets.get(current[p]);
+            if (targets == null || targets.isEmpty()) continue;
+            int chosen = 0;
+            for (int i = 0; i < targets.size(); i++) {
+                // 目标位置上的物品正好是本位置需要的，两者互换即可
+                if (template[p] != ANY && current[targets.get(i)] == template[p]) {
+                    chosen = i;
+                    break;
+                }
+            }
+            int target = targets.remove(chosen);
+            dest[p] = target;
+            taken[target] = true;
+        }
+
+        // 模板用不上的物品：位置没被占用就原地不动
+        for (int p = 0; p < size; p++) {
+            if (current[p] != ANY && dest[p] < 0 && !taken[p]) {
+                dest[p] = p;
+                taken[p] = true;
+            }
+        }
+
+        // 位置被占用的物品移到空出来的位置，优先模板不关心的空位
+        for (int p = 0; p < size; p++) {
+            if (current[p] == ANY || dest[p] >= 0) continue;
+            int home = findHome(current, template, dest, taken, current[p]);
+            if (current[home] == current[p]) {
+                // 只剩同种物品正要移走的位置：两者互换去处，那组物品原地不动，点击时不会合并
+                dest[p] = dest[home];
+                dest[home] = home;
+            } else {
+                dest[p] = home;
+            }
+            taken[home] = true;
+        }
+        return dest;
+    }
+
+    private static int findHome(int[] current, int[] template, int[] dest, boolean[] taken, int itemId) {
+        int fallback = -1;
+        for (int pass = 0; pass < 3; pass++) {
+            for (int h = 0; h < current.length; h++) {
+                if (taken[h]) continue;
+                boolean empty = current[h] == ANY;
+                // 同种物品的位置不作为落脚点，避免点击时合并而不是交换
+                boolean vacated = !empty && dest[h] != h && current[h] != itemId;
+                if (!empty && !vacated) {
+                    if (fallback < 0 && dest[h] != h) fallback = h;
+                    continue;
+                }
+                if (pass == 0 && empty && template[h] == ANY) return h;
+                if (pass == 1 && template[h] == ANY) return h;
+                if (pass == 2) return h;
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * 把分配结果分解成链和环输出点击
+     * 先处理链（起点没有物品要移入），再处理环；无法安全点击时把光标放回起点并停止
+     */
+    private static void emitChains(ClickProgram program, InventoryModel model, int[] slotIds, int[] current, int[] dest) {
+        int size = current.length;
+        boolean[] incoming = new boolean[size];
+        for (int p = 0; p < size; p++) {
+            if (current[p] != ANY && dest[p] != p) {
+                incoming[dest[p]] = true;
+            }
+        }
+        // occupant[p]：当前位于p的、原本在哪个位置的物品；-1表示空
+        int[] occupant = new int[size];
+        for (int p = 0; p < size; p++) {
+            occupant[p] = current[p] == ANY ? -1 : p;
+        }
+        boolean[] done = new boolean[size];
+
+        for (int round = 0; round < 2; round++) {
+            for (int start = 0; start < size; start++) {
+                if (current[start] == ANY || dest[start] == start || done[start]) continue;
+                if (round == 0 && incoming[start]) continue;
+                if (!runChain(program, model, slotIds, dest, occupant, done, start)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static boolean runChain(ClickProgram program, InventoryModel model, int[] slotIds, int[] dest,
+                                    int[] occupant, boolean[] done, int start) {
+        ClickOp take = ClickOp.pickup(slotIds[start]);
+        if (!ClickSimulator.supports(model, take)) {
+            return false;
+        }
+        SortPlanner.emit(program, model, take);
+        done[start] = true;
+        occupant[start] = -1;
+
+        int carried = start;
+        while (!model.isCursorEmpty()) {
+            int pos = dest[carried];
+            int slot = slotIds[pos];
+            ClickOp place = ClickOp.pickup(slot);
+            boolean merges = !model.isEmpty(slot) && model.cursorMatches(slot);
+            if (merges || !ClickSimulator.supports(model, place)) {
+                // 放回起点（链的起点在链结束前一直是空的）
+                ClickOp back = ClickOp.pickup(slotIds[start]);
+                if (model.isEmpty(slotIds[start]) && ClickSimulator.supports(model, back)) {
+                    SortPlanner.emit(program, model, back);
+                }
+                return false;
+            }
+            SortPlanner.emit(program, model, place);
+            int next = occupant[pos];
+            occupant[pos] = carried;
+            if (next < 0 || done[next]) {
+                break;
+            }
+            done[next] = true;
+            carried = next;
+        }
+        return model.isCursorEmpty();
+    }
+}
@@ -0,0 +1,227 @@
+package com.aeolyn.better_experience.inventory.core;
+
+import com.aeolyn.better_experience.common.util.LogUtil;
+import com.aeolyn.better_experience.inventory.click.ClickExecutor;
+import com.aeolyn.better_experience.inventory.click.ClickProgram;
+import com.aeolyn.better_experience.inventory.model.InventoryModelAdapter;
+import com.aeolyn.better_experience.inventory.template.LayoutTemplate;
+import com.aeolyn.better_experience.inventory.template.LayoutTemplateStore;
+import com.aeolyn.better_experience.inventory.util.ContainerPosUtil;
+import com.aeolyn.better_experience.inventory.util.InventoryStatsUtil;
+import com.aeolyn.better_experience.inventory.util.ScreenSlotIndex;
+import com.aeolyn.better_experience.inventory.util.WorldScopeUtil;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.component.ComponentChanges;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.screen.ScreenHandler;
+import net.minecraft.screen.slot.Slot;
+import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.util.hit.HitResult;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 布局模板控制器
+ * 保存当前容器的布局为模板，或按模板还原当前容器
+ * 模板按方块位置保存（准星指向容器方块时），否则按界面类型和格数保存；还原时先找位置模板再找类型模板
+ * 物品按物品键（物品ID加组件改动）区分，附魔书、药水等同种物品的不同变体各有自己的位置
+ */
+public class LayoutTemplateController {
+
+    private static volatile LayoutTemplateController instance;
+
+    private LayoutTemplateController() {
+    }
+
+    /**
+     * 获取单例实例
+     */
+    public static LayoutTemplateController getInstance() {
+        if (instance == null) {
+            synchronized (LayoutTemplateController.class) {
+                if (instance == null) {
+                    instance = new LayoutTemplateController();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 把当前容器的布局保存为模板
+     */
+    public void saveCurrentLayout() {
+        MinecraftClient client = MinecraftClient.getInstance();
+        ClientPlayerEntity player = client.player;
+        List<Slot> slots = getContainerSlots(player);
+        if (slots == null) {
+            return;
+        }
+
+        RegistryWrapper.WrapperLookup registries = player.getWorld().getRegistryManager();
+        Map<String, Integer> palette = new LinkedHashMap<>();
+        int[] cells = new int[slots.size()];
+        for (int i = 0; i < slots.size(); i++) {
+            ItemStack stack = slots.get(i).getStack();
+            if (stack.isEmpty()) {
+                cells[i] = LayoutTemplate.ANY;
+            } else {
+                cells[i] = palette.computeIfAbsent(getItemKey(stack, registries), key -> palette.size());
+            }
+        }
+
+        String key = getPositionKey(client);
+        if (key == null) {
+            key = getTypeKey(player.currentScreenHandler, slots.size());
+        }
+        LayoutTemplateStore.getInstance().put(key, new LayoutTemplate(new ArrayList<>(palette.keySet()), cells));
+        LogUtil.info("Inventory", "保存布局模板: " + key + "，" + palette.size() + " 种物品");
+        player.sendMessage(Text.literal("§a已保存布局模板（" + slots.size() + " 格）"), true);
+    }
+
+    /**
+     * 按模板还原当前容器的布局
+     */
+    public void restoreCurrentLayout() {
+        MinecraftClient client = MinecraftClient.getInstance();
+        ClientPlayerEntity player = client.player;
+        List<Slot> slots = getContainerSlots(player);
+        if (slots == null) {
+            return;
+        }
+        ScreenHandler handler = player.currentScreenHandler;
+        if (!handler.getCursorStack().isEmpty()) {
+            LogUtil.info("Inventory", "光标上有物品，不还原布局");
+            return;
+        }
+
+        LayoutTemplate template = null;
+        String positionKey = getPositionKey(client);
+        if (positionKey != null) {
+            template = LayoutTemplateStore.getInstance().get(positionKey);
+        }
+        if (template == null) {
+            template = LayoutTemplateStore.getInstance().get(getTypeKey(handler, slots.size()));
+        }
+        if (template == null || template.size() != slots.size()) {
+            player.sendMessage(Text.literal("§e没有适用于该容器的布局模板"), true);
+            return;
+        }
+
+        // 物品键 -> 规划用的整数键，模板中的物品键在前
+        Map<String, Integer> keys = new HashMap<>();
+        int[] slotIds = new int[slots.size()];
+        int[] targets = new int[slots.size()];
+        for (int i = 0; i < slots.size(); i++) {
+            slotIds[i] = slots.get(i).id;
+            String itemKey = template.getItemAt(i);
+            targets[i] = isKnownItem(itemKey) ? keys.computeIfAbsent(itemKey, key -> keys.size()) : LayoutRestorePlanner.ANY;
+        }
+
+        RegistryWrapper.WrapperLookup registries = player.getWorld().getRegistryManager();
+        ClickProgram program = plan(handler, slots, slotIds, keys, targets, registries);
+        // 与服务端不同步时按界面的最新内容重新规划
+        program.setReplanner(() -> plan(handler, slots, slotIds, keys, targets, registries));
+        LogUtil.info("Inventory", "还原布局已提交，共 " + program.size() + " 次点击");
+        ClickExecutor.getInstance().submit(program)
+            .thenAccept(report -> LogUtil.info("Inventory", "还原布局结束: " + report));
+    }
+
+    /**
+     * 当前界面中容器的槽位（按容器内下标排列），不是容器界面时返回null
+     */
+    private List<Slot> getContainerSlots(ClientPlayerEntity player) {
+        if (player == null || player.currentScreenHandler == null || player.currentScreenHandler == player.playerScreenHandler) {
+            return null;
+        }
+        Inventory container = InventoryStatsUtil.getContainerInventory(player);
+        if (container == null) {
+            return null;
+        }
+        List<Slot> slots = ScreenSlotIndex.of(player.currentScreenHandler, player.getInventory()).getContainerSlots(container);
+        return slots.isEmpty() ? null : slots;
+    }
+
+    /**
+     * 按界面的当前内容规划还原
+     * @param keys 模板中的物品键对应的整数键，不修改
+     */
+    private static ClickProgram plan(ScreenHandler handler, List<Slot> slots, int[] slotIds, Map<String, Integer> keys,
+                                     int[] targets, RegistryWrapper.WrapperLookup registries) {
+        Map<String, Integer> codes = new HashMap<>(keys);
+        int[] current = new int[slots.size()];
+        for (int i = 0; i < slots.size(); i++) {
+            ItemStack stack = slots.get(i).getStack();
+            current[i] = stack.isEmpty()
+                ? LayoutRestorePlanner.ANY
+                : codes.computeIfAbsent(getItemKey(stack, registries), key -> codes.size());
+        }
+        return LayoutRestorePlanner.plan("还原布局", handler.syncId, InventoryModelAdapter.fromHandler(handler), slotIds, current, targets);
+    }
+
+    /**
+     * 物品键：物品ID加上相对默认组件的改动（SNBT），没有改动时就是物品ID
+     * 可堆叠的物品键相同，按物品键还原不会把不同附魔、药水效果或自定义名称的物品放错位置
+     */
+    static String getItemKey(ItemStack stack, RegistryWrapper.WrapperLookup registries) {
+        String itemId = Registries.ITEM.getId(stack.getItem()).toString();
+        ComponentChanges changes = stack.getComponentChanges();
+        if (changes.isEmpty()) {
+            return itemId;
+        }
+        return ComponentChanges.CODEC.encodeStart(registries.getOps(NbtOps.INSTANCE), changes).result()
+            .map(nbt -> itemId + nbt)
+            .orElse(itemId);
+    }
+
+    /**
+     * 模板中的物品键对应的物品是否存在，不存在时不关心该格
+     */
+    private static boolean isKnownItem(String itemKey) {
+        if (itemKey == null) {
+            return false;
+        }
+        int components = itemKey.indexOf('{');
+        Identifier id = Identifier.tryParse(components < 0 ? itemKey : itemKey.substring(0, components));
+        if (id == null || !Registries.ITEM.containsId(id)) {
+            return false;
+        }
+        Item item = Registries.ITEM.get(id);
+        return item != Items.AIR;
+    }
+
+    /**
+     * 按界面类型和格数的模板键
+     */
+    private static String getTypeKey(ScreenHandler handler, int size) {
+        return "type/" + Registries.SCREEN_HANDLER.getId(handler.getType()) + "/" + size;
+    }
+
+    /**
+     * 按方块位置的模板键，准星没有指向方块时返回null
+     * 大箱子两半使用同一个键
+     */
+    private static String getPositionKey(MinecraftClient client) {
+        HitResult hit = client.crosshairTarget;
+        if (client.world == null || !(hit instanceof BlockHitResult blockHit) || hit.getType() != HitResult.Type.BLOCK) {
+            return null;
+        }
+        BlockPos pos = ContainerPosUtil.getCanonicalPos(client.world, blockHit.getBlockPos());
+        return "pos/" + WorldScopeUtil.getWorldScope(client) + "/" + client.world.getRegistryKey().getValue()
+            + "/" + pos.getX() + "," + pos.getY() + "," + pos.getZ();
+    }
+}
@@ -0,0 +1,140 @@
+package com.aeolyn.better_experience.inventory.core;
+
+import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import net.minecraft.component.DataComponentTypes;
+import net.minecraft.component.type.ItemEnchantmentsComponent;
+import net.minecraft.component.type.PotionContentsComponent;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
+
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 排序键提取器
+ * 对槽位做一次遍历，把名称、类型和组件信息展开到 {@link SortKeyTable}
+ */
+public class SortKeyExtractor {
+
+    private SortKeyExtractor() {
+    }
+
+    /**
+     * 提取排序键
+     * @param stacks 按槽位顺序排列的物品
+     * @param secondaryKeys 次要排序键
+     * @return 排序键表，行号与stacks下标一致
+     */
+    public static SortKeyTable extract(List<ItemStack> stacks, List<InventorySortConfig.SecondaryKey> secondaryKeys) {
+        int size = stacks.size();
+        SortKeyTable table = new SortKeyTable(size, secondaryKeys);
+        String[] names = new String[size];
+        String[] types = new String[size];
+
+        for (int row = 0; row < size; row++) {
+            ItemStack stack = stacks.get(row);
+            if (stack.isEmpty()) {
+                table.setEmpty(row);
+                continue;
+            }
+            Item item = stack.getItem();
+            names[row] = stack.getName().getString();
+            types[row] = item.getClass().getSimpleName();
+
+            table.setPrimary(row, stack.getCount(),
+                ItemOrderTables.getCreativeOrder(item),
+                ItemOrderTables.getRegistryId(item),
+                ItemOrderTables.getCategory(item),
+                ItemOrderTables.getRarity(item));
+            table.setSecondary(row,
+                getDurabilityPermille(stack),
+                getTotalEnchantmentLevel(stack),
+                getPotionId(stack),
+                stack.contains(DataComponentTypes.CUSTOM_NAME));
+        }
+
+        // 名称和类型只在去重后排序一次，换算成整数名次
+        int[] nameRanks = rank(names, Collator.getInstance(Locale.CHINESE)::compare);
+        int[] typeRanks = rank(types, String::compareTo);
+        for (int row = 0; row < size; row++) {
+            if (!table.isEmpty(row)) {
+                table.setRanks(row, nameRanks[row], typeRanks[row]);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * 计算每行字符串的名次，比较结果相等的字符串名次相同
+     */
+    private static int[] rank(String[] values, Comparator<String> comparator) {
+        String[] distinct = Arrays.stream(values).filter(v -> v != null).distinct().toArray(String[]::new);
+        Arrays.sort(distinct, comparator);
+
+        Map<String, Integer> ranks = new HashMap<>();
+        int rank = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i > 0 && comparator.compare(distinct[i - 1], distinct[i]) != 0) {
+                rank++;
+            }
+            ranks.put(distinct[i], rank);
+        }
+
+        int[] result = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i] != null ? ranks.get(values[i]) : 0;
+        }
+        return result;
+    }
+
+    /**
+     * 剩余耐久千分比，不可损坏的物品视为满耐久
+     */
+    private static int getDurabilityPermille(ItemStack stack) {
+        if (!stack.isDamageable()) {
+            return 1000;
+        }
+        int maxDamage = stack.getMaxDamage();
+        if (maxDamage <= 0) {
+            return 1000;
+        }
+        return (int) ((long) (maxDamage - stack.getDamage()) * 1000 / maxDamage);
+    }
+
+    /**
+     * 附魔等级总和，附魔书计算其存储的附魔
+     */
+    private static int getTotalEnchantmentLevel(ItemStack stack) {
+        return sumLevels(stack.get(DataComponentTypes.ENCHANTMENTS))
+            + sumLevels(stack.get(DataComponentTypes.STORED_ENCHANTMENTS));
+    }
+
+    private static int sumLevels(ItemEnchantmentsComponent enchantments) {
+        if (enchantments == null || enchantments.isEmpty()) {
+            return 0;
+        }
+        int total = 0;
+        for (Object2IntMap.Entry<?> entry : enchantments.getEnchantmentEntries()) {
+            total += entry.getIntValue();
+        }
+        return total;
+    }
+
+    /**
+     * 药水原始ID，没有药水返回-1
+     */
+    private static int getPotionId(ItemStack stack) {
+        PotionContentsComponent contents = stack.get(DataComponentTypes.POTION_CONTENTS);
+        if (contents == null || contents.potion().isEmpty()) {
+            return -1;
+        }
+        return Registries.POTION.getRawId(contents.potion().get().value());
+    }
+}
@@ -0,0 +1,217 @@
+package com.aeolyn.better_experience.inventory.core;
+
+import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
+
+import java.util.List;
+
+/**
+ * 排序键表
+ * 排序前对所有槽位做一次提取，把排序需要的信息展开为按行索引的基本类型数组
+ * 排序过程中只比较数组元素，不再读取物品的组件数据
+ */
+public class SortKeyTable {
+
+    private final int size;
+    private final boolean[] empty;
+    private final int[] count;
+    private final int[] nameRank;
+    private final int[] typeRank;
+    private final int[] creativeOrder;
+    private final int[] registryId;
+    private final int[] category;
+    private final int[] rarity;
+
+    // 次要排序键
+    private final int[] durability;
+    private final int[] enchantmentLevel;
+    private final int[] potionId;
+    private final boolean[] customName;
+    private final InventorySortConfig.SecondaryKey[] secondaryKeys;
+
+    public SortKeyTable(int size, List<InventorySortConfig.SecondaryKey> secondaryKeys) {
+        this.size = size;
+        this.empty = new boolean[size];
+        this.count = new int[size];
+        this.nameRank = new int[size];
+        this.typeRank = new int[size];
+        this.creativeOrder = new int[size];
+        this.registryId = new int[size];
+        this.category = new int[size];
+        this.rarity = new int[size];
+        this.durability = new int[size];
+        this.enchantmentLevel = new int[size];
+        this.potionId = new int[size];
+        this.customName = new boolean[size];
+        this.secondaryKeys = secondaryKeys.toArray(new InventorySortConfig.SecondaryKey[0]);
+    }
+
+    private SortKeyTable(SortKeyTable other) {
+        this.size = other.size;
+        this.empty = other.empty.clone();
+        this.count = other.count.clone();
+        this.nameRank = other.nameRank.clone();
+        this.typeRank = other.typeRank.clone();
+        this.creativeOrder = other.creativeOrder.clone();
+        this.registryId = other.registryId.clone();
+        this.category = other.category.clone();
+        this.rarity = other.rarity.clone();
+        this.durability = other.durability.clone();
+        this.enchantmentLevel = other.enchantmentLevel.clone();
+        this.potionId = other.potionId.clone();
+        this.customName = other.customName.clone();
+        this.secondaryKeys = other.secondaryKeys;
+    }
+
+    /**
+     * 复制键表（合并规划会更新数量）
+     */
+    public SortKeyTable copy() {
+        return new SortKeyTable(this);
+    }
+
+    // ==================== 填充 ====================
+
+    /**
+     * 标记一行为空槽位
+     */
+    public void setEmpty(int row) {
+        empty[row] = true;
+    }
+
+    /**
+     * 设置一行的主排序键
+     */
+    public void setPrimary(int row, int count, int creativeOrder, int registryId, int category, int rarity) {
+        this.empty[row] = false;
+        this.count[row] = count;
+        this.creativeOrder[row] = creativeOrder;
+        this.registryId[row] = registryId;
+        this.category[row] = category;
+        this.rarity[row] = rarity;
+    }
+
+    /**
+     * 更新一行的数量（合并后调用），数量为0时标记为空行
+     */
+    public void updateCount(int row, int count) {
+        if (count <= 0) {
+            empty[row] = true;
+            this.count[row] = 0;
+        } else {
+            this.count[row] = count;
+        }
+    }
+
+    /**
+     * 设置一行的名称与类型名次（名称需在所有行提取完后统一排序得出）
+     */
+    public void setRanks(int row, int nameRank, int typeRank) {
+        this.nameRank[row] = nameRank;
+        this.typeRank[row] = typeRank;
+    }
+
+    /**
+     * 设置一行的次要排序键
+     * @param durability 剩余耐久千分比，不可损坏的物品为1000
+     * @param enchantmentLevel 附魔等级总和（含附魔书存储的附魔）
+     * @param potionId 药水原始ID，没有药水为-1
+     * @param customName 是否有自定义名称
+     */
+    public void setSecondary(int row, int durability, int enchantmentLevel, int potionId, boolean customName) {
+        this.durability[row] = durability;
+        this.enchantmentLevel[row] = enchantmentLevel;
+        this.potionId[row] = potionId;
+        this.customName[row] = customName;
+    }
+
+    // ==================== 查询 ====================
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty(int row) {
+        return empty[row];
+    }
+
+    public int getCount(int row) {
+        return count[row];
+    }
+
+    /**
+     * 按排序模式比较两行，空行总是排在最后
+     * @return 负数表示rowA应排在rowB前面
+     */
+    public int compare(InventorySortConfig.SortMode sortMode, int rowA, int rowB) {
+        if (empty[rowA] && empty[rowB]) return 0;
+        if (empty[rowA]) return 1;
+        if (empty[rowB]) return -1;
+
+        int result = comparePrimary(sortMode, rowA, rowB);
+        if (result != 0) {
+            return result;
+        }
+        return compareSecondary(rowA, rowB);
+    }
+
+    private int comparePrimary(InventorySortConfig.SortMode sortMode, int a, int b) {
+        int result;
+        switch (sortMode) {
+            case QUANTITY:
+                result = Integer.compare(count[b], count[a]);
+                return result != 0 ? result : Integer.compare(nameRank[a], nameRank[b]);
+            case TYPE:
+                result = Integer.compare(typeRank[a], typeRank[b]);
+                if (result != 0) return result;
+                result = Integer.compare(nameRank[a], nameRank[b]);
+                return result != 0 ? result : Integer.compare(count[b], count[a]);
+            case CREATIVE_ORDER:
+                result = Integer.compare(creativeOrder[a], creativeOrder[b]);
+                return result != 0 ? result : Integer.compare(count[b], count[a]);
+            case REGISTRY_ID:
+                result = Integer.compare(registryId[a], registryId[b]);
+                return result != 0 ? result : Integer.compare(count[b], count[a]);
+            case CATEGORY:
+                result = Integer.compare(category[a], category[b]);
+                if (result != 0) return result;
+                result = Integer.compare(rarity[b], rarity[a]);
+                if (result != 0) return result;
+                result = Integer.compare(creativeOrder[a], creativeOrder[b]);
+                return result != 0 ? result : Integer.compare(count[b], count[a]);
+            case NAME:
+            default:
+                result = Integer.compare(nameRank[a], nameRank[b]);
+                return result != 0 ? result : Integer.compare(count[b], count[a]);
+        }
+    }
+
+    private int compareSecondary(int a, int b) {
+        for (InventorySortConfig.SecondaryKey key : secondaryKeys) {
+            int result;
+            switch (key) {
+                case DURABILITY:
+                    // 耐久高的在前
+                    result = Integer.compare(durability[b], durability[a]);
+                    break;
+                case ENCHANTMENT_LEVEL:
+                    // 附魔等级高的在前
+                    result = Integer.compare(enchantmentLevel[b], enchantmentLevel[a]);
+                    break;
+                case POTION:
+                    result = Integer.compare(potionId[a], potionId[b]);
+                    break;
+                case CUSTOM_NAME:
+                    // 有自定义名称的在前
+                    result = Boolean.compare(customName[b], customName[a]);
+                    break;
+                default:
+                    result = 0;
+                    break;
+            }
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,121 @@
+package com.aeolyn.better_experience.inventory.core;
+
+import com.aeolyn.better_experience.inventory.click.ClickOp;
+import com.aeolyn.better_experience.inventory.click.ClickProgram;
+import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
+import com.aeolyn.better_experience.inventory.model.ClickSimulator;
+import com.aeolyn.better_experience.inventory.model.InventoryModel;
+
+/**
+ * 整理规划器
+ * 在 {@link InventoryModel} 上模拟合并与选择排序，输出PICKUP点击程序，不依赖游戏类
+ * 每个阶段结束时光标都是空的，程序中途被中止也不会把物品留在光标上
+ */
+public class SortPlanner {
+
+    private SortPlanner() {
+    }
+
+    /**
+     * 规划一次整理
+     * @param label 操作名称
+     * @param syncId 目标界面的同步ID
+     * @param model 执行前的库存状态，规划结束后更新为预测的执行结果
+     * @param slotIds 参与整理的槽位ID（按整理顺序排列）
+     * @param keys 排序键表，第i行对应slotIds[i]中的物品
+     * @param sortMode 排序模式
+     * @param mergeFirst 是否先合并相同物品
+     * @return 点击程序
+     */
+    public static ClickProgram plan(String label, int syncId, InventoryModel model, int[] slotIds,
+                                    SortKeyTable keys, InventorySortConfig.SortMode sortMode, boolean mergeFirst) {
+        long startNanos = System.nanoTime();
+        ClickProgram program = new ClickProgram(label, syncId);
+
+        if (mergeFirst) {
+            planMerge(program, model, slotIds);
+            for (int i = 0; i < slotIds.length; i++) {
+                keys.updateCount(i, model.getCount(slotIds[i]));
+            }
+        }
+        planSelectionSort(program, model, slotIds, keys, sortMode);
+
+        program.setPlanningNanos(System.nanoTime() - startNanos);
+        return program;
+    }
+
+    /**
+     * 合并阶段：把后面的同类物品堆叠到前面未满的物品上
+     * 放不下的剩余部分放回原槽位
+     */
+    private static void planMerge(ClickProgram program, InventoryModel model, int[] slotIds) {
+        for (int i = 0; i < slotIds.length; i++) {
+            int target = slotIds[i];
+            if (model.isEmpty(target)) continue;
+
+            for (int j = i + 1; j < slotIds.length && model.getCount(target) < model.getMaxStack(target); j++) {
+                int source = slotIds[j];
+                if (!model.canStack(target, source)) continue;
+
+                emit(program, model, ClickOp.pickup(source));
+                emit(program, model, ClickOp.pickup(target));
+                if (!model.isCursorEmpty()) {
+                    // 光标上还有剩余，放回原槽位
+                    emit(program, model, ClickOp.pickup(source));
+                }
+            }
+        }
+    }
+
+    /**
+     * 排序阶段：基于排序键表的选择排序
+     */
+    private static void planSelectionSort(ClickProgram program, InventoryModel model, int[] slotIds,
+                                          SortKeyTable keys, InventorySortConfig.SortMode sortMode) {
+        // rows[i] 表示当前位于第i个槽位的物品在键表中的行号
+        int size = slotIds.length;
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+
+        for (int i = 0; i < size; i++) {
+            int bestIndex = i;
+            for (int j = i + 1; j < size; j++) {
+                if (keys.isEmpty(rows[j])) continue;
+                if (keys.isEmpty(rows[bestIndex]) || keys.compare(sortMode, rows[j], rows[bestIndex]) < 0) {
+                    bestIndex = j;
+                }
+            }
+            if (bestIndex == i) continue;
+
+            int slotI = slotIds[i];
+            int slotBest = slotIds[bestIndex];
+            if (keys.isEmpty(rows[i])) {
+                emit(program, model, ClickOp.pickup(slotBest));
+                emit(program, model, ClickOp.pickup(slotI));
+            } else if (model.absorbsCursor(slotI) || model.absorbsCursor(slotBest)) {
+                // 光标上的物品点到收纳袋上会被装进袋子，跳过涉及收纳袋的交换
+                continue;
+            } else if (model.canStack(slotI, slotBest)) {
+                // 同种物品点击会合并而不是交换，数量顺序不影响整理结果
+                continue;
+            } else {
+                emit(program, model, ClickOp.pickup(slotI));
+                emit(program, model, ClickOp.pickup(slotBest));
+                emit(program, model, ClickOp.pickup(slotI));
+            }
+            int row = rows[i];
+            rows[i] = rows[bestIndex];
+            rows[bestIndex] = row;
+        }
+    }
+
+    /**
+     * 追加点击并在模型上模拟
+     */
+    static void emit(ClickProgram program, InventoryModel model, ClickOp op) {
+        program.add(op);
+        ClickSimulator.apply(model, op);
+    }
+}
@@ -0,0 +1,211 @@
+package com.aeolyn.better_experience.inventory.core;
+
+import com.aeolyn.better_experience.common.config.manager.ConfigManager;
+import com.aeolyn.better_experience.common.util.LogUtil;
+import com.aeolyn.better_experience.inventory.click.ClickExecutor;
+import com.aeolyn.better_experience.inventory.click.ClickProgram;
+import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
+import com.aeolyn.better_experience.inventory.model.InventoryModelAdapter;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.screen.ingame.HandledScreen;
+import net.minecraft.item.ItemStack;
+import net.minecraft.screen.ScreenHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 有序布局跟踪器
+ * 记录最近一次整理完成后的槽位布局；之后整理范围内的某个空位新出现一组物品（拾取或Shift+点击），
+ * 其余槽位不变时，用 {@link IncrementalInsertPlanner} 只把这组物品插入到有序位置
+ * 有其他改动（手动挪动、多组新物品）时放弃跟踪，等下次完整整理
+ */
+public class SortedLayoutTracker {
+
+    private static volatile SortedLayoutTracker instance;
+
+    private Layout layout;
+
+    private SortedLayoutTracker() {
+    }
+
+    /**
+     * 获取单例实例
+     */
+    public static SortedLayoutTracker getInstance() {
+        if (instance == null) {
+            synchronized (SortedLayoutTracker.class) {
+                if (instance == null) {
+                    instance = new SortedLayoutTracker();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 记录整理完成后的布局
+     */
+    public void record(ScreenHandler handler, int[] slotIds, InventorySortConfig.SortMode sortMode,
+                       List<InventorySortConfig.SecondaryKey> secondaryKeys) {
+        Layout recorded = new Layout(handler.syncId, slotIds.clone(), sortMode, secondaryKeys);
+        recorded.capture(handler);
+        layout = recorded;
+    }
+
+    /**
+     * 放弃跟踪
+     */
+    public void clear() {
+        layout = null;
+    }
+
+    /**
+     * 每个客户端tick结束时调用（点击执行器之后）
+     */
+    public void tick(MinecraftClient client) {
+        Layout current = layout;
+        if (current == null) {
+            return;
+        }
+        if (!isEnabled()) {
+            layout = null;
+            return;
+        }
+        if (client.player == null) {
+            layout = null;
+            return;
+        }
+        if (!(client.currentScreen instanceof HandledScreen) || ClickExecutor.getInstance().isBusy()) {
+            return;
+        }
+        ScreenHandler handler = client.player.currentScreenHandler;
+        if (handler.syncId != current.syncId) {
+            // 玩家背包界面的syncId固定为0，关闭容器后布局失效
+            if (handler.syncId != 0) {
+                layout = null;
+            }
+            return;
+        }
+        if (!handler.getCursorStack().isEmpty()) {
+            return;
+        }
+
+        int newRow = -1;
+        for (int row = 0; row < current.slotIds.length; row++) {
+            int slotId = current.slotIds[row];
+            if (slotId >= handler.slots.size()) {
+                layout = null;
+                return;
+            }
+            ItemStack stack = handler.getSlot(slotId).getStack();
+            if (current.matches(row, stack)) continue;
+            if (current.sameItem(row, stack)) {
+                // 数量变化（拾取的物品补进已有堆叠）不影响顺序
+                current.set(row, stack);
+                continue;
+            }
+            if (current.itemIds[row] < 0 && newRow < 0) {
+                newRow = row;
+                continue;
+            }
+            LogUtil.info("Inventory", "布局已被改动，停止增量整理");
+            layout = null;
+            return;
+        }
+        if (newRow < 0) {
+            return;
+        }
+
+        List<ItemStack> stacks = new ArrayList<>(current.slotIds.length);
+        for (int slotId : current.slotIds) {
+            stacks.add(handler.getSlot(slotId).getStack());
+        }
+        SortKeyTable keys = SortKeyExtractor.extract(stacks, current.secondaryKeys);
+        ClickProgram program = IncrementalInsertPlanner.plan("增量整理", handler.syncId,
+            InventoryModelAdapter.fromHandler(handler), current.slotIds, keys, current.sortMode, newRow);
+        if (program == null) {
+            LogUtil.info("Inventory", "新物品无法增量插入，停止增量整理");
+            layout = null;
+            return;
+        }
+        current.set(newRow, stacks.get(newRow));
+        if (program.isEmpty()) {
+            return;
+        }
+
+        LogUtil.info("Inventory", "增量插入槽位 " + current.slotIds[newRow] + "，共 " + program.size() + " 次点击");
+        // 执行期间不跟踪，完成后按实际结果重新记录
+        layout = null;
+        ClickExecutor.getInstance().submit(program).thenAccept(report -> {
+            if (report.isCompleted() && client.player != null && client.player.currentScreenHandler.syncId == current.syncId) {
+                record(client.player.currentScreenHandler, current.slotIds, current.sortMode, current.secondaryKeys);
+            }
+        });
+    }
+
+    /**
+     * 是否启用增量整理
+     */
+    public static boolean isEnabled() {
+        try {
+            InventorySortConfig config = ConfigManager.getInstance().getConfig(InventorySortConfig.class);
+            if (config != null && config.getSortSettings() != null) {
+                return config.getSortSettings().isIncrementalInsert();
+            }
+        } catch (Exception e) {
+            LogUtil.warn("Inventory", "读取增量整理设置失败，使用默认值: " + e.getMessage());
+        }
+        return new InventorySortConfig.SortSettings().isIncrementalInsert();
+    }
+
+    /**
+     * 记录的布局：按行保存物品ID、组件哈希和数量，空位的物品ID为-1
+     */
+    private static final class Layout {
+        final int syncId;
+        final int[] slotIds;
+        final InventorySortConfig.SortMode sortMode;
+        final List<InventorySortConfig.SecondaryKey> secondaryKeys;
+        final int[] itemIds;
+        final int[] componentHashes;
+        final int[] counts;
+
+        Layout(int syncId, int[] slotIds, InventorySortConfig.SortMode sortMode, List<InventorySortConfig.SecondaryKey> secondaryKeys) {
+            this.syncId = syncId;
+            this.slotIds = slotIds;
+            this.sortMode = sortMode;
+            this.secondaryKeys = secondaryKeys;
+            this.itemIds = new int[slotIds.length];
+            this.componentHashes = new int[slotIds.length];
+            this.counts = new int[slotIds.length];
+        }
+
+        void capture(ScreenHandler handler) {
+            for (int row = 0; row < slotIds.length; row++) {
+                set(row, slotIds[row] < handler.slots.size() ? handler.getSlot(slotIds[row]).getStack() : ItemStack.EMPTY);
+            }
+        }
+
+        void set(int row, ItemStack stack) {
+            if (stack.isEmpty()) {
+                itemIds[row] = -1;
+                componentHashes[row] = 0;
+                counts[row] = 0;
+            } else {
+                itemIds[row] = InventoryModelAdapter.getItemId(stack);
+                componentHashes[row] = InventoryModelAdapter.getComponentHash(stack);
+                counts[row] = stack.getCount();
+            }
+        }
+
+        boolean sameItem(int row, ItemStack stack) {
+            return !stack.isEmpty() && itemIds[row] == InventoryModelAdapter.getItemId(stack)
+                && componentHashes[row] == InventoryModelAdapter.getComponentHash(stack);
+        }
+
+        boolean matches(int row, ItemStack stack) {
+            return stack.isEmpty() ? itemIds[row] < 0 : sameItem(row, stack) && counts[row] == stack.getCount();
+        }
+    }
+}
@@ -4,18 +4,19 @@ import java.rmi.registry.Registry;
 import java.security.Identity;
 
 import com.aeolyn.better_experience.common.util.LogUtil;
+import com.aeolyn.better_experience.inventory.click.ClickExecutor;
+import com.aeolyn.better_experience.inventory.click.ClickProgram;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.network.ClientPlayerEntity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.screen.slot.Slot;
-import net.minecraft.screen.slot.SlotActionType;
 import net.minecraft.util.Identifier;
 import net.minecraft.registry.RegistryKeys;
 import net.minecraft.registry.Registries;
 
 /**
  * 生存模式物品移动策略
- * 使用PICKUP点击进行物品移动，优化操作减少延迟
+ * 使用PICKUP点击进行物品移动，点击交给 {@link ClickExecutor} 按tick分批发送
  */
 public class SurvivalItemMoveStrategy implements ItemMoveStrategy {
     
@@ -41,9 +42,7 @@ public class SurvivalItemMoveStrategy implements ItemMoveStrategy {
         int syncId = player.currentScreenHandler.syncId;
         
         
-        client.interactionManager.clickSlot(syncId, slotA.id, 0, SlotActionType.PICKUP, player);
-        client.interactionManager.clickSlot(syncId, slotB.id, 0, SlotActionType.PICKUP, player);
-        client.interactionManager.clickSlot(syncId, slotA.id, 0, SlotActionType.PICKUP, player);
+        ClickExecutor.getInstance().submit(new ClickProgram("交换槽位", syncId).swap(slotA.id, slotB.id));
         
         LogUtil.info("Inventory", "生存模式交换槽位: " + slotA.id + " <-> " + slotB.id);
     }
@@ -57,9 +56,8 @@ public class SurvivalItemMoveStrategy implements ItemMoveStrategy {
         }
        int syncId = player.currentScreenHandler.syncId;
         
-        // 使用两次PICKUP点击完成移动，不添加等待
-        client.interactionManager.clickSlot(syncId, sourceSlot.id, 0, SlotActionType.PICKUP, player);
-        client.interactionManager.clickSlot(syncId, targetSlot.id, 0, SlotActionType.PICKUP, player);
+        // 使用两次PICKUP点击完成移动
+        ClickExecutor.getInstance().submit(new ClickProgram("移动物品", syncId).move(sourceSlot.id, targetSlot.id));
         
         LogUtil.info("Inventory", "生存模式移动物品: " + sourceSlot.id + " -> " + targetSlot.id);
     }
@@ -91,9 +89,12 @@ public class SurvivalItemMoveStrategy implements ItemMoveStrategy {
         
         int syncId = player.currentScreenHandler.syncId;
         
-        
-        client.interactionManager.clickSlot(syncId, sourceSlot.id, 0, SlotActionType.PICKUP, player);
-        client.interactionManager.clickSlot(syncId, targetSlot.id, 0, SlotActionType.PICKUP, player);
+        ClickProgram program = new ClickProgram("堆叠物品", syncId).pickup(sourceSlot.id).pickup(targetSlot.id);
+        if (targetStack.getCount() + sourceStack.getCount() > maxStack) {
+            // 放不下的部分放回源槽位，不留在光标上
+            program.pickup(sourceSlot.id);
+        }
+        ClickExecutor.getInstance().submit(program);
         
         LogUtil.info("Inventory", "生存模式堆叠物品: " + sourceSlot.id + " -> " + targetSlot.id);
         return true;
@@ -113,8 +114,8 @@ public class SurvivalItemMoveStrategy implements ItemMoveStrategy {
         
         int syncId = player.currentScreenHandler.syncId;
         
-        // 使用PICKUP点击清空槽位，不添加等待
-        client.interactionManager.clickSlot(syncId, slot.id, 0, SlotActionType.PICKUP, player);
+        // 使用PICKUP点击清空槽位
+        ClickExecutor.getInstance().submit(new ClickProgram("清空槽位", syncId).pickup(slot.id));
         
         LogUtil.info("Inventory", "生存模式清空槽位: " + slot.id);
     }
@@ -128,23 +129,25 @@ public class SurvivalItemMoveStrategy implements ItemMoveStrategy {
         }
         
         int syncId = player.currentScreenHandler.syncId;
+        ClickProgram program = new ClickProgram("设置槽位", syncId);
         
         // 如果槽位有物品，先清空
         if (!slot.getStack().isEmpty()) {
-            client.interactionManager.clickSlot(syncId, slot.id, 0, SlotActionType.PICKUP, player);
+            program.pickup(slot.id);
         }
         
-        // 如果鼠标上有物品，先放下
+        // 如果鼠标上有物品，先放下（点击排队发送，这里按点击后的状态判断）
         ItemStack cursorStack = player.currentScreenHandler.getCursorStack();
-        if (!cursorStack.isEmpty()) {
+        if (!cursorStack.isEmpty() || !slot.getStack().isEmpty()) {
             // 找到空槽位放下鼠标上的物品
             for (Slot emptySlot : player.currentScreenHandler.slots) {
-                if (emptySlot.getStack().isEmpty()) {
-                    client.interactionManager.clickSlot(syncId, emptySlot.id, 0, SlotActionType.PICKUP, player);
+                if (emptySlot != slot && emptySlot.getStack().isEmpty()) {
+                    program.pickup(emptySlot.id);
                     break;
                 }
             }
         }
+        ClickExecutor.getInstance().submit(program);
         
         // 注意：生存模式下直接设置物品比较复杂，这里可能需要特殊处理
         LogUtil.warn("Inventory", "生存模式不支持直接设置槽位物品，请使用其他方法");
@@ -0,0 +1,269 @@
+package com.aeolyn.better_experience.inventory.core;
+
+import com.aeolyn.better_experience.inventory.click.ClickOp;
+import com.aeolyn.better_experience.inventory.click.ClickProgram;
+import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
+import com.aeolyn.better_experience.inventory.model.ClickSimulator;
+import com.aeolyn.better_experience.inventory.model.InventoryModel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 转移规划器
+ * 在 {@link InventoryModel} 上模拟Shift+点击，跳过目标区域已放不下的槽位，不依赖游戏类
+ * 存入模式按容器中物品的堆叠键（物品ID+组件哈希）过滤，键集合只遍历容器一次建立
+ * 批量转移对零散的同类堆叠用双击收集（PICKUP_ALL）一次拿起多组，其余槽位仍逐个Shift+点击
+ */
+public class TransferPlanner {
+
+    /**
+     * 一次收集需要3次点击（拿起、双击收集、放下），至少要清空这么多组源堆叠才比逐个Shift+点击划算
+     */
+    private static final int MIN_COLLECTED_STACKS = 4;
+
+    private TransferPlanner() {
+    }
+
+    /**
+     * 规划把一组槽位全部Shift+点击到另一侧
+     * @param label 操作名称
+     * @param syncId 目标界面的同步ID
+     * @param model 执行前的库存状态，规划结束后更新为预测的执行结果
+     * @param sourceSlots 源槽位ID
+     * @return 点击程序
+     */
+    public static ClickProgram planQuickMoveAll(String label, int syncId, InventoryModel model, int[] sourceSlots) {
+        long startNanos = System.nanoTime();
+        ClickProgram program = new ClickProgram(label, syncId);
+        appendQuickMoves(program, model, sourceSlots);
+        program.setPlanningNanos(System.nanoTime() - startNanos);
+        return program;
+    }
+
+    /**
+     * 规划把一组槽位全部转移到另一侧，尽量减少点击
+     * 同类物品有多组未满堆叠时，先拿起一组再双击收集其余堆叠，整组放到目标侧的空位上；
+     * 只有模拟确认收集不会从源槽位以外拿走物品、且清空的堆叠足够多时才使用，其余槽位逐个Shift+点击
+     * @param label 操作名称
+     * @param syncId 目标界面的同步ID
+     * @param model 执行前的库存状态，规划结束后更新为预测的执行结果
+     * @param sourceSlots 源槽位ID
+     * @param targetSlots 目标侧可以放入任何物品的槽位ID，用于放下收集到的物品
+     * @return 点击程序
+     */
+    public static ClickProgram planBulkTransfer(String label, int syncId, InventoryModel model,
+                                                int[] sourceSlots, int[] targetSlots) {
+        long startNanos = System.nanoTime();
+        ClickProgram program = new ClickProgram(label, syncId);
+
+        boolean[] isSource = new boolean[model.size()];
+        Map<Long, List<Integer>> groups = new LinkedHashMap<>();
+        for (int slot : sourceSlots) {
+            if (!model.isValidSlot(slot)) continue;
+            isSource[slot] = true;
+            if (!model.isEmpty(slot) && model.getCount(slot) < model.getMaxStack(slot)) {
+                groups.computeIfAbsent(stackKey(model, slot), key -> new ArrayList<>()).add(slot);
+            }
+        }
+
+        for (List<Integer> partials : groups.values()) {
+            if (partials.size() < 2) continue;
+            while (collectOnce(program, model, partials.get(0), isSource, targetSlots)) {
+                partials.removeIf(slot -> model.isEmpty(slot) || model.getCount(slot) >= model.getMaxStack(slot));
+                if (partials.size() < 2) break;
+            }
+        }
+
+        appendQuickMoves(program, model, sourceSlots);
+        program.setPlanningNanos(System.nanoTime() - startNanos);
+        return program;
+    }
+
+    /**
+     * 尝试一次收集：拿起start，双击收集同类物品，放到目标侧的第一个空位
+     * 先在模型副本上模拟，不安全或不划算时不输出任何点击
+     */
+    private static boolean collectOnce(ClickProgram program, InventoryModel model, int start,
+                                       boolean[] isSource, int[] targetSlots) {
+        int target = -1;
+        for (int slot : targetSlots) {
+            if (model.isValidSlot(slot) && !isSource[slot] && model.isEmpty(slot)) {
+                target = slot;
+                break;
+            }
+        }
+        if (target < 0 || !model.isCursorEmpty()) {
+            return false;
+        }
+
+        ClickOp[] ops = {ClickOp.pickup(start), ClickOp.pickupAll(start), ClickOp.pickup(target)};
+        InventoryModel trial = model.copy();
+        for (ClickOp op : ops) {
+            if (!ClickSimulator.supports(trial, op)) {
+                return false;
+            }
+            ClickSimulator.apply(trial, op);
+        }
+        if (!trial.isCursorEmpty()) {
+            return false;
+        }
+
+        int emptied = 0;
+        for (int slot = 0; slot < model.size(); slot++) {
+            boolean changed = trial.getCount(slot) != model.getCount(slot) || trial.getItemId(slot) != model.getItemId(slot);
+            if (changed && !isSource[slot] && slot != target) {
+                // 双击收集会从源槽位以外（如快捷栏或目标侧）拿走同类物品
+                return false;
+            }
+            if (isSource[slot] && !model.isEmpty(slot) && trial.isEmpty(slot)) {
+                emptied++;
+            }
+        }
+        if (emptied < MIN_COLLECTED_STACKS) {
+            return false;
+        }
+
+        for (ClickOp op : ops) {
+            SortPlanner.emit(program, model, op);
+        }
+        return true;
+    }
+
+    /**
+     * 逐个Shift+点击源槽位，跳过目标区域已放不下的槽位
+     */
+    private static void appendQuickMoves(ClickProgram program, InventoryModel model, int[] sourceSlots) {
+        boolean predictable = true;
+
+        for (int slot : sourceSlots) {
+            if (!model.isValidSlot(slot) || model.isEmpty(slot)) continue;
+            ClickOp op = ClickOp.quickMove(slot);
+
+            if (predictable && ClickSimulator.supports(model, op)) {
+                int before = model.getCount(slot);
+                ClickSimulator.apply(model, op);
+                if (model.getCount(slot) == before) {
+                    // 目标区域放不下，点击不会有效果
+                    continue;
+                }
+            } else {
+                // 模型无法预测该界面的Shift+点击，后续照常发送
+                predictable = false;
+            }
+            program.add(op);
+        }
+    }
+
+    /**
+     * 按存入模式规划把背包物品存入容器
+     * @param mode 存入模式
+     * @param label 操作名称
+     * @param syncId 目标界面的同步ID
+     * @param model 执行前的库存状态，规划结束后更新为预测的执行结果
+     * @param sourceSlots 背包槽位ID
+     * @param containerSlots 容器槽位ID
+     * @return 点击程序
+     */
+    public static ClickProgram planDeposit(InventorySortConfig.DepositMode mode, String label, int syncId,
+                                           InventoryModel model, int[] sourceSlots, int[] containerSlots) {
+        switch (mode) {
+            case MATCHING:
+                return planDepositMatching(label, syncId, model, sourceSlots, containerSlots);
+            case TOP_UP:
+                return planTopUp(label, syncId, model, sourceSlots, containerSlots);
+            default:
+                return planBulkTransfer(label, syncId, model, sourceSlots, containerSlots);
+        }
+    }
+
+    /**
+     * 只把容器中已有的物品转移进容器
+     * 先补满同类堆叠，放不下的部分照常进入空位
+     */
+    public static ClickProgram planDepositMatching(String label, int syncId, InventoryModel model,
+                                                   int[] sourceSlots, int[] containerSlots) {
+        long startNanos = System.nanoTime();
+        Set<Long> containerKeys = new HashSet<>();
+        for (int slot : containerSlots) {
+            if (model.isValidSlot(slot) && !model.isEmpty(slot)) {
+                containerKeys.add(stackKey(model, slot));
+            }
+        }
+
+        int[] matching = new int[sourceSlots.length];
+        int size = 0;
+        for (int slot : sourceSlots) {
+            if (model.isValidSlot(slot) && !model.isEmpty(slot) && containerKeys.contains(stackKey(model, slot))) {
+                matching[size++] = slot;
+            }
+        }
+
+        ClickProgram program = planBulkTransfer(label, syncId, model, Arrays.copyOf(matching, size), containerSlots);
+        program.setPlanningNanos(System.nanoTime() - startNanos);
+        return program;
+    }
+
+    /**
+     * 只补满容器中未满的同类堆叠，不占用容器空位
+     * 用PICKUP拿起背包中的物品依次放到未满堆叠上，剩余部分放回原槽位
+     */
+    public static ClickProgram planTopUp(String label, int syncId, InventoryModel model,
+                                         int[] sourceSlots, int[] containerSlots) {
+        long startNanos = System.nanoTime();
+        ClickProgram program = new ClickProgram(label, syncId);
+
+        // 堆叠键 -> 容器中未满的槽位
+        Map<Long, ArrayDeque<Integer>> partialSlots = new HashMap<>();
+        for (int slot : containerSlots) {
+            if (model.isValidSlot(slot) && !model.isEmpty(slot) && model.getCount(slot) < model.getMaxStack(slot)) {
+                partialSlots.computeIfAbsent(stackKey(model, slot), key -> new ArrayDeque<>()).add(slot);
+            }
+        }
+
+        for (int source : sourceSlots) {
+            if (partialSlots.isEmpty()) break;
+            if (!model.isValidSlot(source) || model.isEmpty(source)) continue;
+            long key = stackKey(model, source);
+            ArrayDeque<Integer> targets = partialSlots.get(key);
+            if (targets == null) continue;
+
+            ClickOp take = ClickOp.pickup(source);
+            if (!ClickSimulator.supports(model, take)) continue;
+            SortPlanner.emit(program, model, take);
+            while (!model.isCursorEmpty() && !targets.isEmpty()) {
+                int target = targets.peek();
+                ClickOp place = ClickOp.pickup(target);
+                if (!ClickSimulator.supports(model, place)) {
+                    targets.poll();
+                    continue;
+                }
+                SortPlanner.emit(program, model, place);
+                if (model.getCount(target) >= model.getMaxStack(target)) {
+                    targets.poll();
+                }
+            }
+            if (!model.isCursorEmpty()) {
+                // 光标上还有剩余，放回原槽位
+                SortPlanner.emit(program, model, ClickOp.pickup(source));
+            }
+            if (targets.isEmpty()) {
+                partialSlots.remove(key);
+            }
+        }
+
+        program.setPlanningNanos(System.nanoTime() - startNanos);
+        return program;
+    }
+
+    private static long stackKey(InventoryModel model, int slot) {
+        return ((long) model.getItemId(slot) << 32) | (model.getComponentHash(slot) & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,105 @@
+package com.aeolyn.better_experience.inventory.finder;
+
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.LootableContainerBlockEntity;
+import net.minecraft.component.DataComponentTypes;
+import net.minecraft.component.type.ContainerComponent;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 一个区块内所有容器的内容汇总（不可变）
+ * 物品 -> 容器坐标（{@link net.minecraft.util.math.BlockPos#asLong()}）-> 数量，容器里的潜影盒等物品的内容也计入该容器
+ */
+public final class ChunkContents {
+
+    public static final ChunkContents EMPTY = new ChunkContents(Map.of());
+
+    private final Map<Item, Map<Long, Integer>> items;
+
+    private ChunkContents(Map<Item, Map<Long, Integer>> items) {
+        this.items = items;
+    }
+
+    /**
+     * 某种物品所在的容器，没有时返回空表
+     */
+    public Map<Long, Integer> get(Item item) {
+        return items.getOrDefault(item, Map.of());
+    }
+
+    public int getItemKinds() {
+        return items.size();
+    }
+
+    /**
+     * 方块实体是否是可以直接读取的容器
+     * 还没生成战利品的容器不读取，读取会触发生成
+     */
+    public static boolean isReadable(BlockEntity blockEntity) {
+        return blockEntity instanceof Inventory && !blockEntity.isRemoved()
+            && !(blockEntity instanceof LootableContainerBlockEntity lootable && lootable.getLootTable() != null);
+    }
+
+    /**
+     * 逐个容器读取的构建器，同一位置重新读取时替换之前的内容
+     */
+    public static final class Builder {
+
+        // 容器坐标 -> 物品 -> 数量
+        private final Map<Long, Map<Item, Integer>> containers = new HashMap<>();
+
+        /**
+         * 读取一个容器方块实体的全部内容
+         */
+        public void addContainer(BlockEntity blockEntity) {
+            readContainer(blockEntity.getPos().asLong(), blockEntity);
+        }
+
+        /**
+         * 重新读取某个位置上的容器；方块实体为null或不可读时移除该位置
+         * @param pos 容器坐标（{@link net.minecraft.util.math.BlockPos#asLong()}）
+         */
+        public void readContainer(long pos, BlockEntity blockEntity) {
+            containers.remove(pos);
+            if (!isReadable(blockEntity)) {
+                return;
+            }
+            Inventory inventory = (Inventory) blockEntity;
+            Map<Item, Integer> items = new HashMap<>();
+            for (int i = 0; i < inventory.size(); i++) {
+                ItemStack stack = inventory.getStack(i);
+                if (stack.isEmpty()) {
+                    continue;
+                }
+                items.merge(stack.getItem(), stack.getCount(), Integer::sum);
+                ContainerComponent nested = stack.get(DataComponentTypes.CONTAINER);
+                if (nested != null) {
+                    for (ItemStack inner : nested.iterateNonEmpty()) {
+                        items.merge(inner.getItem(), inner.getCount(), Integer::sum);
+                    }
+                }
+            }
+            if (!items.isEmpty()) {
+                containers.put(pos, items);
+            }
+        }
+
+        public ChunkContents build() {
+            if (containers.isEmpty()) {
+                return EMPTY;
+            }
+            Map<Item, Map<Long, Integer>> items = new HashMap<>();
+            for (Map.Entry<Long, Map<Item, Integer>> container : containers.entrySet()) {
+                for (Map.Entry<Item, Integer> entry : container.getValue().entrySet()) {
+                    items.computeIfAbsent(entry.getKey(), key -> new HashMap<>()).put(container.getKey(), entry.getValue());
+                }
+            }
+            return new ChunkContents(items);
+        }
+    }
+}
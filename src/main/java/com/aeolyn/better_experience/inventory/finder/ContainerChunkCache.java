@@ -0,0 +1,97 @@
+package com.aeolyn.better_experience.inventory.finder;
+
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 按区块缓存的容器内容（只在服务端线程访问）
+ * 区块内任一容器内容变化、容器放置或移除时作废该区块，区块卸载时丢弃
+ */
+public class ContainerChunkCache {
+
+    private static volatile ContainerChunkCache instance;
+
+    // 维度 -> 区块坐标（ChunkPos#toLong）-> 内容
+    private final Map<RegistryKey<World>, Map<Long, ChunkContents>> worlds = new HashMap<>();
+    private int hits;
+    private int misses;
+
+    private ContainerChunkCache() {
+    }
+
+    /**
+     * 获取单例实例
+     */
+    public static ContainerChunkCache getInstance() {
+        if (instance == null) {
+            synchronized (ContainerChunkCache.class) {
+                if (instance == null) {
+                    instance = new ContainerChunkCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 缓存的区块内容，没有缓存时返回null
+     */
+    public ChunkContents get(RegistryKey<World> world, long chunkKey) {
+        Map<Long, ChunkContents> chunks = worlds.get(world);
+        ChunkContents contents = chunks != null ? chunks.get(chunkKey) : null;
+        if (contents != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return contents;
+    }
+
+    public void put(RegistryKey<World> world, long chunkKey, ChunkContents contents) {
+        worlds.computeIfAbsent(world, key -> new HashMap<>()).put(chunkKey, contents);
+    }
+
+    /**
+     * 作废某个方块所在区块的缓存
+     */
+    public void invalidate(RegistryKey<World> world, BlockPos pos) {
+        Map<Long, ChunkContents> chunks = worlds.get(world);
+        if (chunks != null) {
+            chunks.remove(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+        }
+    }
+
+    /**
+     * 区块卸载时丢弃缓存
+     */
+    public void drop(RegistryKey<World> world, ChunkPos chunkPos) {
+        Map<Long, ChunkContents> chunks = worlds.get(world);
+        if (chunks != null) {
+            chunks.remove(chunkPos.toLong());
+        }
+    }
+
+    public void clear() {
+        worlds.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<Long, ChunkContents> chunks : worlds.values()) {
+            size += chunks.size();
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "ContainerChunkCache{chunks=" + size() + ", hits=" + hits + ", misses=" + misses + "}";
+    }
+}
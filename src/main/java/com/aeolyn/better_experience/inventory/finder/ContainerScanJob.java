@@ -0,0 +1,226 @@
+package com.aeolyn.better_experience.inventory.finder;
+
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 按时间预算分多个tick执行的容器扫描
+ * 按与玩家的距离由近到远逐个区块处理：有缓存直接读取，否则逐个方块实体扫描并写入缓存。
+ * 每次 {@link #step()} 只做一个单位的工作（一个缓存区块或一个容器），由 {@link ServerItemFinder} 按时间预算调度
+ * 扫描中的区块里有容器内容变化时只重新读取该容器；重新读取次数有上限，超过后接受略旧的结果（不写入缓存），
+ * 整个任务超时后以已得到的结果结束
+ */
+public abstract class ContainerScanJob {
+
+    /** 每个区块扫描期间最多重新读取的容器数 */
+    private static final int MAX_REREADS_PER_CHUNK = 32;
+
+    /** 单个任务的最长时间 */
+    private static final long TIMEOUT_NANOS = 5_000_000_000L;
+
+    protected final ServerPlayerEntity player;
+    protected final ServerWorld world;
+    protected final BlockPos origin;
+    private final long radiusSquared;
+    private final long[] chunks;
+    private int chunkIndex;
+
+    private final long startNanos = System.nanoTime();
+    private boolean timedOut;
+
+    // 正在扫描的区块：还没读取（或需要重新读取）的容器坐标
+    private WorldChunk scanning;
+    private final Deque<Long> pending = new ArrayDeque<>();
+    private final Set<Long> queued = new HashSet<>();
+    private ChunkContents.Builder builder;
+    private int rereads;
+    private boolean stale;
+
+    private int scannedChunks;
+    private int cachedChunks;
+
+    /**
+     * @param player 发起任务的玩家，扫描以玩家当前位置为中心
+     * @param world 玩家所在世界
+     * @param radius 扫描半径（方块）
+     */
+    protected ContainerScanJob(ServerPlayerEntity player, ServerWorld world, int radius) {
+        this.player = player;
+        this.world = world;
+        this.origin = player.getBlockPos();
+        this.radiusSquared = (long) radius * radius;
+        this.chunks = chunksByDistance(new ChunkPos(origin), (radius >> 4) + 1);
+    }
+
+    /**
+     * 任务类型，同一玩家同一类型同时只有一个任务
+     */
+    protected abstract String getKind();
+
+    /**
+     * 处理一个区块的内容（缓存的或刚扫描完的）
+     */
+    protected abstract void collect(ChunkContents contents);
+
+    /**
+     * 已经得到足够的结果时返回true，提前结束
+     */
+    protected boolean isSatisfied() {
+        return false;
+    }
+
+    /**
+     * 每个tick的预算用完后调用
+     */
+    protected void onTickEnd() {
+    }
+
+    /**
+     * 任务结束（完成、超时、失败或被替换）时调用一次
+     */
+    protected abstract void finish();
+
+    /**
+     * 做一个单位的工作
+     * @return 任务是否已结束
+     */
+    final boolean step() {
+        if (System.nanoTime() - startNanos > TIMEOUT_NANOS) {
+            timedOut = true;
+            return true;
+        }
+        if (builder != null) {
+            long pos = pending.poll();
+            queued.remove(pos);
+            // 只读取已加载区块里已有的方块实体，不触发加载或创建
+            builder.readContainer(pos, scanning.getBlockEntities().get(BlockPos.fromLong(pos)));
+            if (pending.isEmpty()) {
+                ChunkContents contents = builder.build();
+                if (!stale) {
+                    ContainerChunkCache.getInstance().put(world.getRegistryKey(), chunks[chunkIndex], contents);
+                }
+                scanning = null;
+                builder = null;
+                scannedChunks++;
+                collect(contents);
+                chunkIndex++;
+            }
+            return isSatisfied();
+        }
+
+        if (chunkIndex >= chunks.length || isSatisfied()) {
+            return true;
+        }
+        long chunkKey = chunks[chunkIndex];
+        ChunkContents cached = ContainerChunkCache.getInstance().get(world.getRegistryKey(), chunkKey);
+        if (cached != null) {
+            cachedChunks++;
+            collect(cached);
+            chunkIndex++;
+            return false;
+        }
+        beginScan(chunkKey);
+        return false;
+    }
+
+    /**
+     * 扫描中的区块里有容器内容变化、放置或移除：已经读过的容器排到最后重新读取
+     * 达到重新读取上限后不再跟进，该区块的结果不写入缓存
+     */
+    final void onContainerChanged(ServerWorld changedWorld, BlockPos pos) {
+        if (builder == null || changedWorld != world || chunks[chunkIndex] != ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4)) {
+            return;
+        }
+        long packed = pos.asLong();
+        if (queued.contains(packed)) {
+            return;
+        }
+        if (rereads >= MAX_REREADS_PER_CHUNK) {
+            stale = true;
+            return;
+        }
+        rereads++;
+        queued.add(packed);
+        pending.add(packed);
+    }
+
+    /**
+     * 玩家仍在线且在同一维度时继续
+     */
+    public boolean isValid() {
+        return !player.isRemoved() && player.getWorld() == world;
+    }
+
+    /**
+     * 坐标是否在扫描半径内
+     */
+    protected boolean isInRange(BlockPos pos) {
+        return pos.getSquaredDistance(origin) <= radiusSquared;
+    }
+
+    protected boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public ServerPlayerEntity getPlayer() {
+        return player;
+    }
+
+    private void beginScan(long chunkKey) {
+        WorldChunk chunk = world.getChunkManager().getWorldChunk(ChunkPos.getPackedX(chunkKey), ChunkPos.getPackedZ(chunkKey));
+        if (chunk == null) {
+            // 未加载的区块不加载
+            chunkIndex++;
+            return;
+        }
+        for (BlockEntity blockEntity : chunk.getBlockEntities().values()) {
+            if (ChunkContents.isReadable(blockEntity)) {
+                long pos = blockEntity.getPos().asLong();
+                pending.add(pos);
+                queued.add(pos);
+            }
+        }
+        if (pending.isEmpty()) {
+            ContainerChunkCache.getInstance().put(world.getRegistryKey(), chunkKey, ChunkContents.EMPTY);
+            scannedChunks++;
+            chunkIndex++;
+            return;
+        }
+        scanning = chunk;
+        builder = new ChunkContents.Builder();
+        rereads = 0;
+        stale = false;
+    }
+
+    /**
+     * 以中心区块为原点、按距离由近到远排列的区块坐标
+     */
+    private static long[] chunksByDistance(ChunkPos center, int chunkRadius) {
+        List<ChunkPos> positions = new ArrayList<>();
+        for (int dx = -chunkRadius; dx <= chunkRadius; dx++) {
+            for (int dz = -chunkRadius; dz <= chunkRadius; dz++) {
+                positions.add(new ChunkPos(center.x + dx, center.z + dz));
+            }
+        }
+        positions.sort(Comparator.comparingInt(pos -> (pos.x - center.x) * (pos.x - center.x) + (pos.z - center.z) * (pos.z - center.z)));
+        return positions.stream().mapToLong(ChunkPos::toLong).toArray();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{chunks=" + chunks.length + ", scanned=" + scannedChunks + ", cached=" + cachedChunks
+            + (timedOut ? ", timedOut" : "") + "}";
+    }
+}
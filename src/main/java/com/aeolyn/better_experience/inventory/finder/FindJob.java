@@ -0,0 +1,92 @@
+package com.aeolyn.better_experience.inventory.finder;
+
+import com.aeolyn.better_experience.inventory.network.FindResultPayload;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.item.Item;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 一次服务端查找
+ * 每个区块中存放目标物品的容器按tick分批发回客户端
+ */
+final class FindJob extends ContainerScanJob {
+
+    static final String KIND = "find";
+
+    /** 单次查找最多返回的容器数 */
+    private static final int MAX_TOTAL_HITS = 1024;
+
+    private final int requestId;
+    private final Item item;
+
+    private final List<FindResultPayload.Hit> outgoing = new ArrayList<>();
+    private int totalHits;
+    private int totalCount;
+
+    FindJob(ServerPlayerEntity player, ServerWorld world, int requestId, Item item, int radius) {
+        super(player, world, radius);
+        this.requestId = requestId;
+        this.item = item;
+    }
+
+    @Override
+    protected String getKind() {
+        return KIND;
+    }
+
+    @Override
+    protected void collect(ChunkContents contents) {
+        for (Map.Entry<Long, Integer> entry : contents.get(item).entrySet()) {
+            BlockPos pos = BlockPos.fromLong(entry.getKey());
+            if (!isInRange(pos) || totalHits >= MAX_TOTAL_HITS) {
+                continue;
+            }
+            outgoing.add(new FindResultPayload.Hit(pos, entry.getValue()));
+            totalHits++;
+            totalCount += entry.getValue();
+            if (outgoing.size() >= FindResultPayload.MAX_HITS) {
+                flush(false);
+            }
+        }
+    }
+
+    @Override
+    protected boolean isSatisfied() {
+        return totalHits >= MAX_TOTAL_HITS;
+    }
+
+    @Override
+    protected void onTickEnd() {
+        flush(false);
+    }
+
+    @Override
+    protected void finish() {
+        flush(true);
+    }
+
+    /**
+     * 把本tick找到的结果发给客户端
+     * @param done 是否是最后一批
+     */
+    private void flush(boolean done) {
+        if (outgoing.isEmpty() && !done) {
+            return;
+        }
+        if (ServerPlayNetworking.canSend(player, FindResultPayload.ID)) {
+            ServerPlayNetworking.send(player, new FindResultPayload(requestId, List.copyOf(outgoing), done));
+        }
+        outgoing.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "FindJob{item=" + item + ", hits=" + totalHits + ", items=" + totalCount + ", " + super.toString() + "}";
+    }
+}
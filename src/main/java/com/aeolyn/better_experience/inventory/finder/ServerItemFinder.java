@@ -0,0 +1,187 @@
+package com.aeolyn.better_experience.inventory.finder;
+
+import com.aeolyn.better_experience.common.util.LogUtil;
+import com.aeolyn.better_experience.inventory.network.FindRequestPayload;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerBlockEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.Items;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 服务端物品查找
+ * 收到请求后为玩家创建一个 {@link FindJob}，在每个服务端tick结束时按固定时间预算推进所有扫描任务
+ * （查找和快速存入，见 {@link ContainerScanJob}），超出预算的工作留到下一个tick，查找结果每个tick分批发回客户端
+ * 扫描结果按区块缓存在 {@link ContainerChunkCache}，容器内容变化时由 BlockEntityMixin 作废
+ */
+public final class ServerItemFinder {
+
+    /** 每个tick用于查找的时间预算 */
+    private static final long TICK_BUDGET_NANOS = 2_000_000L;
+
+    /** 同一玩家两次请求之间的最小间隔（tick） */
+    private static final int COOLDOWN_TICKS = 10;
+
+    // 任务类型/玩家UUID -> 任务；每个玩家每种任务同时只有一个
+    private static final Map<String, ContainerScanJob> jobs = new LinkedHashMap<>();
+    private static final Map<UUID, Integer> lastRequestTick = new HashMap<>();
+
+    private ServerItemFinder() {
+    }
+
+    /**
+     * 注册数据包接收器和生命周期事件
+     */
+    public static void register() {
+        ServerPlayNetworking.registerGlobalReceiver(FindRequestPayload.ID, (payload, context) -> {
+            ServerPlayerEntity player = context.player();
+            String error = start(player, payload, context.server().getTicks());
+            if (error != null) {
+                LogUtil.warn("Inventory", "拒绝服务端查找请求(" + player.getName().getString() + "): " + error);
+            }
+        });
+        ServerTickEvents.END_SERVER_TICK.register(ServerItemFinder::tick);
+        ServerBlockEntityEvents.BLOCK_ENTITY_LOAD.register((blockEntity, world) -> {
+            if (blockEntity instanceof Inventory) {
+                onContainerChanged(world, blockEntity.getPos());
+            }
+        });
+        ServerBlockEntityEvents.BLOCK_ENTITY_UNLOAD.register((blockEntity, world) -> {
+            if (blockEntity instanceof Inventory) {
+                onContainerChanged(world, blockEntity.getPos());
+            }
+        });
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) ->
+            ContainerChunkCache.getInstance().drop(world.getRegistryKey(), chunk.getPos()));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            jobs.clear();
+            lastRequestTick.clear();
+            ContainerChunkCache.getInstance().clear();
+        });
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            UUID uuid = handler.getPlayer().getUuid();
+            jobs.values().removeIf(job -> job.getPlayer().getUuid().equals(uuid));
+            lastRequestTick.remove(uuid);
+        });
+        LogUtil.info("Inventory", "服务端查找处理器已注册");
+    }
+
+    /**
+     * 容器内容变化（由 BlockEntityMixin 在服务端调用）
+     */
+    public static void onContainerChanged(World world, BlockPos pos) {
+        if (!(world instanceof ServerWorld serverWorld)) {
+            return;
+        }
+        ContainerChunkCache.getInstance().invalidate(serverWorld.getRegistryKey(), pos);
+        for (ContainerScanJob job : jobs.values()) {
+            job.onContainerChanged(serverWorld, pos);
+        }
+    }
+
+    /**
+     * 加入一个扫描任务，替换该玩家同类型的旧任务（旧任务以已有结果结束）
+     */
+    public static void schedule(ContainerScanJob job) {
+        ContainerScanJob previous = jobs.remove(keyOf(job.getKind(), job.getPlayer()));
+        if (previous != null) {
+            previous.finish();
+        }
+        jobs.put(keyOf(job.getKind(), job.getPlayer()), job);
+    }
+
+    /**
+     * 玩家是否有该类型的任务还没结束
+     */
+    public static boolean isRunning(String kind, ServerPlayerEntity player) {
+        return jobs.containsKey(keyOf(kind, player));
+    }
+
+    private static String keyOf(String kind, ServerPlayerEntity player) {
+        return kind + "/" + player.getUuid();
+    }
+
+    /**
+     * 开始查找
+     * @return 拒绝原因，成功时返回null
+     */
+    private static String start(ServerPlayerEntity player, FindRequestPayload payload, int now) {
+        if (player.isSpectator()) {
+            return "旁观模式";
+        }
+        if (!(player.getWorld() instanceof ServerWorld world)) {
+            return "不在服务端世界";
+        }
+        Integer last = lastRequestTick.get(player.getUuid());
+        if (last != null && now - last < COOLDOWN_TICKS) {
+            return "请求过于频繁";
+        }
+        lastRequestTick.put(player.getUuid(), now);
+        if (!Registries.ITEM.containsId(payload.itemId())) {
+            return "物品不存在: " + payload.itemId();
+        }
+        Item item = Registries.ITEM.get(payload.itemId());
+        if (item == Items.AIR) {
+            return "物品为空";
+        }
+        int radius = Math.max(1, Math.min(payload.radius(), FindRequestPayload.MAX_RADIUS));
+
+        schedule(new FindJob(player, world, payload.requestId(), item, radius));
+        LogUtil.info("Inventory", "开始服务端查找: " + player.getName().getString() + "，物品: " + payload.itemId() + "，半径: " + radius);
+        return null;
+    }
+
+    /**
+     * 按时间预算轮流推进所有任务，每个任务每轮做一个单位的工作
+     */
+    private static void tick(MinecraftServer server) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        long deadline = System.nanoTime() + TICK_BUDGET_NANOS;
+        while (!jobs.isEmpty() && System.nanoTime() < deadline) {
+            Iterator<ContainerScanJob> iterator = jobs.values().iterator();
+            while (iterator.hasNext()) {
+                ContainerScanJob job = iterator.next();
+                boolean finished;
+                try {
+                    finished = !job.isValid() || job.step();
+                } catch (Exception e) {
+                    LogUtil.error("Inventory", "服务端扫描任务失败", e);
+                    finished = true;
+                }
+                if (finished) {
+                    iterator.remove();
+                    try {
+                        job.finish();
+                    } catch (Exception e) {
+                        LogUtil.error("Inventory", "服务端扫描任务结束时失败", e);
+                    }
+                    LogUtil.info("Inventory", "服务端扫描任务结束: " + job.getPlayer().getName().getString() + "，" + job);
+                }
+                if (System.nanoTime() >= deadline) {
+                    break;
+                }
+            }
+        }
+        for (ContainerScanJob job : jobs.values()) {
+            job.onTickEnd();
+        }
+    }
+}
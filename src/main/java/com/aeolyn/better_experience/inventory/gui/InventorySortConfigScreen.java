@@ -52,7 +52,7 @@ public class InventorySortConfigScreen extends BaseConfigScreen {
         context.drawCenteredTextWithShadow(this.textRenderer, "背包增强设置", centerX, startY, 0xFFFFFF);
         
         // 渲染说明
-        context.drawTextWithShadow(this.textRenderer, "排序模式: 按名称、按数量、按类型", centerX - 150, startY + 80, 0xCCCCCC);
+        context.drawTextWithShadow(this.textRenderer, "排序模式: 按名称、数量、类型、创造模式顺序、注册ID、分类", centerX - 150, startY + 80, 0xCCCCCC);
         context.drawTextWithShadow(this.textRenderer, "智能转移逻辑: 根据鼠标位置或空位数量", centerX - 150, startY + 110, 0xCCCCCC);
     }
     
@@ -0,0 +1,117 @@
+package com.aeolyn.better_experience.inventory.gui;
+
+import com.aeolyn.better_experience.inventory.storage.StorageIndex;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.gui.screen.Screen;
+import net.minecraft.client.gui.widget.ButtonWidget;
+import net.minecraft.client.gui.widget.TextFieldWidget;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
+import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 存储搜索界面
+ * 输入物品ID或名称的一部分，列出存储索引里记住的存放位置（由近到远）
+ */
+public class StorageSearchScreen extends Screen {
+    
+    private static final int MAX_RESULTS = 50;
+    private static final int LINE_HEIGHT = 18;
+    
+    private final Screen parentScreen;
+    private TextFieldWidget queryField;
+    private List<StorageIndex.Match> results = new ArrayList<>();
+    
+    public StorageSearchScreen(Screen parentScreen) {
+        super(Text.literal("搜索存储"));
+        this.parentScreen = parentScreen;
+    }
+    
+    @Override
+    protected void init() {
+        super.init();
+        
+        int centerX = this.width / 2;
+        int fieldWidth = 200;
+        
+        // 搜索输入框
+        queryField = new TextFieldWidget(this.textRenderer, centerX - fieldWidth / 2, 40, fieldWidth, 20, Text.literal("搜索"));
+        queryField.setPlaceholder(Text.literal("物品ID或名称"));
+        queryField.setChangedListener(this::updateResults);
+        this.addDrawableChild(queryField);
+        this.setInitialFocus(queryField);
+        
+        // 关闭按钮
+        this.addDrawableChild(ButtonWidget.builder(
+            Text.translatable("better_experience.config.cancel"),
+            button -> this.client.setScreen(parentScreen)
+        ).dimensions(centerX - 50, this.height - 30, 100, 20).build());
+        
+        updateResults(queryField.getText());
+    }
+    
+    private void updateResults(String query) {
+        if (this.client == null || this.client.player == null || this.client.world == null) {
+            results = new ArrayList<>();
+            return;
+        }
+        String dimension = this.client.world.getRegistryKey().getValue().toString();
+        results = StorageIndex.getInstance().search(query, dimension, this.client.player.getBlockPos(), MAX_RESULTS);
+    }
+    
+    @Override
+    public void render(DrawContext context, int mouseX, int mouseY, float delta) {
+        // 绘制背景
+        context.fillGradient(0, 0, this.width, this.height, 0xC0101010, 0xD0101010);
+        
+        // 绘制标题
+        context.drawCenteredTextWithShadow(this.textRenderer, this.title, this.width / 2, 20, 0xFFFFFF);
+        
+        int left = this.width / 2 - 150;
+        int top = 70;
+        int visible = Math.max(0, (this.height - 40 - top) / LINE_HEIGHT);
+        if (results.isEmpty() && !queryField.getText().isBlank()) {
+            context.drawCenteredTextWithShadow(this.textRenderer,
+                Text.literal("记住的 " + StorageIndex.getInstance().getContainerCount() + " 个容器中没有匹配的物品"),
+                this.width / 2, top, 0xAAAAAA);
+        }
+        
+        BlockPos origin = this.client.player != null ? this.client.player.getBlockPos() : BlockPos.ORIGIN;
+        String dimension = this.client.world != null ? this.client.world.getRegistryKey().getValue().toString() : "";
+        for (int i = 0; i < Math.min(visible, results.size()); i++) {
+            StorageIndex.Match match = results.get(i);
+            int y = top + i * LINE_HEIGHT;
+            Identifier id = Identifier.tryParse(match.itemId());
+            if (id != null && Registries.ITEM.containsId(id)) {
+                Item item = Registries.ITEM.get(id);
+                context.drawItem(new ItemStack(item), left, y);
+                context.drawTextWithShadow(this.textRenderer, item.getName(), left + 20, y + 4, 0xFFFFFF);
+            } else {
+                context.drawTextWithShadow(this.textRenderer, Text.literal(match.itemId()), left + 20, y + 4, 0xFFFFFF);
+            }
+            String where = match.location() + " × " + match.count();
+            if (match.location().dimension().equals(dimension)) {
+                where += "  " + (int) Math.sqrt(match.location().getBlockPos().getSquaredDistance(origin)) + "m";
+            }
+            context.drawTextWithShadow(this.textRenderer, Text.literal(where), left + 130, y + 4, 0xAAAAAA);
+        }
+        
+        super.render(context, mouseX, mouseY, delta);
+    }
+    
+    @Override
+    public void close() {
+        this.client.setScreen(parentScreen);
+    }
+    
+    @Override
+    public boolean shouldPause() {
+        return false;
+    }
+}
@@ -1,5 +1,7 @@
 package com.aeolyn.better_experience.inventory.loader;
 
+import com.aeolyn.better_experience.common.metrics.Metrics;
+import com.aeolyn.better_experience.common.metrics.jfr.ConfigIoEvent;
 import com.aeolyn.better_experience.common.util.LogUtil;
 import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
 import com.google.gson.Gson;
@@ -9,6 +11,7 @@ import net.fabricmc.loader.api.FabricLoader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Objects;
 
 /**
  * 背包配置加载器
@@ -28,9 +31,10 @@ public class InventoryConfigLoader {
      * 加载背包排序配置
      */
     public InventorySortConfig loadInventorySortConfig() {
+        long startNanos = System.nanoTime();
+        ConfigIoEvent event = ConfigIoEvent.start(ConfigIoEvent.LOAD);
+        Path configPath = getConfigPath();
         try {
-            Path configPath = getConfigPath();
-            
             if (!Files.exists(configPath)) {
                 LogUtil.info("Inventory", "配置文件不存在，创建默认配置");
                 InventorySortConfig defaultConfig = new InventorySortConfig();
@@ -46,12 +50,20 @@ public class InventoryConfigLoader {
                 return new InventorySortConfig();
             }
             
+            // 无法识别的次要排序键被解析为null，排序时会出错，直接去掉
+            if (config.getSortSettings() != null && config.getSortSettings().getSecondaryKeys().removeIf(Objects::isNull)) {
+                LogUtil.warn("Inventory", "配置中有无法识别的次要排序键，已忽略");
+            }
+            
             LogUtil.info("Inventory", "成功加载背包排序配置");
             return config;
             
         } catch (Exception e) {
             LogUtil.error("Inventory", "加载背包排序配置失败", e);
             return new InventorySortConfig();
+        } finally {
+            Metrics.CONFIG_LOAD.recordSince(startNanos);
+            event.finish(configPath);
         }
     }
     
@@ -59,9 +71,10 @@ public class InventoryConfigLoader {
      * 保存背包排序配置
      */
     public void saveInventorySortConfig(InventorySortConfig config) {
+        long startNanos = System.nanoTime();
+        ConfigIoEvent event = ConfigIoEvent.start(ConfigIoEvent.SAVE);
+        Path configPath = getConfigPath();
         try {
-            Path configPath = getConfigPath();
-            
             // 确保目录存在
             Files.createDirectories(configPath.getParent());
             
@@ -72,6 +85,9 @@ public class InventoryConfigLoader {
             
         } catch (Exception e) {
             LogUtil.error("Inventory", "保存背包排序配置失败", e);
+        } finally {
+            Metrics.CONFIG_SAVE.recordSince(startNanos);
+            event.finish(configPath);
         }
     }
     
@@ -0,0 +1,238 @@
+package com.aeolyn.better_experience.inventory.model;
+
+import com.aeolyn.better_experience.inventory.click.ClickOp;
+import com.aeolyn.better_experience.inventory.click.ClickType;
+
+import java.util.List;
+
+/**
+ * 点击模拟器
+ * 在 {@link InventoryModel} 上按原版 ScreenHandler 的规则模拟点击：
+ * PICKUP（左键/右键）、QUICK_MOVE、SWAP（数字键/副手）和 PICKUP_ALL（双击）
+ * 涉及收纳袋等会吸收光标物品的点击，以及布局中没有描述的槽位，无法预测
+ */
+public final class ClickSimulator {
+
+    private ClickSimulator() {
+    }
+
+    /**
+     * 该点击能否在模型上模拟
+     */
+    public static boolean supports(InventoryModel model, ClickOp op) {
+        int slot = op.getSlotId();
+        if (!model.isValidSlot(slot)) {
+            return false;
+        }
+        SlotLayout layout = model.getLayout();
+        switch (op.getType()) {
+            case PICKUP:
+                if (op.getButton() != 0 && op.getButton() != 1) {
+                    return false;
+                }
+                if (model.isCursorEmpty()) {
+                    return true;
+                }
+                // 光标上是收纳袋，或点击的是收纳袋：结果取决于袋子内容
+                if (model.isCursorAbsorbing(model.getCursorItemId())) {
+                    return model.isEmpty(slot) && op.getButton() == 0;
+                }
+                return !model.absorbsCursor(slot);
+            case QUICK_MOVE:
+                return layout != null && layout.findQuickMoveRegion(slot) != null;
+            case SWAP:
+                return layout != null && model.isValidSlot(layout.getSwapSlot(op.getButton()));
+            case PICKUP_ALL:
+                return op.getButton() == 0;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 模拟一次点击
+     * @throws UnsupportedOperationException 点击无法模拟
+     */
+    public static void apply(InventoryModel model, ClickOp op) {
+        if (!supports(model, op)) {
+            throw new UnsupportedOperationException("无法模拟点击: " + op);
+        }
+        switch (op.getType()) {
+            case PICKUP:
+                if (op.getButton() == 0) {
+                    leftPickup(model, op.getSlotId());
+                } else {
+                    rightPickup(model, op.getSlotId());
+                }
+                break;
+            case QUICK_MOVE:
+                quickMove(model, op.getSlotId());
+                break;
+            case SWAP:
+                swap(model, op.getSlotId(), model.getLayout().getSwapSlot(op.getButton()));
+                break;
+            case PICKUP_ALL:
+                pickupAll(model, op.getSlotId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 依次模拟一组点击
+     */
+    public static void run(InventoryModel model, List<ClickOp> ops) {
+        for (ClickOp op : ops) {
+            apply(model, op);
+        }
+    }
+
+    // ==================== PICKUP ====================
+
+    /**
+     * 左键点击：拿起整组、放下整组、补满同类物品或与光标交换
+     */
+    private static void leftPickup(InventoryModel model, int slot) {
+        if (model.isEmpty(slot)) {
+            if (!model.isCursorEmpty()) {
+                placeFromCursor(model, slot, model.getCursorCount());
+            }
+            return;
+        }
+        if (model.isCursorEmpty()) {
+            takeToCursor(model, slot, model.getCount(slot));
+            return;
+        }
+        if (model.cursorMatches(slot)) {
+            int moved = Math.min(model.getCursorCount(), model.getMaxStack(slot) - model.getCount(slot));
+            if (moved > 0) {
+                model.setCount(slot, model.getCount(slot) + moved);
+                model.setCursorCount(model.getCursorCount() - moved);
+            }
+            return;
+        }
+        swapWithCursor(model, slot);
+    }
+
+    /**
+     * 右键点击：放下一个、拿起一半、补一个或与光标交换
+     */
+    private static void rightPickup(InventoryModel model, int slot) {
+        if (model.isEmpty(slot)) {
+            if (!model.isCursorEmpty()) {
+                placeFromCursor(model, slot, 1);
+            }
+            return;
+        }
+        if (model.isCursorEmpty()) {
+            takeToCursor(model, slot, (model.getCount(slot) + 1) / 2);
+            return;
+        }
+        if (model.cursorMatches(slot)) {
+            if (model.getCount(slot) < model.getMaxStack(slot)) {
+                model.setCount(slot, model.getCount(slot) + 1);
+                model.setCursorCount(model.getCursorCount() - 1);
+            }
+            return;
+        }
+        swapWithCursor(model, slot);
+    }
+
+    private static void placeFromCursor(InventoryModel model, int slot, int amount) {
+        int placed = Math.min(amount, model.getCursorMaxStack());
+        model.setStack(slot, model.getCursorItemId(), model.getCursorComponentHash(), placed, model.getCursorMaxStack());
+        model.setCursorCount(model.getCursorCount() - placed);
+    }
+
+    private static void takeToCursor(InventoryModel model, int slot, int amount) {
+        model.setCursor(model.getItemId(slot), model.getComponentHash(slot), amount, model.getMaxStack(slot));
+        model.setCount(slot, model.getCount(slot) - amount);
+    }
+
+    private static void swapWithCursor(InventoryModel model, int slot) {
+        if (model.getCursorCount() > model.getCursorMaxStack()) {
+            return;
+        }
+        int slotItem = model.getItemId(slot);
+        int slotHash = model.getComponentHash(slot);
+        int slotCount = model.getCount(slot);
+        int slotMax = model.getMaxStack(slot);
+        model.setStack(slot, model.getCursorItemId(), model.getCursorComponentHash(), model.getCursorCount(), model.getCursorMaxStack());
+        model.setCursor(slotItem, slotHash, slotCount, slotMax);
+    }
+
+    // ==================== QUICK_MOVE ====================
+
+    /**
+     * Shift+点击：先补满目标区域中的同类物品，再依次放入空槽位，直到放完或放不下
+     */
+    private static void quickMove(InventoryModel model, int slot) {
+        if (model.isEmpty(slot)) {
+            return;
+        }
+        SlotLayout.Region region = model.getLayout().findQuickMoveRegion(slot);
+        int start = region.getToStart();
+        int end = Math.min(region.getToEnd(), model.size());
+        boolean reverse = region.isReverse();
+
+        // 第一遍：合并到已有的同类物品
+        for (int step = 0; step < end - start && !model.isEmpty(slot); step++) {
+            int target = reverse ? end - 1 - step : start + step;
+            if (target == slot || !model.canStack(slot, target)) continue;
+            int moved = Math.min(model.getCount(slot), model.getMaxStack(target) - model.getCount(target));
+            if (moved > 0) {
+                model.setCount(target, model.getCount(target) + moved);
+                model.setCount(slot, model.getCount(slot) - moved);
+            }
+        }
+        // 第二遍：放入空槽位
+        for (int step = 0; step < end - start && !model.isEmpty(slot); step++) {
+            int target = reverse ? end - 1 - step : start + step;
+            if (target == slot || !model.isEmpty(target)) continue;
+            int moved = Math.min(model.getCount(slot), model.getMaxStack(slot));
+            model.setStack(target, model.getItemId(slot), model.getComponentHash(slot), moved, model.getMaxStack(slot));
+            model.setCount(slot, model.getCount(slot) - moved);
+        }
+    }
+
+    // ==================== SWAP ====================
+
+    /**
+     * 数字键交换：槽位与快捷栏（或副手）互换内容
+     */
+    private static void swap(InventoryModel model, int slot, int hotbarSlot) {
+        if (slot == hotbarSlot) {
+            return;
+        }
+        int itemId = model.getItemId(slot);
+        int hash = model.getComponentHash(slot);
+        int count = model.getCount(slot);
+        int max = model.getMaxStack(slot);
+        model.setStack(slot, model.getItemId(hotbarSlot), model.getComponentHash(hotbarSlot), model.getCount(hotbarSlot), model.getMaxStack(hotbarSlot));
+        model.setStack(hotbarSlot, itemId, hash, count, max);
+    }
+
+    // ==================== PICKUP_ALL ====================
+
+    /**
+     * 双击收集：光标非空且点击的槽位为空时，从所有槽位收集同类物品到光标
+     * 第一遍跳过已满的堆叠，第二遍才拆满堆
+     */
+    private static void pickupAll(InventoryModel model, int slot) {
+        if (model.isCursorEmpty() || !model.isEmpty(slot)) {
+            return;
+        }
+        int cursorItem = model.getCursorItemId();
+        int cursorHash = model.getCursorComponentHash();
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < model.size() && model.getCursorCount() < model.getCursorMaxStack(); i++) {
+                if (model.isEmpty(i) || model.getItemId(i) != cursorItem || model.getComponentHash(i) != cursorHash) continue;
+                if (pass == 0 && model.getCount(i) == model.getMaxStack(i)) continue;
+                int taken = Math.min(model.getCount(i), model.getCursorMaxStack() - model.getCursorCount());
+                model.setCount(i, model.getCount(i) - taken);
+                model.setCursorCount(model.getCursorCount() + taken);
+            }
+        }
+    }
+}
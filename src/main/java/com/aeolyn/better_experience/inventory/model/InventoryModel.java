@@ -0,0 +1,241 @@
+package com.aeolyn.better_experience.inventory.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * 库存模型
+ * 与游戏无关的槽位状态：每个槽位记录物品ID、组件哈希、数量和最大堆叠数，另有一个光标槽
+ * 下标即界面中的槽位ID（ScreenHandler 的 slot.id）
+ */
+public class InventoryModel {
+    
+    private final SlotLayout layout;
+    private final BitSet cursorAbsorbingItems;
+    private final int[] itemId;
+    private final int[] componentHash;
+    private final int[] count;
+    private final int[] maxStack;
+    
+    private int cursorItemId;
+    private int cursorComponentHash;
+    private int cursorCount;
+    private int cursorMaxStack;
+    
+    public InventoryModel(int size) {
+        this(size, null);
+    }
+    
+    /**
+     * @param size 槽位数
+     * @param layout 槽位布局，为null时无法模拟QUICK_MOVE和SWAP
+     */
+    public InventoryModel(int size, SlotLayout layout) {
+        this.layout = layout;
+        this.cursorAbsorbingItems = new BitSet();
+        this.itemId = new int[size];
+        this.componentHash = new int[size];
+        this.count = new int[size];
+        this.maxStack = new int[size];
+    }
+    
+    private InventoryModel(InventoryModel other) {
+        this.layout = other.layout;
+        this.cursorAbsorbingItems = (BitSet) other.cursorAbsorbingItems.clone();
+        this.itemId = other.itemId.clone();
+        this.componentHash = other.componentHash.clone();
+        this.count = other.count.clone();
+        this.maxStack = other.maxStack.clone();
+        this.cursorItemId = other.cursorItemId;
+        this.cursorComponentHash = other.cursorComponentHash;
+        this.cursorCount = other.cursorCount;
+        this.cursorMaxStack = other.cursorMaxStack;
+    }
+    
+    public InventoryModel copy() {
+        return new InventoryModel(this);
+    }
+    
+    // ==================== 布局 ====================
+    
+    public SlotLayout getLayout() {
+        return layout;
+    }
+    
+    /**
+     * 标记一种会吸收光标物品的物品（如收纳袋），点击结果取决于其内容，模拟器不做预测
+     */
+    public void markCursorAbsorbing(int itemId) {
+        cursorAbsorbingItems.set(itemId);
+    }
+    
+    public boolean isCursorAbsorbing(int itemId) {
+        return itemId >= 0 && cursorAbsorbingItems.get(itemId);
+    }
+    
+    // ==================== 槽位 ====================
+    
+    public int size() {
+        return count.length;
+    }
+    
+    public boolean isValidSlot(int slot) {
+        return slot >= 0 && slot < count.length;
+    }
+    
+    public boolean isEmpty(int slot) {
+        return count[slot] <= 0;
+    }
+    
+    public int getItemId(int slot) {
+        return itemId[slot];
+    }
+    
+    public int getComponentHash(int slot) {
+        return componentHash[slot];
+    }
+    
+    public int getCount(int slot) {
+        return count[slot];
+    }
+    
+    public int getMaxStack(int slot) {
+        return maxStack[slot];
+    }
+    
+    /**
+     * 设置槽位内容，数量为0时清空
+     */
+    public void setStack(int slot, int itemId, int componentHash, int count, int maxStack) {
+        if (count <= 0) {
+            clearSlot(slot);
+            return;
+        }
+        this.itemId[slot] = itemId;
+        this.componentHash[slot] = componentHash;
+        this.count[slot] = count;
+        this.maxStack[slot] = maxStack;
+    }
+    
+    public void setCount(int slot, int count) {
+        if (count <= 0) {
+            clearSlot(slot);
+        } else {
+            this.count[slot] = count;
+        }
+    }
+    
+    public void clearSlot(int slot) {
+        itemId[slot] = 0;
+        componentHash[slot] = 0;
+        count[slot] = 0;
+        maxStack[slot] = 0;
+    }
+    
+    /**
+     * 槽位中的物品是否会吸收光标物品
+     */
+    public boolean absorbsCursor(int slot) {
+        return !isEmpty(slot) && isCursorAbsorbing(itemId[slot]);
+    }
+    
+    /**
+     * 统计某种物品（物品与组件都相同）在所有槽位中的总数
+     */
+    public int countItem(int itemId, int componentHash) {
+        int total = 0;
+        for (int slot = 0; slot < count.length; slot++) {
+            if (count[slot] > 0 && this.itemId[slot] == itemId && this.componentHash[slot] == componentHash) {
+                total += count[slot];
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * 两个槽位的物品能否堆叠（物品与组件都相同）
+     */
+    public boolean canStack(int slotA, int slotB) {
+        return !isEmpty(slotA) && !isEmpty(slotB)
+            && itemId[slotA] == itemId[slotB] && componentHash[slotA] == componentHash[slotB];
+    }
+    
+    // ==================== 光标 ====================
+    
+    public boolean isCursorEmpty() {
+        return cursorCount <= 0;
+    }
+    
+    public int getCursorItemId() {
+        return cursorItemId;
+    }
+    
+    public int getCursorComponentHash() {
+        return cursorComponentHash;
+    }
+    
+    public int getCursorCount() {
+        return cursorCount;
+    }
+    
+    public int getCursorMaxStack() {
+        return cursorMaxStack;
+    }
+    
+    public void setCursor(int itemId, int componentHash, int count, int maxStack) {
+        if (count <= 0) {
+            clearCursor();
+            return;
+        }
+        this.cursorItemId = itemId;
+        this.cursorComponentHash = componentHash;
+        this.cursorCount = count;
+        this.cursorMaxStack = maxStack;
+    }
+    
+    public void setCursorCount(int count) {
+        if (count <= 0) {
+            clearCursor();
+        } else {
+            this.cursorCount = count;
+        }
+    }
+    
+    public void clearCursor() {
+        cursorItemId = 0;
+        cursorComponentHash = 0;
+        cursorCount = 0;
+        cursorMaxStack = 0;
+    }
+    
+    /**
+     * 光标上的物品能否与槽位物品堆叠
+     */
+    public boolean cursorMatches(int slot) {
+        return !isCursorEmpty() && !isEmpty(slot)
+            && cursorItemId == itemId[slot] && cursorComponentHash == componentHash[slot];
+    }
+    
+    // ==================== 比较 ====================
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof InventoryModel)) return false;
+        InventoryModel other = (InventoryModel) o;
+        return cursorItemId == other.cursorItemId
+            && cursorComponentHash == other.cursorComponentHash
+            && cursorCount == other.cursorCount
+            && Arrays.equals(count, other.count)
+            && Arrays.equals(itemId, other.itemId)
+            && Arrays.equals(componentHash, other.componentHash);
+    }
+    
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(itemId);
+        result = 31 * result + Arrays.hashCode(count);
+        result = 31 * result + cursorItemId;
+        return 31 * result + cursorCount;
+    }
+}
@@ -0,0 +1,109 @@
+package com.aeolyn.better_experience.inventory.model;
+
+import net.minecraft.component.DataComponentTypes;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
+import net.minecraft.screen.GenericContainerScreenHandler;
+import net.minecraft.screen.PlayerScreenHandler;
+import net.minecraft.screen.ScreenHandler;
+import net.minecraft.screen.ShulkerBoxScreenHandler;
+import net.minecraft.screen.slot.Slot;
+
+/**
+ * 把游戏中的界面状态转换为 {@link InventoryModel}
+ */
+public final class InventoryModelAdapter {
+    
+    private InventoryModelAdapter() {
+    }
+    
+    /**
+     * 按槽位ID复制界面中所有槽位和光标的内容
+     */
+    public static InventoryModel fromHandler(ScreenHandler handler) {
+        InventoryModel model = new InventoryModel(handler.slots.size(), createLayout(handler));
+        for (Slot slot : handler.slots) {
+            ItemStack stack = slot.getStack();
+            if (!stack.isEmpty()) {
+                markCursorAbsorbing(model, stack);
+                model.setStack(slot.id, getItemId(stack), getComponentHash(stack), stack.getCount(), slot.getMaxItemCount(stack));
+            }
+        }
+        ItemStack cursor = handler.getCursorStack();
+        if (!cursor.isEmpty()) {
+            markCursorAbsorbing(model, cursor);
+            model.setCursor(getItemId(cursor), getComponentHash(cursor), cursor.getCount(), cursor.getMaxCount());
+        }
+        return model;
+    }
+    
+    /**
+     * 根据界面类型生成槽位布局
+     * 原版通用容器和玩家背包有完整的Shift+点击规则，其他界面只记录快捷栏位置
+     */
+    public static SlotLayout createLayout(ScreenHandler handler) {
+        SlotLayout layout;
+        if (handler instanceof GenericContainerScreenHandler generic) {
+            layout = SlotLayout.genericContainer(generic.getRows() * 9);
+        } else if (handler instanceof ShulkerBoxScreenHandler) {
+            layout = SlotLayout.genericContainer(27);
+        } else if (handler instanceof PlayerScreenHandler) {
+            layout = SlotLayout.playerInventory();
+        } else {
+            layout = new SlotLayout();
+        }
+        // 以实际槽位为准修正快捷栏和副手位置
+        for (Slot slot : handler.slots) {
+            if (slot.inventory instanceof PlayerInventory) {
+                int index = slot.getIndex();
+                if (index >= 0 && index < 9) {
+                    layout.setHotbarSlot(index, slot.id);
+                } else if (index == PlayerInventory.OFF_HAND_SLOT) {
+                    layout.setOffhandSlot(slot.id);
+                }
+            }
+        }
+        return layout;
+    }
+    
+    /**
+     * 模型中的槽位内容是否与物品一致（模型之外的槽位不比较）
+     */
+    public static boolean matches(InventoryModel model, int slotId, ItemStack stack) {
+        if (!model.isValidSlot(slotId)) {
+            return true;
+        }
+        if (stack.isEmpty()) {
+            return model.isEmpty(slotId);
+        }
+        return !model.isEmpty(slotId)
+            && model.getItemId(slotId) == getItemId(stack)
+            && model.getComponentHash(slotId) == getComponentHash(stack)
+            && model.getCount(slotId) == stack.getCount();
+    }
+    
+    public static int getItemId(ItemStack stack) {
+        return Registries.ITEM.getRawId(stack.getItem());
+    }
+    
+    /**
+     * 组件哈希：只计算相对默认组件的改动，同种物品默认状态的哈希相同
+     */
+    public static int getComponentHash(ItemStack stack) {
+        return stack.getComponentChanges().hashCode();
+    }
+    
+    /**
+     * 物品键：高32位为物品原始ID，低32位为组件哈希，可堆叠的物品键相同
+     */
+    public static long getItemKey(ItemStack stack) {
+        return ((long) getItemId(stack) << 32) | (getComponentHash(stack) & 0xFFFFFFFFL);
+    }
+    
+    private static void markCursorAbsorbing(InventoryModel model, ItemStack stack) {
+        if (stack.contains(DataComponentTypes.BUNDLE_CONTENTS)) {
+            model.markCursorAbsorbing(getItemId(stack));
+        }
+    }
+}
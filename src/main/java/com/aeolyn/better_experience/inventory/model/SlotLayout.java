@@ -0,0 +1,141 @@
+package com.aeolyn.better_experience.inventory.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 界面槽位布局
+ * 描述Shift+点击的目标区域以及数字键对应的快捷栏槽位，供 {@link ClickSimulator} 模拟QUICK_MOVE和SWAP
+ */
+public class SlotLayout {
+    
+    /** 副手交换使用的按键编号 */
+    public static final int OFFHAND_BUTTON = 40;
+    
+    private final List<Region> quickMoveRegions = new ArrayList<>();
+    private final int[] hotbarSlots = new int[9];
+    private int offhandSlot = -1;
+    
+    public SlotLayout() {
+        Arrays.fill(hotbarSlots, -1);
+    }
+    
+    /**
+     * 原版箱子、木桶、潜影盒等通用容器布局
+     * 容器槽位在前，其后是27格主背包和9格快捷栏
+     * @param containerSize 容器槽位数
+     */
+    public static SlotLayout genericContainer(int containerSize) {
+        int playerStart = containerSize;
+        int hotbarStart = containerSize + 27;
+        SlotLayout layout = new SlotLayout();
+        // 容器 -> 背包（从快捷栏末尾倒序放入）
+        layout.addQuickMoveRegion(0, containerSize, playerStart, hotbarStart + 9, true);
+        // 背包 -> 容器
+        layout.addQuickMoveRegion(playerStart, hotbarStart + 9, 0, containerSize, false);
+        for (int i = 0; i < 9; i++) {
+            layout.setHotbarSlot(i, hotbarStart + i);
+        }
+        return layout;
+    }
+    
+    /**
+     * 玩家背包界面布局
+     * 0为合成结果，1-4为合成格，5-8为盔甲，9-35为主背包，36-44为快捷栏，45为副手
+     * 注意：原版会把盔甲等可装备物品优先放入装备槽，这里只模拟主背包与快捷栏之间的移动
+     */
+    public static SlotLayout playerInventory() {
+        SlotLayout layout = new SlotLayout();
+        layout.addQuickMoveRegion(9, 36, 36, 45, false);
+        layout.addQuickMoveRegion(36, 45, 9, 36, false);
+        for (int i = 0; i < 9; i++) {
+            layout.setHotbarSlot(i, 36 + i);
+        }
+        layout.setOffhandSlot(45);
+        return layout;
+    }
+    
+    // ==================== 构建 ====================
+    
+    /**
+     * 添加一条Shift+点击规则
+     * @param fromStart 源区域起始槽位（含）
+     * @param fromEnd 源区域结束槽位（不含）
+     * @param toStart 目标区域起始槽位（含）
+     * @param toEnd 目标区域结束槽位（不含）
+     * @param reverse 是否从目标区域末尾开始放入
+     */
+    public SlotLayout addQuickMoveRegion(int fromStart, int fromEnd, int toStart, int toEnd, boolean reverse) {
+        quickMoveRegions.add(new Region(fromStart, fromEnd, toStart, toEnd, reverse));
+        return this;
+    }
+    
+    public SlotLayout setHotbarSlot(int hotbarIndex, int slotId) {
+        hotbarSlots[hotbarIndex] = slotId;
+        return this;
+    }
+    
+    public SlotLayout setOffhandSlot(int slotId) {
+        this.offhandSlot = slotId;
+        return this;
+    }
+    
+    // ==================== 查询 ====================
+    
+    /**
+     * 查找槽位所属的Shift+点击规则，没有返回null
+     */
+    public Region findQuickMoveRegion(int slotId) {
+        for (Region region : quickMoveRegions) {
+            if (slotId >= region.fromStart && slotId < region.fromEnd) {
+                return region;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 数字键按键对应的槽位ID，没有返回-1
+     */
+    public int getSwapSlot(int button) {
+        if (button == OFFHAND_BUTTON) {
+            return offhandSlot;
+        }
+        if (button >= 0 && button < hotbarSlots.length) {
+            return hotbarSlots[button];
+        }
+        return -1;
+    }
+    
+    /**
+     * Shift+点击规则
+     */
+    public static final class Region {
+        private final int fromStart;
+        private final int fromEnd;
+        private final int toStart;
+        private final int toEnd;
+        private final boolean reverse;
+        
+        Region(int fromStart, int fromEnd, int toStart, int toEnd, boolean reverse) {
+            this.fromStart = fromStart;
+            this.fromEnd = fromEnd;
+            this.toStart = toStart;
+            this.toEnd = toEnd;
+            this.reverse = reverse;
+        }
+        
+        public int getToStart() {
+            return toStart;
+        }
+        
+        public int getToEnd() {
+            return toEnd;
+        }
+        
+        public boolean isReverse() {
+            return reverse;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.aeolyn.better_experience.inventory.network;
+
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.text.Text;
+
+/**
+ * 客户端的服务端查找
+ * 发送 {@link FindRequestPayload}，把陆续收到的 {@link FindResultPayload} 输出到聊天栏；只处理最近一次请求的结果
+ */
+public final class ClientFindHandler {
+
+    /** 聊天栏最多列出的容器数 */
+    private static final int MAX_LINES = 10;
+
+    private static int nextRequestId;
+    private static int activeRequestId = -1;
+    private static Item activeItem;
+    private static int shownLines;
+    private static int totalHits;
+    private static int totalCount;
+
+    private ClientFindHandler() {
+    }
+
+    /**
+     * 注册结果接收器（处理器在客户端线程上调用）
+     */
+    public static void register() {
+        ClientPlayNetworking.registerGlobalReceiver(FindResultPayload.ID, (payload, context) -> onResult(payload));
+    }
+
+    /**
+     * 服务端是否安装了本mod并支持查找
+     */
+    public static boolean isAvailable() {
+        return ClientPlayNetworking.canSend(FindRequestPayload.ID);
+    }
+
+    /**
+     * 请求服务端查找，之前未结束的请求的结果不再显示
+     */
+    public static void request(Item item, int radius) {
+        activeRequestId = nextRequestId++;
+        activeItem = item;
+        shownLines = 0;
+        totalHits = 0;
+        totalCount = 0;
+        ClientPlayNetworking.send(new FindRequestPayload(activeRequestId, Registries.ITEM.getId(item), radius));
+    }
+
+    private static void onResult(FindResultPayload payload) {
+        ClientPlayerEntity player = MinecraftClient.getInstance().player;
+        if (player == null || payload.requestId() != activeRequestId) {
+            return;
+        }
+        for (FindResultPayload.Hit hit : payload.hits()) {
+            totalHits++;
+            totalCount += hit.count();
+            if (shownLines < MAX_LINES) {
+                shownLines++;
+                int distance = (int) Math.sqrt(hit.pos().getSquaredDistance(player.getBlockPos()));
+                player.sendMessage(Text.literal("  " + hit.pos().getX() + ", " + hit.pos().getY() + ", " + hit.pos().getZ()
+                    + " × " + hit.count() + "  " + distance + "m"), false);
+            }
+        }
+        if (payload.done()) {
+            String name = activeItem.getName().getString();
+            if (totalHits == 0) {
+                player.sendMessage(Text.literal("§e附近的容器中没有 " + name), false);
+            } else {
+                player.sendMessage(Text.literal("§a" + name + "：共 " + totalCount + " 个，分布在 " + totalHits + " 个容器"
+                    + (totalHits > shownLines ? "（只列出最先找到的 " + shownLines + " 个）" : "")), false);
+            }
+            activeRequestId = -1;
+        }
+    }
+}
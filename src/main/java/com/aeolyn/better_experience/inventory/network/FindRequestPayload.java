@@ -0,0 +1,43 @@
+package com.aeolyn.better_experience.inventory.network;
+
+import com.aeolyn.better_experience.BetterExperienceMod;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+/**
+ * 服务端查找请求（C2S）
+ * 请求服务端在玩家周围的已加载区块中查找存放某种物品的容器，结果以 {@link FindResultPayload} 分批发回
+ * @param requestId 客户端分配的请求ID，用于丢弃过期请求的结果
+ * @param itemId 物品ID
+ * @param radius 查找半径（方块），服务端会限制在 {@link #MAX_RADIUS} 以内
+ */
+public record FindRequestPayload(int requestId, Identifier itemId, int radius) implements CustomPayload {
+
+    /** 最大查找半径（方块） */
+    public static final int MAX_RADIUS = 64;
+
+    public static final CustomPayload.Id<FindRequestPayload> ID =
+        new CustomPayload.Id<>(Identifier.of(BetterExperienceMod.MOD_ID, "find_request"));
+
+    public static final PacketCodec<RegistryByteBuf, FindRequestPayload> CODEC = PacketCodec.tuple(
+        PacketCodecs.VAR_INT, FindRequestPayload::requestId,
+        Identifier.PACKET_CODEC, FindRequestPayload::itemId,
+        PacketCodecs.VAR_INT, FindRequestPayload::radius,
+        FindRequestPayload::new);
+
+    /**
+     * 注册数据包类型（客户端和服务端都需要注册）
+     */
+    public static void register() {
+        PayloadTypeRegistry.playC2S().register(ID, CODEC);
+    }
+
+    @Override
+    public CustomPayload.Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
@@ -0,0 +1,59 @@
+package com.aeolyn.better_experience.inventory.network;
+
+import com.aeolyn.better_experience.BetterExperienceMod;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.List;
+
+/**
+ * 服务端查找结果（S2C）
+ * 查找过程中每个tick把新找到的容器发回一批，最后一批的 done 为true
+ * @param requestId 对应的请求ID
+ * @param hits 本批找到的容器
+ * @param done 查找是否已结束
+ */
+public record FindResultPayload(int requestId, List<Hit> hits, boolean done) implements CustomPayload {
+
+    /** 单个数据包最多的结果数 */
+    public static final int MAX_HITS = 128;
+
+    public static final CustomPayload.Id<FindResultPayload> ID =
+        new CustomPayload.Id<>(Identifier.of(BetterExperienceMod.MOD_ID, "find_result"));
+
+    public static final PacketCodec<RegistryByteBuf, FindResultPayload> CODEC = PacketCodec.tuple(
+        PacketCodecs.VAR_INT, FindResultPayload::requestId,
+        Hit.CODEC.collect(PacketCodecs.toList(MAX_HITS)), FindResultPayload::hits,
+        PacketCodecs.BOOLEAN, FindResultPayload::done,
+        FindResultPayload::new);
+
+    /**
+     * 注册数据包类型（客户端和服务端都需要注册）
+     */
+    public static void register() {
+        PayloadTypeRegistry.playS2C().register(ID, CODEC);
+    }
+
+    @Override
+    public CustomPayload.Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+
+    /**
+     * 一个存放该物品的容器
+     * @param pos 容器方块坐标
+     * @param count 物品数量（包括容器里潜影盒中的数量）
+     */
+    public record Hit(BlockPos pos, int count) {
+
+        public static final PacketCodec<RegistryByteBuf, Hit> CODEC = PacketCodec.tuple(
+            BlockPos.PACKET_CODEC, Hit::pos,
+            PacketCodecs.VAR_INT, Hit::count,
+            Hit::new);
+    }
+}
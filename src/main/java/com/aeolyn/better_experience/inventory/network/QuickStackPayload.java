@@ -0,0 +1,39 @@
+package com.aeolyn.better_experience.inventory.network;
+
+import com.aeolyn.better_experience.BetterExperienceMod;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+/**
+ * 快速存入附近容器请求（C2S）
+ * 请求服务端把主背包中与附近容器已有物品相同的物品直接存入这些容器
+ * @param radius 容器的最大距离（方块），服务端会限制在 {@link #MAX_RADIUS} 以内
+ */
+public record QuickStackPayload(int radius) implements CustomPayload {
+
+    /** 最大距离（方块） */
+    public static final int MAX_RADIUS = 16;
+
+    public static final CustomPayload.Id<QuickStackPayload> ID =
+        new CustomPayload.Id<>(Identifier.of(BetterExperienceMod.MOD_ID, "quick_stack"));
+
+    public static final PacketCodec<RegistryByteBuf, QuickStackPayload> CODEC = PacketCodec.tuple(
+        PacketCodecs.VAR_INT, QuickStackPayload::radius,
+        QuickStackPayload::new);
+
+    /**
+     * 注册数据包类型（客户端和服务端都需要注册）
+     */
+    public static void register() {
+        PayloadTypeRegistry.playC2S().register(ID, CODEC);
+    }
+
+    @Override
+    public CustomPayload.Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
@@ -0,0 +1,277 @@
+package com.aeolyn.better_experience.inventory.network;
+
+import com.aeolyn.better_experience.common.util.LogUtil;
+import com.aeolyn.better_experience.inventory.finder.ChunkContents;
+import com.aeolyn.better_experience.inventory.finder.ContainerScanJob;
+import com.aeolyn.better_experience.inventory.finder.ServerItemFinder;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.block.entity.BarrelBlockEntity;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.ChestBlockEntity;
+import net.minecraft.block.entity.LockableContainerBlockEntity;
+import net.minecraft.block.entity.ShulkerBoxBlockEntity;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 服务端快速存入附近容器
+ * 先由 {@link ContainerScanJob} 按时间预算分多个tick建立"物品 -> 附近存放该物品的容器"索引（已缓存的区块直接读取），
+ * 索引完成后在同一个tick内直接在玩家背包和容器的 {@link Inventory} 之间移动物品，最后统一同步一次；不经过任何界面点击
+ * 只存入容器中已经直接存放的物品：先补满相同物品的未满堆叠，再放入空位
+ * 只存入普通储物容器（箱子、木桶、潜影盒），熔炉、漏斗、合成器等容器的槽位各有用途，不作为目标
+ */
+public final class ServerQuickStackHandler {
+
+    /** 同一玩家两次请求之间的最小间隔（tick） */
+    private static final int COOLDOWN_TICKS = 10;
+
+    private static final Map<UUID, Integer> lastRequestTick = new HashMap<>();
+
+    private ServerQuickStackHandler() {
+    }
+
+    /**
+     * 注册数据包接收器（处理器在服务端线程上调用）
+     */
+    public static void register() {
+        ServerPlayNetworking.registerGlobalReceiver(QuickStackPayload.ID, (payload, context) -> {
+            ServerPlayerEntity player = context.player();
+            try {
+                String error = quickStack(player, payload, context.server().getTicks());
+                if (error != null) {
+                    LogUtil.warn("Inventory", "拒绝快速存入请求(" + player.getName().getString() + "): " + error);
+                }
+            } catch (Exception e) {
+                LogUtil.error("Inventory", "快速存入失败", e);
+            }
+        });
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> lastRequestTick.remove(handler.getPlayer().getUuid()));
+        LogUtil.info("Inventory", "快速存入处理器已注册");
+    }
+
+    /**
+     * 开始快速存入：校验后加入后台扫描，扫描完成时存入
+     * @return 拒绝原因，成功时返回null
+     */
+    private static String quickStack(ServerPlayerEntity player, QuickStackPayload payload, int now) {
+        if (player.isSpectator()) {
+            return "旁观模式";
+        }
+        if (!(player.getWorld() instanceof ServerWorld world)) {
+            return "不在服务端世界";
+        }
+        if (!player.currentScreenHandler.getCursorStack().isEmpty()) {
+            return "光标上有物品";
+        }
+        Integer last = lastRequestTick.get(player.getUuid());
+        if (last != null && now - last < COOLDOWN_TICKS) {
+            return "请求过于频繁";
+        }
+        if (ServerItemFinder.isRunning(QuickStackJob.KIND, player)) {
+            return "上一次快速存入还没完成";
+        }
+        lastRequestTick.put(player.getUuid(), now);
+        int radius = Math.max(1, Math.min(payload.radius(), QuickStackPayload.MAX_RADIUS));
+
+        Set<Item> items = collectSources(player.getInventory()).keySet();
+        if (items.isEmpty()) {
+            return null;
+        }
+        ServerItemFinder.schedule(new QuickStackJob(player, world, radius, items));
+        return null;
+    }
+
+    /**
+     * 主背包（不包括快捷栏）中每种物品所在的槽位
+     */
+    private static Map<Item, List<Integer>> collectSources(PlayerInventory playerInventory) {
+        Map<Item, List<Integer>> sources = new LinkedHashMap<>();
+        for (int slot = PlayerInventory.HOTBAR_SIZE; slot < PlayerInventory.MAIN_SIZE; slot++) {
+            ItemStack stack = playerInventory.getStack(slot);
+            if (!stack.isEmpty()) {
+                sources.computeIfAbsent(stack.getItem(), item -> new ArrayList<>()).add(slot);
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * 按候选索引存入（服务端线程，一个tick内完成）
+     * @param candidates 物品 -> 存放该物品的容器（由近到远）
+     */
+    private static void deposit(ServerPlayerEntity player, ServerWorld world, Map<Item, List<BlockPos>> candidates, long startNanos) {
+        if (!player.currentScreenHandler.getCursorStack().isEmpty()) {
+            LogUtil.info("Inventory", "快速存入取消：光标上有物品");
+            return;
+        }
+        PlayerInventory playerInventory = player.getInventory();
+        // 扫描期间背包可能已经变化，按当前内容存入
+        Map<Item, List<Integer>> sources = collectSources(playerInventory);
+
+        int moved = 0;
+        Set<BlockEntity> touched = new LinkedHashSet<>();
+        for (Map.Entry<Item, List<BlockPos>> entry : candidates.entrySet()) {
+            List<Integer> slots = sources.get(entry.getKey());
+            if (slots == null) {
+                continue;
+            }
+            for (BlockPos pos : entry.getValue()) {
+                // 扫描后卸载的区块不重新加载
+                if (!world.isChunkLoaded(pos)) {
+                    continue;
+                }
+                BlockEntity blockEntity = world.getBlockEntity(pos);
+                if (!canDepositInto(player, blockEntity, entry.getKey())) {
+                    continue;
+                }
+                int movedHere = 0;
+                for (int slot : slots) {
+                    ItemStack stack = playerInventory.getStack(slot);
+                    if (stack.isEmpty()) {
+                        continue;
+                    }
+                    movedHere += insert((Inventory) blockEntity, stack);
+                    if (stack.isEmpty()) {
+                        playerInventory.setStack(slot, ItemStack.EMPTY);
+                    }
+                }
+                if (movedHere > 0) {
+                    moved += movedHere;
+                    touched.add(blockEntity);
+                }
+                if (slots.stream().allMatch(slot -> playerInventory.getStack(slot).isEmpty())) {
+                    break;
+                }
+            }
+        }
+
+        if (moved > 0) {
+            for (BlockEntity blockEntity : touched) {
+                blockEntity.markDirty();
+            }
+            playerInventory.markDirty();
+            player.currentScreenHandler.sendContentUpdates();
+            player.sendMessage(Text.literal("§a已存入 " + moved + " 个物品到 " + touched.size() + " 个容器"), true);
+        } else {
+            player.sendMessage(Text.literal("§e附近没有存放相同物品的容器"), true);
+        }
+        LogUtil.info("Inventory", "快速存入完成: " + player.getName().getString() + "，" + moved + " 个物品，"
+            + touched.size() + " 个容器，耗时 " + (System.nanoTime() - startNanos) / 1000 + "μs（含扫描等待）");
+    }
+
+    private static boolean canDepositInto(ServerPlayerEntity player, BlockEntity blockEntity, Item item) {
+        if (!isPlainStorage(blockEntity) || !ChunkContents.isReadable(blockEntity)) {
+            return false;
+        }
+        if (blockEntity instanceof LockableContainerBlockEntity lockable && !lockable.checkUnlocked(player)) {
+            return false;
+        }
+        // 潜影盒不能放入潜影盒
+        return !(blockEntity instanceof ShulkerBoxBlockEntity) || item.canBeNested();
+    }
+
+    /**
+     * 是否是普通储物容器：所有槽位都是通用的存储格（陷阱箱是箱子的子类）
+     */
+    private static boolean isPlainStorage(BlockEntity blockEntity) {
+        return blockEntity instanceof ChestBlockEntity
+            || blockEntity instanceof BarrelBlockEntity
+            || blockEntity instanceof ShulkerBoxBlockEntity;
+    }
+
+    /**
+     * 把一个堆叠尽量放入容器：先补满相同物品的未满堆叠，容器中直接存放着该物品时再放入空位
+     * @return 放入的数量
+     */
+    private static int insert(Inventory container, ItemStack stack) {
+        int before = stack.getCount();
+        boolean holdsItem = false;
+        for (int i = 0; i < container.size() && !stack.isEmpty(); i++) {
+            ItemStack target = container.getStack(i);
+            if (target.isEmpty() || !target.isOf(stack.getItem())) {
+                continue;
+            }
+            holdsItem = true;
+            if (!ItemStack.areItemsAndComponentsEqual(target, stack)) {
+                continue;
+            }
+            int space = Math.min(container.getMaxCount(target), target.getMaxCount()) - target.getCount();
+            if (space > 0) {
+                int amount = Math.min(space, stack.getCount());
+                target.increment(amount);
+                stack.decrement(amount);
+            }
+        }
+        if (holdsItem) {
+            for (int i = 0; i < container.size() && !stack.isEmpty(); i++) {
+                if (container.getStack(i).isEmpty() && container.isValid(i, stack)) {
+                    int amount = Math.min(stack.getCount(), Math.min(container.getMaxCount(stack), stack.getMaxCount()));
+                    container.setStack(i, stack.split(amount));
+                }
+            }
+        }
+        return before - stack.getCount();
+    }
+
+    /**
+     * 快速存入的扫描任务：只记录背包中有的物品所在的容器，扫描结束后存入
+     */
+    private static final class QuickStackJob extends ContainerScanJob {
+
+        static final String KIND = "quick_stack";
+
+        private final Set<Item> items;
+        private final long startNanos = System.nanoTime();
+        private final Map<Item, List<BlockPos>> candidates = new LinkedHashMap<>();
+
+        QuickStackJob(ServerPlayerEntity player, ServerWorld world, int radius, Set<Item> items) {
+            super(player, world, radius);
+            this.items = items;
+        }
+
+        @Override
+        protected String getKind() {
+            return KIND;
+        }
+
+        @Override
+        protected void collect(ChunkContents contents) {
+            for (Item item : items) {
+                for (long packed : contents.get(item).keySet()) {
+                    BlockPos pos = BlockPos.fromLong(packed);
+                    if (isInRange(pos)) {
+                        candidates.computeIfAbsent(item, key -> new ArrayList<>()).add(pos);
+                    }
+                }
+            }
+        }
+
+        @Override
+        protected void finish() {
+            if (!isValid()) {
+                return;
+            }
+            for (List<BlockPos> positions : candidates.values()) {
+                positions.sort(Comparator.comparingDouble(pos -> pos.getSquaredDistance(origin)));
+            }
+            deposit(player, world, candidates, startNanos);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.aeolyn.better_experience.inventory.network;
+
+import com.aeolyn.better_experience.common.util.LogUtil;
+import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
+import com.aeolyn.better_experience.inventory.core.ItemOrderTables;
+import com.aeolyn.better_experience.inventory.core.SortKeyExtractor;
+import com.aeolyn.better_experience.inventory.core.SortKeyTable;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.screen.ScreenHandler;
+import net.minecraft.screen.slot.Slot;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 服务端整理处理器
+ * 校验请求后在一个tick内直接改写界面槽位，由原版的 sendContentUpdates 把结果同步给客户端
+ * 任何校验失败都不做修改
+ * 专用服务端上没有客户端构建物品排序表，由本处理器在服务端启动和数据包重新加载后构建；
+ * 单人游戏的内置服务端与客户端共用同一份排序表
+ */
+public final class ServerSortHandler {
+
+    /** 同一玩家两次请求之间的最小间隔（tick） */
+    private static final int COOLDOWN_TICKS = 5;
+
+    private static final Map<UUID, Integer> lastRequestTick = new HashMap<>();
+
+    private ServerSortHandler() {
+    }
+
+    /**
+     * 注册数据包接收器（处理器在服务端线程上调用）
+     */
+    public static void register() {
+        ServerPlayNetworking.registerGlobalReceiver(SortRequestPayload.ID, (payload, context) -> {
+            ServerPlayerEntity player = context.player();
+            try {
+                String error = sort(player, payload, context.server());
+                if (error != null) {
+                    LogUtil.warn("Inventory", "拒绝服务端整理请求(" + player.getName().getString() + "): " + error);
+                }
+            } catch (Exception e) {
+                LogUtil.error("Inventory", "服务端整理失败", e);
+            }
+        });
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> lastRequestTick.remove(handler.getPlayer().getUuid()));
+        ServerLifecycleEvents.SERVER_STARTED.register(ServerSortHandler::rebuildItemOrderTables);
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> rebuildItemOrderTables(server));
+        LogUtil.info("Inventory", "服务端整理处理器已注册");
+    }
+
+    /**
+     * 在专用服务端上构建物品排序表（服务端线程）
+     */
+    private static void rebuildItemOrderTables(MinecraftServer server) {
+        if (server.isDedicated()) {
+            ItemOrderTables.rebuild(server.getSaveProperties().getEnabledFeatures(), false, server.getRegistryManager());
+        }
+    }
+
+    /**
+     * 执行整理
+     * @return 拒绝原因，成功时返回null
+     */
+    private static String sort(ServerPlayerEntity player, SortRequestPayload payload, MinecraftServer server) {
+        ScreenHandler handler = player.currentScreenHandler;
+        int now = server.getTicks();
+        if (player.isSpectator()) {
+            return "旁观模式";
+        }
+        if (ItemOrderTables.isRequiredBy(payload.sortMode()) && !ItemOrderTables.isBuilt()) {
+            return "物品排序表尚未构建";
+        }
+        // 专用服务端上的物品名称是服务端语言，与客户端的名称顺序不一致
+        if (payload.sortMode() == InventorySortConfig.SortMode.NAME && server.isDedicated()) {
+            return "专用服务端不支持按名称整理";
+        }
+        if (handler.syncId != payload.syncId()) {
+            return "界面已切换";
+        }
+        if (!handler.canUse(player)) {
+            return "无法访问该容器";
+        }
+        if (!handler.getCursorStack().isEmpty()) {
+            return "光标上有物品";
+        }
+        Integer last = lastRequestTick.get(player.getUuid());
+        if (last != null && now - last < COOLDOWN_TICKS) {
+            return "请求过于频繁";
+        }
+        lastRequestTick.put(player.getUuid(), now);
+
+        // 槽位校验：ID有效、不重复、属于同一容器；玩家背包只允许整理主背包
+        List<Slot> slots = new ArrayList<>(payload.slotIds().size());
+        Set<Integer> seen = new HashSet<>();
+        Inventory inventory = null;
+        for (int slotId : payload.slotIds()) {
+            if (slotId < 0 || slotId >= handler.slots.size()) {
+                return "槽位ID越界: " + slotId;
+            }
+            if (!seen.add(slotId)) {
+                return "槽位重复: " + slotId;
+            }
+            Slot slot = handler.getSlot(slotId);
+            if (inventory == null) {
+                inventory = slot.inventory;
+            } else if (slot.inventory != inventory) {
+                return "槽位不属于同一容器";
+            }
+            if (inventory == player.getInventory()
+                && (slot.getIndex() < PlayerInventory.HOTBAR_SIZE || slot.getIndex() >= PlayerInventory.MAIN_SIZE)) {
+                return "只能整理主背包: " + slotId;
+            }
+            if (slot.hasStack() && !slot.canTakeItems(player)) {
+                return "槽位不允许取出: " + slotId;
+            }
+            slots.add(slot);
+        }
+        if (slots.isEmpty()) {
+            return "没有槽位";
+        }
+
+        List<ItemStack> items = new ArrayList<>();
+        for (Slot slot : slots) {
+            if (slot.hasStack()) {
+                items.add(slot.getStack().copy());
+            }
+        }
+        if (payload.mergeFirst()) {
+            items = merge(items);
+        }
+        List<ItemStack> sorted = order(items, payload);
+
+        // 先检查所有目标槽位都能放入，再一次性写入
+        for (int i = 0; i < sorted.size(); i++) {
+            Slot slot = slots.get(i);
+            ItemStack stack = sorted.get(i);
+            if (!slot.canInsert(stack) || stack.getCount() > slot.getMaxItemCount(stack)) {
+                return "槽位不接受物品: " + slot.id;
+            }
+        }
+        for (int i = 0; i < slots.size(); i++) {
+            slots.get(i).setStack(i < sorted.size() ? sorted.get(i) : ItemStack.EMPTY);
+        }
+        handler.sendContentUpdates();
+
+        LogUtil.info("Inventory", "服务端整理完成: " + player.getName().getString() + "，" + slots.size()
+            + " 个槽位，模式: " + payload.sortMode().getDisplayName() + "，合并模式: " + payload.mergeFirst());
+        return null;
+    }
+
+    /**
+     * 合并相同物品（物品和组件都相同），总数量不变
+     */
+    private static List<ItemStack> merge(List<ItemStack> items) {
+        List<ItemStack> merged = new ArrayList<>(items.size());
+        for (ItemStack stack : items) {
+            for (ItemStack target : merged) {
+                if (stack.isEmpty()) break;
+                if (target.getCount() >= target.getMaxCount() || !ItemStack.areItemsAndComponentsEqual(target, stack)) continue;
+                int moved = Math.min(stack.getCount(), target.getMaxCount() - target.getCount());
+                target.increment(moved);
+                stack.decrement(moved);
+            }
+            if (!stack.isEmpty()) {
+                merged.add(stack);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 按排序键排序（稳定排序，与客户端规划器的比较规则一致）
+     */
+    private static List<ItemStack> order(List<ItemStack> items, SortRequestPayload payload) {
+        SortKeyTable keys = SortKeyExtractor.extract(items, payload.secondaryKeys());
+        Integer[] rows = new Integer[items.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = i;
+        }
+        Arrays.sort(rows, (a, b) -> keys.compare(payload.sortMode(), a, b));
+        List<ItemStack> sorted = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            sorted.add(items.get(row));
+        }
+        return sorted;
+    }
+}
@@ -0,0 +1,62 @@
+package com.aeolyn.better_experience.inventory.network;
+
+import com.aeolyn.better_experience.BetterExperienceMod;
+import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
+import io.netty.buffer.ByteBuf;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+import java.util.List;
+
+/**
+ * 服务端整理请求（C2S）
+ * 请求服务端直接整理当前界面中的一组槽位，结果由原版的界面同步发回客户端
+ * @param syncId 目标界面的同步ID
+ * @param slotIds 参与整理的槽位ID（按整理顺序排列）
+ * @param sortMode 排序模式
+ * @param mergeFirst 是否先合并相同物品
+ * @param secondaryKeys 次要排序键
+ */
+public record SortRequestPayload(int syncId, List<Integer> slotIds, InventorySortConfig.SortMode sortMode,
+                                 boolean mergeFirst, List<InventorySortConfig.SecondaryKey> secondaryKeys) implements CustomPayload {
+
+    /** 单次请求最多的槽位数 */
+    public static final int MAX_SLOTS = 256;
+
+    public static final CustomPayload.Id<SortRequestPayload> ID =
+        new CustomPayload.Id<>(Identifier.of(BetterExperienceMod.MOD_ID, "sort_request"));
+
+    // 枚举按序数传输，越界时回退为第一个值，避免异常数据断开连接
+    private static final PacketCodec<ByteBuf, InventorySortConfig.SortMode> SORT_MODE_CODEC =
+        PacketCodecs.VAR_INT.xmap(i -> enumOf(InventorySortConfig.SortMode.values(), i), InventorySortConfig.SortMode::ordinal);
+    private static final PacketCodec<ByteBuf, InventorySortConfig.SecondaryKey> SECONDARY_KEY_CODEC =
+        PacketCodecs.VAR_INT.xmap(i -> enumOf(InventorySortConfig.SecondaryKey.values(), i), InventorySortConfig.SecondaryKey::ordinal);
+
+    public static final PacketCodec<RegistryByteBuf, SortRequestPayload> CODEC = PacketCodec.tuple(
+        PacketCodecs.VAR_INT, SortRequestPayload::syncId,
+        PacketCodecs.VAR_INT.collect(PacketCodecs.toList(MAX_SLOTS)), SortRequestPayload::slotIds,
+        SORT_MODE_CODEC, SortRequestPayload::sortMode,
+        PacketCodecs.BOOLEAN, SortRequestPayload::mergeFirst,
+        SECONDARY_KEY_CODEC.collect(PacketCodecs.toList(InventorySortConfig.SecondaryKey.values().length)), SortRequestPayload::secondaryKeys,
+        SortRequestPayload::new);
+
+    /**
+     * 注册数据包类型（客户端和服务端都需要注册）
+     */
+    public static void register() {
+        PayloadTypeRegistry.playC2S().register(ID, CODEC);
+    }
+
+    @Override
+    public CustomPayload.Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+
+    private static <T> T enumOf(T[] values, int ordinal) {
+        return ordinal >= 0 && ordinal < values.length ? values[ordinal] : values[0];
+    }
+}
@@ -1,5 +1,7 @@
 package com.aeolyn.better_experience.inventory.saver;
 
+import com.aeolyn.better_experience.common.metrics.Metrics;
+import com.aeolyn.better_experience.common.metrics.jfr.ConfigIoEvent;
 import com.aeolyn.better_experience.common.util.LogUtil;
 import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
 import com.google.gson.Gson;
@@ -27,9 +29,10 @@ public class InventoryConfigSaver {
      * 保存背包排序配置
      */
     public void saveInventorySortConfig(InventorySortConfig config) {
+        long startNanos = System.nanoTime();
+        ConfigIoEvent event = ConfigIoEvent.start(ConfigIoEvent.SAVE);
+        Path configPath = getConfigPath();
         try {
-            Path configPath = getConfigPath();
-            
             // 确保目录存在
             Files.createDirectories(configPath.getParent());
             
@@ -40,6 +43,9 @@ public class InventoryConfigSaver {
             
         } catch (Exception e) {
             LogUtil.error("Inventory", "保存背包排序配置失败", e);
+        } finally {
+            Metrics.CONFIG_SAVE.recordSince(startNanos);
+            event.finish(configPath);
         }
     }
     
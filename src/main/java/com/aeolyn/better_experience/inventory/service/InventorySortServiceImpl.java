@@ -1,24 +1,38 @@
 package com.aeolyn.better_experience.inventory.service;
 
+import com.aeolyn.better_experience.common.config.manager.ConfigManager;
+import com.aeolyn.better_experience.common.metrics.jfr.InventoryOperationEvent;
 import com.aeolyn.better_experience.common.util.LogUtil;
+import com.aeolyn.better_experience.inventory.click.ClickExecutor;
+import com.aeolyn.better_experience.inventory.click.ClickProgram;
+import com.aeolyn.better_experience.inventory.click.PlanningExecutor;
+import com.aeolyn.better_experience.inventory.click.SortReport;
 import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
 
+import com.aeolyn.better_experience.inventory.core.CreativeItemMoveStrategy;
 import com.aeolyn.better_experience.inventory.core.ItemMoveStrategy;
 import com.aeolyn.better_experience.inventory.core.ItemMoveStrategyFactory;
-import com.aeolyn.better_experience.inventory.core.SortComparatorFactory;
+import com.aeolyn.better_experience.inventory.core.ItemOrderTables;
+import com.aeolyn.better_experience.inventory.core.SortKeyExtractor;
+import com.aeolyn.better_experience.inventory.core.SortKeyTable;
+import com.aeolyn.better_experience.inventory.core.SortPlanner;
+import com.aeolyn.better_experience.inventory.core.SortedLayoutTracker;
+import com.aeolyn.better_experience.inventory.model.InventoryModel;
+import com.aeolyn.better_experience.inventory.model.InventoryModelAdapter;
+import com.aeolyn.better_experience.inventory.network.SortRequestPayload;
 import com.aeolyn.better_experience.inventory.util.MouseSlotUtil;
+import com.aeolyn.better_experience.inventory.util.ScreenSlotIndex;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.screen.ingame.CreativeInventoryScreen;
 import net.minecraft.client.network.ClientPlayerEntity;
 import net.minecraft.inventory.Inventory;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
-import net.minecraft.registry.Registries;
 import net.minecraft.screen.ScreenHandler;
 import net.minecraft.screen.slot.Slot;
-import net.minecraft.screen.slot.SlotActionType;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * 背包排序服务实现
@@ -36,11 +50,6 @@ public class InventorySortServiceImpl implements InventorySortService {
     
     @Override
     public void sortInventory(InventorySortConfig.SortMode sortMode, boolean mergeFirst) {
-        sortInventory(sortMode, mergeFirst, SortComparatorFactory.createComparator(sortMode));
-    }
-    
-    @Override
-    public void sortInventory(InventorySortConfig.SortMode sortMode, boolean mergeFirst, Comparator<ItemStack> comparator) {
         ClientPlayerEntity player = MinecraftClient.getInstance().player;
         if (player == null) return;
         
@@ -49,59 +58,9 @@ public class InventorySortServiceImpl implements InventorySortService {
         boolean isPlayerInventory = true; // 在背包界面调用
         
         if (isCreative && isPlayerInventory) {
-            performCreativeSort(player, sortMode, mergeFirst, comparator);
+            performCreativeSort(player, sortMode, mergeFirst);
         } else {
-            performSurvivalSort(player, sortMode, mergeFirst, comparator);
-        }
-    }
-    
-    @Override
-    public void sortContainer(Inventory container, InventorySortConfig.SortMode sortMode, boolean mergeFirst) {
-        try {
-            LogUtil.info("Inventory", "开始整理容器，排序模式: " + sortMode.getDisplayName() + "，合并模式: " + mergeFirst);
-            
-            ClientPlayerEntity player = MinecraftClient.getInstance().player;
-            if (player == null) {
-                LogUtil.warn("Inventory", "玩家不存在，无法整理容器");
-                return;
-            }
-
-            // 收集容器当前状态
-            List<ItemStack> current = new ArrayList<>(container.size());
-            for (int i = 0; i < container.size(); i++) {
-                current.add(container.getStack(i).copy());
-            }
-            int nonEmpty = (int) current.stream().filter(s -> !s.isEmpty()).count();
-            LogUtil.info("Inventory", "收集容器非空物品: " + nonEmpty);
-
-            if (nonEmpty == 0) {
-                LogUtil.info("Inventory", "容器为空，无需整理");
-                return;
-            }
-
-            List<ItemStack> desired;
-            if (mergeFirst) {
-                // 合并模式：先合并相同物品，再排序
-                desired = mergeAndSortItems(current, SortComparatorFactory.createComparator(sortMode));
-            } else {
-                // 普通模式：直接排序，保持原堆叠
-                desired = current.stream().filter(s -> !s.isEmpty()).map(ItemStack::copy).collect(Collectors.toList());
-                sortItems(desired, SortComparatorFactory.createComparator(sortMode));
-            }
-            while (desired.size() < container.size()) desired.add(ItemStack.EMPTY);
-
-            // 容器排序：使用PICKUP操作在容器内部进行排序，不使用QUICK_MOVE避免跨容器移动
-            if (mergeFirst) {
-                // 使用PICKUP操作进行合并和排序
-                performContainerSortWithPickupInternal(player, container, current, desired);
-            } else {
-                // 使用PICKUP操作进行排序
-                performContainerReorderWithPickupInternal(player, container, current, desired);
-            }
-            LogUtil.info("Inventory", "容器整理完成，模式: " + sortMode.getDisplayName() + "，合并模式: " + mergeFirst);
-            
-        } catch (Exception e) {
-            LogUtil.error("Inventory", "整理容器失败", e);
+            performSurvivalSort(player, sortMode, mergeFirst);
         }
     }
     
@@ -137,18 +96,12 @@ public class InventorySortServiceImpl implements InventorySortService {
                 return;
             }
             
-            // 获取缩放后的鼠标位置
-            double mouseX = client.mouse.getX() * (double) client.getWindow().getScaledWidth() / (double) client.getWindow().getWidth();
-            double mouseY = client.mouse.getY() * (double) client.getWindow().getScaledHeight() / (double) client.getWindow().getHeight();
-            
-            LogUtil.info("Inventory", "鼠标位置: ({}, {})", mouseX, mouseY);
-            
             // 获取当前屏幕
             net.minecraft.client.gui.screen.ingame.HandledScreen<?> handledScreen = 
                 (net.minecraft.client.gui.screen.ingame.HandledScreen<?>) client.currentScreen;
             
-            // 尝试获取槽位
-            net.minecraft.screen.slot.Slot slot = MouseSlotUtil.getSlotAtPosition(handledScreen, mouseX, mouseY);
+            // 获取鼠标下的槽位
+            net.minecraft.screen.slot.Slot slot = MouseSlotUtil.getSlotAtMouse(handledScreen);
             
             if (slot == null) {
                 LogUtil.warn("Inventory", "无法获取槽位，排序跳过");
@@ -190,12 +143,6 @@ public class InventorySortServiceImpl implements InventorySortService {
     
     @Override
     public void simpleSelectionSort(InventorySortConfig.SortMode sortMode, boolean mergeFirst) {
-        simpleSelectionSort(sortMode, mergeFirst, SortComparatorFactory.createComparator(sortMode));
-    }
-    
-    @Override
-    public void simpleSelectionSort(InventorySortConfig.SortMode sortMode, boolean mergeFirst, Comparator<ItemStack> comparator) {
-        // 使用现有的简单选择排序逻辑，但传入自定义比较器
         ClientPlayerEntity player = MinecraftClient.getInstance().player;
         if (player == null) return;
         
@@ -204,15 +151,15 @@ public class InventorySortServiceImpl implements InventorySortService {
         boolean isPlayerInventory = true;
         
         if (isCreative && isPlayerInventory) {
-            performCreativeSimpleSort(player, sortMode, mergeFirst, comparator);
+            performCreativeSimpleSort(player, sortMode, mergeFirst);
         } else {
-            performSurvivalSimpleSort(player, sortMode, mergeFirst, comparator);
+            performSurvivalSimpleSort(player, sortMode, mergeFirst);
         }
     }
     
     @Override
-    public void sortContainer(Inventory container, InventorySortConfig.SortMode sortMode, boolean mergeFirst, Comparator<ItemStack> comparator) {
-        // 容器排序使用统一的逻辑，不区分创造/生存模式
+    public void sortContainer(Inventory container, InventorySortConfig.SortMode sortMode, boolean mergeFirst) {
+        // 容器排序与背包一样由排序键表决定顺序，在库存模型上规划PICKUP点击，不区分创造/生存模式
         try {
             LogUtil.info("Inventory", "开始整理容器，排序模式: " + sortMode.getDisplayName() + "，合并模式: " + mergeFirst);
             
@@ -221,38 +168,17 @@ public class InventorySortServiceImpl implements InventorySortService {
                 LogUtil.warn("Inventory", "玩家不存在，无法整理容器");
                 return;
             }
-
-            // 收集容器当前状态
-            List<ItemStack> current = new ArrayList<>(container.size());
-            for (int i = 0; i < container.size(); i++) {
-                current.add(container.getStack(i).copy());
+            
+            List<Slot> containerSlots = getContainerSlots(player, container);
+            if (containerSlots.isEmpty()) {
+                LogUtil.warn("Inventory", "当前界面中没有该容器的槽位，跳过整理");
+                return;
             }
-            int nonEmpty = (int) current.stream().filter(s -> !s.isEmpty()).count();
-            LogUtil.info("Inventory", "收集容器非空物品: " + nonEmpty);
-
-            if (nonEmpty == 0) {
+            if (containerSlots.stream().noneMatch(Slot::hasStack)) {
                 LogUtil.info("Inventory", "容器为空，无需整理");
                 return;
             }
-
-            List<ItemStack> desired;
-            if (mergeFirst) {
-                // 合并模式：先合并相同物品，再排序
-                desired = mergeAndSortItems(current, comparator);
-            } else {
-                // 普通模式：直接排序，保持原堆叠
-                desired = current.stream().filter(s -> !s.isEmpty()).map(ItemStack::copy).collect(Collectors.toList());
-                sortItems(desired, comparator);
-            }
-            while (desired.size() < container.size()) desired.add(ItemStack.EMPTY);
-
-            // 容器排序：使用PICKUP操作在容器内部进行排序
-            if (mergeFirst) {
-                performContainerSortWithPickupInternal(player, container, current, desired);
-                        } else {
-                performContainerReorderWithPickupInternal(player, container, current, desired);
-            }
-            LogUtil.info("Inventory", "容器整理完成，模式: " + sortMode.getDisplayName() + "，合并模式: " + mergeFirst);
+            performUniversalSort(player, containerSlots, sortMode, mergeFirst);
             
         } catch (Exception e) {
             LogUtil.error("Inventory", "整理容器失败", e);
@@ -260,486 +186,210 @@ public class InventorySortServiceImpl implements InventorySortService {
     }
     
     // 新增的私有方法
-    private void performCreativeSort(ClientPlayerEntity player, InventorySortConfig.SortMode sortMode, boolean mergeFirst, Comparator<ItemStack> comparator) {
+    private void performCreativeSort(ClientPlayerEntity player, InventorySortConfig.SortMode sortMode, boolean mergeFirst) {
         // 使用通用排序方法替代 CreativeModeHandler
         List<Slot> mainSlots = getMainInventorySlots(player);
         performUniversalSort(player, mainSlots, sortMode, mergeFirst);
     }
     
-    private void performSurvivalSort(ClientPlayerEntity player, InventorySortConfig.SortMode sortMode, boolean mergeFirst, Comparator<ItemStack> comparator) {
+    private void performSurvivalSort(ClientPlayerEntity player, InventorySortConfig.SortMode sortMode, boolean mergeFirst) {
         // 使用通用排序方法替代 SurvivalModeHandler
         List<Slot> mainSlots = getMainInventorySlots(player);
         performUniversalSort(player, mainSlots, sortMode, mergeFirst);
     }
     
-    private void performCreativeSimpleSort(ClientPlayerEntity player, InventorySortConfig.SortMode sortMode, boolean mergeFirst, Comparator<ItemStack> comparator) {
+    private void performCreativeSimpleSort(ClientPlayerEntity player, InventorySortConfig.SortMode sortMode, boolean mergeFirst) {
         // 使用通用简单排序方法替代 CreativeModeHandler
         List<Slot> mainSlots = getMainInventorySlots(player);
         performUniversalSort(player, mainSlots, sortMode, mergeFirst);
     }
     
-    private void performSurvivalSimpleSort(ClientPlayerEntity player, InventorySortConfig.SortMode sortMode, boolean mergeFirst, Comparator<ItemStack> comparator) {
+    private void performSurvivalSimpleSort(ClientPlayerEntity player, InventorySortConfig.SortMode sortMode, boolean mergeFirst) {
         // 使用通用简单排序方法替代 SurvivalModeHandler
         List<Slot> mainSlots = getMainInventorySlots(player);
         performUniversalSort(player, mainSlots, sortMode, mergeFirst);
     }
     
-    // 辅助方法：使用自定义比较器排序
-    private void sortItems(List<ItemStack> items, Comparator<ItemStack> comparator) {
-        items.sort(comparator);
-    }
-    
-
-    
-
-    
-
-    
-    /**
-     * 简单的合并和排序逻辑
-     * 使用插入排序算法，先合并相同物品，再按比较器排序
-     */
-    private List<ItemStack> mergeAndSortItems(List<ItemStack> items, Comparator<ItemStack> comparator) {
-        LogUtil.info("Inventory", "开始合并和排序物品，原始物品数: " + items.stream().filter(s -> !s.isEmpty()).count());
-        
-        // 创建工作副本
-        List<ItemStack> workingItems = new ArrayList<>();
-        for (ItemStack item : items) {
-            if (!item.isEmpty()) {
-                workingItems.add(item.copy());
-            }
-        }
-        
-        // 第一步：合并相同物品
-        mergeSameItems(workingItems);
-        
-        // 第二步：按比较器排序
-        sortItems(workingItems, comparator);
-        
-        // 第三步：填充到原始大小
-        while (workingItems.size() < items.size()) {
-            workingItems.add(ItemStack.EMPTY);
-        }
-        
-        LogUtil.info("Inventory", "合并和排序完成，最终物品数: " + workingItems.stream().filter(s -> !s.isEmpty()).count());
-        return workingItems;
-    }
-    
     /**
-     * 合并相同物品
+     * 获取主背包槽位列表（只读，按库存下标排列）
      */
-    private void mergeSameItems(List<ItemStack> items) {
-        if (items.isEmpty()) return;
-        
-        // 使用Map来合并相同物品
-        Map<String, ItemStack> mergedItems = new HashMap<>();
-        
-        for (ItemStack item : items) {
-            if (item.isEmpty()) continue;
-            
-            String key = getItemKey(item);
-            ItemStack existing = mergedItems.get(key);
-            
-            if (existing == null) {
-                // 新物品，直接添加
-                mergedItems.put(key, item.copy());
-            } else {
-                // 相同物品，尝试合并
-                int maxStack = item.getMaxCount();
-                int currentCount = existing.getCount();
-                int newCount = item.getCount();
-                int totalCount = currentCount + newCount;
-                
-                if (totalCount <= maxStack) {
-                    // 可以完全合并
-                    existing.setCount(totalCount);
-                } else {
-                    // 部分合并，剩余部分保持原样
-                    existing.setCount(maxStack);
-                    // 这里可以处理溢出，但为了简单起见，我们暂时忽略
-                    LogUtil.info("Inventory", "物品 " + item.getName().getString() + " 合并后超出最大堆叠，保持原样");
-                }
-            }
-        }
-        
-        // 清空原列表并添加合并后的物品
-        items.clear();
-        items.addAll(mergedItems.values());
-        
-        LogUtil.info("Inventory", "合并完成，合并后物品数: " + items.size());
+    private List<Slot> getMainInventorySlots(ClientPlayerEntity player) {
+        return ScreenSlotIndex.of(player.currentScreenHandler, player.getInventory()).getPlayerMain();
     }
-    
-
-    
 
-    
     /**
-     * 获取物品的唯一键，用于堆叠判断
-     * 目前使用简化的键，仅包含物品ID
-     * 后续可以扩展以包含NBT数据
+     * 获取容器槽位（只读，按库存下标排列）
      */
-    private String getItemKey(ItemStack stack) {
-        if (stack.isEmpty()) return "empty";
-        
-        String itemId = Registries.ITEM.getId(stack.getItem()).toString();
-        
-        // 目前使用简化的键，仅包含物品ID
-        // 后续可以扩展以包含NBT数据，确保相同物品的准确识别
-        return itemId;
-    }
-    
-    /**
-     * 获取物品的显示名称（用于日志）
-     */
-    private String getItemDisplayName(ItemStack stack) {
-        if (stack.isEmpty()) return "空";
-        return stack.getName().getString();
+    private List<Slot> getContainerSlots(ClientPlayerEntity player, net.minecraft.inventory.Inventory container) {
+        return ScreenSlotIndex.of(player.currentScreenHandler, player.getInventory()).getContainerSlots(container);
     }
-    
 
-    
     /**
-     * 比较两个物品是否相同类型（不考虑数量）
+     * 通用排序方法：可以指定排序范围，统一使用PICKUP操作
+     * 生存模式和容器整理先规划点击程序，再交给点击执行器按tick发送
      */
-    private boolean areStacksEqualType(ItemStack a, ItemStack b) {
-        if (a.isEmpty() && b.isEmpty()) return true;
-        if (a.isEmpty() || b.isEmpty()) return false;
+    private void performUniversalSort(ClientPlayerEntity player, List<Slot> targetSlots, InventorySortConfig.SortMode sortMode, boolean mergeFirst) {
+        LogUtil.info("Inventory", "通用排序：使用PICKUP操作，排序范围: " + targetSlots.size() + " 个槽位");
         
-        // Only check if items are the same type
-        return a.isOf(b.getItem());
-    }
-
-    /**
-     * 严格比较两个物品（物品ID与数量）。二者都为空视为相等
-     */
-    private boolean areStacksEqualExact(ItemStack a, ItemStack b) {
-        if (a.isEmpty() && b.isEmpty()) return true;
-        if (a.isEmpty() || b.isEmpty()) return false;
+        // 判断是否为玩家背包排序
+        boolean isPlayerInventory = targetSlots.size() > 0 && targetSlots.get(0).inventory == player.getInventory();
         
-        // Check if items are the same type and count
-        return a.isOf(b.getItem()) && a.getCount() == b.getCount();
-    }
-    
-    /**
-     * 使用PICKUP操作在容器内部进行合并和排序（内部实现）
-     */
-    private void performContainerSortWithPickupInternal(ClientPlayerEntity player, Inventory container, List<ItemStack> current, List<ItemStack> desired) {
-        MinecraftClient client = MinecraftClient.getInstance();
-        if (client == null || client.interactionManager == null) {
-            throw new IllegalStateException("interactionManager 不可用");
+        // 服务端也安装了本模组：一个数据包完成整理
+        if (requestServerSort(player, targetSlots, sortMode, mergeFirst)) {
+            return;
         }
         
-        ScreenHandler handler = player.currentScreenHandler;
-        int syncId = handler.syncId;
-        
-        // 获取容器槽位ID
-        List<Integer> slotIndices = getSlotIndicesForInventory(handler, container);
-        
-        if (slotIndices.size() != container.size()) {
-            throw new IllegalStateException("意外的容器槽位数量: " + slotIndices.size() + " vs " + container.size());
+        if (!isPlayerInventory || !player.getAbilities().creativeMode) {
+            // 生存模式或容器排序：规划PICKUP点击程序，确保服务端同步
+            String label = isPlayerInventory ? "背包整理" : "容器整理";
+            submitSort(player, targetSlots, sortMode, mergeFirst, label);
+            return;
         }
         
-        LogUtil.info("Inventory", "开始使用 PICKUP 操作在容器内部进行合并和排序");
+        // 创造模式玩家背包：先在本地库存上完成整理，最后只同步内容有变化的槽位
+        CreativeItemMoveStrategy strategy = ItemMoveStrategyFactory.createCreativeStrategy();
+        LogUtil.info("Inventory", "玩家背包排序：使用创造模式策略");
         
-        // 使用PICKUP操作在容器内部进行排序，避免跨容器移动
-        for (int i = 0; i < container.size(); i++) {
-            ItemStack want = desired.get(i);
-            ItemStack have = current.get(i);
-            
-            if (areStacksEqualExact(have, want)) {
-                continue; // 已经正确
-            }
-            
-            if (!want.isEmpty()) {
-                // 需要在这个位置放置物品
-                if (have.isEmpty() || !areStacksEqualType(have, want)) {
-                    // 需要从容器内其他地方移动物品到这里
-                    for (int j = i + 1; j < container.size(); j++) {
-                        ItemStack candidate = current.get(j);
-                        if (!candidate.isEmpty() && areStacksEqualType(candidate, want)) {
-                            // 找到了相同类型的物品，使用PICKUP交换
-                            int sourceSlot = slotIndices.get(j);
-                            int targetSlot = slotIndices.get(i);
-                            
-                            // 使用PICKUP操作交换槽位
-                            client.interactionManager.clickSlot(syncId, sourceSlot, 0, SlotActionType.PICKUP, player);
-                            client.interactionManager.clickSlot(syncId, targetSlot, 0, SlotActionType.PICKUP, player);
-                            client.interactionManager.clickSlot(syncId, sourceSlot, 0, SlotActionType.PICKUP, player);
-                            
-                            LogUtil.info("Inventory", "容器 PICKUP 交换: 槽位 " + sourceSlot + " <-> " + targetSlot + " (移动物品到目标位置)");
-                            
-                            // 更新跟踪状态
-                            current.set(i, candidate.copy());
-                            current.set(j, have.copy());
-                            break;
-                        }
-                    }
-                } else if (have.getCount() < want.getCount()) {
-                    // 需要从容器内其他地方补充物品到这里
-                    int needed = want.getCount() - have.getCount();
-                    int maxStack = want.getMaxCount();
-                    int spaceInTarget = maxStack - have.getCount();
-                    int canTransfer = Math.min(needed, spaceInTarget);
-                    
-                    for (int j = i + 1; j < container.size(); j++) {
-                        ItemStack candidate = current.get(j);
-                        if (!candidate.isEmpty() && areStacksEqualType(candidate, want)) {
-                            int transferAmount = Math.min(canTransfer, candidate.getCount());
-                            if (transferAmount > 0) {
-                                int sourceSlot = slotIndices.get(j);
-                                int targetSlot = slotIndices.get(i);
-                                
-                                // 使用PICKUP操作进行堆叠
-                                client.interactionManager.clickSlot(syncId, sourceSlot, 0, SlotActionType.PICKUP, player);
-                                client.interactionManager.clickSlot(syncId, targetSlot, 0, SlotActionType.PICKUP, player);
-                                
-                                LogUtil.info("Inventory", "容器 PICKUP 堆叠: 槽位 " + sourceSlot + " -> " + targetSlot + " (补充 " + transferAmount + " 个物品)");
-                                
-                                // 更新跟踪状态
-                                have.setCount(have.getCount() + transferAmount);
-                                candidate.setCount(candidate.getCount() - transferAmount);
-                                if (candidate.getCount() <= 0) {
-                                    current.set(j, ItemStack.EMPTY);
-                                }
-                                canTransfer -= transferAmount;
-                                if (canTransfer <= 0) break;
-                            }
-                        }
-                    }
-                }
-            } else if (!have.isEmpty()) {
-                // 这个位置应该是空的，但当前有物品，需要找到正确的目标位置
-                // 根据排序规则，找到这个物品应该放在哪里
-                int correctPosition = findCorrectPositionForItem(have, desired, i);
-                if (correctPosition != i && correctPosition < container.size()) {
-                    // 如果找到了正确的位置，移动到那里
-                    int sourceSlot = slotIndices.get(i);
-                    int targetSlot = slotIndices.get(correctPosition);
-                    
-                    // 使用PICKUP操作移动物品
-                    client.interactionManager.clickSlot(syncId, sourceSlot, 0, SlotActionType.PICKUP, player);
-                    client.interactionManager.clickSlot(syncId, targetSlot, 0, SlotActionType.PICKUP, player);
-                    
-                    LogUtil.info("Inventory", "容器 PICKUP 移动: 槽位 " + sourceSlot + " -> " + targetSlot + " (移动到正确位置)");
-                    
-                    // 更新跟踪状态
-                    current.set(correctPosition, have.copy());
-                    current.set(i, ItemStack.EMPTY);
-                } else {
-                    // 如果没找到正确位置，移动到容器末尾的空位
-                    for (int j = container.size() - 1; j > i; j--) {
-                        if (current.get(j).isEmpty()) {
-                            int sourceSlot = slotIndices.get(i);
-                            int targetSlot = slotIndices.get(j);
-                            
-                            // 使用PICKUP操作移动物品
-                            client.interactionManager.clickSlot(syncId, sourceSlot, 0, SlotActionType.PICKUP, player);
-                            client.interactionManager.clickSlot(syncId, targetSlot, 0, SlotActionType.PICKUP, player);
-                            
-                            LogUtil.info("Inventory", "容器 PICKUP 移动: 槽位 " + sourceSlot + " -> " + targetSlot + " (移动到末尾空位)");
-                            
-                            // 更新跟踪状态
-                            current.set(j, have.copy());
-                            current.set(i, ItemStack.EMPTY);
-                            break;
-                        }
-                    }
-                }
+        SortReport report = new SortReport("创造模式背包整理");
+        InventoryOperationEvent event = InventoryOperationEvent.start(report.getLabel(), sortMode.name(), targetSlots.size());
+        long startNanos = System.nanoTime();
+        strategy.beginBatch();
+        try {
+            if (mergeFirst) {
+                // 合并：使用PICKUP的堆叠特性
+                performUniversalMergeSort(player, strategy, targetSlots, sortMode);
+            } else {
+                // 排序：使用PICKUP的交换特性
+                performUniversalSelectionSort(player, strategy, targetSlots, sortMode);
             }
+        } catch (Exception e) {
+            LogUtil.error("Inventory", "创造模式整理失败，同步已修改的槽位", e);
+            report.setStatus(SortReport.Status.FAILED);
+            report.setMessage(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            report.setPlanningNanos(System.nanoTime() - startNanos);
+            strategy.flushBatch(player, report);
+            event.finish(report);
         }
-        
-        LogUtil.info("Inventory", "容器 PICKUP 合并和排序完成");
+        LogUtil.info("Inventory", "整理报告: " + report);
     }
     
     /**
-     * 使用PICKUP操作在容器内部进行排序（不合并）（内部实现）
+     * 请求服务端直接整理，服务端未安装本模组或条件不满足时返回false，由调用方走点击流程
      */
-    private void performContainerReorderWithPickupInternal(ClientPlayerEntity player, Inventory container, List<ItemStack> current, List<ItemStack> desired) {
-        MinecraftClient client = MinecraftClient.getInstance();
-        if (client == null || client.interactionManager == null) {
-            throw new IllegalStateException("interactionManager 不可用");
+    private boolean requestServerSort(ClientPlayerEntity player, List<Slot> targetSlots, InventorySortConfig.SortMode sortMode, boolean mergeFirst) {
+        if (!isServerSideSortEnabled() || !ClientPlayNetworking.canSend(SortRequestPayload.ID)) {
+            return false;
+        }
+        // 创造模式物品栏的槽位ID与服务端的玩家界面不对应
+        if (MinecraftClient.getInstance().currentScreen instanceof CreativeInventoryScreen) {
+            return false;
+        }
+        // 以下情况服务端会拒绝请求：排序表尚未构建；专用服务端上按名称整理（名称是服务端语言）
+        if (ItemOrderTables.isRequiredBy(sortMode) && !ItemOrderTables.isBuilt()
+            || sortMode == InventorySortConfig.SortMode.NAME && !MinecraftClient.getInstance().isIntegratedServerRunning()) {
+            return false;
         }
-        
         ScreenHandler handler = player.currentScreenHandler;
-        int syncId = handler.syncId;
-        
-        // 获取容器槽位ID
-        List<Integer> slotIndices = getSlotIndicesForInventory(handler, container);
-        
-        if (slotIndices.size() != container.size()) {
-            throw new IllegalStateException("意外的容器槽位数量: " + slotIndices.size() + " vs " + container.size());
+        // 光标上有物品或还有点击程序在执行时，交给点击流程排队处理
+        if (!handler.getCursorStack().isEmpty() || ClickExecutor.getInstance().isBusy() || PlanningExecutor.getInstance().isBusy()
+            || targetSlots.isEmpty() || targetSlots.size() > SortRequestPayload.MAX_SLOTS) {
+            return false;
         }
         
-        LogUtil.info("Inventory", "开始使用 PICKUP 操作在容器内部进行排序（不合并）");
-        
-        // 使用PICKUP操作在容器内部进行排序，避免跨容器移动
-        for (int i = 0; i < container.size(); i++) {
-            ItemStack want = desired.get(i);
-            ItemStack have = current.get(i);
-            
-            if (areStacksEqualExact(have, want)) {
-                continue; // 已经正确
-            }
-            
-            if (!want.isEmpty()) {
-                // 需要在这个位置放置物品
-                if (have.isEmpty() || !areStacksEqualType(have, want)) {
-                    // 需要从容器内其他地方移动物品到这里
-                    for (int j = i + 1; j < container.size(); j++) {
-                        ItemStack candidate = current.get(j);
-                        if (!candidate.isEmpty() && areStacksEqualType(candidate, want)) {
-                            // 找到了相同类型的物品，使用PICKUP交换
-                            int sourceSlot = slotIndices.get(j);
-                            int targetSlot = slotIndices.get(i);
-                            
-                            // 使用PICKUP操作交换槽位
-                            client.interactionManager.clickSlot(syncId, sourceSlot, 0, SlotActionType.PICKUP, player);
-                            client.interactionManager.clickSlot(syncId, targetSlot, 0, SlotActionType.PICKUP, player);
-                            client.interactionManager.clickSlot(syncId, sourceSlot, 0, SlotActionType.PICKUP, player);
-                            
-                            LogUtil.info("Inventory", "容器 PICKUP 交换: 槽位 " + sourceSlot + " <-> " + targetSlot + " (移动物品到目标位置)");
-                            
-                            // 更新跟踪状态
-                            current.set(i, candidate.copy());
-                            current.set(j, have.copy());
-                            break;
-                        }
-                    }
-                }
-            } else if (!have.isEmpty()) {
-                // 这个位置应该是空的，但当前有物品，需要找到正确的目标位置
-                // 根据排序规则，找到这个物品应该放在哪里
-                int correctPosition = findCorrectPositionForItem(have, desired, i);
-                if (correctPosition != i && correctPosition < container.size()) {
-                    // 如果找到了正确的位置，移动到那里
-                    int sourceSlot = slotIndices.get(i);
-                    int targetSlot = slotIndices.get(correctPosition);
-                    
-                    // 使用PICKUP操作移动物品
-                    client.interactionManager.clickSlot(syncId, sourceSlot, 0, SlotActionType.PICKUP, player);
-                    client.interactionManager.clickSlot(syncId, targetSlot, 0, SlotActionType.PICKUP, player);
-                    
-                    LogUtil.info("Inventory", "容器 PICKUP 移动: 槽位 " + sourceSlot + " -> " + targetSlot + " (移动到正确位置)");
-                    
-                    // 更新跟踪状态
-                    current.set(correctPosition, have.copy());
-                    current.set(i, ItemStack.EMPTY);
-                } else {
-                    // 如果没找到正确位置，移动到容器末尾的空位
-                    for (int j = container.size() - 1; j > i; j--) {
-                        if (current.get(j).isEmpty()) {
-                            int sourceSlot = slotIndices.get(i);
-                            int targetSlot = slotIndices.get(j);
-                            
-                            // 使用PICKUP操作移动物品
-                            client.interactionManager.clickSlot(syncId, sourceSlot, 0, SlotActionType.PICKUP, player);
-                            client.interactionManager.clickSlot(syncId, targetSlot, 0, SlotActionType.PICKUP, player);
-                            
-                            LogUtil.info("Inventory", "容器 PICKUP 移动: 槽位 " + sourceSlot + " -> " + targetSlot + " (移动到末尾空位)");
-                            
-                            // 更新跟踪状态
-                            current.set(j, have.copy());
-                            current.set(i, ItemStack.EMPTY);
-                            break;
-                        }
-                    }
-                }
-            }
+        List<Integer> slotIds = new ArrayList<>(targetSlots.size());
+        for (Slot slot : targetSlots) {
+            slotIds.add(slot.id);
         }
-        
-        LogUtil.info("Inventory", "容器 PICKUP 排序完成");
+        ClientPlayNetworking.send(new SortRequestPayload(handler.syncId, slotIds, sortMode, mergeFirst, getSecondaryKeys()));
+        LogUtil.info("Inventory", "已请求服务端整理 " + slotIds.size() + " 个槽位，模式: " + sortMode.getDisplayName() + "，合并模式: " + mergeFirst);
+        return true;
     }
     
     /**
-     * 为物品找到正确的排序位置
+     * 整理完成后记录布局，供增量整理使用
      */
-    private int findCorrectPositionForItem(ItemStack item, List<ItemStack> desired, int currentPosition) {
-        if (item.isEmpty()) {
-            return currentPosition;
+    private void recordSortedLayout(ClientPlayerEntity player, List<Slot> targetSlots, InventorySortConfig.SortMode sortMode, SortReport report) {
+        if (!report.isCompleted() || !SortedLayoutTracker.isEnabled()) {
+            return;
         }
-        
-        // 在desired列表中找到这个物品应该出现的位置
-        for (int i = 0; i < desired.size(); i++) {
-            ItemStack desiredItem = desired.get(i);
-            if (!desiredItem.isEmpty() && areStacksEqualType(item, desiredItem)) {
-                return i;
-            }
+        int[] slotIds = new int[targetSlots.size()];
+        for (int i = 0; i < slotIds.length; i++) {
+            slotIds[i] = targetSlots.get(i).id;
         }
-        
-        // 如果没找到，返回当前位置
-        return currentPosition;
+        SortedLayoutTracker.getInstance().record(player.currentScreenHandler, slotIds, sortMode, getSecondaryKeys());
     }
     
     /**
-     * Get list of slot indices for a specific inventory in the current screen handler.
+     * 在客户端线程上取得界面快照和排序键，在后台线程上规划整理，结果仍然有效时提交给点击执行器
      */
-    private List<Integer> getSlotIndicesForInventory(ScreenHandler handler, Inventory targetInventory) {
-        List<Integer> indices = new ArrayList<>();
-        for (Slot s : handler.slots) {
-            if (s.inventory == targetInventory) {
-                indices.add(s.id);
-            }
+    private void submitSort(ClientPlayerEntity player, List<Slot> targetSlots, InventorySortConfig.SortMode sortMode, boolean mergeFirst, String label) {
+        ScreenHandler handler = player.currentScreenHandler;
+        if (!handler.getCursorStack().isEmpty()) {
+            LogUtil.warn("Inventory", "光标上有物品，跳过" + label);
+            return;
         }
-        return indices;
+        
+        int[] slotIds = getSlotIds(targetSlots);
+        SortKeyTable keys = extractSortKeys(targetSlots);
+        int syncId = handler.syncId;
+        InventoryOperationEvent event = InventoryOperationEvent.start(label, sortMode.name(), slotIds.length);
+        PlanningExecutor.getInstance().submit(label, handler, InventoryModelAdapter.fromHandler(handler),
+            model -> planSort(label, syncId, model, slotIds, keys, sortMode, mergeFirst),
+            program -> {
+                // 与服务端不同步时按界面的最新内容重新规划剩余工作
+                program.setReplanner(() -> planSort(player, targetSlots, sortMode, mergeFirst, label));
+                ClickExecutor.getInstance().submit(program).thenAccept(report -> {
+                    event.finish(report);
+                    recordSortedLayout(player, targetSlots, sortMode, report);
+                });
+            },
+            event::abort);
     }
     
-
-
     /**
-     * 获取主背包槽位列表
+     * 按界面的当前内容立即规划整理点击程序（在客户端线程上调用）
+     * @return 点击程序，光标上有物品时返回null
      */
-    private List<Slot> getMainInventorySlots(ClientPlayerEntity player) {
-        List<Slot> mainSlots = new ArrayList<>();
-        for (Slot slot : player.currentScreenHandler.slots) {
-            if (slot.inventory == player.getInventory() && slot.getIndex() >= 9 && slot.getIndex() < 36) {
-                mainSlots.add(slot);
-            }
+    private ClickProgram planSort(ClientPlayerEntity player, List<Slot> targetSlots, InventorySortConfig.SortMode sortMode, boolean mergeFirst, String label) {
+        ScreenHandler handler = player.currentScreenHandler;
+        if (!handler.getCursorStack().isEmpty()) {
+            LogUtil.warn("Inventory", "光标上有物品，跳过" + label);
+            return null;
         }
-        mainSlots.sort(Comparator.comparingInt(Slot::getIndex));
-        return mainSlots;
+        return planSort(label, handler.syncId, InventoryModelAdapter.fromHandler(handler),
+            getSlotIds(targetSlots), extractSortKeys(targetSlots), sortMode, mergeFirst);
     }
-
+    
     /**
-     * 获取容器槽位
+     * 在库存模型上规划整理点击程序，不访问游戏对象，可以在后台线程上调用
      */
-    private List<Slot> getContainerSlots(ClientPlayerEntity player, net.minecraft.inventory.Inventory container) {
-        List<Slot> containerSlots = new ArrayList<>();
-        for (Slot slot : player.currentScreenHandler.slots) {
-            if (slot.inventory == container) {
-                containerSlots.add(slot);
-            }
+    private static ClickProgram planSort(String label, int syncId, InventoryModel model, int[] slotIds, SortKeyTable keys,
+                                         InventorySortConfig.SortMode sortMode, boolean mergeFirst) {
+        long startNanos = System.nanoTime();
+        ClickProgram program = SortPlanner.plan(label, syncId, model, slotIds, keys, sortMode, mergeFirst);
+        program.setPlanningNanos(System.nanoTime() - startNanos);
+        LogUtil.info("Inventory", label + "规划完成，共 " + program.size() + " 次点击，耗时 " + program.getPlanningNanos() / 1000 + "μs");
+        return program;
+    }
+    
+    private static int[] getSlotIds(List<Slot> targetSlots) {
+        int[] slotIds = new int[targetSlots.size()];
+        for (int i = 0; i < slotIds.length; i++) {
+            slotIds[i] = targetSlots.get(i).id;
         }
-        containerSlots.sort(Comparator.comparingInt(Slot::getIndex));
-        return containerSlots;
+        return slotIds;
     }
-
+    
     /**
-     * 通用排序方法：可以指定排序范围，统一使用PICKUP操作
+     * 读取槽位物品的排序键（需要访问物品组件和注册表，只能在客户端线程上调用）
      */
-    private void performUniversalSort(ClientPlayerEntity player, List<Slot> targetSlots, InventorySortConfig.SortMode sortMode, boolean mergeFirst) {
-        LogUtil.info("Inventory", "通用排序：使用PICKUP操作，排序范围: " + targetSlots.size() + " 个槽位");
-        
-        // 判断是否为玩家背包排序
-        boolean isPlayerInventory = targetSlots.size() > 0 && targetSlots.get(0).inventory == player.getInventory();
-        
-        ItemMoveStrategy strategy;
-        if (isPlayerInventory) {
-            // 玩家背包排序：根据游戏模式选择策略
-            strategy = ItemMoveStrategyFactory.createStrategy(player);
-            LogUtil.info("Inventory", "玩家背包排序：使用" + (player.getAbilities().creativeMode ? "创造" : "生存") + "模式策略");
-        } else {
-            // 容器排序：强制使用生存策略（PICKUP），确保服务端同步
-            strategy = ItemMoveStrategyFactory.createSurvivalStrategy();
-            LogUtil.info("Inventory", "容器排序：已强制使用生存模式PICKUP策略");
-        }
-        
-        if (mergeFirst) {
-            // 合并：使用PICKUP的堆叠特性
-            performUniversalMergeSort(player, strategy, targetSlots, sortMode);
-        } else {
-            // 排序：使用PICKUP的交换特性
-            performUniversalSelectionSort(player, strategy, targetSlots, sortMode);
+    private SortKeyTable extractSortKeys(List<Slot> targetSlots) {
+        List<ItemStack> stacks = new ArrayList<>(targetSlots.size());
+        for (Slot slot : targetSlots) {
+            stacks.add(slot.getStack());
         }
+        return SortKeyExtractor.extract(stacks, getSecondaryKeys());
     }
     
     /**
@@ -782,50 +432,86 @@ public class InventorySortServiceImpl implements InventorySortService {
     
     /**
      * 通用选择排序
+     * 排序前一次性提取排序键，比较时只读取键表数组
      */
-   private void performUniversalSelectionSort(ClientPlayerEntity player, ItemMoveStrategy strategy, List<Slot> targetSlots, InventorySortConfig.SortMode sortMode) {
-    LogUtil.info("Inventory", "通用选择排序：开始排序");
-    
-    // 使用新的比较器工厂
-    Comparator<ItemStack> comparator = SortComparatorFactory.createComparator(sortMode);
-    LogUtil.info("Inventory", "使用排序模式: " + sortMode.getDisplayName());
-    
-    // 使用选择排序算法：找到整个范围内最应该靠前的物品
-    for (int i = 0; i < targetSlots.size(); i++) {
-        Slot slotI = targetSlots.get(i);
-        ItemStack stackI = slotI.getStack();
+    private void performUniversalSelectionSort(ClientPlayerEntity player, ItemMoveStrategy strategy, List<Slot> targetSlots, InventorySortConfig.SortMode sortMode) {
+        LogUtil.info("Inventory", "通用选择排序：开始排序");
+        LogUtil.info("Inventory", "使用排序模式: " + sortMode.getDisplayName());
         
-        // 寻找从i位置开始的最佳物品（包括空物品）
-        int bestIndex = i;
-        ItemStack bestStack = stackI;
+        List<ItemStack> stacks = new ArrayList<>(targetSlots.size());
+        for (Slot slot : targetSlots) {
+            stacks.add(slot.getStack());
+        }
+        SortKeyTable keys = SortKeyExtractor.extract(stacks, getSecondaryKeys());
         
-        for (int j = i + 1; j < targetSlots.size(); j++) {
-            Slot slotJ = targetSlots.get(j);
-            ItemStack stackJ = slotJ.getStack();
+        // rows[i] 表示当前位于第i个槽位的物品在键表中的行号，随移动同步交换
+        int[] rows = new int[targetSlots.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = i;
+        }
+        
+        // 使用选择排序算法：找到整个范围内最应该靠前的物品
+        for (int i = 0; i < targetSlots.size(); i++) {
+            Slot slotI = targetSlots.get(i);
             
-            // 空物品总是比非空物品"大"（应该排在后面）
-            if (stackJ.isEmpty()) continue;
+            // 寻找从i位置开始的最佳物品（包括空物品）
+            int bestIndex = i;
+            for (int j = i + 1; j < targetSlots.size(); j++) {
+                // 空物品总是比非空物品"大"（应该排在后面）
+                if (keys.isEmpty(rows[j])) continue;
+                
+                if (keys.isEmpty(rows[bestIndex]) || keys.compare(sortMode, rows[j], rows[bestIndex]) < 0) {
+                    bestIndex = j;
+                }
+            }
             
-            if (bestStack.isEmpty() || comparator.compare(stackJ, bestStack) < 0) {
-                bestStack = stackJ;
-                bestIndex = j;
+            // 如果找到了更好的物品，进行交换或移动
+            if (bestIndex != i) {
+                if (keys.isEmpty(rows[i])) {
+                    // 当前位置为空，直接移动最佳物品过来
+                    strategy.moveItem(player, targetSlots.get(bestIndex), slotI);
+                    LogUtil.info("Inventory", "移动槽位 " + bestIndex + " 到空槽位 " + i);
+                } else {
+                    // 当前位置有物品，交换位置
+                    strategy.swapSlots(player, slotI, targetSlots.get(bestIndex));
+                    LogUtil.info("Inventory", "交换槽位 " + i + " 和槽位 " + bestIndex);
+                }
+                int row = rows[i];
+                rows[i] = rows[bestIndex];
+                rows[bestIndex] = row;
             }
         }
         
-        // 如果找到了更好的物品，进行交换或移动
-        if (bestIndex != i) {
-            if (stackI.isEmpty()) {
-                // 当前位置为空，直接移动最佳物品过来
-                strategy.moveItem(player, targetSlots.get(bestIndex), slotI);
-                LogUtil.info("Inventory", "移动槽位 " + bestIndex + " 到空槽位 " + i);
-            } else {
-                // 当前位置有物品，交换位置
-                strategy.swapSlots(player, slotI, targetSlots.get(bestIndex));
-                LogUtil.info("Inventory", "交换槽位 " + i + " 和槽位 " + bestIndex);
+        LogUtil.info("Inventory", "通用选择排序完成");
+    }
+    
+    /**
+     * 是否优先使用服务端整理
+     */
+    private boolean isServerSideSortEnabled() {
+        try {
+            InventorySortConfig config = ConfigManager.getInstance().getConfig(InventorySortConfig.class);
+            if (config != null) {
+                return config.getClickSettings().isServerSideSort();
             }
+        } catch (Exception e) {
+            LogUtil.warn("Inventory", "读取服务端整理设置失败，使用默认值: " + e.getMessage());
         }
+        return new InventorySortConfig.ClickSettings().isServerSideSort();
     }
     
-    LogUtil.info("Inventory", "通用选择排序完成");
-}
+    /**
+     * 从配置中读取次要排序键
+     */
+    private List<InventorySortConfig.SecondaryKey> getSecondaryKeys() {
+        try {
+            InventorySortConfig config = ConfigManager.getInstance().getConfig(InventorySortConfig.class);
+            if (config != null && config.getSortSettings() != null) {
+                return config.getSortSettings().getSecondaryKeys();
+            }
+        } catch (Exception e) {
+            LogUtil.warn("Inventory", "读取次要排序键失败，使用默认值: " + e.getMessage());
+        }
+        return new InventorySortConfig.SortSettings().getSecondaryKeys();
+    }
 }
@@ -24,4 +24,9 @@ public interface InventoryTransferService {
      * @param container 源容器
      */
     void withdrawFromContainer(Inventory container);
+    
+    /**
+     * 快速存入附近容器：把主背包中与附近容器已有物品相同的物品存入这些容器（由服务端执行）
+     */
+    void quickStackToNearby();
 }
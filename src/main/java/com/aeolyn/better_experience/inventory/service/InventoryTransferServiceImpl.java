@@ -1,17 +1,26 @@
 package com.aeolyn.better_experience.inventory.service;
 
 import com.aeolyn.better_experience.common.config.manager.ConfigManager;
+import com.aeolyn.better_experience.common.metrics.jfr.InventoryOperationEvent;
 import com.aeolyn.better_experience.common.util.LogUtil;
+import com.aeolyn.better_experience.inventory.click.ClickExecutor;
+import com.aeolyn.better_experience.inventory.click.PlanningExecutor;
 import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
+import com.aeolyn.better_experience.inventory.core.TransferPlanner;
+import com.aeolyn.better_experience.inventory.model.InventoryModelAdapter;
+import com.aeolyn.better_experience.inventory.network.QuickStackPayload;
+import com.aeolyn.better_experience.inventory.util.InventorySnapshot;
+import com.aeolyn.better_experience.inventory.util.InventorySnapshotTracker;
 import com.aeolyn.better_experience.inventory.util.InventoryStatsUtil;
 import com.aeolyn.better_experience.inventory.util.MouseSlotUtil;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.network.ClientPlayerEntity;
 import net.minecraft.inventory.Inventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.screen.ScreenHandler;
 import net.minecraft.screen.slot.Slot;
-import net.minecraft.screen.slot.SlotActionType;
+import net.minecraft.text.Text;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -58,21 +67,23 @@ public class InventoryTransferServiceImpl implements InventoryTransferService {
             LogUtil.info("Transfer", "智能转移逻辑: " + transferLogic.getDisplayName());
             
             boolean shouldDeposit;
-            Inventory containerInventory = InventoryStatsUtil.getContainerInventory(client.player);
+            // 一次性取得库存快照，后续判断都读取快照中的统计
+            InventorySnapshot snapshot = InventorySnapshotTracker.getInstance().current(client.player);
+            Inventory containerInventory = snapshot.getContainerInventory();
             
             // 记录库存统计信息
-            InventoryStatsUtil.logInventoryStats(client.player, containerInventory, "Transfer");
+            InventoryStatsUtil.logInventoryStats(snapshot, "Transfer");
             
             switch (transferLogic) {
                 case EMPTY_SLOTS:
                     // 根据空位数量决定转移方向
-                    shouldDeposit = shouldDepositByEmptySlots(client.player, containerInventory);
+                    shouldDeposit = shouldDepositByEmptySlots(snapshot);
                     LogUtil.info("Transfer", "根据空位数量判断: " + (shouldDeposit ? "存入容器" : "取出到背包"));
                     break;
                     
                 case ITEM_COUNT:
                     // 根据物品数量决定转移方向
-                    shouldDeposit = shouldDepositByItemCount(client.player, containerInventory);
+                    shouldDeposit = shouldDepositByItemCount(snapshot);
                     LogUtil.info("Transfer", "根据物品数量判断: " + (shouldDeposit ? "存入容器" : "取出到背包"));
                     break;
                     
@@ -98,7 +109,7 @@ public class InventoryTransferServiceImpl implements InventoryTransferService {
             if (shouldDeposit) {
                 // 执行存入操作（背包 -> 容器）
                 LogUtil.info("Transfer", "执行存入操作：背包 -> 容器");
-                depositAllFromPlayerInventory();
+                depositAllFromPlayerInventory(containerInventory);
             } else {
                 // 执行取出操作（容器 -> 背包）
                 LogUtil.info("Transfer", "执行取出操作：容器 -> 背包");
@@ -114,7 +125,7 @@ public class InventoryTransferServiceImpl implements InventoryTransferService {
     
     @Override
     public void depositToContainer(Inventory container) {
-        depositAllFromPlayerInventory();
+        depositAllFromPlayerInventory(container);
     }
     
     @Override
@@ -122,6 +133,22 @@ public class InventoryTransferServiceImpl implements InventoryTransferService {
         withdrawAllFromContainer(container);
     }
     
+    @Override
+    public void quickStackToNearby() {
+        ClientPlayerEntity player = MinecraftClient.getInstance().player;
+        if (player == null) {
+            return;
+        }
+        // 不逐槽位点击，整个操作在服务端的一个tick内完成
+        if (!ClientPlayNetworking.canSend(QuickStackPayload.ID)) {
+            player.sendMessage(Text.literal("§e服务端没有安装Better Experience，无法快速存入附近容器"), true);
+            return;
+        }
+        int radius = getQuickStackRadius();
+        LogUtil.info("Transfer", "请求快速存入附近容器，半径: " + radius);
+        ClientPlayNetworking.send(new QuickStackPayload(radius));
+    }
+    
     /**
      * 获取智能转移配置逻辑
      */
@@ -138,19 +165,50 @@ public class InventoryTransferServiceImpl implements InventoryTransferService {
         return InventorySortConfig.SmartTransferLogic.MOUSE_POSITION;
     }
     
+    /**
+     * 获取存入模式配置
+     */
+    private InventorySortConfig.DepositMode getDepositMode() {
+        try {
+            InventorySortConfig config = configManager.getConfig(InventorySortConfig.class);
+            if (config != null && config.getDepositMode() != null) {
+                return config.getDepositMode();
+            }
+        } catch (Exception e) {
+            LogUtil.warn("Transfer", "获取存入模式配置失败，使用默认值: " + e.getMessage());
+        }
+        // 默认值
+        return InventorySortConfig.DepositMode.ALL;
+    }
+    
+    /**
+     * 获取快速存入的容器距离
+     */
+    private int getQuickStackRadius() {
+        try {
+            InventorySortConfig config = configManager.getConfig(InventorySortConfig.class);
+            if (config != null) {
+                return config.getQuickStackRadius();
+            }
+        } catch (Exception e) {
+            LogUtil.warn("Transfer", "获取快速存入距离配置失败，使用默认值: " + e.getMessage());
+        }
+        // 默认值
+        return new InventorySortConfig().getQuickStackRadius();
+    }
+    
     /**
      * 根据空位数量决定是否应该存入容器
-     * @param player 玩家
-     * @param containerInventory 容器库存
+     * @param snapshot 库存快照
      * @return true 如果应该存入容器，false 如果应该取出到背包
      */
-    private boolean shouldDepositByEmptySlots(ClientPlayerEntity player, Inventory containerInventory) {
-        if (containerInventory == null) {
+    private boolean shouldDepositByEmptySlots(InventorySnapshot snapshot) {
+        if (!snapshot.hasContainer()) {
             return false; // 没有容器，默认不存入
         }
         
-        int playerEmptySlots = InventoryStatsUtil.countPlayerEmptySlots(player);
-        int containerEmptySlots = InventoryStatsUtil.countContainerEmptySlots(containerInventory);
+        int playerEmptySlots = snapshot.getPlayerMain().getEmptySlots();
+        int containerEmptySlots = snapshot.getContainer().getEmptySlots();
         
         LogUtil.info("Transfer", "空位数量比较 - 背包空位: " + playerEmptySlots + ", 容器空位: " + containerEmptySlots);
         
@@ -160,17 +218,16 @@ public class InventoryTransferServiceImpl implements InventoryTransferService {
     
     /**
      * 根据物品数量决定是否应该存入容器
-     * @param player 玩家
-     * @param containerInventory 容器库存
+     * @param snapshot 库存快照
      * @return true 如果应该存入容器，false 如果应该取出到背包
      */
-    private boolean shouldDepositByItemCount(ClientPlayerEntity player, Inventory containerInventory) {
-        if (containerInventory == null) {
+    private boolean shouldDepositByItemCount(InventorySnapshot snapshot) {
+        if (!snapshot.hasContainer()) {
             return false; // 没有容器，默认不存入
         }
         
-        int playerItemCount = InventoryStatsUtil.countPlayerItems(player);
-        int containerItemCount = InventoryStatsUtil.countContainerItems(containerInventory);
+        int playerItemCount = snapshot.getPlayerMain().getStacks();
+        int containerItemCount = snapshot.getContainer().getStacks();
         
         LogUtil.info("Transfer", "物品数量比较 - 背包物品: " + playerItemCount + ", 容器物品: " + containerItemCount);
         
@@ -181,9 +238,11 @@ public class InventoryTransferServiceImpl implements InventoryTransferService {
 
     
     /**
-     * 将背包中的所有物品存入容器
+     * 将背包中的物品存入容器
+     * 按存入模式生成QUICK_MOVE或PICKUP点击程序，由点击执行器按tick发送
+     * @param container 容器库存
      */
-    private void depositAllFromPlayerInventory() {
+    private void depositAllFromPlayerInventory(Inventory container) {
         try {
             MinecraftClient client = MinecraftClient.getInstance();
             ClientPlayerEntity player = client.player;
@@ -199,23 +258,43 @@ public class InventoryTransferServiceImpl implements InventoryTransferService {
             LogUtil.info("Transfer", "ScreenHandler类型: " + handler.getClass().getSimpleName());
             LogUtil.info("Transfer", "同步ID: " + syncId);
             
-            int processedSlots = 0;
+            InventorySortConfig.DepositMode depositMode = getDepositMode();
+            LogUtil.info("Transfer", "存入模式: " + depositMode.getDisplayName());
             
-            // 遍历背包槽位（9-35），对每个非空槽位执行QUICK_MOVE
+            // 收集背包槽位（9-35）中的非空槽位和容器的普通槽位（可以放入任何物品）
+            List<Integer> sourceSlots = new ArrayList<>();
+            List<Integer> containerSlots = new ArrayList<>();
             for (Slot slot : handler.slots) {
                 if (slot.inventory == player.getInventory() && 
                     slot.getIndex() >= 9 && slot.getIndex() < 36 &&
                     !slot.getStack().isEmpty()) {
                     
                     LogUtil.info("Transfer", "处理背包槽位 " + slot.getIndex() + " (ID: " + slot.id + "): " + slot.getStack().getName().getString());
-                    
-                    // 执行QUICK_MOVE（从背包到容器）
-                    client.interactionManager.clickSlot(syncId, slot.id, 0, SlotActionType.QUICK_MOVE, player);
-                    processedSlots++;
+                    sourceSlots.add(slot.id);
+                } else if (container != null && slot.inventory == container && isPlainSlot(slot)) {
+                    containerSlots.add(slot.id);
                 }
             }
             
-            LogUtil.info("Transfer", "背包物品存入完成，处理了 " + processedSlots + " 个槽位");
+            // 从背包到容器，容器放不下或不符合存入模式的槽位不发送
+            int[] slotIds = toArray(sourceSlots);
+            int[] containerSlotIds = toArray(containerSlots);
+            // 规划在后台线程上进行，结果交回客户端线程后提交
+            InventoryOperationEvent event = InventoryOperationEvent.start("存入容器", depositMode.name(), slotIds.length);
+            PlanningExecutor.getInstance().submit("存入容器", handler, InventoryModelAdapter.fromHandler(handler),
+                model -> TransferPlanner.planDeposit(depositMode, "存入容器", syncId, model, slotIds, containerSlotIds),
+                program -> {
+                    // 与服务端不同步时按界面的最新内容重新规划，已经转移走的槽位会被跳过
+                    program.setReplanner(() -> TransferPlanner.planDeposit(depositMode, "存入容器", syncId,
+                        InventoryModelAdapter.fromHandler(handler), slotIds, containerSlotIds));
+                    LogUtil.info("Transfer", "背包物品存入已提交，共 " + program.size() + " 次点击，" + sourceSlots.size() + " 个背包槽位");
+                    ClickExecutor.getInstance().submit(program)
+                        .thenAccept(report -> {
+                            event.finish(report);
+                            LogUtil.info("Transfer", "背包物品存入结束: " + report);
+                        });
+                },
+                event::abort);
             
         } catch (Exception e) {
             LogUtil.error("Transfer", "存入容器失败", e);
@@ -224,6 +303,7 @@ public class InventoryTransferServiceImpl implements InventoryTransferService {
     
     /**
      * 将容器中的所有物品取出到背包
+     * 生成QUICK_MOVE点击程序，由点击执行器按tick发送
      * @param container 容器库存
      * 
      */
@@ -241,19 +321,51 @@ public class InventoryTransferServiceImpl implements InventoryTransferService {
             
             LogUtil.info("Transfer", "开始将容器物品取出到背包");
             
-            // 遍历容器槽位，对每个非空槽位执行QUICK_MOVE
+            // 收集容器中的非空槽位和背包的普通槽位
+            List<Integer> sourceSlots = new ArrayList<>();
+            List<Integer> playerSlots = new ArrayList<>();
             for (Slot slot : handler.slots) {
                 if (slot.inventory == container && !slot.getStack().isEmpty()) {
-                    // 执行QUICK_MOVE（从容器到背包）
-                    client.interactionManager.clickSlot(syncId, slot.id, 0, SlotActionType.QUICK_MOVE, player);
-                    LogUtil.info("Transfer", "QUICK_MOVE 容器槽位 " + slot.getIndex() + ": " + slot.getStack().getName().getString());
+                    sourceSlots.add(slot.id);
+                    LogUtil.info("Transfer", "取出容器槽位 " + slot.getIndex() + ": " + slot.getStack().getName().getString());
+                } else if (slot.inventory == player.getInventory() && isPlainSlot(slot)) {
+                    playerSlots.add(slot.id);
                 }
             }
             
-            LogUtil.info("Transfer", "容器物品取出完成");
+            // 从容器到背包，零散的同类堆叠双击收集，其余逐个QUICK_MOVE，背包放不下的槽位不发送
+            int[] slotIds = toArray(sourceSlots);
+            int[] playerSlotIds = toArray(playerSlots);
+            // 规划在后台线程上进行，结果交回客户端线程后提交
+            InventoryOperationEvent event = InventoryOperationEvent.start("取出到背包", "bulk", slotIds.length);
+            PlanningExecutor.getInstance().submit("取出到背包", handler, InventoryModelAdapter.fromHandler(handler),
+                model -> TransferPlanner.planBulkTransfer("取出到背包", syncId, model, slotIds, playerSlotIds),
+                program -> {
+                    // 与服务端不同步时按界面的最新内容重新规划，已经转移走的槽位会被跳过
+                    program.setReplanner(() -> TransferPlanner.planBulkTransfer("取出到背包", syncId,
+                        InventoryModelAdapter.fromHandler(handler), slotIds, playerSlotIds));
+                    LogUtil.info("Transfer", "容器物品取出已提交，共 " + program.size() + " 次点击，" + sourceSlots.size() + " 个容器槽位");
+                    ClickExecutor.getInstance().submit(program)
+                        .thenAccept(report -> {
+                            event.finish(report);
+                            LogUtil.info("Transfer", "容器物品取出结束: " + report);
+                        });
+                },
+                event::abort);
             
         } catch (Exception e) {
             LogUtil.error("Transfer", "从容器取出失败", e);
         }
     }
+    
+    /**
+     * 普通槽位可以放入任何物品，收集到光标上的物品只放到这类槽位上
+     */
+    private static boolean isPlainSlot(Slot slot) {
+        return slot.getClass() == Slot.class;
+    }
+    
+    private static int[] toArray(List<Integer> slotIds) {
+        return slotIds.stream().mapToInt(Integer::intValue).toArray();
+    }
 }
@@ -0,0 +1,472 @@
+package com.aeolyn.better_experience.inventory.storage;
+
+import com.aeolyn.better_experience.common.util.LogUtil;
+import com.aeolyn.better_experience.inventory.util.ContainerPosUtil;
+import com.aeolyn.better_experience.inventory.util.InventoryStatsUtil;
+import com.aeolyn.better_experience.inventory.util.WorldScopeUtil;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
+import net.minecraft.screen.ScreenHandler;
+import net.minecraft.screen.slot.Slot;
+import net.minecraft.screen.slot.SlotActionType;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.util.hit.HitResult;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 客户端存储索引
+ * 记住每个打开过的容器（按世界、维度和方块坐标）的内容，并维护"物品 -> (位置, 数量)"倒排索引，
+ * 查询时不需要重新扫描任何容器
+ * <ul>
+ *   <li>打开容器时读取一次全部内容，之后按槽位更新包和本地点击逐槽位增减</li>
+ *   <li>关闭容器时把最终内容追加到 {@link StorageIndexLog}，由日志的写入线程批量写入</li>
+ *   <li>每个世界的索引在进入该世界后第一次tick时开始在写入线程上从日志加载，完成后在客户端线程上换入；
+ *       加载期间本地记下的内容在换入时重放到加载结果上</li>
+ * </ul>
+ */
+public class StorageIndex {
+
+    private static volatile StorageIndex instance;
+
+    private String scope;
+    private StorageIndexLog log;
+    private IndexData data = new IndexData();
+    // 日志还在后台加载时本地追加的记录，为null表示没有在加载
+    private List<StorageIndexLog.Entry> sinceLoad;
+    // 每次切换世界加一，之前开始的加载结果作废
+    private int loadGeneration;
+    // 物品ID -> 小写显示名称，用于搜索
+    private final Map<String, String> nameCache = new HashMap<>();
+
+    // 当前打开的容器
+    private ScreenHandler openHandler;
+    private StorageLocation openLocation;
+    private int[] positions = new int[0];
+    private String[] slotItems = new String[0];
+    private int[] slotCounts = new int[0];
+
+    private StorageIndex() {
+    }
+
+    /**
+     * 获取单例实例
+     */
+    public static StorageIndex getInstance() {
+        if (instance == null) {
+            synchronized (StorageIndex.class) {
+                if (instance == null) {
+                    instance = new StorageIndex();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 每个客户端tick结束时调用：加载当前世界的索引，检测容器界面的打开和关闭
+     */
+    public void tick(MinecraftClient client) {
+        ClientPlayerEntity player = client.player;
+        if (player == null || client.world == null) {
+            return;
+        }
+        ensureLoaded(client);
+
+        ScreenHandler current = player.currentScreenHandler;
+        if (current != openHandler) {
+            closeSession();
+            if (current != null && current != player.playerScreenHandler) {
+                openSession(client, player, current);
+            }
+        }
+    }
+
+    /**
+     * 断开连接时保存当前容器并卸载索引
+     */
+    public void clear() {
+        closeSession();
+        openHandler = null;
+        scope = null;
+        log = null;
+        data = new IndexData();
+        sinceLoad = null;
+        loadGeneration++;
+        nameCache.clear();
+    }
+
+    /**
+     * 收到槽位更新包（已写入界面之后调用）
+     */
+    public void onSlotUpdate(int syncId, int slotId) {
+        if (isTracking(syncId) && slotId >= 0 && slotId < positions.length && positions[slotId] >= 0) {
+            refreshSlot(slotId);
+        }
+    }
+
+    /**
+     * 收到整包同步
+     */
+    public void onInventorySync(int syncId) {
+        if (isTracking(syncId)) {
+            capture();
+        }
+    }
+
+    /**
+     * 本地发出一次点击（点击已在客户端界面上生效）
+     */
+    public void onClick(int syncId, int slotId, SlotActionType actionType) {
+        if (!isTracking(syncId)) {
+            return;
+        }
+        if (actionType == SlotActionType.PICKUP) {
+            onSlotUpdate(syncId, slotId);
+        } else {
+            capture();
+        }
+    }
+
+    // ==================== 查询 ====================
+
+    /**
+     * 查找存放某种物品的容器，同一维度的按距离由近到远排列
+     * @param itemId 物品ID（如 minecraft:redstone）
+     * @param dimension 玩家所在维度
+     * @param origin 玩家位置
+     */
+    public List<Match> find(String itemId, String dimension, BlockPos origin) {
+        List<Match> matches = new ArrayList<>();
+        Map<StorageLocation, Integer> locations = data.itemIndex.get(itemId);
+        if (locations != null) {
+            for (Map.Entry<StorageLocation, Integer> entry : locations.entrySet()) {
+                ContainerRecord record = data.containers.get(entry.getKey());
+                matches.add(new Match(entry.getKey(), itemId, entry.getValue(), record != null ? record.lastSeen : 0L));
+            }
+        }
+        matches.sort(byDistance(dimension, origin));
+        return matches;
+    }
+
+    /**
+     * 按物品ID或显示名称的子串搜索
+     * @param query 搜索词，不区分大小写
+     * @param limit 最多返回的结果数
+     */
+    public List<Match> search(String query, String dimension, BlockPos origin, int limit) {
+        String needle = query.trim().toLowerCase(Locale.ROOT);
+        List<Match> matches = new ArrayList<>();
+        if (needle.isEmpty()) {
+            return matches;
+        }
+        for (String itemId : data.itemIndex.keySet()) {
+            if (itemId.contains(needle) || getDisplayName(itemId).contains(needle)) {
+                matches.addAll(find(itemId, dimension, origin));
+            }
+        }
+        matches.sort(byDistance(dimension, origin));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * 已记住的容器数量
+     */
+    public int getContainerCount() {
+        return data.containers.size();
+    }
+
+    // ==================== 打开的容器 ====================
+
+    private boolean isTracking(int syncId) {
+        return openLocation != null && openHandler != null && openHandler.syncId == syncId;
+    }
+
+    /**
+     * 准星指向的方块实体是容器时开始跟踪，末影箱等按玩家区分内容的界面不记录
+     */
+    private void openSession(MinecraftClient client, ClientPlayerEntity player, ScreenHandler handler) {
+        openHandler = handler;
+        openLocation = null;
+        HitResult hit = client.crosshairTarget;
+        if (!(hit instanceof BlockHitResult blockHit) || hit.getType() != HitResult.Type.BLOCK) {
+            return;
+        }
+        BlockEntity blockEntity = client.world.getBlockEntity(blockHit.getBlockPos());
+        if (!(blockEntity instanceof Inventory)) {
+            return;
+        }
+        Inventory container = InventoryStatsUtil.getContainerInventory(player);
+        if (container == null) {
+            return;
+        }
+
+        int size = handler.slots.size();
+        positions = new int[size];
+        Arrays.fill(positions, -1);
+        int count = 0;
+        for (Slot slot : handler.slots) {
+            if (slot.inventory == container) {
+                positions[slot.id] = count++;
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        slotItems = new String[count];
+        slotCounts = new int[count];
+        // 大箱子从哪一半打开都记在同一个位置上
+        String dimension = client.world.getRegistryKey().getValue().toString();
+        BlockPos pos = ContainerPosUtil.getCanonicalPos(client.world, blockHit.getBlockPos());
+        openLocation = new StorageLocation(dimension, pos.asLong());
+        // 之前记住的内容作废，以界面上的为准；另一半上的旧记录也作废
+        data.removeRecord(openLocation);
+        BlockPos otherHalf = ContainerPosUtil.getOtherHalf(client.world, pos);
+        if (otherHalf != null) {
+            forgetRecord(new StorageLocation(dimension, otherHalf.asLong()));
+        }
+        capture();
+    }
+
+    /**
+     * 关闭界面：读取一次最终内容并写入日志
+     */
+    private void closeSession() {
+        if (openLocation == null) {
+            openHandler = null;
+            return;
+        }
+        capture();
+        ContainerRecord record = data.containers.get(openLocation);
+        Map<String, Integer> items = new LinkedHashMap<>();
+        long now = System.currentTimeMillis();
+        if (record != null) {
+            record.lastSeen = now;
+            items.putAll(record.items);
+            if (record.items.isEmpty()) {
+                data.containers.remove(openLocation);
+            }
+        }
+        append(new StorageIndexLog.Entry(openLocation, now, items));
+        openLocation = null;
+        openHandler = null;
+    }
+
+    /**
+     * 重新读取打开的容器的全部槽位
+     */
+    private void capture() {
+        for (int slotId = 0; slotId < positions.length; slotId++) {
+            if (positions[slotId] >= 0) {
+                refreshSlot(slotId);
+            }
+        }
+    }
+
+    /**
+     * 用槽位的当前内容替换上次计入的内容
+     */
+    private void refreshSlot(int slotId) {
+        int position = positions[slotId];
+        ItemStack stack = openHandler.slots.get(slotId).getStack();
+        String itemId = stack.isEmpty() ? null : Registries.ITEM.getId(stack.getItem()).toString();
+        int count = stack.getCount();
+        if (itemId != null && itemId.equals(slotItems[position]) && count == slotCounts[position]) {
+            return;
+        }
+        if (slotItems[position] != null) {
+            data.adjust(openLocation, slotItems[position], -slotCounts[position]);
+        }
+        if (itemId != null) {
+            data.adjust(openLocation, itemId, count);
+        }
+        slotItems[position] = itemId;
+        slotCounts[position] = itemId != null ? count : 0;
+    }
+
+    // ==================== 索引维护 ====================
+
+    /**
+     * 删除记录，并在日志中追加空内容，加载时不再恢复
+     */
+    private void forgetRecord(StorageLocation location) {
+        // 加载期间还不知道有没有记录，照常追加，换入时重放
+        if (!data.containers.containsKey(location) && sinceLoad == null) {
+            return;
+        }
+        data.removeRecord(location);
+        append(new StorageIndexLog.Entry(location, System.currentTimeMillis(), new LinkedHashMap<>()));
+    }
+
+    /**
+     * 追加一条日志记录；日志还在加载时同时记下，换入加载结果时重放
+     */
+    private void append(StorageIndexLog.Entry entry) {
+        if (log == null) {
+            return;
+        }
+        log.append(entry);
+        if (sinceLoad != null) {
+            sinceLoad.add(entry);
+        }
+    }
+
+    /**
+     * 切换世界时在日志的写入线程上加载索引，不阻塞客户端线程
+     */
+    private void ensureLoaded(MinecraftClient client) {
+        String currentScope = WorldScopeUtil.getFileSafeScope(client);
+        if (currentScope.equals(scope)) {
+            return;
+        }
+        clear();
+        scope = currentScope;
+        log = new StorageIndexLog(currentScope);
+        sinceLoad = new ArrayList<>();
+        int generation = loadGeneration;
+        StorageIndexLog loading = log;
+        loading.submit(() -> {
+            IndexData loaded = new IndexData();
+            loading.replay(loaded::apply);
+            loading.compactIfNeeded(loaded.entries(), loaded.containers.size());
+            return loaded;
+        }).whenComplete((loaded, error) -> client.execute(() -> swapIn(generation, loaded, error)));
+    }
+
+    /**
+     * 在客户端线程上换入加载结果，并重放加载期间本地追加的记录
+     */
+    private void swapIn(int generation, IndexData loaded, Throwable error) {
+        if (generation != loadGeneration) {
+            return;
+        }
+        List<StorageIndexLog.Entry> pending = sinceLoad;
+        sinceLoad = null;
+        if (error != null) {
+            LogUtil.error("Inventory", "加载存储索引失败: " + scope, error);
+            return;
+        }
+        for (StorageIndexLog.Entry entry : pending) {
+            loaded.apply(entry);
+        }
+        data = loaded;
+        if (openLocation != null) {
+            // 正在打开的容器以界面上的内容为准
+            data.removeRecord(openLocation);
+            Arrays.fill(slotItems, null);
+            Arrays.fill(slotCounts, 0);
+            capture();
+        }
+        LogUtil.info("Inventory", "加载存储索引: " + scope + "，" + data.containers.size() + " 个容器，" + data.itemIndex.size() + " 种物品");
+    }
+
+    private String getDisplayName(String itemId) {
+        return nameCache.computeIfAbsent(itemId, id -> {
+            Identifier identifier = Identifier.tryParse(id);
+            if (identifier == null || !Registries.ITEM.containsId(identifier)) {
+                return id;
+            }
+            Item item = Registries.ITEM.get(identifier);
+            return item.getName().getString().toLowerCase(Locale.ROOT);
+        });
+    }
+
+    private static Comparator<Match> byDistance(String dimension, BlockPos origin) {
+        return Comparator.<Match>comparingInt(match -> match.location().dimension().equals(dimension) ? 0 : 1)
+            .thenComparingDouble(match -> match.location().getBlockPos().getSquaredDistance(origin));
+    }
+
+    /**
+     * 容器记录和倒排索引，加载时在写入线程上构建，换入后只在客户端线程上访问
+     */
+    private static final class IndexData {
+        final Map<StorageLocation, ContainerRecord> containers = new HashMap<>();
+        // 物品ID -> 位置 -> 数量
+        final Map<String, Map<StorageLocation, Integer>> itemIndex = new HashMap<>();
+
+        void adjust(StorageLocation location, String itemId, int delta) {
+            ContainerRecord record = containers.computeIfAbsent(location, key -> new ContainerRecord());
+            int total = record.items.getOrDefault(itemId, 0) + delta;
+            Map<StorageLocation, Integer> locations = itemIndex.computeIfAbsent(itemId, key -> new HashMap<>());
+            if (total > 0) {
+                record.items.put(itemId, total);
+                locations.put(location, total);
+            } else {
+                record.items.remove(itemId);
+                locations.remove(location);
+                if (locations.isEmpty()) {
+                    itemIndex.remove(itemId);
+                }
+            }
+        }
+
+        void removeRecord(StorageLocation location) {
+            ContainerRecord record = containers.remove(location);
+            if (record == null) {
+                return;
+            }
+            for (String itemId : record.items.keySet()) {
+                Map<StorageLocation, Integer> locations = itemIndex.get(itemId);
+                if (locations != null) {
+                    locations.remove(location);
+                    if (locations.isEmpty()) {
+                        itemIndex.remove(itemId);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 用一条日志记录替换该位置的内容
+         */
+        void apply(StorageIndexLog.Entry entry) {
+            removeRecord(entry.location());
+            for (Map.Entry<String, Integer> item : entry.items().entrySet()) {
+                adjust(entry.location(), item.getKey(), item.getValue());
+            }
+            ContainerRecord record = containers.get(entry.location());
+            if (record != null) {
+                record.lastSeen = entry.lastSeen();
+            }
+        }
+
+        /**
+         * 全部有效记录，用于压缩日志
+         */
+        List<StorageIndexLog.Entry> entries() {
+            List<StorageIndexLog.Entry> live = new ArrayList<>(containers.size());
+            for (Map.Entry<StorageLocation, ContainerRecord> entry : containers.entrySet()) {
+                live.add(new StorageIndexLog.Entry(entry.getKey(), entry.getValue().lastSeen, entry.getValue().items));
+            }
+            return live;
+        }
+    }
+
+    /**
+     * 一个容器记住的内容
+     */
+    private static final class ContainerRecord {
+        final Map<String, Integer> items = new LinkedHashMap<>();
+        long lastSeen;
+    }
+
+    /**
+     * 查询结果：某个位置存放的某种物品
+     */
+    public record Match(StorageLocation location, String itemId, int count, long lastSeen) {
+    }
+}
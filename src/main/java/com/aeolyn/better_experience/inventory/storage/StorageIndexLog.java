@@ -0,0 +1,188 @@
+package com.aeolyn.better_experience.inventory.storage;
+
+import com.aeolyn.better_experience.common.util.LogUtil;
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 存储索引日志
+ * 每个世界一个只追加的文本文件，每行记录一个容器最近一次看到的内容：
+ * <pre>维度 \t 坐标 \t 时间戳 \t 物品=数量,物品=数量</pre>
+ * 读取时按顺序重放，同一位置以最后一行为准；内容为空的行表示容器已清空。
+ * 过期行太多时整体重写一次
+ * 文件读写都在一个后台写入线程上按提交顺序执行：追加的记录先进入队列，由写入线程一次打开文件批量写入
+ */
+public class StorageIndexLog {
+
+    private static final String STORAGE_DIR = "storage_index";
+
+    // 所有世界共用一个写入线程，重放、追加和压缩不会交错
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "BetterExperience-StorageIndex");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path path;
+    // 只在写入线程上访问
+    private int lines;
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    public StorageIndexLog(String scope) {
+        this.path = FabricLoader.getInstance().getConfigDir().resolve("better_experience").resolve(STORAGE_DIR).resolve(scope + ".log");
+    }
+
+    /**
+     * 在写入线程上执行任务（用于重放和压缩），在之前追加的记录写入之后、之后追加的记录写入之前执行
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, WRITER);
+    }
+
+    /**
+     * 重放日志，只在写入线程上调用
+     * @param consumer 每条记录的处理器
+     */
+    public void replay(Consumer<Entry> consumer) {
+        lines = 0;
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Entry entry = Entry.parse(line);
+                if (entry != null) {
+                    consumer.accept(entry);
+                    lines++;
+                }
+            }
+        } catch (Exception e) {
+            LogUtil.error("Inventory", "读取存储索引失败: " + path, e);
+        }
+    }
+
+    /**
+     * 追加一条记录：放入队列后立即返回，由写入线程批量写入
+     */
+    public void append(Entry entry) {
+        pending.add(entry);
+        if (flushScheduled.compareAndSet(false, true)) {
+            WRITER.execute(this::flush);
+        }
+    }
+
+    /**
+     * 把队列中的记录一次写入文件
+     */
+    private void flush() {
+        // 先清除标记再取队列，取完之后追加的记录会安排下一次写入
+        flushScheduled.set(false);
+        List<Entry> batch = new ArrayList<>();
+        Entry entry;
+        while ((entry = pending.poll()) != null) {
+            batch.add(entry);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(path.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Entry line : batch) {
+                    writer.write(line.format());
+                    writer.newLine();
+                }
+            }
+            lines += batch.size();
+        } catch (Exception e) {
+            LogUtil.error("Inventory", "写入存储索引失败: " + path, e);
+        }
+    }
+
+    /**
+     * 过期行超过有效记录数时，只保留有效记录重写文件，只在写入线程上调用
+     * @param live 当前全部有效记录
+     */
+    public void compactIfNeeded(Iterable<Entry> live, int liveCount) {
+        if (lines <= liveCount * 2 + 64) {
+            return;
+        }
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            int written = 0;
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Entry entry : live) {
+                    writer.write(entry.format());
+                    writer.newLine();
+                    written++;
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LogUtil.info("Inventory", "存储索引压缩: " + lines + " -> " + written + " 行");
+            lines = written;
+        } catch (Exception e) {
+            LogUtil.error("Inventory", "压缩存储索引失败: " + path, e);
+        }
+    }
+
+    /**
+     * 一条日志记录
+     */
+    public record Entry(StorageLocation location, long lastSeen, Map<String, Integer> items) {
+
+        String format() {
+            StringBuilder builder = new StringBuilder();
+            builder.append(location.dimension()).append('\t').append(location.pos()).append('\t').append(lastSeen).append('\t');
+            boolean first = true;
+            for (Map.Entry<String, Integer> item : items.entrySet()) {
+                if (!first) builder.append(',');
+                builder.append(item.getKey()).append('=').append(item.getValue());
+                first = false;
+            }
+            return builder.toString();
+        }
+
+        static Entry parse(String line) {
+            String[] parts = line.split("\t", -1);
+            if (parts.length != 4) {
+                return null;
+            }
+            try {
+                StorageLocation location = new StorageLocation(parts[0], Long.parseLong(parts[1]));
+                Map<String, Integer> items = new LinkedHashMap<>();
+                if (!parts[3].isEmpty()) {
+                    for (String item : parts[3].split(",")) {
+                        int separator = item.lastIndexOf('=');
+                        items.merge(item.substring(0, separator), Integer.parseInt(item.substring(separator + 1)), Integer::sum);
+                    }
+                }
+                return new Entry(location, Long.parseLong(parts[2]), items);
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.aeolyn.better_experience.inventory.storage;
+
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * 容器位置：维度 + 方块坐标
+ * @param dimension 维度ID（如 minecraft:overworld）
+ * @param pos 方块坐标的 {@link BlockPos#asLong()} 编码
+ */
+public record StorageLocation(String dimension, long pos) {
+
+    public BlockPos getBlockPos() {
+        return BlockPos.fromLong(pos);
+    }
+
+    @Override
+    public String toString() {
+        BlockPos blockPos = getBlockPos();
+        return blockPos.getX() + ", " + blockPos.getY() + ", " + blockPos.getZ() + " (" + dimension + ")";
+    }
+}
@@ -0,0 +1,63 @@
+package com.aeolyn.better_experience.inventory.template;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 容器布局模板
+ * 紧凑存储：物品键只在调色板中出现一次，每格记录调色板下标，-1表示不关心
+ * 物品键为物品ID加上相对默认组件的改动（SNBT），没有改动时就是物品ID，可堆叠的物品键相同
+ */
+public class LayoutTemplate {
+
+    /** 不关心内容的格子 */
+    public static final int ANY = -1;
+
+    @SerializedName("palette")
+    private List<String> palette = new ArrayList<>();
+
+    @SerializedName("slots")
+    private int[] slots = new int[0];
+
+    public LayoutTemplate() {}
+
+    public LayoutTemplate(List<String> palette, int[] slots) {
+        this.palette = palette;
+        this.slots = slots;
+    }
+
+    // ==================== Getters and Setters ====================
+
+    public List<String> getPalette() {
+        return palette;
+    }
+
+    public void setPalette(List<String> palette) {
+        this.palette = palette;
+    }
+
+    public int[] getSlots() {
+        return slots;
+    }
+
+    public void setSlots(int[] slots) {
+        this.slots = slots;
+    }
+
+    public int size() {
+        return slots == null ? 0 : slots.length;
+    }
+
+    /**
+     * 第index格要求的物品键，不关心时返回null
+     */
+    public String getItemAt(int index) {
+        int entry = slots[index];
+        if (entry < 0 || palette == null || entry >= palette.size()) {
+            return null;
+        }
+        return palette.get(entry);
+    }
+}
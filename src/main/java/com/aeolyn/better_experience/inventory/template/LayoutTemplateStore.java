@@ -0,0 +1,94 @@
+package com.aeolyn.better_experience.inventory.template;
+
+import com.aeolyn.better_experience.common.util.LogUtil;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 布局模板存储
+ * 所有模板保存在一个紧凑的JSON文件中，第一次使用时才读取，修改后立即写回
+ */
+public class LayoutTemplateStore {
+
+    private static final String TEMPLATE_FILE_NAME = "layout_templates.json";
+    private static final Type TEMPLATE_MAP_TYPE = new TypeToken<LinkedHashMap<String, LayoutTemplate>>() {}.getType();
+
+    private static volatile LayoutTemplateStore instance;
+
+    private final Gson gson = new GsonBuilder().create();
+    private Map<String, LayoutTemplate> templates;
+
+    private LayoutTemplateStore() {
+    }
+
+    /**
+     * 获取单例实例
+     */
+    public static LayoutTemplateStore getInstance() {
+        if (instance == null) {
+            synchronized (LayoutTemplateStore.class) {
+                if (instance == null) {
+                    instance = new LayoutTemplateStore();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 按键查找模板，没有时返回null
+     */
+    public synchronized LayoutTemplate get(String key) {
+        return load().get(key);
+    }
+
+    /**
+     * 保存模板并写回文件
+     */
+    public synchronized void put(String key, LayoutTemplate template) {
+        load().put(key, template);
+        save();
+    }
+
+    private Map<String, LayoutTemplate> load() {
+        if (templates != null) {
+            return templates;
+        }
+        templates = new LinkedHashMap<>();
+        Path path = getTemplatePath();
+        try {
+            if (Files.exists(path)) {
+                Map<String, LayoutTemplate> loaded = gson.fromJson(Files.readString(path), TEMPLATE_MAP_TYPE);
+                if (loaded != null) {
+                    templates.putAll(loaded);
+                }
+                LogUtil.info("Inventory", "加载布局模板 " + templates.size() + " 个");
+            }
+        } catch (Exception e) {
+            LogUtil.error("Inventory", "加载布局模板失败", e);
+        }
+        return templates;
+    }
+
+    private void save() {
+        try {
+            Path path = getTemplatePath();
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, gson.toJson(templates, TEMPLATE_MAP_TYPE));
+        } catch (Exception e) {
+            LogUtil.error("Inventory", "保存布局模板失败", e);
+        }
+    }
+
+    private Path getTemplatePath() {
+        return FabricLoader.getInstance().getConfigDir().resolve("better_experience").resolve(TEMPLATE_FILE_NAME);
+    }
+}
@@ -0,0 +1,39 @@
+package com.aeolyn.better_experience.inventory.util;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.ChestBlock;
+import net.minecraft.block.enums.ChestType;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.BlockView;
+
+/**
+ * 容器位置工具类
+ * 大箱子由两个方块组成，从哪一半打开都是同一个容器，按位置记录的数据统一使用较小的那一半的坐标
+ */
+public class ContainerPosUtil {
+
+    /**
+     * 容器的规范位置：大箱子取两半中较小的坐标，其余方块原样返回
+     * @param world 世界
+     * @param pos 打开容器时指向的方块位置
+     * @return 规范位置
+     */
+    public static BlockPos getCanonicalPos(BlockView world, BlockPos pos) {
+        BlockPos other = getOtherHalf(world, pos);
+        return other != null && other.compareTo(pos) < 0 ? other : pos;
+    }
+
+    /**
+     * 大箱子的另一半
+     * @param world 世界
+     * @param pos 箱子的一半
+     * @return 另一半的位置，不是大箱子时返回null
+     */
+    public static BlockPos getOtherHalf(BlockView world, BlockPos pos) {
+        BlockState state = world.getBlockState(pos);
+        if (!(state.getBlock() instanceof ChestBlock) || state.get(ChestBlock.CHEST_TYPE) == ChestType.SINGLE) {
+            return null;
+        }
+        return pos.offset(ChestBlock.getFacing(state));
+    }
+}
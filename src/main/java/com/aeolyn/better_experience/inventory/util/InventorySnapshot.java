@@ -0,0 +1,223 @@
+package com.aeolyn.better_experience.inventory.util;
+
+import net.minecraft.inventory.Inventory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 库存快照
+ * 一次遍历界面槽位得到的聚合统计：主背包（9-35）和容器两部分的空位数、堆叠数、物品总数、
+ * 每种物品的数量和可追加空间。读取都是O(1)，由 {@link InventorySnapshotTracker} 增量维护
+ * 标量统计在生成快照时固定；物品直方图是追踪器中实时聚合的只读视图，生成快照时记下版本号，
+ * 聚合再变化后读取直方图会抛出 {@link IllegalStateException}，需要重新获取快照
+ */
+public final class InventorySnapshot {
+
+    private final int syncId;
+    private final Inventory containerInventory;
+    private final Stats playerMain;
+    private final Stats container;
+
+    InventorySnapshot(int syncId, Inventory containerInventory, Stats playerMain, Stats container) {
+        this.syncId = syncId;
+        this.containerInventory = containerInventory;
+        this.playerMain = playerMain;
+        this.container = container;
+    }
+
+    public int getSyncId() {
+        return syncId;
+    }
+
+    /**
+     * 容器库存对象，没有容器时为null
+     */
+    public Inventory getContainerInventory() {
+        return containerInventory;
+    }
+
+    public boolean hasContainer() {
+        return containerInventory != null;
+    }
+
+    /**
+     * 主背包统计（不包括快捷栏）
+     */
+    public Stats getPlayerMain() {
+        return playerMain;
+    }
+
+    /**
+     * 容器统计，没有容器时为空统计
+     */
+    public Stats getContainer() {
+        return container;
+    }
+
+    @Override
+    public String toString() {
+        return "InventorySnapshot{syncId=" + syncId + ", playerMain=" + playerMain + ", container=" + container + "}";
+    }
+
+    /**
+     * 一部分库存的聚合统计
+     */
+    public static final class Stats {
+
+        public static final Stats EMPTY = new Stats(0, 0, 0, 0, null, 0);
+
+        private final int slots;
+        private final int emptySlots;
+        private final int stacks;
+        private final int totalItems;
+        // 实时聚合和生成快照时的版本号，空统计为null
+        private final Aggregate source;
+        private final int version;
+
+        private Stats(int slots, int emptySlots, int stacks, int totalItems, Aggregate source, int version) {
+            this.slots = slots;
+            this.emptySlots = emptySlots;
+            this.stacks = stacks;
+            this.totalItems = totalItems;
+            this.source = source;
+            this.version = version;
+        }
+
+        public int getSlots() {
+            return slots;
+        }
+
+        public int getEmptySlots() {
+            return emptySlots;
+        }
+
+        /**
+         * 非空槽位数量
+         */
+        public int getStacks() {
+            return stacks;
+        }
+
+        /**
+         * 物品总数量（包括堆叠数量）
+         */
+        public int getTotalItems() {
+            return totalItems;
+        }
+
+        /**
+         * 生成快照后聚合是否还没有变化，变化后不能再读取直方图
+         */
+        public boolean isCurrent() {
+            return source == null || source.version == version;
+        }
+
+        /**
+         * 物品直方图（只读视图，快照过期后不能使用）
+         */
+        public Map<Long, Integer> getItemTotals() {
+            return source == null ? Map.of() : checkCurrent().itemTotalsView;
+        }
+
+        /**
+         * 某种物品的数量
+         * @param itemKey 物品键，见 {@link com.aeolyn.better_experience.inventory.model.InventoryModelAdapter#getItemKey}
+         */
+        public int getItemCount(long itemKey) {
+            return source == null ? 0 : checkCurrent().itemTotals.getOrDefault(itemKey, 0);
+        }
+
+        /**
+         * 某种物品还能放入的数量：未满堆叠的剩余空间加上空位
+         * @param itemKey 物品键
+         * @param maxStack 该物品的最大堆叠数
+         */
+        public int getFreeSpace(long itemKey, int maxStack) {
+            int partial = source == null ? 0 : checkCurrent().partialSpace.getOrDefault(itemKey, 0);
+            return partial + emptySlots * maxStack;
+        }
+
+        private Aggregate checkCurrent() {
+            if (source.version != version) {
+                throw new IllegalStateException("库存快照已过期，请重新获取");
+            }
+            return source;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{slots=" + slots + ", empty=" + emptySlots + ", stacks=" + stacks
+                + ", items=" + totalItems + (isCurrent() ? "" : ", stale") + "}";
+        }
+    }
+
+    /**
+     * 可变的聚合累加器，按槽位增减，由追踪器持有
+     * 每次变化递增版本号，使之前生成的快照的直方图读取失效
+     */
+    static final class Aggregate {
+        int slots;
+        int emptySlots;
+        int stacks;
+        int totalItems;
+        int version;
+        // 物品键 -> 数量
+        final Map<Long, Integer> itemTotals = new HashMap<>();
+        // 物品键 -> 未满堆叠上还能追加的数量
+        final Map<Long, Integer> partialSpace = new HashMap<>();
+        final Map<Long, Integer> itemTotalsView = Collections.unmodifiableMap(itemTotals);
+
+        void add(boolean empty, long key, int count, int maxStack) {
+            version++;
+            slots++;
+            if (empty) {
+                emptySlots++;
+                return;
+            }
+            stacks++;
+            totalItems += count;
+            itemTotals.merge(key, count, Integer::sum);
+            if (count < maxStack) {
+                partialSpace.merge(key, maxStack - count, Integer::sum);
+            }
+        }
+
+        void remove(boolean empty, long key, int count, int maxStack) {
+            version++;
+            slots--;
+            if (empty) {
+                emptySlots--;
+                return;
+            }
+            stacks--;
+            totalItems -= count;
+            decrement(itemTotals, key, count);
+            if (count < maxStack) {
+                decrement(partialSpace, key, maxStack - count);
+            }
+        }
+
+        void clear() {
+            version++;
+            slots = 0;
+            emptySlots = 0;
+            stacks = 0;
+            totalItems = 0;
+            itemTotals.clear();
+            partialSpace.clear();
+        }
+
+        /**
+         * 生成当前版本的统计，O(1)，不复制直方图
+         */
+        Stats freeze() {
+            return new Stats(slots, emptySlots, stacks, totalItems, this, version);
+        }
+
+        private static void decrement(Map<Long, Integer> map, long key, int amount) {
+            map.computeIfPresent(key, (k, value) -> value - amount > 0 ? value - amount : null);
+        }
+    }
+}
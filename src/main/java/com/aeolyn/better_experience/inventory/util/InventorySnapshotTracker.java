@@ -0,0 +1,194 @@
+package com.aeolyn.better_experience.inventory.util;
+
+import com.aeolyn.better_experience.inventory.model.InventoryModelAdapter;
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.screen.ScreenHandler;
+import net.minecraft.screen.slot.Slot;
+import net.minecraft.screen.slot.SlotActionType;
+
+import java.util.Arrays;
+
+/**
+ * 库存快照追踪器
+ * 界面打开后第一次读取时遍历一次槽位建立聚合，之后根据槽位更新包和本地点击逐槽位增减，
+ * 不再每次决策都全量扫描；整包同步或无法定位的变化会标记重建
+ * 快照只在聚合变化后的下一次读取时重新生成，生成只复制标量统计，直方图直接读取聚合（带版本号的只读视图）
+ */
+public class InventorySnapshotTracker {
+
+    /** 槽位更新包中直接指向玩家背包索引的syncId */
+    private static final int PLAYER_INVENTORY_SYNC_ID = -2;
+
+    private static final int PART_NONE = 0;
+    private static final int PART_PLAYER_MAIN = 1;
+    private static final int PART_CONTAINER = 2;
+
+    private static volatile InventorySnapshotTracker instance;
+
+    private ScreenHandler handler;
+    private Inventory containerInventory;
+    private boolean dirty = true;
+    private InventorySnapshot snapshot;
+
+    private final InventorySnapshot.Aggregate playerMain = new InventorySnapshot.Aggregate();
+    private final InventorySnapshot.Aggregate container = new InventorySnapshot.Aggregate();
+
+    // 槽位ID -> 计入的部分和上次计入的内容
+    private int[] parts = new int[0];
+    private boolean[] empty = new boolean[0];
+    private long[] keys = new long[0];
+    private int[] counts = new int[0];
+    private int[] maxStacks = new int[0];
+
+    private InventorySnapshotTracker() {
+    }
+
+    /**
+     * 获取单例实例
+     */
+    public static InventorySnapshotTracker getInstance() {
+        if (instance == null) {
+            synchronized (InventorySnapshotTracker.class) {
+                if (instance == null) {
+                    instance = new InventorySnapshotTracker();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 当前界面的库存快照
+     * 界面变化或标记重建时遍历一次槽位，否则直接返回增量维护的结果
+     */
+    public InventorySnapshot current(ClientPlayerEntity player) {
+        ScreenHandler current = player.currentScreenHandler;
+        if (current != handler || dirty) {
+            rebuild(player, current);
+        }
+        if (snapshot == null) {
+            snapshot = new InventorySnapshot(handler.syncId, containerInventory, playerMain.freeze(),
+                containerInventory != null ? container.freeze() : InventorySnapshot.Stats.EMPTY);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 清空追踪状态（断开连接时调用）
+     */
+    public void clear() {
+        handler = null;
+        containerInventory = null;
+        snapshot = null;
+        dirty = true;
+    }
+
+    /**
+     * 收到槽位更新包（已写入界面之后调用）
+     */
+    public void onSlotUpdate(int syncId, int slotId) {
+        if (syncId == PLAYER_INVENTORY_SYNC_ID && handler != null) {
+            // 直接指向背包索引的更新，不经过界面槽位
+            dirty = true;
+            return;
+        }
+        if (isTracking(syncId) && slotId >= 0 && slotId < parts.length) {
+            refresh(slotId);
+        }
+    }
+
+    /**
+     * 收到整包同步
+     */
+    public void onInventorySync(int syncId) {
+        if (isTracking(syncId)) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * 本地发出一次点击（点击已在客户端界面上生效）
+     * 单槽位的PICKUP只刷新该槽位，其他会影响多个槽位的点击标记重建
+     */
+    public void onClick(int syncId, int slotId, SlotActionType actionType) {
+        if (!isTracking(syncId)) {
+            return;
+        }
+        if (actionType == SlotActionType.PICKUP) {
+            if (slotId >= 0 && slotId < parts.length) {
+                refresh(slotId);
+            }
+            return;
+        }
+        dirty = true;
+    }
+
+    private boolean isTracking(int syncId) {
+        return handler != null && !dirty && handler.syncId == syncId;
+    }
+
+    /**
+     * 遍历一次界面槽位，重建全部聚合
+     */
+    private void rebuild(ClientPlayerEntity player, ScreenHandler current) {
+        handler = current;
+        containerInventory = InventoryStatsUtil.getContainerInventory(player);
+        playerMain.clear();
+        container.clear();
+        snapshot = null;
+        dirty = false;
+
+        int size = current.slots.size();
+        if (parts.length < size) {
+            parts = new int[size];
+            empty = new boolean[size];
+            keys = new long[size];
+            counts = new int[size];
+            maxStacks = new int[size];
+        } else {
+            Arrays.fill(parts, PART_NONE);
+        }
+
+        PlayerInventory playerInventory = player.getInventory();
+        for (int i = 0; i < size; i++) {
+            Slot slot = current.slots.get(i);
+            if (slot.inventory == playerInventory) {
+                int index = slot.getIndex();
+                parts[i] = index >= 9 && index < PlayerInventory.MAIN_SIZE ? PART_PLAYER_MAIN : PART_NONE;
+            } else {
+                parts[i] = slot.inventory == containerInventory ? PART_CONTAINER : PART_NONE;
+            }
+            if (parts[i] != PART_NONE) {
+                record(i, slot);
+            }
+        }
+    }
+
+    /**
+     * 用槽位的当前内容替换上次计入的内容
+     */
+    private void refresh(int slotId) {
+        if (parts[slotId] == PART_NONE) {
+            return;
+        }
+        aggregateOf(parts[slotId]).remove(empty[slotId], keys[slotId], counts[slotId], maxStacks[slotId]);
+        record(slotId, handler.slots.get(slotId));
+        snapshot = null;
+    }
+
+    private void record(int slotId, Slot slot) {
+        ItemStack stack = slot.getStack();
+        empty[slotId] = stack.isEmpty();
+        keys[slotId] = stack.isEmpty() ? 0L : InventoryModelAdapter.getItemKey(stack);
+        counts[slotId] = stack.getCount();
+        maxStacks[slotId] = stack.isEmpty() ? 0 : slot.getMaxItemCount(stack);
+        aggregateOf(parts[slotId]).add(empty[slotId], keys[slotId], counts[slotId], maxStacks[slotId]);
+    }
+
+    private InventorySnapshot.Aggregate aggregateOf(int part) {
+        return part == PART_PLAYER_MAIN ? playerMain : container;
+    }
+}
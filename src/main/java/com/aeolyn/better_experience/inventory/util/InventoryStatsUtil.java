@@ -9,6 +9,7 @@ import net.minecraft.screen.slot.Slot;
 /**
  * 库存统计工具类
  * 提供统计空位数量、物品数量等功能
+ * 逐槽位扫描的方法用于零散查询，需要多项统计时使用 {@link InventorySnapshotTracker} 的快照
  */
 public class InventoryStatsUtil {
     
@@ -153,4 +154,18 @@ public class InventoryStatsUtil {
         LogUtil.info(logTag, "背包空位: " + playerEmptySlots + ", 背包物品: " + playerItems);
         LogUtil.info(logTag, "容器空位: " + containerEmptySlots + ", 容器物品: " + containerItems);
     }
+    
+    /**
+     * 根据库存快照记录统计信息到日志
+     * @param snapshot 库存快照
+     * @param logTag 日志标签
+     */
+    public static void logInventoryStats(InventorySnapshot snapshot, String logTag) {
+        InventorySnapshot.Stats player = snapshot.getPlayerMain();
+        InventorySnapshot.Stats container = snapshot.getContainer();
+        
+        LogUtil.info(logTag, "=== 库存统计 ===");
+        LogUtil.info(logTag, "背包空位: " + player.getEmptySlots() + ", 背包物品: " + player.getStacks() + ", 背包物品总数: " + player.getTotalItems());
+        LogUtil.info(logTag, "容器空位: " + container.getEmptySlots() + ", 容器物品: " + container.getStacks() + ", 容器物品总数: " + container.getTotalItems());
+    }
 }
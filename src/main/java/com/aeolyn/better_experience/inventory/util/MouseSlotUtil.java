@@ -1,6 +1,9 @@
 package com.aeolyn.better_experience.inventory.util;
 
 import com.aeolyn.better_experience.common.util.LogUtil;
+import com.aeolyn.better_experience.mixin.inventory.HandledScreenAccessor;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.screen.ingame.CreativeInventoryScreen;
 import net.minecraft.client.gui.screen.ingame.HandledScreen;
 import net.minecraft.screen.slot.Slot;
 
@@ -13,7 +16,7 @@ public class MouseSlotUtil {
     
     /**
      * 获取指定位置的槽位
-     * 使用反射调用 HandledScreen 的 getSlotAt 方法
+     * 使用界面的槽位网格索引查找；创造模式物品栏的槽位会随标签页移动，调用原版的 getSlotAt
      * 
      * @param handledScreen 容器界面
      * @param mouseX 鼠标X坐标（已缩放）
@@ -21,56 +24,40 @@ public class MouseSlotUtil {
      * @return 鼠标下的槽位，如果未找到则返回null
      */
     public static Slot getSlotAtPosition(HandledScreen<?> handledScreen, double mouseX, double mouseY) {
-        try {
-            // 尝试通过反射获取槽位
-            Class<?> currentClass = handledScreen.getClass();
-            while (currentClass != null) {
-                String[] possibleMethodNames = {"getSlotAt", "method_5452", "method_2385", "method_1542", "method_64240", "method_2383", "method_64241", "method_2381", "method_2378"};
-                for (String methodName : possibleMethodNames) {
-                    try {
-                        java.lang.reflect.Method getSlotAtMethod = currentClass.getDeclaredMethod(methodName, double.class, double.class);
-                        getSlotAtMethod.setAccessible(true);
-                        Slot slot = (Slot) getSlotAtMethod.invoke(handledScreen, mouseX, mouseY);
-                        if (slot != null) {
-                            LogUtil.info("MouseSlotUtil", "成功调用 " + methodName + "，找到槽位: " + slot.id);
-                            return slot;
-                        }
-                    } catch (Exception e) {
-                        // 继续尝试下一个方法
-                    }
-                }
-                if (currentClass != null) {
-                    currentClass = currentClass.getSuperclass();
-                }
-            }
-        } catch (Exception e) {
-            LogUtil.warn("MouseSlotUtil", "获取槽位失败: " + e.getMessage());
+        HandledScreenAccessor accessor = (HandledScreenAccessor) handledScreen;
+        if (handledScreen instanceof CreativeInventoryScreen) {
+            return accessor.invokeGetSlotAt(mouseX, mouseY);
         }
-        return null;
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (client.player == null) {
+            return null;
+        }
+        Slot slot = ScreenSlotIndex.of(handledScreen.getScreenHandler(), client.player.getInventory())
+            .getSlotAt(mouseX - accessor.getX(), mouseY - accessor.getY());
+        if (slot != null) {
+            LogUtil.info("MouseSlotUtil", "找到槽位: " + slot.id);
+        }
+        return slot;
     }
     
     /**
      * 获取当前鼠标下的槽位
-     * 自动获取鼠标位置并调用 getSlotAtPosition
+     * 优先使用界面记录的鼠标下槽位，没有时按鼠标位置查找
      * 
      * @param handledScreen 容器界面
      * @return 鼠标下的槽位，如果未找到则返回null
      */
     public static Slot getSlotAtMouse(HandledScreen<?> handledScreen) {
-        try {
-            net.minecraft.client.MinecraftClient client = net.minecraft.client.MinecraftClient.getInstance();
-            if (client == null) {
-                return null;
-            }
-            
-            // 获取缩放后的鼠标位置
-            double mouseX = client.mouse.getX() * (double) client.getWindow().getScaledWidth() / (double) client.getWindow().getWidth();
-            double mouseY = client.mouse.getY() * (double) client.getWindow().getScaledHeight() / (double) client.getWindow().getHeight();
-            
-            return getSlotAtPosition(handledScreen, mouseX, mouseY);
-        } catch (Exception e) {
-            LogUtil.warn("MouseSlotUtil", "获取鼠标槽位失败", e);
-            return null;
+        Slot focused = ((HandledScreenAccessor) handledScreen).getFocusedSlot();
+        if (focused != null) {
+            return focused;
         }
+        MinecraftClient client = MinecraftClient.getInstance();
+        
+        // 获取缩放后的鼠标位置
+        double mouseX = client.mouse.getX() * (double) client.getWindow().getScaledWidth() / (double) client.getWindow().getWidth();
+        double mouseY = client.mouse.getY() * (double) client.getWindow().getScaledHeight() / (double) client.getWindow().getHeight();
+        
+        return getSlotAtPosition(handledScreen, mouseX, mouseY);
     }
 }
@@ -0,0 +1,144 @@
+package com.aeolyn.better_experience.inventory.util;
+
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.screen.ScreenHandler;
+import net.minecraft.screen.slot.Slot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 界面槽位索引
+ * 每个界面只建立一次：把 handler.slots 分为主背包（9-35）、快捷栏（0-8）和各个容器，按库存下标排列；
+ * 并把槽位的矩形（相对界面左上角）放入网格，按坐标查找槽位时只检查一个网格单元
+ * 槽位数量变化（如创造模式物品栏切换标签页）时重建
+ */
+public final class ScreenSlotIndex {
+
+    /** 网格单元边长，与原版槽位间距相同 */
+    private static final int CELL = 18;
+    /** 原版槽位的判定范围：从槽位坐标向外扩一个像素，边长16 */
+    private static final int SLOT_SIZE = 16;
+
+    private static ScreenSlotIndex cached;
+
+    private final ScreenHandler handler;
+    private final int slotCount;
+    private final List<Slot> playerMain;
+    private final List<Slot> hotbar;
+    private final Map<Inventory, List<Slot>> containers;
+
+    // 网格单元（cellX, cellY 打包成long）-> 覆盖该单元的槽位
+    private final Map<Long, List<Slot>> grid = new HashMap<>();
+
+    private ScreenSlotIndex(ScreenHandler handler, PlayerInventory playerInventory) {
+        this.handler = handler;
+        this.slotCount = handler.slots.size();
+        List<Slot> main = new ArrayList<>();
+        List<Slot> bar = new ArrayList<>();
+        Map<Inventory, List<Slot>> others = new IdentityHashMap<>();
+        for (Slot slot : handler.slots) {
+            if (slot.inventory == playerInventory) {
+                int index = slot.getIndex();
+                if (index >= PlayerInventory.HOTBAR_SIZE && index < PlayerInventory.MAIN_SIZE) {
+                    main.add(slot);
+                } else if (index >= 0 && index < PlayerInventory.HOTBAR_SIZE) {
+                    bar.add(slot);
+                }
+            } else {
+                others.computeIfAbsent(slot.inventory, inventory -> new ArrayList<>()).add(slot);
+            }
+            addToGrid(slot);
+        }
+        main.sort(Comparator.comparingInt(Slot::getIndex));
+        bar.sort(Comparator.comparingInt(Slot::getIndex));
+        this.playerMain = Collections.unmodifiableList(main);
+        this.hotbar = Collections.unmodifiableList(bar);
+        for (Map.Entry<Inventory, List<Slot>> entry : others.entrySet()) {
+            entry.getValue().sort(Comparator.comparingInt(Slot::getIndex));
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        this.containers = others;
+    }
+
+    /**
+     * 当前界面的槽位索引，同一界面重复调用时直接返回（只在客户端线程上调用）
+     */
+    public static ScreenSlotIndex of(ScreenHandler handler, PlayerInventory playerInventory) {
+        ScreenSlotIndex index = cached;
+        if (index == null || index.handler != handler || index.slotCount != handler.slots.size()) {
+            index = new ScreenSlotIndex(handler, playerInventory);
+            cached = index;
+        }
+        return index;
+    }
+
+    /**
+     * 丢弃缓存（断开连接时调用）
+     */
+    public static void clear() {
+        cached = null;
+    }
+
+    /**
+     * 主背包槽位（不包括快捷栏），按库存下标排列
+     */
+    public List<Slot> getPlayerMain() {
+        return playerMain;
+    }
+
+    /**
+     * 快捷栏槽位，按库存下标排列
+     */
+    public List<Slot> getHotbar() {
+        return hotbar;
+    }
+
+    /**
+     * 某个容器的槽位，按库存下标排列；界面中没有该容器时返回空表
+     */
+    public List<Slot> getContainerSlots(Inventory container) {
+        return containers.getOrDefault(container, List.of());
+    }
+
+    /**
+     * 按相对界面左上角的坐标查找槽位，判定范围与原版相同
+     * @return 坐标下的槽位，没有时返回null
+     */
+    public Slot getSlotAt(double relativeX, double relativeY) {
+        List<Slot> candidates = grid.get(cellKey(Math.floorDiv((int) Math.floor(relativeX), CELL), Math.floorDiv((int) Math.floor(relativeY), CELL)));
+        if (candidates == null) {
+            return null;
+        }
+        for (Slot slot : candidates) {
+            if (slot.isEnabled()
+                && relativeX >= slot.x - 1 && relativeX < slot.x + SLOT_SIZE + 1
+                && relativeY >= slot.y - 1 && relativeY < slot.y + SLOT_SIZE + 1) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    private void addToGrid(Slot slot) {
+        int minX = Math.floorDiv(slot.x - 1, CELL);
+        int maxX = Math.floorDiv(slot.x + SLOT_SIZE, CELL);
+        int minY = Math.floorDiv(slot.y - 1, CELL);
+        int maxY = Math.floorDiv(slot.y + SLOT_SIZE, CELL);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                grid.computeIfAbsent(cellKey(cx, cy), key -> new ArrayList<>(2)).add(slot);
+            }
+        }
+    }
+
+    private static long cellKey(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+}
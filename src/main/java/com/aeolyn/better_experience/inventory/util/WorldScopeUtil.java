@@ -0,0 +1,36 @@
+package com.aeolyn.better_experience.inventory.util;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ServerInfo;
+
+/**
+ * 世界范围工具类
+ * 区分不同服务器和单人存档，用于按世界保存的本地数据
+ */
+public class WorldScopeUtil {
+    
+    /**
+     * 当前连接的服务器地址或单人存档名
+     * @param client 客户端
+     * @return 世界范围标识
+     */
+    public static String getWorldScope(MinecraftClient client) {
+        ServerInfo server = client.getCurrentServerEntry();
+        if (server != null) {
+            return server.address;
+        }
+        if (client.getServer() != null) {
+            return client.getServer().getSaveProperties().getLevelName();
+        }
+        return "local";
+    }
+    
+    /**
+     * 可以用作文件名的世界范围标识
+     * @param client 客户端
+     * @return 只包含字母、数字、点、下划线和连字符的标识
+     */
+    public static String getFileSafeScope(MinecraftClient client) {
+        return getWorldScope(client).replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
@@ -0,0 +1,26 @@
+package com.aeolyn.better_experience.mixin.inventory;
+
+import com.aeolyn.better_experience.inventory.finder.ServerItemFinder;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * 容器方块实体内容变化时作废服务端查找的区块缓存
+ */
+@Mixin(BlockEntity.class)
+public abstract class BlockEntityMixin {
+
+    @Inject(method = "markDirty()V", at = @At("HEAD"))
+    private void onMarkDirty(CallbackInfo ci) {
+        BlockEntity self = (BlockEntity) (Object) this;
+        World world = self.getWorld();
+        if (self instanceof Inventory && world != null && !world.isClient) {
+            ServerItemFinder.onContainerChanged(world, self.getPos());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.aeolyn.better_experience.mixin.inventory;
+
+import com.aeolyn.better_experience.inventory.click.ClickExecutor;
+import com.aeolyn.better_experience.inventory.core.HotbarRestocker;
+import com.aeolyn.better_experience.inventory.storage.StorageIndex;
+import com.aeolyn.better_experience.inventory.util.InventorySnapshotTracker;
+import net.minecraft.client.network.ClientPlayNetworkHandler;
+import net.minecraft.network.packet.s2c.play.InventoryS2CPacket;
+import net.minecraft.network.packet.s2c.play.ScreenHandlerSlotUpdateS2CPacket;
+import net.minecraft.network.packet.s2c.play.WorldTimeUpdateS2CPacket;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * 网络包监听Mixin
+ * 把槽位纠正和时间同步通知给点击执行器，用于调整点击发送速度和检测不同步
+ * 槽位更新同时通知快捷栏补货、库存快照追踪器和存储索引，用于增量维护背包索引、库存统计和容器内容
+ * 注入在方法末尾：网络线程上的调用会在 forceMainThread 处转交主线程后提前返回，只有主线程能执行到这里
+ */
+@Mixin(ClientPlayNetworkHandler.class)
+public class ClientPlayNetworkHandlerMixin {
+    
+    @Inject(method = "onScreenHandlerSlotUpdate", at = @At("TAIL"))
+    private void onSlotUpdate(ScreenHandlerSlotUpdateS2CPacket packet, CallbackInfo ci) {
+        ClickExecutor.getInstance().onSlotUpdate(packet.getSyncId(), packet.getSlot(), packet.getStack());
+        HotbarRestocker.getInstance().onSlotUpdate(packet.getSyncId(), packet.getSlot());
+        InventorySnapshotTracker.getInstance().onSlotUpdate(packet.getSyncId(), packet.getSlot());
+        StorageIndex.getInstance().onSlotUpdate(packet.getSyncId(), packet.getSlot());
+    }
+    
+    @Inject(method = "onInventory", at = @At("TAIL"))
+    private void onInventory(InventoryS2CPacket packet, CallbackInfo ci) {
+        ClickExecutor.getInstance().onInventorySync(packet.syncId());
+        HotbarRestocker.getInstance().onInventorySync(packet.syncId());
+        InventorySnapshotTracker.getInstance().onInventorySync(packet.syncId());
+        StorageIndex.getInstance().onInventorySync(packet.syncId());
+    }
+    
+    @Inject(method = "onWorldTimeUpdate", at = @At("TAIL"))
+    private void onWorldTimeUpdate(WorldTimeUpdateS2CPacket packet, CallbackInfo ci) {
+        ClickExecutor.getInstance().onWorldTimeUpdate();
+    }
+}
@@ -0,0 +1,25 @@
+package com.aeolyn.better_experience.mixin.inventory;
+
+import com.aeolyn.better_experience.inventory.storage.StorageIndex;
+import com.aeolyn.better_experience.inventory.util.InventorySnapshotTracker;
+import net.minecraft.client.network.ClientPlayerInteractionManager;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.screen.slot.SlotActionType;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * 点击监听Mixin
+ * 本地点击（玩家手动和点击执行器）在客户端界面上生效后通知库存快照追踪器和存储索引
+ */
+@Mixin(ClientPlayerInteractionManager.class)
+public class ClientPlayerInteractionManagerMixin {
+    
+    @Inject(method = "clickSlot", at = @At("TAIL"))
+    private void onClickSlot(int syncId, int slotId, int button, SlotActionType actionType, PlayerEntity player, CallbackInfo ci) {
+        InventorySnapshotTracker.getInstance().onClick(syncId, slotId, actionType);
+        StorageIndex.getInstance().onClick(syncId, slotId, actionType);
+    }
+}
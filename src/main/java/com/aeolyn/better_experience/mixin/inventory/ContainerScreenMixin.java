@@ -4,6 +4,7 @@ import com.aeolyn.better_experience.client.KeyBindings;
 import com.aeolyn.better_experience.common.util.LogUtil;
 import com.aeolyn.better_experience.inventory.core.InventorySortController;
 import com.aeolyn.better_experience.inventory.core.InventoryTransferController;
+import com.aeolyn.better_experience.inventory.core.LayoutTemplateController;
 import net.minecraft.client.gui.screen.ingame.HandledScreen;
 import org.lwjgl.glfw.GLFW;
 import org.spongepowered.asm.mixin.Mixin;
@@ -27,6 +28,20 @@ public class ContainerScreenMixin {
         LogUtil.info("ContainerScreenMixin", "按键事件触发 - 界面类型: " + screen.getClass().getSimpleName() + 
             ", 按键代码: " + keyCode + ", 扫描代码: " + scanCode + ", 修饰符: " + modifiers);
 
+        // 布局模板的保存和还原
+        var saveTemplateKey = KeyBindings.getSaveLayoutTemplateKey();
+        var restoreTemplateKey = KeyBindings.getRestoreLayoutTemplateKey();
+        if (saveTemplateKey != null && !saveTemplateKey.isUnbound() && saveTemplateKey.matchesKey(keyCode, scanCode)) {
+            LayoutTemplateController.getInstance().saveCurrentLayout();
+            cir.setReturnValue(true);
+            return;
+        }
+        if (restoreTemplateKey != null && !restoreTemplateKey.isUnbound() && restoreTemplateKey.matchesKey(keyCode, scanCode)) {
+            LayoutTemplateController.getInstance().restoreCurrentLayout();
+            cir.setReturnValue(true);
+            return;
+        }
+
         // 检查按键匹配
         var sortKey = KeyBindings.getSortInventoryKey();
         var smartKey = KeyBindings.getSmartTransferKey();
@@ -0,0 +1,30 @@
+package com.aeolyn.better_experience.mixin.inventory;
+
+import net.minecraft.client.gui.screen.ingame.HandledScreen;
+import net.minecraft.screen.slot.Slot;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+/**
+ * 容器界面访问器
+ * 读取界面位置、鼠标下的槽位，以及调用原版的按坐标查找槽位
+ */
+@Mixin(HandledScreen.class)
+public interface HandledScreenAccessor {
+
+    @Accessor("x")
+    int getX();
+
+    @Accessor("y")
+    int getY();
+
+    /**
+     * 上一帧渲染时鼠标下的槽位
+     */
+    @Accessor("focusedSlot")
+    Slot getFocusedSlot();
+
+    @Invoker("getSlotAt")
+    Slot invokeGetSlotAt(double mouseX, double mouseY);
+}
@@ -1,5 +1,7 @@
 package com.aeolyn.better_experience.mixin.offhand;
 
+import com.aeolyn.better_experience.common.metrics.Metrics;
+import com.aeolyn.better_experience.common.metrics.jfr.OffHandCheckEvent;
 import com.aeolyn.better_experience.offhand.core.OffHandRestrictionController;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.network.ClientPlayerEntity;
@@ -40,10 +42,16 @@ public class OffHandRestrictionMixin {
                 com.aeolyn.better_experience.BetterExperienceMod.LOGGER.debug("副手物品使用检查: {}", itemId);
                 
                 // 检查道具使用是否被允许
+                OffHandCheckEvent event = new OffHandCheckEvent();
+                event.begin();
+                long startNanos = System.nanoTime();
                 boolean isAllowed = controller.isItemUsageAllowed(offHandStack.getItem());
+                Metrics.OFFHAND_CHECK.recordSince(startNanos);
+                event.finish(offHandStack.getItem(), OffHandCheckEvent.USE, isAllowed);
                 com.aeolyn.better_experience.BetterExperienceMod.LOGGER.debug("副手物品使用权限: {} = {}", itemId, isAllowed);
                 
                 if (!isAllowed) {
+                    Metrics.OFFHAND_BLOCKED.increment();
                     com.aeolyn.better_experience.BetterExperienceMod.LOGGER.info("阻止副手物品使用: {}", itemId);
                     // 静默取消，不显示任何提示
                     cir.setReturnValue(net.minecraft.util.ActionResult.PASS);
@@ -67,7 +75,14 @@ public class OffHandRestrictionMixin {
                 OffHandRestrictionController controller = OffHandRestrictionController.getInstance();
                 
                 // 检查方块放置是否被允许
-                if (!controller.isBlockPlacementAllowed(offHandStack.getItem())) {
+                OffHandCheckEvent event = new OffHandCheckEvent();
+                event.begin();
+                long startNanos = System.nanoTime();
+                boolean isAllowed = controller.isBlockPlacementAllowed(offHandStack.getItem());
+                Metrics.OFFHAND_CHECK.recordSince(startNanos);
+                event.finish(offHandStack.getItem(), OffHandCheckEvent.PLACE, isAllowed);
+                if (!isAllowed) {
+                    Metrics.OFFHAND_BLOCKED.increment();
                     // 静默取消，不显示任何提示
                     cir.setReturnValue(net.minecraft.util.ActionResult.PASS);
                     cir.cancel();
@@ -2,6 +2,7 @@ package com.aeolyn.better_experience.mixin.render3d;
 
 import com.aeolyn.better_experience.BetterExperienceMod;
 import com.aeolyn.better_experience.common.config.manager.ConfigManager;
+import com.aeolyn.better_experience.common.metrics.Metrics;
 import com.aeolyn.better_experience.render3d.core.ItemRenderer3D;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.render.VertexConsumerProvider;
@@ -59,6 +60,7 @@ public abstract class GenericItemRendererMixin {
         }
 
         if (item != null) {
+            long startNanos = System.nanoTime();
             String itemId = Registries.ITEM.getId(item).toString();
             ConfigManager configManager = ConfigManager.getInstance();
             
@@ -69,13 +71,21 @@ public abstract class GenericItemRendererMixin {
                     ItemRenderer3D renderer = getRenderer3D();
                     
                     if (renderer.shouldRender3D(item, displayContext)) {
+                        Metrics.RENDER3D_DECISION.recordSince(startNanos);
+                        Metrics.RENDER3D_RENDERED.increment();
+                        
                         // 取消原版渲染
                         ci.cancel();
                         
                         // 执行3D渲染
+                        long renderStartNanos = System.nanoTime();
                         renderer.render3DItem(item, displayContext, matrices, vertexConsumers, light, overlay);
+                        Metrics.RENDER3D_RENDER.recordSince(renderStartNanos);
+                        return;
                     }
                 }
+                Metrics.RENDER3D_DECISION.recordSince(startNanos);
+                Metrics.RENDER3D_VANILLA.increment();
                 // 如果物品未启用3D渲染或shouldRender3D返回false，则不取消原版渲染，让原版渲染正常执行
             }
             // 如果3D渲染模块未启用，则不取消原版渲染，让原版渲染正常执行
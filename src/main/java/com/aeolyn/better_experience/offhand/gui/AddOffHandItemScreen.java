@@ -1,24 +1,31 @@
 package com.aeolyn.better_experience.offhand.gui;
 
 import com.aeolyn.better_experience.common.config.manager.ConfigManager;
+import com.aeolyn.better_experience.client.gui.ItemDisplayCache;
+import com.aeolyn.better_experience.client.gui.SearchSuggestions;
+import com.aeolyn.better_experience.client.search.RegistrySearchIndex;
 import com.aeolyn.better_experience.offhand.config.OffHandRestrictionConfig;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.widget.ButtonWidget;
 import net.minecraft.client.gui.widget.TextFieldWidget;
+import net.minecraft.item.ItemStack;
 import net.minecraft.text.Text;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class AddOffHandItemScreen extends Screen {
     private static final Logger LOGGER = LoggerFactory.getLogger("BetterExperience-AddOffHandItem");
     
     private final Screen parentScreen;
     private final ConfigManager configManager;
     private TextFieldWidget itemIdField;
+    private SearchSuggestions suggestions;
+    
+    // 输入内容的验证结果，只在输入变化时计算
+    private Text validationText = null;
+    private int validationColor = 0;
+    private ItemStack previewStack = ItemStack.EMPTY;
     private String errorMessage = "";
     private int errorMessageTicks = 0;
     
@@ -43,9 +50,11 @@ public class AddOffHandItemScreen extends Screen {
         itemIdField = new TextFieldWidget(this.textRenderer, centerX - fieldWidth / 2, startY, fieldWidth, fieldHeight,
             Text.literal("物品ID"));
         itemIdField.setPlaceholder(Text.literal("格式: namespace:item_name"));
+        suggestions = new SearchSuggestions(this.textRenderer, itemIdField, () -> RegistrySearchIndex.Kind.ITEM);
         itemIdField.setChangedListener(text -> {
             // 实时验证物品ID
             validateItemId(text);
+            suggestions.onTextChanged(text);
         });
         
         // 添加按钮
@@ -75,24 +84,31 @@ public class AddOffHandItemScreen extends Screen {
     }
     
     private void validateItemId(String itemId) {
-        if (itemId != null && !itemId.isEmpty()) {
-            // 首先检查格式
-            if (!itemId.contains(":")) {
-                LOGGER.debug("物品ID格式错误，缺少命名空间: {}", itemId);
-                return;
-            }
-            
-            try {
-                net.minecraft.item.Item item = net.minecraft.registry.Registries.ITEM.get(net.minecraft.util.Identifier.of(itemId));
-                if (item != null) {
-                    // 物品存在，可以显示预览
-                    LOGGER.debug("物品ID有效: {}", itemId);
-                } else {
-                    LOGGER.debug("物品ID无效: {}", itemId);
-                }
-            } catch (Exception e) {
-                LOGGER.debug("物品ID格式错误: {}", itemId);
-            }
+        String trimmed = itemId == null ? "" : itemId.trim();
+        previewStack = ItemStack.EMPTY;
+        if (trimmed.isEmpty()) {
+            validationText = null;
+            return;
+        }
+        
+        // 首先检查格式
+        if (!trimmed.contains(":")) {
+            validationText = Text.literal("✗ 格式错误");
+            validationColor = 0xFF5555;
+            LOGGER.debug("物品ID格式错误，缺少命名空间: {}", trimmed);
+            return;
+        }
+        
+        if (RegistrySearchIndex.Kind.ITEM.exists(trimmed)) {
+            // 物品存在，可以显示预览
+            previewStack = ItemDisplayCache.getInstance().get(trimmed).icon();
+            validationText = Text.literal("✓ 物品有效");
+            validationColor = 0x00FF00;
+            LOGGER.debug("物品ID有效: {}", trimmed);
+        } else {
+            validationText = Text.literal("✗ 物品无效");
+            validationColor = 0xFF5555;
+            LOGGER.debug("物品ID无效: {}", trimmed);
         }
     }
     
@@ -110,14 +126,8 @@ public class AddOffHandItemScreen extends Screen {
         }
         
         // 验证物品是否存在
-        try {
-            net.minecraft.item.Item item = net.minecraft.registry.Registries.ITEM.get(net.minecraft.util.Identifier.of(itemId));
-            if (item == null) {
-                showError("物品不存在: " + itemId);
-                return;
-            }
-        } catch (Exception e) {
-            showError("物品ID格式错误: " + itemId);
+        if (!RegistrySearchIndex.Kind.ITEM.exists(itemId)) {
+            showError("物品不存在: " + itemId);
             return;
         }
         
@@ -170,25 +180,19 @@ public class AddOffHandItemScreen extends Screen {
             errorMessageTicks--;
         }
         
-        // 绘制物品预览（如果物品ID有效）
-        String itemId = itemIdField.getText().trim();
-        if (!itemId.isEmpty()) {
-            try {
-                net.minecraft.item.Item item = net.minecraft.registry.Registries.ITEM.get(net.minecraft.util.Identifier.of(itemId));
-                if (item != null) {
-                    net.minecraft.item.ItemStack stack = new net.minecraft.item.ItemStack(item);
-                    context.drawItem(stack, this.width / 2 + 120, 70);
-                    context.drawTextWithShadow(this.textRenderer, Text.literal("✓ 物品有效"), this.width / 2 + 120, 90, 0x00FF00);
-                } else {
-                    context.drawTextWithShadow(this.textRenderer, Text.literal("✗ 物品无效"), this.width / 2 + 120, 90, 0xFF5555);
-                }
-            } catch (Exception ignored) {
-                context.drawTextWithShadow(this.textRenderer, Text.literal("✗ 格式错误"), this.width / 2 + 120, 90, 0xFF5555);
-            }
+        // 绘制物品预览（使用输入变化时缓存的验证结果）
+        if (!previewStack.isEmpty()) {
+            context.drawItem(previewStack, this.width / 2 + 120, 70);
+        }
+        if (validationText != null) {
+            context.drawTextWithShadow(this.textRenderer, validationText, this.width / 2 + 120, 90, validationColor);
         }
         
         super.render(context, mouseX, mouseY, delta);
         
+        // 自动补全列表画在最上层
+        suggestions.render(context, mouseX, mouseY);
+        
         // 调试信息：显示输入框的文本内容（仅在调试模式下）
         if (LOGGER.isDebugEnabled()) {
             String currentText = itemIdField.getText();
@@ -196,6 +200,28 @@ public class AddOffHandItemScreen extends Screen {
         }
     }
     
+    @Override
+    public void tick() {
+        super.tick();
+        suggestions.tick();
+    }
+    
+    @Override
+    public boolean mouseClicked(double mouseX, double mouseY, int button) {
+        if (suggestions.mouseClicked(mouseX, mouseY)) {
+            return true;
+        }
+        return super.mouseClicked(mouseX, mouseY, button);
+    }
+    
+    @Override
+    public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
+        if (suggestions.keyPressed(keyCode)) {
+            return true;
+        }
+        return super.keyPressed(keyCode, scanCode, modifiers);
+    }
+    
     @Override
     public boolean shouldPause() {
         return false;
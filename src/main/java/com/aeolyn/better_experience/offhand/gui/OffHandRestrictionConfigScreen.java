@@ -5,15 +5,13 @@ import com.aeolyn.better_experience.offhand.config.OffHandRestrictionConfig;
 import com.aeolyn.better_experience.offhand.gui.AddOffHandItemScreen;
 import com.aeolyn.better_experience.common.util.LogUtil;
 import com.aeolyn.better_experience.client.gui.BaseConfigScreen;
+import com.aeolyn.better_experience.client.gui.ItemDisplayCache;
+import com.aeolyn.better_experience.client.gui.ItemIconButton;
+import com.aeolyn.better_experience.client.gui.VirtualizedList;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.widget.ButtonWidget;
-import net.minecraft.client.gui.widget.ClickableWidget;
-import net.minecraft.item.Item;
-import net.minecraft.item.ItemStack;
-import net.minecraft.registry.Registries;
 import net.minecraft.text.Text;
-import net.minecraft.util.Identifier;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,8 +27,6 @@ public class OffHandRestrictionConfigScreen extends BaseConfigScreen {
     private OffHandRestrictionConfig config;
     
     // 滚动相关
-    private int scrollOffset = 0;
-    private int maxScrollOffset = 0;
     private static final int ITEM_HEIGHT = 25; 
     private static final int LIST_START_Y = 70;
     private static final int LIST_END_Y = 200;
@@ -41,11 +37,11 @@ public class OffHandRestrictionConfigScreen extends BaseConfigScreen {
         WHITELIST
     }
     private DisplayMode currentMode = DisplayMode.MAIN_MENU;
-    private List<ClickableWidget> listWidgets;
+    private List<String> currentItems = new ArrayList<>();
+    private VirtualizedList<String> itemList;
     
     public OffHandRestrictionConfigScreen(Screen parentScreen, ConfigManager configManager) {
         super(Text.translatable("better_experience.config.offhand_restrictions.title"), parentScreen, configManager);
-        this.listWidgets = new ArrayList<>();
     }
     
     // ==================== 抽象方法实现 ====================
@@ -56,6 +52,7 @@ public class OffHandRestrictionConfigScreen extends BaseConfigScreen {
         this.config = configManager.getOffHandRestrictionConfig();
         // 迁移旧配置格式
         this.config.migrateFromLegacyFormat();
+        reloadItems();
     }
     
     @Override
@@ -160,35 +157,25 @@ public class OffHandRestrictionConfigScreen extends BaseConfigScreen {
     }
     
     private void setupListScroll() {
-        // 计算最大滚动偏移量
-        List<String> currentItems = getCurrentItems();
-        int visibleItems = (LIST_END_Y - LIST_START_Y) / ITEM_HEIGHT;
-        maxScrollOffset = Math.max(0, currentItems.size() - visibleItems);
-        
-        updateListWidgets();
+        // 只创建可见行的控件，滚动时复用
+        int scrollOffset = itemList != null ? itemList.getScrollOffset() : 0;
+        itemList = new VirtualizedList<>(getCenterX() - 160, LIST_START_Y, LIST_END_Y, 340, ITEM_HEIGHT);
+        itemList.setEntries(currentItems);
+        itemList.scrollBy(scrollOffset);
+        itemList.createRows(WhitelistRow::new, this::addDrawableChild);
     }
     
     private void addScrollButtons() {
         // 向上滚动按钮
         this.addDrawableChild(ButtonWidget.builder(
             Text.literal("↑"),
-            button -> {
-                if (scrollOffset > 0) {
-                    scrollOffset--;
-                    updateListWidgets();
-                }
-            }
+            button -> itemList.scrollBy(-1)
         ).dimensions(getCenterX() + 160, LIST_START_Y, 20, 20).build());
         
         // 向下滚动按钮
         this.addDrawableChild(ButtonWidget.builder(
             Text.literal("↓"),
-            button -> {
-                if (scrollOffset < maxScrollOffset) {
-                    scrollOffset++;
-                    updateListWidgets();
-                }
-            }
+            button -> itemList.scrollBy(1)
         ).dimensions(getCenterX() + 160, LIST_END_Y - 20, 20, 20).build());
     }
     
@@ -197,82 +184,64 @@ public class OffHandRestrictionConfigScreen extends BaseConfigScreen {
         this.clearAndInit();
     }
     
-    private List<String> getCurrentItems() {
-        // 使用统一的白名单
-        List<String> items = config.getAllowedItems();
-        LogUtil.debug(LogUtil.MODULE_OFFHAND, "当前白名单物品数量: {}, 物品: {}", items.size(), items);
-        return items;
+    /**
+     * 重新读取白名单（统一白名单每次读取都会复制，只在数据变化时读取）
+     */
+    private void reloadItems() {
+        currentItems = config.getAllowedItems();
+        LogUtil.debug(LogUtil.MODULE_OFFHAND, "当前白名单物品数量: {}", currentItems.size());
+        if (itemList != null) {
+            itemList.setEntries(currentItems);
+        }
     }
     
-    private void updateListWidgets() {
-        // 清除现有的列表控件
-        for (ClickableWidget widget : listWidgets) {
-            this.remove(widget);
-        }
-        listWidgets.clear();
-        
-        // 添加可见的物品控件
-        List<String> currentItems = getCurrentItems();
-        int visibleItems = (LIST_END_Y - LIST_START_Y) / ITEM_HEIGHT;
-        
-        // 计算最大滚动偏移量
-        maxScrollOffset = Math.max(0, currentItems.size() - visibleItems);
+    /**
+     * 白名单中的一行：图标、名称、删除按钮，滚动时重新绑定到其他物品
+     */
+    private class WhitelistRow extends VirtualizedList.Row<String> {
+        private final ItemIconButton iconButton;
+        private final ButtonWidget nameButton;
         
-        // 确保滚动偏移量在有效范围内
-        if (scrollOffset > maxScrollOffset) {
-            scrollOffset = maxScrollOffset;
+        WhitelistRow(int y) {
+            // 物品图标按钮
+            iconButton = add(new ItemIconButton(
+                getCenterX() - 100, y, 20, 20,
+                button -> {
+                    // 点击物品图标可以显示物品信息或进行其他操作
+                    String itemId = getEntry();
+                    String displayName = ItemDisplayCache.getInstance().get(itemId).name().getString();
+                    showInfoDialog("物品信息", "物品ID: " + itemId + "\n显示名称: " + displayName);
+                    LogUtil.logGuiAction("click_offhand_item", getScreenName(), 
+                        Map.of("itemId", itemId, "action", "info"));
+                }
+            ));
+            // 白名单中的物品都是启用的
+            iconButton.setEnabled(true);
+            
+            // 物品名称按钮
+            nameButton = add(ButtonWidget.builder(
+                Text.empty(),
+                button -> {
+                    // 可以在这里添加点击物品的详细配置
+                }
+            ).dimensions(getCenterX() - 70, y, 120, 20).build());
+            
+            // 删除按钮
+            add(ButtonWidget.builder(
+                Text.literal("×"),
+                button -> removeItem(getEntry())
+            ).dimensions(getCenterX() + 60, y, 20, 20).build());
         }
         
-        for (int i = 0; i < visibleItems && i + scrollOffset < currentItems.size(); i++) {
-            String itemId = currentItems.get(i + scrollOffset);
-            int y = LIST_START_Y + i * ITEM_HEIGHT;
-            addListItem(itemId, y);
+        @Override
+        protected void bind(String itemId) {
+            // 获取物品的实际显示名称
+            ItemDisplayCache.Entry display = ItemDisplayCache.getInstance().get(itemId);
+            iconButton.setItem(display);
+            nameButton.setMessage(display.name());
         }
     }
     
-    private void addListItem(String itemId, int y) {
-        // 物品图标按钮
-        ItemIconButton iconButton = new ItemIconButton(
-            getCenterX() - 100, y, 20, 20,
-            itemId, true, // 白名单中的物品都是启用的
-            button -> {
-                // 点击物品图标可以显示物品信息或进行其他操作
-                Item item = Registries.ITEM.get(Identifier.of(itemId));
-                String displayName = item != null ? item.getName().getString() : itemId;
-                showInfoDialog("物品信息", "物品ID: " + itemId + "\n显示名称: " + displayName);
-                LogUtil.logGuiAction("click_offhand_item", getScreenName(), 
-                    Map.of("itemId", itemId, "action", "info"));
-            }
-        );
-        
-        // 获取物品的实际显示名称
-        Item item = Registries.ITEM.get(Identifier.of(itemId));
-        String displayName = item != null ? item.getName().getString() : itemId;
-        
-        // 物品名称按钮
-        ButtonWidget nameButton = ButtonWidget.builder(
-            Text.literal(displayName),
-            button -> {
-                // 可以在这里添加点击物品的详细配置
-            }
-        ).dimensions(getCenterX() - 70, y, 120, 20).build();
-        
-        // 删除按钮
-        ButtonWidget deleteButton = ButtonWidget.builder(
-            Text.literal("×"),
-            button -> {
-                removeItem(itemId);
-            }
-        ).dimensions(getCenterX() + 60, y, 20, 20).build();
-        
-        this.addDrawableChild(iconButton);
-        this.addDrawableChild(nameButton);
-        this.addDrawableChild(deleteButton);
-        listWidgets.add(iconButton);
-        listWidgets.add(nameButton);
-        listWidgets.add(deleteButton);
-    }
-    
     private void removeItem(String itemId) {
         // 从统一白名单移除物品
         config.removeAllowedItem(itemId);
@@ -281,7 +250,7 @@ public class OffHandRestrictionConfigScreen extends BaseConfigScreen {
          LogUtil.info(LogUtil.MODULE_OFFHAND, "移除物品: {}", itemId);
          
          // 更新界面
-         updateListWidgets();
+         reloadItems();
     }
     
     // ==================== 渲染方法 ====================
@@ -296,8 +265,8 @@ public class OffHandRestrictionConfigScreen extends BaseConfigScreen {
         context.fill(getCenterX() - 160, LIST_START_Y - 5, getCenterX() + 180, LIST_END_Y + 5, 0x44000000);
         
         // 渲染滚动信息
-        if (maxScrollOffset > 0) {
-            String scrollInfo = String.format("滚动: %d/%d", scrollOffset + 1, maxScrollOffset + 1);
+        if (itemList != null && itemList.getMaxScrollOffset() > 0) {
+            String scrollInfo = String.format("滚动: %d/%d", itemList.getScrollOffset() + 1, itemList.getMaxScrollOffset() + 1);
             context.drawTextWithShadow(this.textRenderer, Text.literal(scrollInfo),
                 getCenterX() + 160, LIST_START_Y + 10, 0xFFFFFF);
         }
@@ -310,18 +279,9 @@ public class OffHandRestrictionConfigScreen extends BaseConfigScreen {
     
     @Override
     public boolean mouseScrolled(double mouseX, double mouseY, double horizontalAmount, double verticalAmount) {
-        if (currentMode == DisplayMode.WHITELIST &&
-            mouseX >= getCenterX() - 160 && mouseX <= getCenterX() + 180 &&
-            mouseY >= LIST_START_Y && mouseY <= LIST_END_Y) {
-            if (verticalAmount > 0 && scrollOffset > 0) {
-                scrollOffset--;
-                updateListWidgets();
-                return true;
-            } else if (verticalAmount < 0 && scrollOffset < maxScrollOffset) {
-                scrollOffset++;
-                updateListWidgets();
-                return true;
-            }
+        if (currentMode == DisplayMode.WHITELIST && itemList != null &&
+            itemList.mouseScrolled(mouseX, mouseY, verticalAmount)) {
+            return true;
         }
         return super.mouseScrolled(mouseX, mouseY, horizontalAmount, verticalAmount);
     }
@@ -344,55 +304,4 @@ public class OffHandRestrictionConfigScreen extends BaseConfigScreen {
     protected String getScreenName() {
         return "OffHandRestrictionConfigScreen";
     }
-    
-
-    
-    // ==================== 自定义物品图标按钮类 ====================
-    
-    private static class ItemIconButton extends ButtonWidget {
-        private final String itemId;
-        private boolean enabled;
-        
-        public ItemIconButton(int x, int y, int width, int height, String itemId, boolean enabled, PressAction onPress) {
-            super(x, y, width, height, Text.literal(""), onPress, DEFAULT_NARRATION_SUPPLIER);
-            this.itemId = itemId;
-            this.enabled = enabled;
-        }
-        
-        public void setEnabled(boolean enabled) {
-            this.enabled = enabled;
-        }
-        
-        @Override
-        public void renderWidget(DrawContext context, int mouseX, int mouseY, float delta) {
-            // 绘制按钮背景
-            context.fill(this.getX(), this.getY(), this.getX() + this.width, this.getY() + this.height, 0x44000000);
-            
-            // 绘制物品图标
-            Item item = Registries.ITEM.get(Identifier.of(itemId));
-            if (item != null) {
-                ItemStack stack = new ItemStack(item);
-                // 根据启用状态设置不同的渲染参数
-                if (enabled) {
-                    // 正常显示
-                    context.drawItem(stack, this.getX() + 2, this.getY() + 2);
-                } else {
-                    // 变暗显示
-                    context.drawItem(stack, this.getX() + 2, this.getY() + 2, 0x88888888);
-                }
-            }
-            
-            // 绘制边框
-            if (this.isHovered()) {
-                context.fill(this.getX(), this.getY(), this.getX() + this.width, this.getY() + this.height, 0x44FFFFFF);
-            }
-            
-            // 绘制状态指示器（小圆点）
-            if (enabled) {
-                context.fill(this.getX() + this.width - 4, this.getY() + 2, this.getX() + this.width - 2, this.getY() + 4, 0xFF00FF00); // 绿色
-            } else {
-                context.fill(this.getX() + this.width - 4, this.getY() + 2, this.getX() + this.width - 2, this.getY() + 4, 0xFFFF0000); // 红色
-            }
-        }
-    }
 }
@@ -1,5 +1,7 @@
 package com.aeolyn.better_experience.offhand.loader;
 
+import com.aeolyn.better_experience.common.metrics.Metrics;
+import com.aeolyn.better_experience.common.metrics.jfr.ConfigIoEvent;
 import com.aeolyn.better_experience.offhand.config.OffHandRestrictionConfig;
 import com.aeolyn.better_experience.common.config.exception.ConfigLoadException;
 import com.aeolyn.better_experience.common.util.LogUtil;
@@ -34,6 +36,8 @@ public class OffHandConfigLoader {
     }
     
     public OffHandRestrictionConfig loadOffHandRestrictionConfig() throws ConfigLoadException {
+        long startNanos = System.nanoTime();
+        ConfigIoEvent event = ConfigIoEvent.start(ConfigIoEvent.LOAD);
         Path configPath = getConfigPath(offHandConfigFile);
         
         try {
@@ -58,6 +62,9 @@ public class OffHandConfigLoader {
         } catch (Exception e) {
             LogUtil.error("Offhand", "加载副手限制配置文件失败: " + e.getMessage(), e);
             throw new ConfigLoadException("Failed to load offhand restriction config from " + configPath, e);
+        } finally {
+            Metrics.CONFIG_LOAD.recordSince(startNanos);
+            event.finish(configPath);
         }
     }
     
@@ -1,5 +1,7 @@
 package com.aeolyn.better_experience.offhand.saver;
 
+import com.aeolyn.better_experience.common.metrics.Metrics;
+import com.aeolyn.better_experience.common.metrics.jfr.ConfigIoEvent;
 import com.aeolyn.better_experience.offhand.config.OffHandRestrictionConfig;
 import com.aeolyn.better_experience.common.config.exception.ConfigSaveException;
 import com.google.gson.Gson;
@@ -33,6 +35,8 @@ public class OffHandConfigSaver {
     }
     
     public void saveOffHandRestrictionConfig(OffHandRestrictionConfig config) throws ConfigSaveException {
+        long startNanos = System.nanoTime();
+        ConfigIoEvent event = ConfigIoEvent.start(ConfigIoEvent.SAVE);
         if (config == null) {
             throw new ConfigSaveException("OffHandRestrictionConfig cannot be null");
         }
@@ -52,6 +56,9 @@ public class OffHandConfigSaver {
         } catch (Exception e) {
             LOGGER.error("保存副手限制配置文件失败: " + e.getMessage(), e);
             throw new ConfigSaveException("Failed to save offhand restriction config to " + configPath, e);
+        } finally {
+            Metrics.CONFIG_SAVE.recordSince(startNanos);
+            event.finish(configPath);
         }
     }
     
@@ -1,6 +1,7 @@
 package com.aeolyn.better_experience.render3d.core;
 
 import com.aeolyn.better_experience.common.config.manager.ConfigManager;
+import com.aeolyn.better_experience.common.metrics.jfr.Render3DEvent;
 import com.aeolyn.better_experience.common.util.LogUtil;
 import com.aeolyn.better_experience.render3d.config.ItemConfig;
 import net.minecraft.block.Block;
@@ -52,6 +53,9 @@ public class ItemRenderer3D {
                            MatrixStack matrices, VertexConsumerProvider vertexConsumers, 
                            int light, int overlay) {
         
+        Render3DEvent event = new Render3DEvent();
+        event.begin();
+        String path = Render3DEvent.PATH_FALLBACK;
         try {
             // 首先检查3D渲染模块是否启用
             if (!configManager.isRender3dEnabled()) {
@@ -88,6 +92,7 @@ public class ItemRenderer3D {
                     // 应用实体专用矩阵变换
                     applyEntityMatrixTransform(matrices, displayContext, config);
                     renderEntityModel(entity, matrices, vertexConsumers, light, overlay);
+                    path = Render3DEvent.PATH_ENTITY;
                 } else {
                     LogUtil.debug("Render3D", "无法获取实体，回退到原版渲染");
                     LogUtil.warn("Render3D", "无法为物品 {} 找到对应的实体", Registries.ITEM.getId(item));
@@ -104,6 +109,7 @@ public class ItemRenderer3D {
                 // 应用方块专用矩阵变换
                 applyBlockMatrixTransform(matrices, displayContext, config);
                 renderBlockModel(blockState, matrices, vertexConsumers, light, overlay);
+                path = Render3DEvent.PATH_BLOCK;
             } else {
                 LogUtil.debug("Render3D", "未指定渲染方式，回退到原版渲染");
                 return;
@@ -113,6 +119,8 @@ public class ItemRenderer3D {
             
         } catch (Exception e) {
             LogUtil.error("Render3D", "渲染3D物品时发生错误: {}", e.getMessage(), e);
+        } finally {
+            event.finish(item, path, displayContext);
         }
     }
     
@@ -1,5 +1,8 @@
 package com.aeolyn.better_experience.render3d.gui;
 
+import com.aeolyn.better_experience.client.gui.ItemDisplayCache;
+import com.aeolyn.better_experience.client.gui.SearchSuggestions;
+import com.aeolyn.better_experience.client.search.RegistrySearchIndex;
 import com.aeolyn.better_experience.common.config.manager.ConfigManager;
 import com.aeolyn.better_experience.render3d.config.ItemConfig;
 import com.aeolyn.better_experience.client.gui.ModConfigScreen;
@@ -8,14 +11,12 @@ import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.widget.ButtonWidget;
 import net.minecraft.client.gui.widget.TextFieldWidget;
-import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.registry.Registries;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import net.minecraft.block.Block;
 import net.minecraft.entity.EntityType;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.render.VertexConsumerProvider;
@@ -38,6 +39,16 @@ public class AddItemConfigScreen extends Screen {
     private String errorMessage = "";
     private int errorMessageTicks = 0;
     
+    // 自动补全
+    private SearchSuggestions itemSuggestions;
+    private SearchSuggestions renderSuggestions;
+    
+    // 输入内容的验证结果，只在输入或渲染方式变化时计算
+    private ItemStack itemPreview = ItemStack.EMPTY;
+    private EntityType<?> previewEntityType = null;
+    private Entity previewEntity = null;
+    private ItemStack blockPreview = ItemStack.EMPTY;
+    
     public AddItemConfigScreen(Screen parentScreen, ConfigManager configManager) {
         super(Text.literal("新建物品配置"));
         this.parentScreen = parentScreen;
@@ -57,19 +68,24 @@ public class AddItemConfigScreen extends Screen {
         // 物品ID输入框
         itemIdField = new TextFieldWidget(this.textRenderer, centerX - fieldWidth/2, startY, fieldWidth, fieldHeight, Text.literal("物品ID"));
         itemIdField.setPlaceholder(Text.literal("格式: namespace:item_name"));
+        itemSuggestions = new SearchSuggestions(this.textRenderer, itemIdField, () -> RegistrySearchIndex.Kind.ITEM);
         itemIdField.setChangedListener(text -> {
             // 实时验证物品ID
             validateItemId(text);
+            itemSuggestions.onTextChanged(text);
         });
         
         // 渲染ID输入框
         renderIdField = new TextFieldWidget(this.textRenderer, centerX - fieldWidth/2, startY + spacing, fieldWidth, fieldHeight, Text.literal("渲染ID"));
         renderIdField.setPlaceholder(Text.literal("实体ID或方块ID"));
+        renderSuggestions = new SearchSuggestions(this.textRenderer, renderIdField,
+            () -> isEntityRender ? RegistrySearchIndex.Kind.ENTITY : RegistrySearchIndex.Kind.BLOCK);
         renderIdField.setChangedListener(text -> {
             // 根据渲染类型设置不同的提示
             updateRenderIdPlaceholder();
             // 实时验证渲染ID
             validateRenderId(text);
+            renderSuggestions.onTextChanged(text);
         });
         
         // 渲染方式切换按钮
@@ -79,6 +95,8 @@ public class AddItemConfigScreen extends Screen {
                 isEntityRender = !isEntityRender;
                 button.setMessage(Text.literal("渲染方式: " + (isEntityRender ? "实体" : "方块")));
                 updateRenderIdPlaceholder();
+                validateRenderId(renderIdField.getText());
+                renderSuggestions.onKindChanged();
             }
         ).dimensions(centerX - fieldWidth/2, startY + spacing * 2, fieldWidth, fieldHeight).build();
         
@@ -106,55 +124,83 @@ public class AddItemConfigScreen extends Screen {
     }
     
     private void validateItemId(String itemId) {
-        if (itemId != null && !itemId.isEmpty()) {
+        String trimmed = itemId == null ? "" : itemId.trim();
+        itemPreview = ItemStack.EMPTY;
+        if (!trimmed.isEmpty()) {
             // 首先检查格式
-            if (!itemId.contains(":")) {
-                LOGGER.debug("物品ID格式错误，缺少命名空间: {}", itemId);
+            if (!trimmed.contains(":")) {
+                LOGGER.debug("物品ID格式错误，缺少命名空间: {}", trimmed);
                 return;
             }
             
-            try {
-                Item item = Registries.ITEM.get(Identifier.of(itemId));
-                if (item != null) {
-                    // 物品存在，可以显示预览
-                    LOGGER.debug("物品ID有效: {}", itemId);
-                } else {
-                    LOGGER.debug("物品ID无效: {}", itemId);
-                }
-            } catch (Exception e) {
-                LOGGER.debug("物品ID格式错误: {}", itemId);
+            if (RegistrySearchIndex.Kind.ITEM.exists(trimmed)) {
+                // 物品存在，可以显示预览
+                itemPreview = ItemDisplayCache.getInstance().get(trimmed).icon();
+                LOGGER.debug("物品ID有效: {}", trimmed);
+            } else {
+                LOGGER.debug("物品ID无效: {}", trimmed);
             }
         }
     }
     
     private void validateRenderId(String renderId) {
-        if (renderId != null && !renderId.isEmpty()) {
+        String trimmed = renderId == null ? "" : renderId.trim();
+        clearRenderPreview();
+        if (!trimmed.isEmpty()) {
             // 首先检查格式
-            if (!renderId.contains(":")) {
-                LOGGER.debug("渲染ID格式错误，缺少命名空间: {}", renderId);
+            if (!trimmed.contains(":")) {
+                LOGGER.debug("渲染ID格式错误，缺少命名空间: {}", trimmed);
                 return;
             }
             
-            try {
-                if (isEntityRender) {
-                    // 验证实体类型
-                    if (Registries.ENTITY_TYPE.get(Identifier.of(renderId)) != null) {
-                        LOGGER.debug("实体ID有效: {}", renderId);
-                    } else {
-                        LOGGER.debug("实体ID无效: {}", renderId);
-                    }
+            if (isEntityRender) {
+                // 验证实体类型
+                if (RegistrySearchIndex.Kind.ENTITY.exists(trimmed)) {
+                    previewEntityType = Registries.ENTITY_TYPE.get(Identifier.of(trimmed));
+                    LOGGER.debug("实体ID有效: {}", trimmed);
                 } else {
-                    // 验证方块
-                    if (Registries.BLOCK.get(Identifier.of(renderId)) != null) {
-                        LOGGER.debug("方块ID有效: {}", renderId);
-                    } else {
-                        LOGGER.debug("方块ID无效: {}", renderId);
-                    }
+                    LOGGER.debug("实体ID无效: {}", trimmed);
                 }
-            } catch (Exception e) {
-                LOGGER.debug("渲染ID格式错误: {}", renderId);
+            } else {
+                // 验证方块
+                if (RegistrySearchIndex.Kind.BLOCK.exists(trimmed)) {
+                    blockPreview = new ItemStack(Registries.BLOCK.get(Identifier.of(trimmed)).asItem());
+                    LOGGER.debug("方块ID有效: {}", trimmed);
+                } else {
+                    LOGGER.debug("方块ID无效: {}", trimmed);
+                }
+            }
+        }
+    }
+    
+    /**
+     * 清除渲染ID的预览，丢弃已创建的预览实体
+     */
+    private void clearRenderPreview() {
+        previewEntityType = null;
+        blockPreview = ItemStack.EMPTY;
+        if (previewEntity != null) {
+            previewEntity.discard();
+            previewEntity = null;
+        }
+    }
+    
+    /**
+     * 预览实体只在渲染ID变化后创建一次
+     */
+    private Entity getPreviewEntity(World world) {
+        if (previewEntity == null && previewEntityType != null) {
+            previewEntity = previewEntityType.create(world, net.minecraft.entity.SpawnReason.NATURAL);
+            if (previewEntity != null) {
+                // 设置实体位置
+                previewEntity.setPos(0, 0, 0);
+            } else {
+                LOGGER.debug("无法创建实体: {}", Registries.ENTITY_TYPE.getId(previewEntityType));
+                // 创建失败时不再重复尝试
+                previewEntityType = null;
             }
         }
+        return previewEntity;
     }
     
     private void updateRenderIdPlaceholder() {
@@ -193,14 +239,8 @@ public class AddItemConfigScreen extends Screen {
         }
         
         // 验证物品ID
-        try {
-            Item item = Registries.ITEM.get(Identifier.of(itemId));
-            if (item == null) {
-                showError("物品不存在: " + itemId);
-                return;
-            }
-        } catch (Exception e) {
-            showError("物品ID格式错误: " + itemId);
+        if (!RegistrySearchIndex.Kind.ITEM.exists(itemId)) {
+            showError("物品不存在: " + itemId);
             return;
         }
         
@@ -211,23 +251,18 @@ public class AddItemConfigScreen extends Screen {
         }
         
         // 验证渲染ID
-        try {
-            if (isEntityRender) {
-                // 验证实体类型
-                if (Registries.ENTITY_TYPE.get(Identifier.of(renderId)) == null) {
-                    showError("实体类型不存在: " + renderId);
-                    return;
-                }
-            } else {
-                // 验证方块
-                if (Registries.BLOCK.get(Identifier.of(renderId)) == null) {
-                    showError("方块不存在: " + renderId);
-                    return;
-                }
+        if (isEntityRender) {
+            // 验证实体类型
+            if (!RegistrySearchIndex.Kind.ENTITY.exists(renderId)) {
+                showError("实体类型不存在: " + renderId);
+                return;
+            }
+        } else {
+            // 验证方块
+            if (!RegistrySearchIndex.Kind.BLOCK.exists(renderId)) {
+                showError("方块不存在: " + renderId);
+                return;
             }
-        } catch (Exception e) {
-            showError("渲染ID格式错误: " + renderId);
-            return;
         }
         
         // 创建新的物品配置
@@ -278,90 +313,87 @@ public class AddItemConfigScreen extends Screen {
             errorMessageTicks--;
         }
         
-        // 绘制物品预览（如果物品ID有效）
-        String itemId = itemIdField.getText().trim();
-        if (!itemId.isEmpty()) {
-            try {
-                Item item = Registries.ITEM.get(Identifier.of(itemId));
-                if (item != null) {
-                    ItemStack stack = new ItemStack(item);
-                    context.drawItem(stack, this.width / 2 + 120, 70);
-                }
-            } catch (Exception ignored) {}
+        // 绘制物品预览（使用输入变化时缓存的验证结果）
+        if (!itemPreview.isEmpty()) {
+            context.drawItem(itemPreview, this.width / 2 + 120, 70);
         }
         
         // 绘制渲染ID预览（如果渲染ID有效）
-        String renderId = renderIdField.getText().trim();
-        if (!renderId.isEmpty()) {
+        if (isEntityRender && previewEntityType != null) {
+            // 显示实体名称
+            String renderId = renderIdField.getText().trim();
+            context.drawTextWithShadow(this.textRenderer, Text.literal("实体: " + renderId), this.width / 2 + 120, 100, 0x00FF00);
+            
+            // 渲染实体预览
             try {
-                if (isEntityRender) {
-                    // 实体预览
-                    EntityType<?> entityType = Registries.ENTITY_TYPE.get(Identifier.of(renderId));
-                    if (entityType != null) {
-                        // 显示实体名称
-                        context.drawTextWithShadow(this.textRenderer, Text.literal("实体: " + renderId), this.width / 2 + 120, 100, 0x00FF00);
-                        
-                        // 渲染实体预览
-                        try {
-                            MinecraftClient client = MinecraftClient.getInstance();
-                            World world = client.world;
-                            if (world != null) {
-                                // 创建实体实例
-                                Entity entity = entityType.create(world, net.minecraft.entity.SpawnReason.NATURAL);
-                                if (entity != null) {
-                                    // 设置实体位置
-                                    entity.setPos(0, 0, 0);
-                                    
-                                    // 准备渲染
-                                    VertexConsumerProvider vertexConsumers = client.getBufferBuilders().getEntityVertexConsumers();
-                                    
-                                    // 创建新的矩阵栈
-                                    MatrixStack matrices = new MatrixStack();
-                                    
-                                    // 调整渲染位置和缩放
-                                    matrices.translate(this.width / 2 + 120, 110, 0);
-                                    matrices.scale(0.5f, 0.5f, 0.5f);
-                                    
-                                    // 特殊处理箭的旋转
-                                    if (entity instanceof ArrowEntity) {
-                                        matrices.multiply(net.minecraft.util.math.RotationAxis.POSITIVE_X.rotationDegrees(90.0f));
-                                    }
-                                    
-                                    // 渲染实体
-                                    EntityRenderDispatcher dispatcher = client.getEntityRenderDispatcher();
-                                    dispatcher.render(entity, 0.0, 0.0, 0.0, 0.0f, matrices, vertexConsumers, 15728880);
-                                    
-                                    // 清理实体
-                                    entity.discard();
-                                    
-                                    // 添加调试信息
-                                    LOGGER.debug("成功渲染实体: {}", renderId);
-                                } else {
-                                    LOGGER.debug("无法创建实体: {}", renderId);
-                                }
-                            } else {
-                                LOGGER.debug("世界为空，无法渲染实体");
-                            }
-                        } catch (Exception e) {
-                            LOGGER.debug("实体渲染失败: {} - {}", renderId, e.getMessage());
-                            // 如果实体渲染失败，只显示状态指示器
-                            context.drawTextWithShadow(this.textRenderer, Text.literal("✓"), this.width / 2 + 120, 110, 0x00FF00);
-                        }
+                MinecraftClient client = MinecraftClient.getInstance();
+                World world = client.world;
+                Entity entity = world != null ? getPreviewEntity(world) : null;
+                if (entity != null) {
+                    // 准备渲染
+                    VertexConsumerProvider vertexConsumers = client.getBufferBuilders().getEntityVertexConsumers();
+                    
+                    // 创建新的矩阵栈
+                    MatrixStack matrices = new MatrixStack();
+                    
+                    // 调整渲染位置和缩放
+                    matrices.translate(this.width / 2 + 120, 110, 0);
+                    matrices.scale(0.5f, 0.5f, 0.5f);
+                    
+                    // 特殊处理箭的旋转
+                    if (entity instanceof ArrowEntity) {
+                        matrices.multiply(net.minecraft.util.math.RotationAxis.POSITIVE_X.rotationDegrees(90.0f));
                     }
-                    // 无效的实体ID不显示任何内容
-                } else {
-                    // 方块预览
-                    Block block = Registries.BLOCK.get(Identifier.of(renderId));
-                    if (block != null) {
-                        ItemStack blockStack = new ItemStack(block.asItem());
-                        context.drawItem(blockStack, this.width / 2 + 120, 100);
-                    }
-                    // 无效的方块ID不显示任何内容
+                    
+                    // 渲染实体
+                    EntityRenderDispatcher dispatcher = client.getEntityRenderDispatcher();
+                    dispatcher.render(entity, 0.0, 0.0, 0.0, 0.0f, matrices, vertexConsumers, 15728880);
                 }
-            } catch (Exception ignored) {}
+            } catch (Exception e) {
+                LOGGER.debug("实体渲染失败: {} - {}", renderIdField.getText(), e.getMessage());
+                // 如果实体渲染失败，只显示状态指示器
+                context.drawTextWithShadow(this.textRenderer, Text.literal("✓"), this.width / 2 + 120, 110, 0x00FF00);
+            }
+        } else if (!isEntityRender && !blockPreview.isEmpty()) {
+            // 方块预览
+            context.drawItem(blockPreview, this.width / 2 + 120, 100);
         }
+        // 无效的ID不显示任何内容
         
         super.render(context, mouseX, mouseY, delta);
+        
+        // 自动补全列表画在最上层
+        itemSuggestions.render(context, mouseX, mouseY);
+        renderSuggestions.render(context, mouseX, mouseY);
+    }
+    
+    @Override
+    public void tick() {
+        super.tick();
+        itemSuggestions.tick();
+        renderSuggestions.tick();
+    }
+    
+    @Override
+    public boolean mouseClicked(double mouseX, double mouseY, int button) {
+        if (itemSuggestions.mouseClicked(mouseX, mouseY) || renderSuggestions.mouseClicked(mouseX, mouseY)) {
+            return true;
+        }
+        return super.mouseClicked(mouseX, mouseY, button);
+    }
+    
+    @Override
+    public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
+        if (itemSuggestions.keyPressed(keyCode) || renderSuggestions.keyPressed(keyCode)) {
+            return true;
+        }
+        return super.keyPressed(keyCode, scanCode, modifiers);
+    }
+    
+    @Override
+    public void removed() {
+        clearRenderPreview();
+        super.removed();
     }
     
     @Override
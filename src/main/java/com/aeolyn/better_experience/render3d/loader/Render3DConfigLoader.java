@@ -1,5 +1,7 @@
 package com.aeolyn.better_experience.render3d.loader;
 
+import com.aeolyn.better_experience.common.metrics.Metrics;
+import com.aeolyn.better_experience.common.metrics.jfr.ConfigIoEvent;
 import com.aeolyn.better_experience.render3d.config.ItemsConfig;
 import com.aeolyn.better_experience.render3d.config.ItemConfig;
 import com.aeolyn.better_experience.common.config.exception.ConfigLoadException;
@@ -42,6 +44,8 @@ public class Render3DConfigLoader {
     }
     
     public ItemsConfig loadItemsConfig() throws ConfigLoadException {
+        long startNanos = System.nanoTime();
+        ConfigIoEvent event = ConfigIoEvent.start(ConfigIoEvent.LOAD);
         Path configPath = getConfigPath(itemsConfigFile);
         
         try {
@@ -62,10 +66,15 @@ public class Render3DConfigLoader {
         } catch (Exception e) {
             LogUtil.error("Render3D", "加载3D渲染主配置文件失败: " + e.getMessage(), e);
             throw new ConfigLoadException("Failed to load items config from " + configPath, e);
+        } finally {
+            Metrics.CONFIG_LOAD.recordSince(startNanos);
+            event.finish(configPath);
         }
     }
     
     public ItemConfig loadItemConfig(String itemId) throws ConfigLoadException {
+        long startNanos = System.nanoTime();
+        ConfigIoEvent event = ConfigIoEvent.start(ConfigIoEvent.LOAD);
         String fileName = itemId.replace(":", "_") + ".json";
         Path configPath = getConfigPath(itemConfigsDir, fileName);
         
@@ -89,6 +98,9 @@ public class Render3DConfigLoader {
         } catch (Exception e) {
             LogUtil.error("Render3D", "加载3D渲染物品配置失败 " + itemId + ": " + e.getMessage(), e);
             throw new ConfigLoadException("Failed to load item config for " + itemId, e);
+        } finally {
+            Metrics.CONFIG_LOAD.recordSince(startNanos);
+            event.finish(configPath);
         }
     }
     
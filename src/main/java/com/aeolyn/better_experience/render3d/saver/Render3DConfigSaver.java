@@ -1,5 +1,7 @@
 package com.aeolyn.better_experience.render3d.saver;
 
+import com.aeolyn.better_experience.common.metrics.Metrics;
+import com.aeolyn.better_experience.common.metrics.jfr.ConfigIoEvent;
 import com.aeolyn.better_experience.render3d.config.ItemsConfig;
 import com.aeolyn.better_experience.render3d.config.ItemConfig;
 import com.aeolyn.better_experience.common.config.exception.ConfigSaveException;
@@ -36,6 +38,8 @@ public class Render3DConfigSaver {
     }
     
     public void saveItemsConfig(ItemsConfig config) throws ConfigSaveException {
+        long startNanos = System.nanoTime();
+        ConfigIoEvent event = ConfigIoEvent.start(ConfigIoEvent.SAVE);
         if (config == null) {
             throw new ConfigSaveException("ItemsConfig cannot be null");
         }
@@ -55,10 +59,15 @@ public class Render3DConfigSaver {
         } catch (Exception e) {
             LOGGER.error("保存3D渲染主配置文件失败: " + e.getMessage(), e);
             throw new ConfigSaveException("Failed to save items config to " + configPath, e);
+        } finally {
+            Metrics.CONFIG_SAVE.recordSince(startNanos);
+            event.finish(configPath);
         }
     }
     
     public void saveItemConfig(String itemId, ItemConfig config) throws ConfigSaveException {
+        long startNanos = System.nanoTime();
+        ConfigIoEvent event = ConfigIoEvent.start(ConfigIoEvent.SAVE);
         if (itemId == null || itemId.isEmpty()) {
             throw new ConfigSaveException("Item ID cannot be null or empty");
         }
@@ -83,6 +92,9 @@ public class Render3DConfigSaver {
         } catch (Exception e) {
             LOGGER.error("保存3D渲染物品配置失败 " + itemId + ": " + e.getMessage(), e);
             throw new ConfigSaveException("Failed to save item config for " + itemId, e);
+        } finally {
+            Metrics.CONFIG_SAVE.recordSince(startNanos);
+            event.finish(configPath);
         }
     }
     
@@ -0,0 +1,108 @@
+package com.aeolyn.better_experience.inventory.click;
+
+import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
+import com.aeolyn.better_experience.inventory.core.SortKeyTable;
+import com.aeolyn.better_experience.inventory.core.SortPlanner;
+import com.aeolyn.better_experience.inventory.model.ClickSimulator;
+import com.aeolyn.better_experience.inventory.model.InventoryModel;
+import com.aeolyn.better_experience.inventory.model.SlotLayout;
+import com.aeolyn.better_experience.inventory.model.TestInventories;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 点击程序优化器测试：改写后的程序与原程序执行结果完全一致，且不会更长
+ */
+class ClickProgramOptimizerTest {
+
+    private static final int CONTAINER_SIZE = 27;
+    private static final int STONE = 2;
+    private static final int DIRT = 3;
+
+    private static InventoryModel chest() {
+        return new InventoryModel(CONTAINER_SIZE + TestInventories.PLAYER_SLOTS, SlotLayout.genericContainer(CONTAINER_SIZE));
+    }
+
+    @Test
+    void removesTakeAndPutBack() {
+        InventoryModel model = chest();
+        model.setStack(0, STONE, 0, 10, 64);
+        ClickProgram program = new ClickProgram("test", 1).pickup(0).pickup(0);
+
+        assertTrue(ClickProgramOptimizer.optimize(program, model).isEmpty());
+    }
+
+    @Test
+    void removesSwapFollowedByReverseSwap() {
+        InventoryModel model = chest();
+        model.setStack(0, STONE, 0, 10, 64);
+        model.setStack(1, DIRT, 0, 10, 64);
+        ClickProgram program = new ClickProgram("test", 1).swap(0, 1).swap(1, 0);
+
+        assertTrue(ClickProgramOptimizer.optimize(program, model).isEmpty());
+    }
+
+    @Test
+    void fusesChainedMoves() {
+        InventoryModel model = chest();
+        model.setStack(0, STONE, 0, 10, 64);
+        ClickProgram program = new ClickProgram("test", 1).move(0, 1).move(1, 2);
+
+        ClickProgram optimized = ClickProgramOptimizer.optimize(program, model);
+
+        assertEquals(List.of(ClickOp.pickup(0), ClickOp.pickup(2)), optimized.getOps());
+    }
+
+    @Test
+    void randomProgramsKeepFinalState() {
+        for (int seed = 0; seed < 2000; seed++) {
+            Random random = new Random(seed);
+            InventoryModel initial = TestInventories.randomContainer(random, CONTAINER_SIZE, 6);
+            ClickProgram program = new ClickProgram("test", 1);
+            InventoryModel state = initial.copy();
+            int clicks = 2 + random.nextInt(30);
+            for (int i = 0; i < clicks || !state.isCursorEmpty(); i++) {
+                // 点够次数后光标上还有物品就继续点击，直到放下
+                ClickOp op = ClickOp.pickup(random.nextInt(CONTAINER_SIZE));
+                program.add(op);
+                ClickSimulator.apply(state, op);
+                if (i > clicks + 200) break;
+            }
+
+            ClickProgram optimized = ClickProgramOptimizer.optimize(program, initial);
+
+            assertEquals(state, TestInventories.replay(initial, optimized), "seed " + seed);
+            assertTrue(optimized.size() <= program.size(), "seed " + seed);
+        }
+    }
+
+    @Test
+    void optimizedSortKeepsItemsAndEmptyCursor() {
+        int[] slotIds = TestInventories.range(0, CONTAINER_SIZE);
+        for (int seed = 0; seed < 500; seed++) {
+            InventoryModel initial = TestInventories.randomContainer(new Random(seed), CONTAINER_SIZE, 8);
+            Map<Long, Integer> totals = TestInventories.itemTotals(initial);
+            SortKeyTable keys = new SortKeyTable(slotIds.length, List.of());
+            for (int row = 0; row < slotIds.length; row++) {
+                if (initial.isEmpty(row)) {
+                    keys.setEmpty(row);
+                } else {
+                    keys.setPrimary(row, initial.getCount(row), 0, initial.getItemId(row), 0, 0);
+                }
+            }
+            InventoryModel predicted = initial.copy();
+            ClickProgram program = SortPlanner.plan("test", 1, predicted, slotIds, keys, InventorySortConfig.SortMode.REGISTRY_ID, true);
+
+            InventoryModel result = TestInventories.replay(initial, ClickProgramOptimizer.optimize(program, initial));
+
+            TestInventories.assertConsistent(totals, result);
+            assertEquals(predicted, result, "seed " + seed);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.aeolyn.better_experience.inventory.core;
+
+import com.aeolyn.better_experience.inventory.click.ClickProgram;
+import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
+import com.aeolyn.better_experience.inventory.model.InventoryModel;
+import com.aeolyn.better_experience.inventory.model.SlotLayout;
+import com.aeolyn.better_experience.inventory.model.TestInventories;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 增量插入规划器测试：相同排序键的一组物品不会让链式后移失败，结果仍然有序
+ */
+class IncrementalInsertPlannerTest {
+
+    private static final int CONTAINER_SIZE = 27;
+    private static final InventorySortConfig.SortMode MODE = InventorySortConfig.SortMode.REGISTRY_ID;
+
+    @Test
+    void skipsRunOfIdenticalStacks() {
+        InventoryModel model = container();
+        int[] items = {2, 4, 4, 4, 5};
+        for (int slot = 0; slot < items.length; slot++) {
+            model.setStack(slot, items[slot], 0, 64, 64);
+        }
+        model.setStack(items.length, 3, 0, 64, 64);
+        int[] slotIds = TestInventories.range(0, CONTAINER_SIZE);
+        InventoryModel initial = model.copy();
+
+        ClickProgram program = IncrementalInsertPlanner.plan("test", 1, model, slotIds,
+            SortPlannerTest.keysFor(initial, slotIds), MODE, items.length);
+
+        assertNotNull(program);
+        // 拿起新物品、放到第一个4、把4放到组后的5、把5放进空位
+        assertEquals(4, program.size());
+        assertEquals(model, TestInventories.replay(initial, program));
+        assertSorted(model, 6);
+    }
+
+    @Test
+    void randomSortedLayoutsWithRunsStaySorted() {
+        int[] slotIds = TestInventories.range(0, CONTAINER_SIZE);
+        int planned = 0;
+        for (int seed = 0; seed < 2000; seed++) {
+            Random random = new Random(seed);
+            InventoryModel model = container();
+            int filled = 1 + random.nextInt(CONTAINER_SIZE - 2);
+            int itemId = 2;
+            for (int slot = 0; slot < filled; slot++) {
+                // 满堆叠的连续相同物品
+                itemId += random.nextInt(3) == 0 ? 2 : 0;
+                model.setStack(slot, itemId, 0, 64, 64);
+            }
+            int newItem = 2 + random.nextInt(itemId + 2);
+            int newRow = filled + random.nextInt(CONTAINER_SIZE - filled);
+            model.setStack(newRow, newItem, 0, 64, 64);
+            InventoryModel initial = model.copy();
+            Map<Long, Integer> totals = TestInventories.itemTotals(initial);
+
+            ClickProgram program = IncrementalInsertPlanner.plan("test", 1, model, slotIds,
+                SortPlannerTest.keysFor(initial, slotIds), MODE, newRow);
+
+            if (program == null) {
+                continue;
+            }
+            planned++;
+            TestInventories.assertConsistent(totals, model);
+            assertEquals(model, TestInventories.replay(initial, program), "seed " + seed);
+            assertSorted(model, filled + 1);
+        }
+        // 新物品与已有物品ID相同时才会合并失败，其余都应能规划
+        assertTrue(planned > 1000, "只规划了 " + planned + " 次");
+    }
+
+    private static InventoryModel container() {
+        return new InventoryModel(CONTAINER_SIZE + TestInventories.PLAYER_SLOTS, SlotLayout.genericContainer(CONTAINER_SIZE));
+    }
+
+    private static void assertSorted(InventoryModel model, int count) {
+        for (int slot = 0; slot < count; slot++) {
+            assertTrue(!model.isEmpty(slot), "槽位 " + slot + " 为空");
+            if (slot > 0) {
+                assertTrue(model.getItemId(slot - 1) <= model.getItemId(slot), "槽位 " + slot + " 顺序错误");
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.aeolyn.better_experience.inventory.core;
+
+import com.aeolyn.better_experience.inventory.click.ClickProgram;
+import com.aeolyn.better_experience.inventory.model.InventoryModel;
+import com.aeolyn.better_experience.inventory.model.SlotLayout;
+import com.aeolyn.better_experience.inventory.model.TestInventories;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 布局还原规划器测试：满足的模板格数达到上限，物品不丢失、光标清空
+ */
+class LayoutRestorePlannerTest {
+
+    private static final int ANY = LayoutRestorePlanner.ANY;
+    private static final int[] CONTAINER_SIZES = {9, 27, 54};
+
+    @Test
+    void alreadyRestoredLayoutNeedsNoClicks() {
+        InventoryModel model = container(27);
+        int[] template = new int[27];
+        for (int slot = 0; slot < 27; slot++) {
+            template[slot] = slot % 3 == 0 ? ANY : 1 + slot % 5;
+            if (template[slot] != ANY) {
+                model.setStack(slot, template[slot], 0, 10, 64);
+            }
+        }
+
+        ClickProgram program = LayoutRestorePlanner.plan("test", 1, model, TestInventories.range(0, 27), template);
+
+        assertTrue(program.isEmpty());
+    }
+
+    @Test
+    void swappedPairCostsThreeClicks() {
+        InventoryModel model = container(9);
+        model.setStack(0, 2, 0, 10, 64);
+        model.setStack(1, 3, 0, 20, 64);
+        int[] template = {3, 2, ANY, ANY, ANY, ANY, ANY, ANY, ANY};
+
+        ClickProgram program = LayoutRestorePlanner.plan("test", 1, model, TestInventories.range(0, 9), template);
+
+        assertEquals(3, program.size());
+        assertEquals(3, model.getItemId(0));
+        assertEquals(2, model.getItemId(1));
+    }
+
+    @Test
+    void variantsOfSameItemFollowTheirOwnKeys() {
+        InventoryModel model = container(9);
+        // 同种物品的两个变体（组件不同，不可堆叠），物品键分别为0和1
+        model.setStack(0, 2, 11, 1, 1);
+        model.setStack(1, 2, 22, 1, 1);
+        int[] current = {0, 1, ANY, ANY, ANY, ANY, ANY, ANY, ANY};
+        int[] template = {1, 0, ANY, ANY, ANY, ANY, ANY, ANY, ANY};
+
+        ClickProgram program = LayoutRestorePlanner.plan("test", 1, model, TestInventories.range(0, 9), current, template);
+
+        assertEquals(3, program.size());
+        assertEquals(22, model.getComponentHash(0));
+        assertEquals(11, model.getComponentHash(1));
+        assertTrue(model.isCursorEmpty());
+    }
+
+    @Test
+    void randomLayoutsReachMaximumSatisfiedCells() {
+        for (int seed = 0; seed < 20000; seed++) {
+            Random random = new Random(seed);
+            int size = CONTAINER_SIZES[random.nextInt(CONTAINER_SIZES.length)];
+            int itemTypes = 2 + random.nextInt(8);
+            InventoryModel initial = randomLayout(random, size, itemTypes);
+            int[] template = randomTemplate(random, initial, size, itemTypes);
+            int[] slotIds = TestInventories.range(0, size);
+            Map<Long, Integer> totals = TestInventories.itemTotals(initial);
+            InventoryModel model = initial.copy();
+
+            ClickProgram program = LayoutRestorePlanner.plan("test", 1, model, slotIds, template);
+
+            TestInventories.assertConsistent(totals, model);
+            assertEquals(model, TestInventories.replay(initial, program), "seed " + seed);
+            assertEquals(maxSatisfiable(initial, template), satisfied(model, template), "seed " + seed);
+        }
+    }
+
+    private static InventoryModel container(int size) {
+        return new InventoryModel(size + TestInventories.PLAYER_SLOTS, SlotLayout.genericContainer(size));
+    }
+
+    /**
+     * 容器内随机摆放，同种物品的堆叠可能组件不同（不可合并）
+     */
+    private static InventoryModel randomLayout(Random random, int size, int itemTypes) {
+        InventoryModel model = container(size);
+        double fill = 0.3 + random.nextDouble() * 0.7;
+        for (int slot = 0; slot < size; slot++) {
+            if (random.nextDouble() >= fill) continue;
+            int itemId = 1 + random.nextInt(itemTypes);
+            int maxStack = TestInventories.maxStackOf(itemId);
+            int hash = random.nextInt(6) == 0 ? 1 : 0;
+            model.setStack(slot, itemId, hash, 1 + random.nextInt(maxStack), maxStack);
+        }
+        return model;
+    }
+
+    /**
+     * 一半模板由当前布局打乱得到（通常可以完全还原），另一半完全随机
+     */
+    private static int[] randomTemplate(Random random, InventoryModel model, int size, int itemTypes) {
+        int[] template = new int[size];
+        if (random.nextBoolean()) {
+            List<Integer> cells = IntStream.range(0, size)
+                .mapToObj(slot -> model.isEmpty(slot) ? ANY : model.getItemId(slot))
+                .collect(Collectors.toList());
+            Collections.shuffle(cells, random);
+            for (int p = 0; p < size; p++) {
+                template[p] = random.nextInt(10) == 0 ? ANY : cells.get(p);
+            }
+        } else {
+            for (int p = 0; p < size; p++) {
+                template[p] = random.nextInt(3) == 0 ? ANY : 1 + random.nextInt(itemTypes);
+            }
+        }
+        return template;
+    }
+
+    /**
+     * 满足的模板格数上限：每种物品取堆叠数与模板格数的较小值
+     */
+    private static int maxSatisfiable(InventoryModel model, int[] template) {
+        Map<Integer, Integer> stacks = new HashMap<>();
+        Map<Integer, Integer> cells = new HashMap<>();
+        for (int p = 0; p < template.length; p++) {
+            if (!model.isEmpty(p)) {
+                stacks.merge(model.getItemId(p), 1, Integer::sum);
+            }
+            if (template[p] != ANY) {
+                cells.merge(template[p], 1, Integer::sum);
+            }
+        }
+        int total = 0;
+        for (Map.Entry<Integer, Integer> entry : cells.entrySet()) {
+            total += Math.min(entry.getValue(), stacks.getOrDefault(entry.getKey(), 0));
+        }
+        return total;
+    }
+
+    private static int satisfied(InventoryModel model, int[] template) {
+        int total = 0;
+        for (int p = 0; p < template.length; p++) {
+            if (template[p] != ANY && !model.isEmpty(p) && model.getItemId(p) == template[p]) {
+                total++;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,111 @@
+package com.aeolyn.better_experience.inventory.core;
+
+import com.aeolyn.better_experience.inventory.click.ClickProgram;
+import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
+import com.aeolyn.better_experience.inventory.model.InventoryModel;
+import com.aeolyn.better_experience.inventory.model.TestInventories;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 整理规划器测试：物品不丢失、光标清空、结果有序
+ */
+class SortPlannerTest {
+
+    private static final int CONTAINER_SIZE = 27;
+
+    /**
+     * 排序键由物品ID推导：注册表ID即物品ID，其余名次打乱
+     */
+    static SortKeyTable keysFor(InventoryModel model, int[] slotIds) {
+        SortKeyTable keys = new SortKeyTable(slotIds.length, List.of(InventorySortConfig.SecondaryKey.ENCHANTMENT_LEVEL));
+        for (int row = 0; row < slotIds.length; row++) {
+            int slot = slotIds[row];
+            if (model.isEmpty(slot)) {
+                keys.setEmpty(row);
+                continue;
+            }
+            int itemId = model.getItemId(slot);
+            keys.setPrimary(row, model.getCount(slot), (itemId * 37) % 101, itemId, itemId % 5, itemId % 3);
+            keys.setRanks(row, (itemId * 17) % 101, itemId % 7);
+            keys.setSecondary(row, 1000, model.getComponentHash(slot), -1, false);
+        }
+        return keys;
+    }
+
+    @Test
+    void randomLayoutsKeepItemsAndEmptyCursor() {
+        int[] slotIds = TestInventories.range(0, CONTAINER_SIZE);
+        for (int seed = 0; seed < 200; seed++) {
+            for (InventorySortConfig.SortMode mode : InventorySortConfig.SortMode.values()) {
+                for (boolean mergeFirst : new boolean[]{false, true}) {
+                    InventoryModel initial = TestInventories.randomContainer(new Random(seed), CONTAINER_SIZE, 12);
+                    Map<Long, Integer> totals = TestInventories.itemTotals(initial);
+                    InventoryModel model = initial.copy();
+
+                    ClickProgram program = SortPlanner.plan("test", 1, model, slotIds, keysFor(initial, slotIds), mode, mergeFirst);
+
+                    TestInventories.assertConsistent(totals, model);
+                    // 规划时的预测与重放结果一致
+                    assertEquals(model, TestInventories.replay(initial, program), "seed " + seed + " " + mode);
+                }
+            }
+        }
+    }
+
+    @Test
+    void registryOrderPutsItemsInIdOrderAndEmptySlotsLast() {
+        int[] slotIds = TestInventories.range(0, CONTAINER_SIZE);
+        for (int seed = 0; seed < 200; seed++) {
+            InventoryModel model = TestInventories.randomContainer(new Random(seed), CONTAINER_SIZE, 12);
+            SortPlanner.plan("test", 1, model, slotIds, keysFor(model, slotIds), InventorySortConfig.SortMode.REGISTRY_ID, true);
+
+            boolean seenEmpty = false;
+            int previous = 0;
+            for (int slot : slotIds) {
+                if (model.isEmpty(slot)) {
+                    seenEmpty = true;
+                    continue;
+                }
+                assertTrue(!seenEmpty, "seed " + seed + ": 空槽位后还有物品");
+                assertTrue(model.getItemId(slot) >= previous, "seed " + seed + ": 槽位 " + slot + " 顺序错误");
+                previous = model.getItemId(slot);
+            }
+        }
+    }
+
+    @Test
+    void mergeFirstLeavesAtMostOnePartialStackPerItem() {
+        int[] slotIds = TestInventories.range(0, CONTAINER_SIZE);
+        for (int seed = 0; seed < 200; seed++) {
+            InventoryModel model = TestInventories.randomContainer(new Random(seed), CONTAINER_SIZE, 6);
+            SortPlanner.plan("test", 1, model, slotIds, keysFor(model, slotIds), InventorySortConfig.SortMode.NAME, true);
+
+            for (int a = 0; a < CONTAINER_SIZE; a++) {
+                if (model.isEmpty(a) || model.getCount(a) >= model.getMaxStack(a)) continue;
+                for (int b = a + 1; b < CONTAINER_SIZE; b++) {
+                    assertTrue(!model.canStack(a, b) || model.getCount(b) >= model.getMaxStack(b),
+                        "seed " + seed + ": 槽位 " + a + " 和 " + b + " 仍可合并");
+                }
+            }
+        }
+    }
+
+    @Test
+    void sortedInventoryNeedsNoClicks() {
+        int[] slotIds = TestInventories.range(0, CONTAINER_SIZE);
+        InventoryModel model = TestInventories.randomContainer(new Random(7), CONTAINER_SIZE, 12);
+        SortPlanner.plan("test", 1, model, slotIds, keysFor(model, slotIds), InventorySortConfig.SortMode.REGISTRY_ID, true);
+
+        // 同种物品之间不交换，数量顺序可能不同，再次合并仍会点击，这里只验证排序阶段
+        ClickProgram again = SortPlanner.plan("test", 1, model, slotIds, keysFor(model, slotIds), InventorySortConfig.SortMode.REGISTRY_ID, false);
+
+        assertTrue(again.isEmpty(), "已整理的库存又生成了 " + again.size() + " 次点击");
+    }
+}
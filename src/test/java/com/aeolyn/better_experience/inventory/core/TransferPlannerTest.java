@@ -0,0 +1,125 @@
+package com.aeolyn.better_experience.inventory.core;
+
+import com.aeolyn.better_experience.inventory.click.ClickOp;
+import com.aeolyn.better_experience.inventory.click.ClickProgram;
+import com.aeolyn.better_experience.inventory.click.ClickType;
+import com.aeolyn.better_experience.inventory.config.InventorySortConfig;
+import com.aeolyn.better_experience.inventory.model.ClickSimulator;
+import com.aeolyn.better_experience.inventory.model.InventoryModel;
+import com.aeolyn.better_experience.inventory.model.SlotLayout;
+import com.aeolyn.better_experience.inventory.model.TestInventories;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 转移规划器测试：物品不丢失、光标清空、存入模式只移动应移动的物品
+ */
+class TransferPlannerTest {
+
+    private static final int CONTAINER_SIZE = 27;
+    private static final int[] CONTAINER = TestInventories.range(0, CONTAINER_SIZE);
+    private static final int[] PLAYER = TestInventories.range(CONTAINER_SIZE, CONTAINER_SIZE + TestInventories.PLAYER_SLOTS);
+    private static final int STONE = 2;
+
+    @Test
+    void quickMoveAllKeepsItemsAndSkipsFullTargets() {
+        for (int seed = 0; seed < 500; seed++) {
+            InventoryModel initial = TestInventories.randomContainer(new Random(seed), CONTAINER_SIZE, 12);
+            Map<Long, Integer> totals = TestInventories.itemTotals(initial);
+            InventoryModel model = initial.copy();
+
+            ClickProgram program = TransferPlanner.planQuickMoveAll("test", 1, model, CONTAINER);
+
+            TestInventories.assertConsistent(totals, model);
+            InventoryModel check = initial.copy();
+            for (ClickOp op : program.getOps()) {
+                int before = check.getCount(op.getSlotId());
+                ClickSimulator.apply(check, op);
+                // 放不下的槽位不发送点击
+                assertTrue(check.getCount(op.getSlotId()) < before, "seed " + seed + ": 无效点击 " + op);
+            }
+            assertEquals(model, check);
+        }
+    }
+
+    @Test
+    void bulkTransferKeepsItemsAndCursorEmpty() {
+        for (int seed = 0; seed < 500; seed++) {
+            for (InventorySortConfig.DepositMode mode : InventorySortConfig.DepositMode.values()) {
+                InventoryModel initial = TestInventories.randomContainer(new Random(seed), CONTAINER_SIZE, 4);
+                Map<Long, Integer> totals = TestInventories.itemTotals(initial);
+                InventoryModel model = initial.copy();
+
+                ClickProgram program = TransferPlanner.planDeposit(mode, "test", 1, model, PLAYER, CONTAINER);
+
+                TestInventories.assertConsistent(totals, model);
+                assertEquals(model, TestInventories.replay(initial, program), "seed " + seed + " " + mode);
+            }
+        }
+    }
+
+    @Test
+    void bulkTransferCollectsScatteredPartialStacks() {
+        InventoryModel model = new InventoryModel(CONTAINER_SIZE + TestInventories.PLAYER_SLOTS, SlotLayout.genericContainer(CONTAINER_SIZE));
+        for (int i = 0; i < 6; i++) {
+            model.setStack(PLAYER[i], STONE, 0, 5, 64);
+        }
+        Map<Long, Integer> totals = TestInventories.itemTotals(model);
+
+        ClickProgram program = TransferPlanner.planBulkTransfer("test", 1, model, PLAYER, CONTAINER);
+
+        TestInventories.assertConsistent(totals, model);
+        assertTrue(program.getOps().stream().anyMatch(op -> op.getType() == ClickType.PICKUP_ALL));
+        assertTrue(program.size() < 6, "收集后点击数应少于逐个Shift+点击");
+        assertEquals(30, model.countItem(STONE, 0));
+        for (int slot : PLAYER) {
+            assertTrue(model.isEmpty(slot));
+        }
+    }
+
+    @Test
+    void matchingDepositOnlyMovesItemsAlreadyInContainer() {
+        for (int seed = 0; seed < 500; seed++) {
+            InventoryModel model = TestInventories.randomContainer(new Random(seed), CONTAINER_SIZE, 16);
+            Set<Long> containerKeys = stackKeys(model, CONTAINER);
+
+            TransferPlanner.planDepositMatching("test", 1, model, PLAYER, CONTAINER);
+
+            assertEquals(containerKeys, stackKeys(model, CONTAINER), "seed " + seed);
+        }
+    }
+
+    @Test
+    void topUpNeverUsesEmptyContainerSlots() {
+        for (int seed = 0; seed < 500; seed++) {
+            InventoryModel initial = TestInventories.randomContainer(new Random(seed), CONTAINER_SIZE, 4);
+            Map<Long, Integer> totals = TestInventories.itemTotals(initial);
+            InventoryModel model = initial.copy();
+
+            TransferPlanner.planTopUp("test", 1, model, PLAYER, CONTAINER);
+
+            TestInventories.assertConsistent(totals, model);
+            for (int slot : CONTAINER) {
+                assertEquals(initial.isEmpty(slot), model.isEmpty(slot), "seed " + seed + ": 槽位 " + slot);
+                assertTrue(model.getCount(slot) >= initial.getCount(slot), "seed " + seed + ": 槽位 " + slot + " 数量减少");
+            }
+        }
+    }
+
+    private static Set<Long> stackKeys(InventoryModel model, int[] slots) {
+        Set<Long> keys = new HashSet<>();
+        for (int slot : slots) {
+            if (!model.isEmpty(slot)) {
+                keys.add(((long) model.getItemId(slot) << 32) | (model.getComponentHash(slot) & 0xFFFFFFFFL));
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,224 @@
+package com.aeolyn.better_experience.inventory.model;
+
+import com.aeolyn.better_experience.inventory.click.ClickOp;
+import com.aeolyn.better_experience.inventory.click.ClickType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 点击模拟器测试：对照原版 ScreenHandler 的点击规则
+ */
+class ClickSimulatorTest {
+
+    private static final int STONE = 2;
+    private static final int DIRT = 3;
+    private static final int BUNDLE = 8;
+
+    /** 单箱子界面：0-26为容器，27-53为主背包，54-62为快捷栏 */
+    private static InventoryModel chest() {
+        return new InventoryModel(27 + TestInventories.PLAYER_SLOTS, SlotLayout.genericContainer(27));
+    }
+
+    // ==================== PICKUP ====================
+
+    @Test
+    void leftClickTakesAndPlacesWholeStack() {
+        InventoryModel model = chest();
+        model.setStack(0, STONE, 0, 40, 64);
+
+        ClickSimulator.apply(model, ClickOp.pickup(0));
+        assertTrue(model.isEmpty(0));
+        assertEquals(40, model.getCursorCount());
+
+        ClickSimulator.apply(model, ClickOp.pickup(5));
+        assertTrue(model.isCursorEmpty());
+        assertEquals(STONE, model.getItemId(5));
+        assertEquals(40, model.getCount(5));
+    }
+
+    @Test
+    void leftClickOnSameItemFillsUpToMaxStack() {
+        InventoryModel model = chest();
+        model.setStack(0, STONE, 0, 40, 64);
+        model.setStack(1, STONE, 0, 50, 64);
+
+        ClickSimulator.apply(model, ClickOp.pickup(0));
+        ClickSimulator.apply(model, ClickOp.pickup(1));
+
+        assertEquals(64, model.getCount(1));
+        assertEquals(26, model.getCursorCount());
+    }
+
+    @Test
+    void leftClickOnDifferentItemSwapsWithCursor() {
+        InventoryModel model = chest();
+        model.setStack(0, STONE, 0, 40, 64);
+        model.setStack(1, DIRT, 0, 10, 64);
+
+        ClickSimulator.apply(model, ClickOp.pickup(0));
+        ClickSimulator.apply(model, ClickOp.pickup(1));
+
+        assertEquals(STONE, model.getItemId(1));
+        assertEquals(40, model.getCount(1));
+        assertEquals(DIRT, model.getCursorItemId());
+        assertEquals(10, model.getCursorCount());
+    }
+
+    @Test
+    void componentVariantsDoNotStack() {
+        InventoryModel model = chest();
+        model.setStack(0, STONE, 1, 10, 64);
+        model.setStack(1, STONE, 0, 10, 64);
+
+        ClickSimulator.apply(model, ClickOp.pickup(0));
+        ClickSimulator.apply(model, ClickOp.pickup(1));
+
+        // 组件不同，交换而不是合并
+        assertEquals(1, model.getComponentHash(1));
+        assertEquals(0, model.getCursorComponentHash());
+        assertEquals(10, model.getCursorCount());
+    }
+
+    @Test
+    void rightClickTakesHalfAndPlacesOne() {
+        InventoryModel model = chest();
+        model.setStack(0, STONE, 0, 7, 64);
+
+        ClickSimulator.apply(model, new ClickOp(0, 1, ClickType.PICKUP));
+        assertEquals(4, model.getCursorCount());
+        assertEquals(3, model.getCount(0));
+
+        ClickSimulator.apply(model, new ClickOp(1, 1, ClickType.PICKUP));
+        assertEquals(1, model.getCount(1));
+        assertEquals(3, model.getCursorCount());
+    }
+
+    @Test
+    void cursorAbsorbingItemsAreNotPredicted() {
+        InventoryModel model = chest();
+        model.markCursorAbsorbing(BUNDLE);
+        model.setStack(0, STONE, 0, 10, 64);
+        model.setStack(1, BUNDLE, 0, 1, 1);
+
+        ClickSimulator.apply(model, ClickOp.pickup(0));
+
+        assertFalse(ClickSimulator.supports(model, ClickOp.pickup(1)));
+        assertThrows(UnsupportedOperationException.class, () -> ClickSimulator.apply(model, ClickOp.pickup(1)));
+    }
+
+    // ==================== QUICK_MOVE ====================
+
+    @Test
+    void quickMoveFillsMatchingStacksThenEmptySlotsFromHotbarEnd() {
+        InventoryModel model = chest();
+        model.setStack(0, STONE, 0, 40, 64);
+        model.setStack(30, STONE, 0, 50, 64);
+
+        ClickSimulator.apply(model, ClickOp.quickMove(0));
+
+        assertTrue(model.isEmpty(0));
+        assertEquals(64, model.getCount(30));
+        // 容器 -> 背包从快捷栏末尾倒序放入
+        assertEquals(STONE, model.getItemId(62));
+        assertEquals(26, model.getCount(62));
+        assertTrue(model.isCursorEmpty());
+    }
+
+    @Test
+    void quickMoveIntoFullTargetLeavesSourceUnchanged() {
+        InventoryModel model = chest();
+        model.setStack(30, STONE, 0, 40, 64);
+        for (int slot = 0; slot < 27; slot++) {
+            model.setStack(slot, DIRT, 0, 64, 64);
+        }
+
+        ClickSimulator.apply(model, ClickOp.quickMove(30));
+
+        assertEquals(40, model.getCount(30));
+        assertEquals(STONE, model.getItemId(30));
+    }
+
+    @Test
+    void quickMoveNeedsLayout() {
+        InventoryModel model = new InventoryModel(10);
+        model.setStack(0, STONE, 0, 10, 64);
+
+        assertFalse(ClickSimulator.supports(model, ClickOp.quickMove(0)));
+    }
+
+    // ==================== SWAP ====================
+
+    @Test
+    void swapExchangesWithHotbarSlot() {
+        InventoryModel model = chest();
+        model.setStack(0, STONE, 0, 40, 64);
+        model.setStack(56, DIRT, 0, 5, 64);
+
+        ClickSimulator.apply(model, ClickOp.swap(0, 2));
+
+        assertEquals(DIRT, model.getItemId(0));
+        assertEquals(5, model.getCount(0));
+        assertEquals(STONE, model.getItemId(56));
+        assertEquals(40, model.getCount(56));
+    }
+
+    @Test
+    void swapIntoEmptyHotbarSlotMovesStack() {
+        InventoryModel model = chest();
+        model.setStack(0, STONE, 0, 40, 64);
+
+        ClickSimulator.apply(model, ClickOp.swap(0, 0));
+
+        assertTrue(model.isEmpty(0));
+        assertEquals(40, model.getCount(54));
+    }
+
+    @Test
+    void offhandSwapNeedsOffhandSlot() {
+        InventoryModel chest = chest();
+        chest.setStack(0, STONE, 0, 1, 64);
+        assertFalse(ClickSimulator.supports(chest, ClickOp.swap(0, SlotLayout.OFFHAND_BUTTON)));
+
+        InventoryModel player = new InventoryModel(46, SlotLayout.playerInventory());
+        player.setStack(9, STONE, 0, 1, 64);
+        ClickSimulator.apply(player, ClickOp.swap(9, SlotLayout.OFFHAND_BUTTON));
+        assertEquals(STONE, player.getItemId(45));
+    }
+
+    // ==================== PICKUP_ALL ====================
+
+    @Test
+    void pickupAllCollectsPartialStacksBeforeFullOnes() {
+        InventoryModel model = chest();
+        model.setStack(0, STONE, 0, 10, 64);
+        model.setStack(1, STONE, 0, 64, 64);
+        model.setStack(2, STONE, 0, 20, 64);
+        model.setStack(3, STONE, 0, 30, 64);
+        model.setStack(4, DIRT, 0, 30, 64);
+
+        ClickSimulator.apply(model, ClickOp.pickup(0));
+        ClickSimulator.apply(model, ClickOp.pickupAll(0));
+
+        assertEquals(64, model.getCursorCount());
+        assertTrue(model.isEmpty(2));
+        assertTrue(model.isEmpty(3));
+        // 满堆只在第二遍补足光标
+        assertEquals(60, model.getCount(1));
+        assertEquals(30, model.getCount(4));
+    }
+
+    @Test
+    void pickupAllWithEmptyCursorDoesNothing() {
+        InventoryModel model = chest();
+        model.setStack(2, STONE, 0, 20, 64);
+        InventoryModel before = model.copy();
+
+        ClickSimulator.apply(model, ClickOp.pickupAll(0));
+
+        assertEquals(before, model);
+    }
+}
@@ -0,0 +1,97 @@
+package com.aeolyn.better_experience.inventory.model;
+
+import com.aeolyn.better_experience.inventory.click.ClickProgram;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 测试用的库存构造与断言
+ * 物品ID从1开始，最大堆叠数由ID推导（与基准测试一致），组件哈希0表示普通物品
+ */
+public final class TestInventories {
+
+    /** 玩家背包（主背包 + 快捷栏）槽位数 */
+    public static final int PLAYER_SLOTS = 36;
+
+    private TestInventories() {
+    }
+
+    /**
+     * 生成容器界面的随机库存：容器槽位在前，玩家背包在后
+     * @param itemTypes 物品种类数，越少越容易出现可合并的堆叠
+     */
+    public static InventoryModel randomContainer(Random random, int containerSize, int itemTypes) {
+        InventoryModel model = new InventoryModel(containerSize + PLAYER_SLOTS, SlotLayout.genericContainer(containerSize));
+        for (int slot = 0; slot < model.size(); slot++) {
+            if (random.nextInt(10) < 3) continue;
+            int itemId = 1 + random.nextInt(itemTypes);
+            int maxStack = maxStackOf(itemId);
+            // 少量带组件的变体，与同ID的普通物品不可堆叠
+            int hash = maxStack > 1 && random.nextInt(8) == 0 ? 1 + random.nextInt(2) : 0;
+            model.setStack(slot, itemId, hash, 1 + random.nextInt(maxStack), maxStack);
+        }
+        return model;
+    }
+
+    public static int maxStackOf(int itemId) {
+        if (itemId % 8 == 0) return 1;
+        if (itemId % 8 == 1) return 16;
+        return 64;
+    }
+
+    /**
+     * 连续槽位ID
+     */
+    public static int[] range(int start, int end) {
+        int[] slots = new int[end - start];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = start + i;
+        }
+        return slots;
+    }
+
+    /**
+     * 统计各种物品（物品ID+组件哈希）的总数，包括光标上的物品
+     */
+    public static Map<Long, Integer> itemTotals(InventoryModel model) {
+        Map<Long, Integer> totals = new HashMap<>();
+        for (int slot = 0; slot < model.size(); slot++) {
+            if (!model.isEmpty(slot)) {
+                totals.merge(key(model.getItemId(slot), model.getComponentHash(slot)), model.getCount(slot), Integer::sum);
+            }
+        }
+        if (!model.isCursorEmpty()) {
+            totals.merge(key(model.getCursorItemId(), model.getCursorComponentHash()), model.getCursorCount(), Integer::sum);
+        }
+        return totals;
+    }
+
+    /**
+     * 断言执行后物品一个不少、光标为空，且没有超出最大堆叠数的槽位
+     */
+    public static void assertConsistent(Map<Long, Integer> expectedTotals, InventoryModel after) {
+        assertTrue(after.isCursorEmpty(), "光标上留有物品");
+        assertEquals(expectedTotals, itemTotals(after), "物品总数发生变化");
+        for (int slot = 0; slot < after.size(); slot++) {
+            assertTrue(after.getCount(slot) <= after.getMaxStack(slot), "槽位 " + slot + " 超出最大堆叠数");
+        }
+    }
+
+    /**
+     * 在初始状态的副本上重放程序，返回执行结果
+     */
+    public static InventoryModel replay(InventoryModel initial, ClickProgram program) {
+        InventoryModel model = initial.copy();
+        ClickSimulator.run(model, program.getOps());
+        return model;
+    }
+
+    private static long key(int itemId, int componentHash) {
+        return ((long) itemId << 32) | (componentHash & 0xFFFFFFFFL);
+    }
+}